@@ -0,0 +1,216 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.spring.initializr.generator.buildsystem.BuildItemResolver;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.generator.project.ProjectGenerationContext;
+import io.spring.initializr.generator.project.ProjectGenerator;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.metadata.support.MetadataBuildItemResolver;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.MetadataProjectDescriptionCustomizer;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.StartApplication;
+import io.spring.start.site.generation.ProjectArchiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmarks for the generation of a project, using a {@link ProjectGenerationInvoker}
+ * the same way {@code ProjectGenerationIntegrationTests} does. Covers a matrix of build
+ * systems, languages and representative sets of dependencies.
+ * <p>
+ * Each phase of the generation has a dedicated benchmark:
+ * <ul>
+ * <li>{@link #customizeDescription()}: conversion of the request and application of the
+ * {@link ProjectDescriptionCustomizer customizers}</li>
+ * <li>{@link #refreshContext()}: creation and refresh of the project generation
+ * context</li>
+ * <li>{@link #generateProject()}: refresh of the context and invocation of the
+ * contributors, the cost of the contributors being the difference with
+ * {@link #refreshContext()}</li>
+ * <li>{@link #archiveProject()}: archive of an already generated project, with or
+ * without reusing the deflated content of build wrapper files</li>
+ * </ul>
+ * {@link #endToEnd()} measures the complete generation of an archive.
+ *
+ * @author Stephane Nicoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectGenerationBenchmarks {
+
+	private static final Map<String, List<String>> DEPENDENCIES = Map.of("empty", List.of(), "web-jpa",
+			List.of("web", "data-jpa"), "spring-ai",
+			List.of("spring-ai-openai", "spring-ai-vectordb-pgvector", "spring-ai-vectordb-chroma"), "spring-cloud",
+			List.of("cloud-config-client", "cloud-eureka", "cloud-gateway", "cloud-resilience4j"), "native",
+			List.of("native", "testcontainers", "docker-compose", "postgresql"));
+
+	@Param({ "maven", "gradle" })
+	private String buildSystem;
+
+	@Param({ "java", "kotlin" })
+	private String language;
+
+	@Param({ "empty", "web-jpa", "spring-ai", "spring-cloud", "native" })
+	private String dependencies;
+
+	@Param({ "true", "false" })
+	private boolean precompressWrapperFiles;
+
+	private ConfigurableApplicationContext context;
+
+	private InitializrMetadata metadata;
+
+	private ProjectGenerationInvoker<ProjectRequest> invoker;
+
+	private DefaultProjectRequestToDescriptionConverter converter;
+
+	private List<ProjectDescriptionCustomizer> customizers;
+
+	private ProjectRequest request;
+
+	private ProjectDescription description;
+
+	private Path project;
+
+	private ProjectArchiver archiver;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = new SpringApplicationBuilder(StartApplication.class).web(WebApplicationType.NONE)
+			.logStartupInfo(false)
+			.properties("application.maven-version-resolver.warm-up.enabled=false")
+			.run();
+		this.metadata = this.context.getBean(InitializrMetadataProvider.class).get();
+		this.converter = new DefaultProjectRequestToDescriptionConverter();
+		this.invoker = new ProjectGenerationInvoker<>(this.context, this.converter);
+		this.customizers = this.context.getBeanProvider(ProjectDescriptionCustomizer.class).orderedStream().toList();
+		this.request = createRequest();
+		this.description = customizeDescription();
+		this.archiver = new ProjectArchiver(this.precompressWrapperFiles);
+		// Also warms up the version resolver for the selected platform version
+		this.project = this.invoker.invokeProjectStructureGeneration(this.request).getRootDirectory();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.invoker.cleanTempFiles(this.project);
+		this.context.close();
+	}
+
+	@Benchmark
+	public ProjectDescription customizeDescription() {
+		MutableProjectDescription mutableDescription = new MutableProjectDescription();
+		this.converter.convert(this.request, mutableDescription, this.metadata);
+		new MetadataProjectDescriptionCustomizer(this.metadata).customize(mutableDescription);
+		this.customizers.forEach((customizer) -> customizer.customize(mutableDescription));
+		return mutableDescription;
+	}
+
+	@Benchmark
+	public int refreshContext() {
+		ProjectGenerator generator = new ProjectGenerator(this::customizeProjectGenerationContext);
+		return generator.generate(this.description, ProjectGenerationContext::getBeanDefinitionCount);
+	}
+
+	@Benchmark
+	public ProjectDescription generateProject() {
+		ProjectGenerationResult result = this.invoker.invokeProjectStructureGeneration(this.request);
+		this.invoker.cleanTempFiles(result.getRootDirectory());
+		return result.getProjectDescription();
+	}
+
+	@Benchmark
+	public void archiveProject() throws IOException {
+		this.archiver.zip(this.description, this.project, OutputStream.nullOutputStream());
+	}
+
+	@Benchmark
+	public void endToEnd() throws IOException {
+		ProjectGenerationResult result = this.invoker.invokeProjectStructureGeneration(this.request);
+		try {
+			this.archiver.zip(result.getProjectDescription(), result.getRootDirectory(),
+					OutputStream.nullOutputStream());
+		}
+		finally {
+			this.invoker.cleanTempFiles(result.getRootDirectory());
+		}
+	}
+
+	private ProjectRequest createRequest() {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(this.metadata);
+		request.setType(getType());
+		request.setLanguage(this.language);
+		request.setGroupId("com.example");
+		request.setArtifactId("demo");
+		request.setApplicationName("DemoApplication");
+		request.setDependencies(DEPENDENCIES.get(this.dependencies));
+		return request;
+	}
+
+	private String getType() {
+		if (this.buildSystem.equals("maven")) {
+			return "maven-project";
+		}
+		return (this.language.equals("kotlin")) ? "gradle-project-kotlin" : "gradle-project";
+	}
+
+	private void customizeProjectGenerationContext(ProjectGenerationContext context) {
+		context.setParent(this.context);
+		context.registerBean(InitializrMetadata.class, () -> this.metadata);
+		context.registerBean(BuildItemResolver.class, () -> new MetadataBuildItemResolver(this.metadata,
+				context.getBean(ProjectDescription.class).getPlatformVersion()));
+		context.registerBean(MetadataProjectDescriptionCustomizer.class,
+				() -> new MetadataProjectDescriptionCustomizer(this.metadata));
+	}
+
+}
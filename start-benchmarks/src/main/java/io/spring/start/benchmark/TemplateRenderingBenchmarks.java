@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.spring.initializr.generator.io.template.MustacheTemplateRenderer;
+import io.spring.start.site.generation.PrecompiledTemplateCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Benchmarks for the rendering of the templates used to write {@code HELP.md}. Compares a
+ * renderer that compiles the template on every invocation, as it does without a cache,
+ * with one that uses a {@link PrecompiledTemplateCache}.
+ *
+ * @author Stephane Nicoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TemplateRenderingBenchmarks {
+
+	private static final String LOCATION = "classpath:/templates";
+
+	@Param({ "none", "precompiled" })
+	private String cache;
+
+	@Param({ "okta", "documentation/warnings" })
+	private String template;
+
+	private MustacheTemplateRenderer renderer;
+
+	private Map<String, Object> model;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.renderer = new MustacheTemplateRenderer(LOCATION,
+				(this.cache.equals("precompiled"))
+						? PrecompiledTemplateCache.precompile(LOCATION, new PathMatchingResourcePatternResolver())
+						: new NoOpCache(PrecompiledTemplateCache.NAME));
+		this.model = Map.of("items", List.of("First warning", "Second warning"));
+	}
+
+	@Benchmark
+	public String render() {
+		return this.renderer.render(this.template, this.model);
+	}
+
+}
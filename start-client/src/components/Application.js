@@ -12,20 +12,34 @@ import React, {
 import { toast } from 'react-toastify'
 
 import useHash from './utils/Hash'
+import useIdle from './utils/Idle'
 import useWindowsUtils from './utils/WindowsUtils'
 import { AppContext } from './reducer/App'
-import { DependencyDialog } from './common/dependency'
 import { Fields, Loading } from './common/builder'
 import { Form } from './common/form'
 import { Header, SideLeft, SideRight } from './common/layout'
-import { InitializrContext } from './reducer/Initializr'
-import { getConfig, getInfo, getProject } from './utils/ApiUtils'
+import { InitializrContext, refreshValues } from './reducer/Initializr'
+import { getConfig, getProject } from './utils/ApiUtils'
+import { loadInfo } from './utils/MetadataCache'
 
-const Explore = lazy(() => import('./common/explore/Explore'))
-const Share = lazy(() => import('./common/share/Share'))
-const History = lazy(() => import('./common/history/History'))
+// Secondary dialogs are rendered, and therefore loaded, once the page is idle
+// or when they are opened. Their chunks are prefetched by the browser.
+const DependencyDialog = lazy(() =>
+  import(/* webpackPrefetch: true */ './common/dependency/Dialog')
+)
+const Explore = lazy(() =>
+  import(/* webpackPrefetch: true */ './common/explore/Explore')
+)
+const Share = lazy(() =>
+  import(/* webpackPrefetch: true */ './common/share/Share')
+)
+const History = lazy(() =>
+  import(/* webpackPrefetch: true */ './common/history/History')
+)
 const HotKeys = lazy(() => import('./common/builder/HotKeys'))
-const Favorite = lazy(() => import('./common/favorite/Favorite'))
+const Favorite = lazy(() =>
+  import(/* webpackPrefetch: true */ './common/favorite/Favorite')
+)
 
 export default function Application() {
   const {
@@ -47,29 +61,40 @@ export default function Application() {
     dispatch: dispatchInitializr,
   } = useContext(InitializrContext)
 
-  const [blob, setBlob] = useState(null)
+  const [exploreRequest, setExploreRequest] = useState(null)
   const [generating, setGenerating] = useState(false)
 
   const buttonExplore = useRef(null)
   const buttonDependency = useRef(null)
   const buttonSubmit = useRef(null)
+  const latestValues = useRef(values)
+  latestValues.current = values
 
   const windowsUtils = useWindowsUtils()
+  const idle = useIdle(complete)
   useHash()
 
   useEffect(() => {
     if (windowsUtils.origin) {
       const url = `${windowsUtils.origin}/metadata/client`
-      getInfo(url).then(jsonConfig => {
+      loadInfo(url, (jsonConfig, refresh) => {
         const response = getConfig(jsonConfig)
+        if (refresh) {
+          const { boot } = refreshValues(latestValues.current, response)
+          dispatchInitializr({ type: 'REFRESH', payload: response })
+          dispatch({ type: 'REFRESH', payload: { config: response, boot } })
+          return
+        }
         dispatchInitializr({ type: 'COMPLETE', payload: { ...response } })
         dispatch({ type: 'COMPLETE', payload: response })
+      }).catch(() => {
+        toast.error(`Could not connect to server. Please check your network.`)
       })
     }
   }, [dispatch, dispatchInitializr, windowsUtils.origin])
 
   const onEscape = () => {
-    setBlob(null)
+    setExploreRequest(null)
     dispatch({
       type: 'UPDATE',
       payload: {
@@ -106,20 +131,9 @@ export default function Application() {
     }
   }
 
-  const onExplore = async () => {
-    const url = `${windowsUtils.origin}/starter.zip`
+  const onExplore = () => {
     dispatch({ type: 'UPDATE', payload: { explore: true, list: false } })
-    const project = await getProject(
-      url,
-      values,
-      get(dependencies, 'list')
-    ).catch(err => {
-      toast.error(
-        err || `Could not connect to server. Please check your network.`
-      )
-      onEscape()
-    })
-    setBlob(project)
+    setExploreRequest({ values, dependencies: get(dependencies, 'list') })
   }
 
   const onShare = () => {
@@ -173,26 +187,42 @@ export default function Application() {
                 refDependency={buttonDependency}
                 generating={generating}
               />
-              <DependencyDialog onClose={onEscape} />
+              {(idle || list) && (
+                <Suspense fallback=''>
+                  <DependencyDialog onClose={onEscape} />
+                </Suspense>
+              )}
             </>
           )}
         </Form>
       </div>
       <SideRight />
       <Suspense fallback=''>
-        <Share open={shareOpen || false} shareUrl={share} onClose={onEscape} />
-        <Explore
-          projectName={`${get(values, 'meta.artifact')}.zip`}
-          blob={blob}
-          open={exploreOpen || false}
-          onClose={onEscape}
-        />
-        <History open={historyOpen || false} onClose={onEscape} />
-        <Favorite
-          add={favoriteAddOpen || false}
-          open={favoriteOpen || false}
-          onClose={onEscape}
-        />
+        {(idle || shareOpen) && (
+          <Share
+            open={shareOpen || false}
+            shareUrl={share}
+            onClose={onEscape}
+          />
+        )}
+        {(idle || exploreOpen) && (
+          <Explore
+            projectName={`${get(values, 'meta.artifact')}.zip`}
+            request={exploreRequest}
+            open={exploreOpen || false}
+            onClose={onEscape}
+          />
+        )}
+        {(idle || historyOpen) && (
+          <History open={historyOpen || false} onClose={onEscape} />
+        )}
+        {(idle || favoriteOpen || favoriteAddOpen) && (
+          <Favorite
+            add={favoriteAddOpen || false}
+            open={favoriteOpen || false}
+            onClose={onEscape}
+          />
+        )}
       </Suspense>
     </>
   )
@@ -94,6 +94,7 @@ function Fields({
                     type: 'UPDATE',
                     payload: { boot: value },
                     config: get(dependencies, 'list'),
+                    compatibility: get(dependencies, 'compatibility'),
                   })
                   dispatch({
                     type: 'UPDATE_DEPENDENCIES',
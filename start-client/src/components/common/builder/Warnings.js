@@ -69,6 +69,16 @@ function Warnings() {
               selected.
             </li>
           )}
+          {get(warnings, 'incompatible') && (
+            <li>
+              The following dependencies are not compatible with Spring
+              Boot <strong>{get(warnings, 'incompatible.boot')}</strong>:{' '}
+              <strong className='warn'>
+                {get(warnings, 'incompatible.value')}
+              </strong>
+              .
+            </li>
+          )}
           {get(warnings, 'dependencies') && (
             <li>
               The following dependencies are not supported:{' '}
@@ -1,28 +1,18 @@
-import * as JsSearch from 'js-search'
 import PropTypes from 'prop-types'
 import get from 'lodash/get'
-import React, { useContext, useEffect, useRef, useState } from 'react'
+import React, { useContext, useEffect, useMemo, useRef, useState } from 'react'
 import { CSSTransition, TransitionGroup } from 'react-transition-group'
 import { clearAllBodyScrollLocks, disableBodyScroll } from 'body-scroll-lock'
 
 import Item from './Item'
+import useVisibleRows from '../../utils/VisibleRows'
 import useWindowsUtils from '../../utils/WindowsUtils'
 import { AppContext } from '../../reducer/App'
 import { IconTimes } from '../icons'
 import { InitializrContext } from '../../reducer/Initializr'
 import { Overlay } from '../form'
 
-const sortResult = dependencies => {
-  return dependencies.sort((a, b) => {
-    if (a.valid && !b.valid) {
-      return -1
-    }
-    if (!a.valid && b.valid) {
-      return 1
-    }
-    return b.weight - a.weight
-  })
-}
+const ROW_HEIGHT = 80
 
 function Dialog({ onClose }) {
   const { list, dependencies: depsContext } = useContext(AppContext)
@@ -35,10 +25,7 @@ function Dialog({ onClose }) {
   const { values, dispatch } = useContext(InitializrContext)
   const [query, setQuery] = useState('')
   const [selected, setSelected] = useState(0)
-  const [result, setResult] = useState([])
-  const [search, setSearch] = useState(null)
   const [multiple, setMultiple] = useState(false)
-  const [groups, setGroups] = useState([])
   const [selectedDeps, setSelectedDeps] = useState([])
 
   const add = id => {
@@ -56,17 +43,44 @@ function Dialog({ onClose }) {
   }
 
   useEffect(() => {
-    const jsSearchUp = new JsSearch.Search('name')
-    jsSearchUp.addIndex('name')
-    jsSearchUp.addIndex('id')
-    jsSearchUp.addIndex('description')
-    jsSearchUp.addIndex('group')
-    jsSearchUp.addDocuments(get(depsContext, 'list'))
-    setSearch(jsSearchUp)
-
-    setGroups(get(depsContext, 'groups', []).filter(group => group.items.length > 0))
     setSelectedDeps(values.dependencies)
-  }, [values, depsContext, values.dependencies])
+  }, [values.dependencies])
+
+  const groups = useMemo(
+    () =>
+      get(depsContext, 'groups', []).filter(group => group.items.length > 0),
+    [depsContext]
+  )
+
+  const result = useMemo(() => {
+    if (!query.trim()) {
+      return get(depsContext, 'list', [])
+    }
+    return depsContext.index.search(query)
+  }, [query, depsContext])
+
+  const rows = useMemo(() => {
+    if (query.trim()) {
+      return result.map((item, index) => ({ key: item.id, item, index }))
+    }
+    const groupRows = []
+    let index = 0
+    groups.forEach(group => {
+      groupRows.push({ key: `group-${group.group}`, group: group.group })
+      group.items.forEach(item => {
+        groupRows.push({ key: item.id, item, index })
+        index += 1
+      })
+    })
+    return groupRows
+  }, [query, result, groups])
+
+  const visibleRows = useVisibleRows(
+    wrapper,
+    rows.map(row => row.key),
+    ROW_HEIGHT,
+    index => !!rows[index].group
+  )
 
   useEffect(() => {
     if (get(wrapper, 'current') && list) {
@@ -77,20 +91,6 @@ function Dialog({ onClose }) {
     }
   }, [wrapper, list])
 
-  useEffect(() => {
-    const onSearch = () => {
-      if (!search) {
-        return
-      }
-      let vals = get(depsContext, 'list', [])
-      if (query.trim()) {
-        vals = sortResult(search.search(query))
-      }
-      setResult(vals)
-    }
-    onSearch()
-  }, [values, query, search, setResult, depsContext])
-
   useEffect(() => {
     const clickOutside = event => {
       const children = get(wrapper, 'current')
@@ -130,12 +130,14 @@ function Dialog({ onClose }) {
   const updateScroll = () => {
     const wrapperElement = get(wrapper, 'current')
     const dialogElement = get(dialog, 'current')
-    const selectedElement =
-      wrapperElement.querySelector('a.selected').parentElement
-    const position = selectedElement.offsetTop - wrapperElement.scrollTop
+    const selectedLink = wrapperElement.querySelector('a.selected')
+    const offsetTop = selectedLink
+      ? selectedLink.parentElement.offsetTop
+      : visibleRows.getOffset(rows.findIndex(row => row.index === selected))
+    const position = offsetTop - wrapperElement.scrollTop
     if (position - 50 < 0 || position > dialogElement.clientHeight - 160) {
       const top = query.trim() === '' ? 50 : 10
-      wrapperElement.scrollTop = selectedElement.offsetTop - top
+      wrapperElement.scrollTop = offsetTop - top
     }
   }
 
@@ -203,10 +205,9 @@ function Dialog({ onClose }) {
     setTimeout(() => { }, 300)
   }
 
-  let currentIndex = -1
   return (
     <>
-      <TransitionGroup component={null}>
+      <TransitionGroup component={null} appear>
         {list && (
           <CSSTransition
             onEnter={onEnter}
@@ -246,69 +247,53 @@ function Dialog({ onClose }) {
                   Press {windowsUtils.symb} for multiple adds{' '}
                 </span>
               </div>
-              <ul ref={wrapper}>
-                {query.trim()
-                  ? result.map((item, index) => (
+              <ul ref={wrapper} onScroll={visibleRows.onScroll}>
+                <li
+                  className='spacer'
+                  style={{ height: visibleRows.before }}
+                />
+                {visibleRows.indices.map(position => {
+                  const row = rows[position]
+                  if (row.group) {
+                    return (
+                      <li key={row.key} className='group-title'>
+                        <span>{row.group}</span>
+                      </li>
+                    )
+                  }
+                  return (
                     <Item
-                      selected={selected === index}
-                      item={item}
-                      index={index}
-                      key={item.id}
-                      added={selectedDeps.includes(item.id)}
-                      onAdd={(item) => {
+                      selected={selected === row.index}
+                      added={selectedDeps.includes(row.item.id)}
+                      item={row.item}
+                      key={row.key}
+                      index={row.index}
+                      group={!!query.trim()}
+                      onAdd={item => {
                         textFocus()
                         setSelectedDeps([...selectedDeps, item.id])
                         if (item.valid && !multiple) {
                           onClose()
                         }
                       }}
-                      onRemoved={(item) => {
-                        setSelectedDeps(selectedDeps.filter(id => id !== item.id))
+                      onRemoved={item => {
+                        setSelectedDeps(
+                          selectedDeps.filter(id => id !== item.id)
+                        )
                         if (item.valid && !multiple) {
                           onClose()
                         }
                       }}
-                      onSelect={() => {
-                        setSelected(index)
+                      onSelect={i => {
+                        setSelected(i)
                       }}
                     />
-                  ))
-                  : groups.map(group => (
-                    <>
-                      <li key={group.group} className='group-title'>
-                        <span>{group.group}</span>
-                      </li>
-                      {group.items.map(itemGroup => {
-                        currentIndex = +`${currentIndex + 1}`
-                        return (
-                          <Item
-                            selected={selected === currentIndex}
-                            added={selectedDeps.includes(itemGroup.id)}
-                            item={itemGroup}
-                            key={itemGroup.id}
-                            index={currentIndex}
-                            group={false}
-                            onAdd={(item) => {
-                              textFocus()
-                              setSelectedDeps([...selectedDeps, item.id])
-                              if (itemGroup.valid && !multiple) {
-                                onClose()
-                              }
-                            }}
-                            onRemoved={(item) => {
-                              setSelectedDeps(selectedDeps.filter(id => id !== item.id))
-                              if (item.valid && !multiple) {
-                                onClose()
-                              }
-                            }}
-                            onSelect={i => {
-                              setSelected(i)
-                            }}
-                          />
-                        )
-                      })}
-                    </>
-                  ))}
+                  )
+                })}
+                <li
+                  className='spacer'
+                  style={{ height: visibleRows.after }}
+                />
               </ul>
             </div>
           </CSSTransition>
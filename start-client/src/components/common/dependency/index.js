@@ -1,2 +1 @@
-export { default as DependencyDialog } from './Dialog'
 export { default as Dependency } from './Dependency'
@@ -1,22 +1,122 @@
 import Highlight from 'prism-react-renderer'
 import Prism from 'prism-react-renderer/prism'
 import PropTypes from 'prop-types'
-import React from 'react'
+import React, { useEffect, useMemo, useState } from 'react'
 import get from 'lodash/get'
 import ReactMarkdown from 'react-markdown'
 
 if (typeof global !== 'undefined') {
   global.Prism = Prism
-  require('prismjs/components/prism-java') // eslint-disable-line
-  require('prismjs/components/prism-kotlin') // eslint-disable-line
-  require('prismjs/components/prism-properties') // eslint-disable-line
-  require('prismjs/components/prism-groovy') // eslint-disable-line
-  require('prismjs/components/prism-git') // eslint-disable-line
+}
+
+// Grammars that are not bundled with prism-react-renderer, each one loaded in
+// its own chunk the first time a file in that language is displayed
+const GRAMMARS = {
+  java: () => import('prismjs/components/prism-java'),
+  kotlin: () => import('prismjs/components/prism-kotlin'),
+  properties: () => import('prismjs/components/prism-properties'),
+  groovy: () => import('prismjs/components/prism-groovy'),
+  git: () => import('prismjs/components/prism-git'),
+}
+
+const grammars = new Map()
+
+const loadGrammar = language => {
+  if (!grammars.has(language)) {
+    grammars.set(
+      language,
+      GRAMMARS[language]().catch(() => grammars.delete(language))
+    )
+  }
+  return grammars.get(language)
+}
+
+const hasGrammar = language =>
+  !!Prism.languages[language] || !GRAMMARS[language]
+
+// Large files are highlighted in chunks of lines so that the first lines are
+// displayed without waiting for the whole file to be tokenized
+const CHUNK_SIZE = 500
+
+function Lines({ code, language, offset }) {
+  return (
+    <Highlight Prism={Prism} code={code} language={language} theme={null}>
+      {({ tokens, getLineProps, getTokenProps }) =>
+        tokens.map((line, i) => {
+          const props = getLineProps({ line, key: i })
+          return (
+            <div key={get(props, 'key')} className={get(props, 'className')}>
+              <span data-value={offset + i + 1} className='explorer-number' />
+              {line.map((token, key) => {
+                const props2 = getTokenProps({ token, key })
+                return (
+                  <span
+                    className={get(props2, 'className')}
+                    style={get(props2, 'style')}
+                    key={get(props2, 'key')}
+                  >
+                    {get(props2, 'children')}
+                  </span>
+                )
+              })}
+            </div>
+          )
+        })
+      }
+    </Highlight>
+  )
+}
+
+Lines.propTypes = {
+  code: PropTypes.string.isRequired,
+  language: PropTypes.string,
+  offset: PropTypes.number.isRequired,
+}
+
+Lines.defaultProps = {
+  language: null,
 }
 
 function Code({ item }) {
   const code = get(item, 'content', '').replace(/\t/g, '  ')
   const language = get(item, 'language')
+  const lines = useMemo(() => code.split('\n'), [code])
+  const chunks = useMemo(() => {
+    const result = []
+    for (let i = 0; i < lines.length; i += CHUNK_SIZE) {
+      result.push(lines.slice(i, i + CHUNK_SIZE).join('\n'))
+    }
+    return result
+  }, [lines])
+  const [progress, setProgress] = useState({ chunks, rendered: 1 })
+  const rendered = progress.chunks === chunks ? progress.rendered : 1
+  const [, setLoaded] = useState(null)
+
+  useEffect(() => {
+    if (!language || hasGrammar(language)) {
+      return undefined
+    }
+    let active = true
+    loadGrammar(language).then(() => {
+      if (active) {
+        setLoaded(language)
+      }
+    })
+    return () => {
+      active = false
+    }
+  }, [language])
+
+  useEffect(() => {
+    if (rendered >= chunks.length) {
+      return undefined
+    }
+    const timeout = setTimeout(() => {
+      setProgress({ chunks, rendered: rendered + 1 })
+    })
+    return () => clearTimeout(timeout)
+  }, [chunks, rendered])
+
   if (language === 'markdown' && !get(item, 'force', false)) {
     return (
       <div className='markdown'>
@@ -24,41 +124,21 @@ function Code({ item }) {
       </div>
     )
   }
+  let groupLine = lines.length > 9 ? '2' : '1'
+  groupLine = lines.length > 99 ? '3' : groupLine
+  groupLine = lines.length > 999 ? '4' : groupLine
   return (
-    <Highlight Prism={Prism} code={code} language={language} theme={null}>
-      {({ className, style, tokens, getLineProps, getTokenProps }) => {
-        let groupLine = tokens.length > 9 ? '2' : '1'
-        groupLine = tokens.length > 99 ? '3' : groupLine
-        groupLine = tokens.length > 999 ? '4' : groupLine
-        return (
-          <pre className={`${className} line-${groupLine}`} style={style}>
-            {tokens.map((line, i) => {
-              const props = getLineProps({ line, key: i })
-              return (
-                <div
-                  key={get(props, 'key')}
-                  className={get(props, 'className')}
-                >
-                  <span data-value={i + 1} className='explorer-number' />
-                  {line.map((token, key) => {
-                    const props2 = getTokenProps({ token, key })
-                    return (
-                      <span
-                        className={get(props2, 'className')}
-                        style={get(props2, 'style')}
-                        key={get(props2, 'key')}
-                      >
-                        {get(props2, 'children')}
-                      </span>
-                    )
-                  })}
-                </div>
-              )
-            })}
-          </pre>
-        )
-      }}
-    </Highlight>
+    <pre className={`prism-code language-${language} line-${groupLine}`}>
+      {chunks.slice(0, rendered).map((chunk, index) => (
+        <Lines
+          // eslint-disable-next-line react/no-array-index-key
+          key={index}
+          code={chunk}
+          language={language}
+          offset={index * CHUNK_SIZE}
+        />
+      ))}
+    </pre>
   )
 }
 
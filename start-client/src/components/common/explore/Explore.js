@@ -1,10 +1,15 @@
 import '../../../styles/explore.scss'
 
 import FileSaver from 'file-saver'
-import JSZip from 'jszip'
 import PropTypes from 'prop-types'
 import get from 'lodash/get'
-import React, { useContext, useEffect, useRef, useState } from 'react'
+import React, {
+  useCallback,
+  useContext,
+  useEffect,
+  useRef,
+  useState,
+} from 'react'
 import { CSSTransition, TransitionGroup } from 'react-transition-group'
 import { CopyToClipboard } from 'react-copy-to-clipboard'
 import { clearAllBodyScrollLocks, disableBodyScroll } from 'body-scroll-lock'
@@ -14,41 +19,76 @@ import Code from './Code'
 import Loading from './Loading'
 import Select from './Select'
 import Tree from './Tree'
+import openProjectReader from '../../utils/ProjectReader'
+import { getProject } from '../../utils/ApiUtils'
 import useWindowsUtils from '../../utils/WindowsUtils'
 import { AppContext } from '../../reducer/App'
-import { createTree, findRoot } from '../../utils/Zip'
 
-function Explore({ open, onClose, projectName, blob }) {
+function Explore({ open, onClose, projectName, request }) {
   const [button, setButton] = useState('Copy')
   const [tree, setTree] = useState(null)
   const [selected, setSelected] = useState(null)
   const { dispatch, explore } = useContext(AppContext)
   const wrapper = useRef(null)
+  const reader = useRef(null)
+  const contents = useRef(new Map())
+  const selectedPath = useRef(null)
 
   const windowsUtils = useWindowsUtils()
 
+  const select = useCallback(async item => {
+    selectedPath.current = item.path
+    if (contents.current.has(item.path)) {
+      setSelected({ ...item, content: contents.current.get(item.path) })
+      return
+    }
+    setSelected({ ...item, content: '' })
+    try {
+      const content = await reader.current.read(item.path)
+      contents.current.set(item.path, content)
+      if (selectedPath.current === item.path) {
+        setSelected({ ...item, content })
+      }
+    } catch (e) {
+      toast.error(`Could not read ${item.filename}.`)
+    }
+  }, [])
+
   useEffect(() => {
+    let cancelled = false
     const load = async () => {
       try {
-        const zipJs = new JSZip()
-        const { files } = await zipJs.loadAsync(blob).catch(() => {
-          throw Error(`Could not load the ZIP project.`)
-        })
-        const path = `${findRoot({ files })}/`
-        const result = await createTree(files, path, path, zipJs).catch(() => {
-          throw Error(`Could not read the ZIP project.`)
-        })
-        setSelected(result.selected)
-        setTree(result.tree)
+        const project = await openProjectReader(
+          windowsUtils.origin,
+          request.values,
+          request.dependencies
+        )
+        if (cancelled) {
+          project.close()
+          return
+        }
+        reader.current = project
+        contents.current = new Map()
+        setTree(project.tree)
+        if (project.selected) {
+          await select(project.selected)
+        }
       } catch (e) {
         dispatch({ type: 'UPDATE', payload: { explore: false } })
         toast.error(e.message)
       }
     }
-    if (explore && blob) {
+    if (explore && request) {
       load()
     }
-  }, [explore, blob, dispatch])
+    return () => {
+      cancelled = true
+      if (reader.current) {
+        reader.current.close()
+        reader.current = null
+      }
+    }
+  }, [explore, request, dispatch, select, windowsUtils.origin])
 
   useEffect(() => {
     if (get(wrapper, 'current') && open) {
@@ -73,8 +113,21 @@ function Explore({ open, onClose, projectName, blob }) {
     FileSaver.saveAs(blobFile, file.filename)
   }
 
-  const downloadZip = () => {
-    FileSaver.saveAs(blob, projectName)
+  const downloadZip = async () => {
+    const blob =
+      get(reader, 'current.blob') ||
+      (await getProject(
+        `${windowsUtils.origin}/starter.zip`,
+        request.values,
+        request.dependencies
+      ).catch(err => {
+        toast.error(
+          err || `Could not connect to server. Please check your network.`
+        )
+      }))
+    if (blob) {
+      FileSaver.saveAs(blob, projectName)
+    }
   }
 
   const onEnded = () => {
@@ -99,9 +152,7 @@ function Explore({ open, onClose, projectName, blob }) {
                   <div className='explorer-content'>
                     <Tree
                       selected={selected}
-                      onClickItem={item => {
-                        setSelected(item)
-                      }}
+                      onClickItem={select}
                       tree={tree}
                     />
                   </div>
@@ -109,9 +160,7 @@ function Explore({ open, onClose, projectName, blob }) {
                 <div className='is-mobile explorer-select'>
                   <Select
                     selected={selected}
-                    onClickItem={item => {
-                      setSelected(item)
-                    }}
+                    onClickItem={select}
                     tree={tree}
                   />
                 </div>
@@ -223,14 +272,17 @@ function Explore({ open, onClose, projectName, blob }) {
 
 Explore.defaultProps = {
   projectName: '',
-  blob: null,
+  request: null,
 }
 
 Explore.propTypes = {
   open: PropTypes.bool.isRequired,
   onClose: PropTypes.func.isRequired,
   projectName: PropTypes.string,
-  blob: PropTypes.instanceOf(Blob),
+  request: PropTypes.shape({
+    values: PropTypes.shape({}),
+    dependencies: PropTypes.arrayOf(PropTypes.shape({})),
+  }),
 }
 
 export default Explore
@@ -3,7 +3,8 @@ import get from 'lodash/get'
 import set from 'lodash/set'
 import React, { useReducer } from 'react'
 import useTheme from '../utils/Theme'
-import { isValidDependency } from '../utils/ApiUtils'
+import { createCompatibility } from '../utils/Compatibility'
+import { createSearchIndex } from '../utils/DependencySearch'
 import { rangeToText } from '../utils/Version'
 
 const MAX_HISTORY = 100
@@ -23,6 +24,9 @@ export const defaultAppContext = {
   dependencies: {
     list: [],
     groups: [],
+    index: createSearchIndex([]),
+    indexes: new Map(),
+    compatibility: createCompatibility([], []),
   },
   favoriteOptions: {
     title: '',
@@ -42,7 +46,17 @@ const localStorage =
         setItem: () => {},
       }
 
-export function reduceDependencies(boot, items) {
+const getBootVersions = config =>
+  get(config, 'lists.boot', []).map(boot => boot.key)
+
+// The search index of the dependencies only depends on the metadata and the
+// Spring Boot version. Indexes are kept by version until the metadata changes.
+export function reduceDependencies(
+  boot,
+  items,
+  compatibility = createCompatibility([boot], items),
+  indexes = new Map()
+) {
   const groups = []
   const list = []
   const getParent = (m, name) => {
@@ -59,7 +73,7 @@ export function reduceDependencies(boot, items) {
       }
       groups.push(parent)
     }
-    const valid = isValidDependency(boot, dep)
+    const valid = compatibility.isCompatible(boot, dep.id)
     if (!valid) {
       message = `Requires Spring Boot ${rangeToText(
         get(dep, 'versionRequirement')
@@ -68,9 +82,15 @@ export function reduceDependencies(boot, items) {
     parent.items.push({ ...dep, valid, message })
     list.push({ ...dep, valid, message })
   }
+  if (!indexes.has(boot)) {
+    indexes.set(boot, createSearchIndex(list))
+  }
   return {
     list,
     groups,
+    index: indexes.get(boot),
+    indexes,
+    compatibility,
   }
 }
 
@@ -114,15 +134,29 @@ export function reducer(state, action) {
     case 'UPDATE_DEPENDENCIES': {
       const dependencies = reduceDependencies(
         get(action, 'payload.boot'),
-        get(state, 'config.lists.dependencies')
+        get(state, 'config.lists.dependencies'),
+        get(state, 'dependencies.compatibility'),
+        get(state, 'dependencies.indexes')
       )
       return { ...state, dependencies }
     }
+    case 'REFRESH': {
+      const config = get(action, 'payload.config')
+      const items = get(config, 'lists.dependencies')
+      const dependencies = reduceDependencies(
+        get(action, 'payload.boot'),
+        items,
+        createCompatibility(getBootVersions(config), items)
+      )
+      return { ...state, config, dependencies }
+    }
     case 'COMPLETE': {
       const json = get(action, 'payload', {})
+      const items = get(json, 'lists.dependencies')
       const dependencies = reduceDependencies(
         get(json, 'defaultValues.boot'),
-        get(json, 'lists.dependencies')
+        items,
+        createCompatibility(getBootVersions(json), items)
       )
       const histories = localStorage.getItem('histories')
         ? JSON.parse(localStorage.getItem('histories'))
@@ -67,6 +67,51 @@ const getPersistedOrDefault = json => {
   return values
 }
 
+const REFRESHED_KEYS = [
+  'project',
+  'language',
+  'boot',
+  'meta.java',
+  'meta.packaging',
+]
+
+export const refreshValues = (values, json) => {
+  const defaults = getPersistedOrDefault(json)
+  const refreshed = { ...values, meta: { ...get(values, 'meta') } }
+  REFRESHED_KEYS.forEach(key => {
+    const item = get(json, `lists.${key}`)?.find(
+      it => it.key === get(refreshed, key)
+    )
+    if (!item) {
+      set(refreshed, key, get(defaults, key))
+    }
+  })
+  const ids = get(json, 'lists.dependencies', []).map(dep => dep.id)
+  refreshed.dependencies = get(values, 'dependencies', []).filter(id =>
+    ids.includes(id)
+  )
+  return refreshed
+}
+
+const getCompatibilityWarnings = (warnings, values, action) => {
+  const { incompatible, ...others } = warnings
+  const compatibility = get(action, 'compatibility')
+  const boot = get(values, 'boot')
+  const names = get(values, 'dependencies', [])
+    .filter(id => !compatibility.isCompatible(boot, id))
+    .map(id =>
+      get(
+        get(action, 'config', []).find(dep => dep.id === id),
+        'name',
+        id
+      )
+    )
+  if (names.length > 0) {
+    return { ...others, incompatible: { value: names.join(', '), boot } }
+  }
+  return others
+}
+
 const persist = changes => {
   if (get(changes, 'project')) {
     localStorage.setItem('project', get(changes, 'project'))
@@ -94,6 +139,10 @@ export function reducer(state, action) {
         warnings: {},
       }
     }
+    case 'REFRESH': {
+      const values = refreshValues(state.values, get(action, 'payload'))
+      return { ...state, values, share: getShareUrl(values) }
+    }
     case 'UPDATE': {
       const changes = get(action, 'payload')
       let errors = { ...state.errors }
@@ -126,7 +175,17 @@ export function reducer(state, action) {
         ...changes,
         meta,
       }
-      return { ...state, values, share: getShareUrl(values), errors }
+      let { warnings } = state
+      if (get(changes, 'boot') && get(action, 'compatibility')) {
+        warnings = getCompatibilityWarnings(warnings, values, action)
+      }
+      return {
+        ...state,
+        values,
+        share: getShareUrl(values),
+        errors,
+        warnings,
+      }
     }
     case 'LOAD': {
       const params = get(action, 'payload.params')
@@ -90,6 +90,37 @@ describe('UPDATE_DEPENDENCIES action', () => {
     expect(get(result, 'dependencies.list[0].id')).toBe('foo1')
     expect(get(result, 'dependencies.list[0].valid')).toBe(true)
   })
+  it('should reuse the search index of a Spring Boot version', () => {
+    state.config = {
+      lists: {
+        dependencies: [
+          {
+            id: 'foo1',
+            group: 'bar1',
+            versionRange: '',
+          },
+        ],
+      },
+    }
+    const first = reducer(state, {
+      type: 'UPDATE_DEPENDENCIES',
+      payload: { boot: '1.0.0' },
+    })
+    const second = reducer(first, {
+      type: 'UPDATE_DEPENDENCIES',
+      payload: { boot: '2.0.0' },
+    })
+    const third = reducer(second, {
+      type: 'UPDATE_DEPENDENCIES',
+      payload: { boot: '1.0.0' },
+    })
+    expect(get(second, 'dependencies.index')).not.toBe(
+      get(first, 'dependencies.index')
+    )
+    expect(get(third, 'dependencies.index')).toBe(
+      get(first, 'dependencies.index')
+    )
+  })
 })
 
 describe('share/explore/nav/list action', () => {
@@ -172,3 +203,35 @@ describe('COMPLETE action', () => {
     expect(get(result, 'dependencies.list').length).toBe(1)
   })
 })
+
+describe('REFRESH action', () => {
+  it('should update the config and the dependencies', () => {
+    const config = {
+      defaultValues: {
+        boot: '2.0.0',
+      },
+      lists: {
+        dependencies: [
+          {
+            id: 'foo1',
+            group: 'bar1',
+            versionRange: '',
+          },
+          {
+            id: 'foo2',
+            group: 'bar2',
+            versionRange: '[1.0.0,2.0.0)',
+          },
+        ],
+      },
+    }
+    const result = reducer(state, {
+      type: 'REFRESH',
+      payload: { config, boot: '1.0.0' },
+    })
+    expect(get(result, 'config')).toBe(config)
+    expect(get(result, 'dependencies.list').length).toBe(2)
+    expect(get(result, 'dependencies.list[1].valid')).toBe(true)
+    expect(get(result, 'complete')).toBe(false)
+  })
+})
@@ -2,6 +2,7 @@ import get from 'lodash/get'
 
 import MockClient from '../../../../dev/api.mock.json'
 import { getDefaultValues, getLists } from '../../utils/ApiUtils'
+import { createCompatibility } from '../../utils/Compatibility'
 import { reducer } from '../Initializr'
 
 const defaultValues = getDefaultValues({ ...MockClient })
@@ -205,6 +206,38 @@ describe('UPDATE action', () => {
   })
 })
 
+describe('UPDATE action with compatibility', () => {
+  const config = [
+    { id: 'foo1', name: 'Foo 1', versionRange: '' },
+    { id: 'foo2', name: 'Foo 2', versionRange: '2.2.0.RELEASE' },
+  ]
+  const compatibility = createCompatibility(['2.1.9.RELEASE'], config)
+  it('should warn about incompatible dependencies', () => {
+    state.values.dependencies = ['foo1', 'foo2']
+    const result = reducer(state, {
+      type: 'UPDATE',
+      payload: { boot: '2.1.9.RELEASE' },
+      config,
+      compatibility,
+    })
+    expect(get(result, 'warnings.incompatible.value')).toBe('Foo 2')
+    expect(get(result, 'warnings.incompatible.boot')).toBe('2.1.9.RELEASE')
+  })
+  it('should clear the warning when dependencies are compatible', () => {
+    state.values.dependencies = ['foo1', 'foo2']
+    state.warnings = {
+      incompatible: { value: 'Foo 2', boot: '2.1.9.RELEASE' },
+    }
+    const result = reducer(state, {
+      type: 'UPDATE',
+      payload: { boot: '2.2.0.RELEASE' },
+      config,
+      compatibility,
+    })
+    expect(get(result, 'warnings.incompatible', null)).toBe(null)
+  })
+})
+
 describe('LOAD action', () => {
   it('should reduce the state', () => {
     const json = { ...MockClient }
@@ -245,6 +278,32 @@ describe('LOAD action', () => {
   })
 })
 
+describe('REFRESH action', () => {
+  it('should keep the values that are still valid', () => {
+    const json = { ...MockClient }
+    state.values.boot = '2.1.9.RELEASE'
+    state.values.meta.name = 'demo1'
+    const result = reducer(state, {
+      type: 'REFRESH',
+      payload: { lists: getLists(json), defaultValues },
+    })
+    expect(get(result, 'values.boot')).toBe('2.1.9.RELEASE')
+    expect(get(result, 'values.meta.name')).toBe('demo1')
+  })
+  it('should reset the values that are no longer valid', () => {
+    const json = { ...MockClient }
+    state.values.boot = '1.5.0.RELEASE'
+    state.values.dependencies = ['web', 'does-not-exist']
+    const result = reducer(state, {
+      type: 'REFRESH',
+      payload: { lists: getLists(json), defaultValues },
+    })
+    expect(get(result, 'values.boot')).toBe('2.2.0.RELEASE')
+    expect(get(result, 'values.dependencies')).toEqual(['web'])
+    expect(get(result, 'share')).toContain('platformVersion=2.2.0.RELEASE')
+  })
+})
+
 describe('ADD_DEPENDENCY action', () => {
   it('should reduce the state', () => {
     let result = reducer(state, {
@@ -19,26 +19,23 @@ const PROPERTIES_MAPPING_URL = {
   dependencies: 'dependencies',
 }
 
-export const getInfo = function getInfo(url) {
-  return new Promise((resolve, reject) => {
-    fetch(`${url}`, {
-      method: 'GET',
-      headers: {
-        Accept: 'application/vnd.initializr.v2.2+json',
-      },
-    })
-      .then(
-        response => response.json(),
-        () => {
-          reject()
-          return null
-        }
-      )
-      .then(data => {
-        if (data) {
-          resolve(data)
-        }
-      })
+export const revalidateInfo = function revalidateInfo(url, etag) {
+  const headers = {
+    Accept: 'application/vnd.initializr.v2.2+json',
+  }
+  if (etag) {
+    headers['If-None-Match'] = etag
+  }
+  return fetch(`${url}`, { method: 'GET', headers }).then(response => {
+    if (response.status === 304) {
+      return null
+    }
+    if (!response.ok) {
+      throw Error(`Could not load the metadata (${response.status}).`)
+    }
+    return response
+      .json()
+      .then(data => ({ data, etag: response.headers.get('ETag') }))
   })
 }
 
@@ -267,33 +264,50 @@ export const isValidDependency = function isValidDependency(boot, dependency) {
     : true
 }
 
-export const getProject = function getProject(url, values, config) {
-  return new Promise((resolve, reject) => {
-    const params = querystring.stringify({
-      type: get(values, 'project'),
-      language: get(values, 'language'),
-      bootVersion: get(values, 'boot'),
-      baseDir: get(values, 'meta.artifact'),
-      groupId: get(values, 'meta.group'),
-      artifactId: get(values, 'meta.artifact'),
-      name: get(values, 'meta.name'),
-      description: get(values, 'meta.description'),
-      packageName: get(values, 'meta.packageName'),
-      packaging: get(values, 'meta.packaging'),
-      javaVersion: get(values, 'meta.java'),
+const getProjectParams = function getProjectParams(values, config) {
+  const params = querystring.stringify({
+    type: get(values, 'project'),
+    language: get(values, 'language'),
+    bootVersion: get(values, 'boot'),
+    baseDir: get(values, 'meta.artifact'),
+    groupId: get(values, 'meta.group'),
+    artifactId: get(values, 'meta.artifact'),
+    name: get(values, 'meta.name'),
+    description: get(values, 'meta.description'),
+    packageName: get(values, 'meta.packageName'),
+    packaging: get(values, 'meta.packaging'),
+    javaVersion: get(values, 'meta.java'),
+  })
+  const paramsDependencies = get(values, 'dependencies', [])
+    .map(dependency => {
+      const dep = config.find(it => it.id === dependency)
+      return isValidDependency(get(values, 'boot'), dep) ? dependency : null
     })
-    let paramsDependencies = get(values, 'dependencies', [])
-      .map(dependency => {
-        const dep = config.find(it => it.id === dependency)
-        return isValidDependency(get(values, 'boot'), dep) ? dependency : null
-      })
-      .filter(dep => !!dep)
-      .join(',')
+    .filter(dep => !!dep)
+    .join(',')
+  return paramsDependencies
+    ? `${params}&dependencies=${paramsDependencies}`
+    : params
+}
 
-    if (paramsDependencies) {
-      paramsDependencies = `&dependencies=${paramsDependencies}`
-    }
-    fetch(`${url}?${params}${paramsDependencies}`, {
+const rejectWithMessage = (response, reject) => {
+  try {
+    response.json().then(
+      res => {
+        reject(res?.message || '')
+      },
+      () => {
+        reject()
+      }
+    )
+  } catch (e) {
+    reject()
+  }
+}
+
+export const getProject = function getProject(url, values, config) {
+  return new Promise((resolve, reject) => {
+    fetch(`${url}?${getProjectParams(values, config)}`, {
       method: 'GET',
     }).then(
       response => {
@@ -301,13 +315,69 @@ export const getProject = function getProject(url, values, config) {
           resolve(response.blob())
           return
         }
-        try {
-          response.json().then(res => {
-            reject(res?.message || '')
-          })
-        } catch (e) {
-          reject()
+        rejectWithMessage(response, reject)
+      },
+      () => {
+        reject()
+      }
+    )
+  })
+}
+
+/**
+ * Fetch the tree of the files of a project from the preview endpoint. Resolve
+ * to null if the server does not offer a preview.
+ */
+export const getProjectPreview = function getProjectPreview(
+  url,
+  values,
+  config
+) {
+  return new Promise((resolve, reject) => {
+    fetch(`${url}?${getProjectParams(values, config)}`, {
+      method: 'GET',
+      headers: { Accept: 'application/json' },
+    }).then(
+      response => {
+        if (response.status === 200) {
+          resolve(response.json())
+          return
+        }
+        if (response.status === 404) {
+          resolve(null)
+          return
+        }
+        rejectWithMessage(response, reject)
+      },
+      () => {
+        reject()
+      }
+    )
+  })
+}
+
+/**
+ * Fetch the content of a file of a project from the preview endpoint. Resolve
+ * to null if the file is binary.
+ */
+export const getProjectPreviewContent = function getProjectPreviewContent(
+  url,
+  values,
+  config,
+  path
+) {
+  return new Promise((resolve, reject) => {
+    const params = querystring.stringify({ path })
+    fetch(`${url}?${getProjectParams(values, config)}&${params}`, {
+      method: 'GET',
+    }).then(
+      response => {
+        if (response.status === 200) {
+          const type = response.headers.get('Content-Type') || ''
+          resolve(type.startsWith('text/') ? response.text() : null)
+          return
         }
+        rejectWithMessage(response, reject)
       },
       () => {
         reject()
@@ -0,0 +1,34 @@
+import { isInRange } from './Version'
+
+/**
+ * Create the compatibility of the specified dependencies with Spring Boot
+ * versions. The version range of each dependency is evaluated once per Spring
+ * Boot version, so that checking if a dependency is compatible is a lookup.
+ * Spring Boot versions that are not listed are evaluated the first time they
+ * are used.
+ */
+export function createCompatibility(bootVersions, dependencies) {
+  const positions = new Map()
+  dependencies.forEach((dependency, position) => {
+    positions.set(dependency.id, position)
+  })
+  const maps = new Map()
+  const getMap = boot => {
+    let map = maps.get(boot)
+    if (!map) {
+      map = new Uint8Array(dependencies.length)
+      dependencies.forEach((dependency, position) => {
+        map[position] = isInRange(boot, dependency.versionRange) ? 1 : 0
+      })
+      maps.set(boot, map)
+    }
+    return map
+  }
+  bootVersions.forEach(boot => getMap(boot))
+
+  const isCompatible = (boot, id) => {
+    const position = positions.get(id)
+    return position !== undefined && getMap(boot)[position] === 1
+  }
+  return { isCompatible }
+}
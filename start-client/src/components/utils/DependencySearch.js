@@ -0,0 +1,116 @@
+const FIELDS = [
+  { name: 'name', boost: 8 },
+  { name: 'id', boost: 4 },
+  { name: 'group', boost: 2 },
+  { name: 'description', boost: 1 },
+]
+
+const GRAM_SIZE = 3
+
+const tokenize = value =>
+  `${value || ''}`
+    .toLowerCase()
+    .split(/[^a-z0-9]+/)
+    .filter(token => token.length > 0)
+
+const grams = token => {
+  const result = []
+  for (let i = 0; i + GRAM_SIZE <= token.length; i += 1) {
+    result.push(token.substring(i, i + GRAM_SIZE))
+  }
+  return result
+}
+
+const addScore = (index, key, position, score) => {
+  let scores = index.get(key)
+  if (!scores) {
+    scores = new Map()
+    index.set(key, scores)
+  }
+  if ((scores.get(position) || 0) < score) {
+    scores.set(position, score)
+  }
+}
+
+const intersect = (scores, matches, combine) => {
+  const result = new Map()
+  scores.forEach((score, position) => {
+    if (matches.has(position)) {
+      result.set(position, combine(score, matches.get(position)))
+    }
+  })
+  return result
+}
+
+const sum = (a, b) => a + b
+
+/**
+ * Create an index of the specified dependencies. Tokens of the name, id, group
+ * and description of each dependency are indexed by their prefixes and their
+ * trigrams so that a search only looks up the tokens of the query.
+ *
+ * Results are ranked by validity, then by relevance, then by weight. Only the
+ * dependencies that match the query are sorted.
+ */
+export function createSearchIndex(dependencies) {
+  const prefixes = new Map()
+  const trigrams = new Map()
+  dependencies.forEach((dependency, position) => {
+    FIELDS.forEach(({ name, boost }) => {
+      tokenize(dependency[name]).forEach(token => {
+        for (let i = 1; i <= token.length; i += 1) {
+          const score = i === token.length ? boost * 2 : boost
+          addScore(prefixes, token.substring(0, i), position, score)
+        }
+        grams(token).forEach(gram => addScore(trigrams, gram, position, boost))
+      })
+    })
+  })
+
+  const match = token => {
+    const matches = prefixes.get(token)
+    if (matches || token.length < GRAM_SIZE) {
+      return matches
+    }
+    // Not a prefix of any token: match tokens that contain all its trigrams
+    const candidates = grams(token).map(gram => trigrams.get(gram))
+    if (candidates.some(scores => !scores)) {
+      return undefined
+    }
+    return candidates.reduce((scores, matches) =>
+      intersect(scores, matches, Math.min)
+    )
+  }
+
+  const compare = ([a, scoreA], [b, scoreB]) => {
+    const dependencyA = dependencies[a]
+    const dependencyB = dependencies[b]
+    if (dependencyA.valid !== dependencyB.valid) {
+      return dependencyA.valid ? -1 : 1
+    }
+    if (scoreA !== scoreB) {
+      return scoreB - scoreA
+    }
+    return (dependencyB.weight || 0) - (dependencyA.weight || 0)
+  }
+
+  const search = query => {
+    const tokens = tokenize(query)
+    let scores = null
+    for (let i = 0; i < tokens.length; i += 1) {
+      const matches = match(tokens[i])
+      if (!matches) {
+        return []
+      }
+      scores = scores ? intersect(scores, matches, sum) : matches
+    }
+    if (!scores) {
+      return []
+    }
+    return [...scores.entries()]
+      .sort(compare)
+      .map(([position]) => dependencies[position])
+  }
+
+  return { search }
+}
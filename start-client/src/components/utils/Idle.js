@@ -0,0 +1,28 @@
+import { useEffect, useState } from 'react'
+
+const onIdle = callback => {
+  if (typeof window.requestIdleCallback === 'function') {
+    const handle = window.requestIdleCallback(callback)
+    return () => window.cancelIdleCallback(handle)
+  }
+  const timeout = setTimeout(callback, 200)
+  return () => clearTimeout(timeout)
+}
+
+/**
+ * Return whether the browser has been idle since `ready` became true. Used to
+ * defer work that is not needed for the first paint, such as loading the code
+ * of secondary dialogs.
+ */
+export default function useIdle(ready) {
+  const [idle, setIdle] = useState(false)
+
+  useEffect(() => {
+    if (!ready || idle) {
+      return undefined
+    }
+    return onIdle(() => setIdle(true))
+  }, [ready, idle])
+
+  return idle
+}
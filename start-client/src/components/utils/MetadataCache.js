@@ -0,0 +1,70 @@
+import get from 'lodash/get'
+import isEqual from 'lodash/isEqual'
+
+import { revalidateInfo } from './ApiUtils'
+
+const DATABASE = 'initializr'
+const STORE = 'metadata'
+
+const openDatabase = () =>
+  new Promise((resolve, reject) => {
+    if (typeof indexedDB === 'undefined') {
+      reject(Error('IndexedDB is not available'))
+      return
+    }
+    const request = indexedDB.open(DATABASE, 1)
+    request.onupgradeneeded = () => {
+      request.result.createObjectStore(STORE)
+    }
+    request.onsuccess = () => resolve(request.result)
+    request.onerror = () => reject(request.error)
+  })
+
+const run = async (mode, operation) => {
+  const database = await openDatabase()
+  return new Promise((resolve, reject) => {
+    const transaction = database.transaction(STORE, mode)
+    const request = operation(transaction.objectStore(STORE))
+    transaction.oncomplete = () => {
+      database.close()
+      resolve(request.result)
+    }
+    transaction.onerror = () => {
+      database.close()
+      reject(transaction.error)
+    }
+  })
+}
+
+export const readMetadata = url =>
+  run('readonly', store => store.get(url)).catch(() => null)
+
+export const writeMetadata = (url, entry) =>
+  run('readwrite', store => store.put(entry, url)).catch(() => null)
+
+/**
+ * Load the metadata at the specified url. The last metadata that has been
+ * received is kept in IndexedDB with its ETag and is passed to `onInfo` right
+ * away, before it is revalidated with the server. `onInfo` is called again,
+ * with `refresh` set, only if the server returns different metadata.
+ */
+export async function loadInfo(url, onInfo) {
+  const cached = await readMetadata(url)
+  if (cached) {
+    onInfo(cached.data, false)
+  }
+  try {
+    const latest = await revalidateInfo(url, get(cached, 'etag'))
+    if (latest) {
+      await writeMetadata(url, latest)
+      if (!cached || !isEqual(cached.data, latest.data)) {
+        onInfo(latest.data, !!cached)
+      }
+    }
+  } catch (e) {
+    // Offline startup is possible with the cached metadata
+    if (!cached) {
+      throw e
+    }
+  }
+}
@@ -0,0 +1,76 @@
+import get from 'lodash/get'
+
+import openZipReader from './ZipReader'
+import { BINARY_CONTENT } from './Zip'
+import {
+  getProject,
+  getProjectPreview,
+  getProjectPreviewContent,
+} from './ApiUtils'
+
+const NETWORK_ERROR = `Could not connect to server. Please check your network.`
+
+/**
+ * Convert a node of the tree returned by the preview endpoint to the item
+ * that the Explore dialog expects, as createTree does for a ZIP project.
+ */
+export const toItem = (node, depth = 0) => {
+  const type = get(node, 'type')
+  const item = {
+    type,
+    filename: get(node, 'filename'),
+    path: get(node, 'path'),
+    hidden: depth === 1 && type === 'folder' ? true : null,
+  }
+  if (type === 'folder') {
+    item.children = get(node, 'children', []).map(child =>
+      toItem(child, depth + 1)
+    )
+  } else {
+    item.language = get(node, 'language', null)
+  }
+  return item
+}
+
+/**
+ * Open the specified project for the Explore dialog. The tree of the project
+ * is fetched from the preview endpoint and the content of a file is fetched
+ * when it is read. If the server does not offer a preview, the ZIP project is
+ * downloaded and read in the browser instead.
+ */
+export default async function openProjectReader(origin, values, config) {
+  const preview = await getProjectPreview(
+    `${origin}/starter.preview`,
+    values,
+    config
+  ).catch(err => {
+    throw Error(err || NETWORK_ERROR)
+  })
+  if (!preview) {
+    const blob = await getProject(
+      `${origin}/starter.zip`,
+      values,
+      config
+    ).catch(err => {
+      throw Error(err || NETWORK_ERROR)
+    })
+    const reader = await openZipReader(blob)
+    return { ...reader, blob }
+  }
+  const tree = toItem(preview.root)
+  const selected =
+    tree.children.find(item => item.path === preview.selected) || null
+  const read = path =>
+    getProjectPreviewContent(
+      `${origin}/starter.preview/content`,
+      values,
+      config,
+      path
+    ).then(
+      content => (content === null ? BINARY_CONTENT : content),
+      err => {
+        throw Error(err || NETWORK_ERROR)
+      }
+    )
+  return { tree, selected, read, close: () => {} }
+}
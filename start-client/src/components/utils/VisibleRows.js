@@ -0,0 +1,115 @@
+import { useCallback, useLayoutEffect, useRef, useState } from 'react'
+
+const OVERSCAN = 5
+
+/**
+ * Return the range of rows to render to fill a viewport, with the height of the
+ * rows that are not rendered before and after that range.
+ */
+export function getVisibleRange(heights, scrollTop, viewportHeight) {
+  let first = 0
+  let top = 0
+  while (first < heights.length && top + heights[first] <= scrollTop) {
+    top += heights[first]
+    first += 1
+  }
+  let last = first
+  let bottom = top
+  while (last < heights.length && bottom < scrollTop + viewportHeight) {
+    bottom += heights[last]
+    last += 1
+  }
+  const start = Math.max(0, first - OVERSCAN)
+  const end = Math.min(heights.length, last + OVERSCAN)
+  const sumOf = (from, to) =>
+    heights.slice(from, to).reduce((total, height) => total + height, 0)
+  return {
+    start,
+    end,
+    before: sumOf(0, start),
+    after: sumOf(end, heights.length),
+  }
+}
+
+/**
+ * Render only the rows of a scrollable container that are visible. The
+ * container must render a spacer of height `before`, the rows at `indices`,
+ * and a spacer of height `after`. Rows that have not been rendered yet use the
+ * specified estimated height.
+ *
+ * Sticky headers are identified by `isHeader`: the header of the first visible
+ * row is always rendered so that it stays at the top of the container.
+ */
+export default function useVisibleRows(
+  container,
+  keys,
+  estimatedHeight,
+  isHeader = () => false
+) {
+  const measured = useRef(new Map())
+  const [viewport, setViewport] = useState({
+    scrollTop: 0,
+    height: typeof window === 'object' ? window.innerHeight : 0,
+  })
+  const [, setVersion] = useState(0)
+
+  const heights = keys.map(key => measured.current.get(key) || estimatedHeight)
+  const { start, end, before, after } = getVisibleRange(
+    heights,
+    viewport.scrollTop,
+    viewport.height
+  )
+  const indices = []
+  let spacer = before
+  let header = start - 1
+  while (header >= 0 && !isHeader(header)) {
+    header -= 1
+  }
+  if (header >= 0) {
+    // Take the place of the header in the spacer so that rows do not move
+    indices.push(header)
+    spacer -= heights[header]
+  }
+  for (let i = start; i < end; i += 1) {
+    indices.push(i)
+  }
+
+  const onScroll = useCallback(event => {
+    const { scrollTop, clientHeight } = event.currentTarget
+    setViewport({ scrollTop, height: clientHeight })
+  }, [])
+
+  useLayoutEffect(() => {
+    const element = container.current
+    if (!element) {
+      return
+    }
+    let changed = false
+    // The first and last children are the spacers
+    for (let i = 1; i < element.children.length - 1; i += 1) {
+      const key = keys[indices[i - 1]]
+      const height = element.children[i].offsetHeight
+      if (key !== undefined && measured.current.get(key) !== height) {
+        measured.current.set(key, height)
+        changed = true
+      }
+    }
+    if (changed) {
+      setVersion(version => version + 1)
+    }
+    if (
+      element.clientHeight !== viewport.height ||
+      element.scrollTop !== viewport.scrollTop
+    ) {
+      setViewport({
+        scrollTop: element.scrollTop,
+        height: element.clientHeight,
+      })
+    }
+  })
+
+  const getOffset = index =>
+    heights.slice(0, index).reduce((total, height) => total + height, 0)
+
+  return { indices, before: spacer, after, onScroll, getOffset }
+}
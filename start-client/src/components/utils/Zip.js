@@ -1,3 +1,4 @@
+import JSZip from 'jszip'
 import get from 'lodash/get'
 
 const FILE_EXTENSION = {
@@ -16,6 +17,20 @@ const FILE_EXTENSION = {
   yml: 'yaml',
 }
 
+export const BINARY_CONTENT = 'Binary file not shown.'
+
+// A file is considered binary if its first bytes contain a NUL byte, as git
+// does.
+export const isBinary = bytes => {
+  const length = Math.min(bytes.length, 8000)
+  for (let i = 0; i < length; i += 1) {
+    if (bytes[i] === 0) {
+      return true
+    }
+  }
+  return false
+}
+
 export const getLanguage = file => {
   if (!file.includes(`.`)) {
     return null
@@ -54,11 +69,6 @@ export const createTree = (files, path, fileName, zip) => {
         item.filename = pfileName.substring(0, pfileName.length - 1)
       } else {
         item.language = getLanguage(item.filename)
-        if (item.language) {
-          pfiles[ppath].async('string').then(content => {
-            item.content = content
-          })
-        }
       }
       return item
     }
@@ -68,14 +78,7 @@ export const createTree = (files, path, fileName, zip) => {
         ['pom.xml', 'build.gradle', 'build.gradle.kts'].indexOf(item.filename) >
         -1
     )
-    if (selected) {
-      files[selected.path.substring(1)].async('string').then(content => {
-        selected.content = content
-        resolve({ tree, selected })
-      })
-    } else {
-      resolve({ tree, selected: null })
-    }
+    resolve({ tree, selected: selected || null })
   })
 }
 
@@ -89,3 +92,21 @@ export const findRoot = zip => {
   })[0]
   return root.substring(0, root.length - 1)
 }
+
+export const openZip = async blob => {
+  const zip = new JSZip()
+  const { files } = await zip.loadAsync(blob).catch(() => {
+    throw Error(`Could not load the ZIP project.`)
+  })
+  const path = `${findRoot({ files })}/`
+  const { tree, selected } = await createTree(files, path, path, zip).catch(
+    () => {
+      throw Error(`Could not read the ZIP project.`)
+    }
+  )
+  const read = async filePath => {
+    const bytes = await files[filePath.substring(1)].async('uint8array')
+    return isBinary(bytes) ? BINARY_CONTENT : new TextDecoder().decode(bytes)
+  }
+  return { tree, selected, read }
+}
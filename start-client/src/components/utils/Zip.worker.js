@@ -0,0 +1,21 @@
+import { openZip } from './Zip'
+
+let project = null
+
+// eslint-disable-next-line no-restricted-globals
+const worker = self
+
+worker.onmessage = async ({ data }) => {
+  try {
+    if (data.type === 'OPEN') {
+      project = await openZip(data.blob)
+      const { tree, selected } = project
+      worker.postMessage({ id: data.id, result: { tree, selected } })
+    } else if (data.type === 'READ') {
+      const content = await project.read(data.path)
+      worker.postMessage({ id: data.id, result: content })
+    }
+  } catch (e) {
+    worker.postMessage({ id: data.id, error: e.message })
+  }
+}
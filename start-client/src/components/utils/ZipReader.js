@@ -0,0 +1,39 @@
+import { openZip } from './Zip'
+
+/**
+ * Open the specified ZIP project in a Web Worker so that the archive is
+ * unzipped without blocking the page. Return the tree of the project and a
+ * function that decodes the content of a file on demand.
+ */
+export default async function openZipReader(blob) {
+  if (typeof Worker === 'undefined') {
+    const { tree, selected, read } = await openZip(blob)
+    return { tree, selected, read, close: () => {} }
+  }
+  const worker = new Worker(new URL('./Zip.worker.js', import.meta.url))
+  const pending = new Map()
+  let nextId = 0
+  worker.onmessage = ({ data }) => {
+    const { resolve, reject } = pending.get(data.id)
+    pending.delete(data.id)
+    if (data.error) {
+      reject(Error(data.error))
+    } else {
+      resolve(data.result)
+    }
+  }
+  const send = message =>
+    new Promise((resolve, reject) => {
+      nextId += 1
+      pending.set(nextId, { resolve, reject })
+      worker.postMessage({ ...message, id: nextId })
+    })
+  try {
+    const { tree, selected } = await send({ type: 'OPEN', blob })
+    const read = path => send({ type: 'READ', path })
+    return { tree, selected, read, close: () => worker.terminate() }
+  } catch (e) {
+    worker.terminate()
+    throw e
+  }
+}
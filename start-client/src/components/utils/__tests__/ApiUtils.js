@@ -5,8 +5,11 @@ import {
   getDefaultValues,
   getLists,
   getProject,
+  getProjectPreview,
+  getProjectPreviewContent,
   getShareUrl,
   parseParams,
+  revalidateInfo,
 } from '../ApiUtils'
 
 /**
@@ -416,3 +419,87 @@ describe('getProject', () => {
     )
   })
 })
+
+/**
+ * Revalidate Info
+ */
+describe('revalidateInfo', () => {
+  beforeEach(() => {
+    fetch.resetMocks()
+  })
+  it('should return the metadata with its ETag', async () => {
+    fetch.mockResponseOnce(JSON.stringify({ foo: 'bar' }), {
+      headers: { ETag: '"1234"' },
+    })
+    const result = await revalidateInfo('http://demo/metadata/client')
+    expect(get(result, 'data.foo')).toBe('bar')
+    expect(get(result, 'etag')).toBe('"1234"')
+    expect(fetch.mock.calls[0][1].headers['If-None-Match']).toBeUndefined()
+  })
+  it('should send the ETag of the cached metadata', async () => {
+    fetch.mockResponseOnce('', { status: 304 })
+    const result = await revalidateInfo(
+      'http://demo/metadata/client',
+      '"1234"'
+    )
+    expect(result).toBe(null)
+    expect(fetch.mock.calls[0][1].headers['If-None-Match']).toBe('"1234"')
+  })
+})
+
+/**
+ * Project preview
+ */
+describe('getProjectPreview', () => {
+  beforeEach(() => {
+    fetch.resetMocks()
+  })
+  it('should return the tree of the project', async () => {
+    fetch.mockResponseOnce(JSON.stringify({ selected: '/demo/pom.xml' }))
+    const result = await getProjectPreview(
+      'http://demo/starter.preview',
+      {},
+      []
+    )
+    expect(get(result, 'selected')).toBe('/demo/pom.xml')
+  })
+  it('should return null if the server has no preview', async () => {
+    fetch.mockResponseOnce('', { status: 404 })
+    const result = await getProjectPreview(
+      'http://demo/starter.preview',
+      {},
+      []
+    )
+    expect(result).toBe(null)
+  })
+})
+
+describe('getProjectPreviewContent', () => {
+  beforeEach(() => {
+    fetch.resetMocks()
+  })
+  it('should return the content of a text file', async () => {
+    fetch.mockResponseOnce('# Help', {
+      headers: { 'Content-Type': 'text/plain;charset=UTF-8' },
+    })
+    const result = await getProjectPreviewContent(
+      'http://demo/starter.preview/content',
+      {},
+      [],
+      '/demo/HELP.md'
+    )
+    expect(result).toBe('# Help')
+  })
+  it('should return null for a binary file', async () => {
+    fetch.mockResponseOnce('binary', {
+      headers: { 'Content-Type': 'application/octet-stream' },
+    })
+    const result = await getProjectPreviewContent(
+      'http://demo/starter.preview/content',
+      {},
+      [],
+      '/demo/.mvn/wrapper/maven-wrapper.jar'
+    )
+    expect(result).toBe(null)
+  })
+})
@@ -0,0 +1,34 @@
+import { createCompatibility } from '../Compatibility'
+
+const dependencies = [
+  { id: 'foo1', versionRange: '' },
+  { id: 'foo2', versionRange: '[2.1.0.RELEASE,2.2.0.M1)' },
+  { id: 'foo3', versionRange: '2.2.0.RELEASE' },
+]
+
+/**
+ * Function createCompatibility
+ */
+describe('createCompatibility', () => {
+  it('should return the compatibility of listed versions', () => {
+    const compatibility = createCompatibility(
+      ['2.1.9.RELEASE', '2.2.0.RELEASE'],
+      dependencies
+    )
+    expect(compatibility.isCompatible('2.1.9.RELEASE', 'foo1')).toBe(true)
+    expect(compatibility.isCompatible('2.1.9.RELEASE', 'foo2')).toBe(true)
+    expect(compatibility.isCompatible('2.1.9.RELEASE', 'foo3')).toBe(false)
+    expect(compatibility.isCompatible('2.2.0.RELEASE', 'foo1')).toBe(true)
+    expect(compatibility.isCompatible('2.2.0.RELEASE', 'foo2')).toBe(false)
+    expect(compatibility.isCompatible('2.2.0.RELEASE', 'foo3')).toBe(true)
+  })
+  it('should return the compatibility of other versions', () => {
+    const compatibility = createCompatibility([], dependencies)
+    expect(compatibility.isCompatible('2.1.0.RELEASE', 'foo2')).toBe(true)
+    expect(compatibility.isCompatible('2.3.0.RELEASE', 'foo3')).toBe(true)
+  })
+  it('should not be compatible with an unknown dependency', () => {
+    const compatibility = createCompatibility(['2.2.0.RELEASE'], dependencies)
+    expect(compatibility.isCompatible('2.2.0.RELEASE', 'foo4')).toBe(false)
+  })
+})
@@ -0,0 +1,80 @@
+import { createSearchIndex } from '../DependencySearch'
+
+const dependencies = [
+  {
+    id: 'web',
+    name: 'Spring Web',
+    group: 'Web',
+    description:
+      'Build web, including RESTful, applications using Spring MVC.',
+    valid: true,
+    weight: 100,
+  },
+  {
+    id: 'security',
+    name: 'Spring Security',
+    group: 'Security',
+    description:
+      'Highly customizable authentication and access-control framework.',
+    valid: true,
+  },
+  {
+    id: 'data-jpa',
+    name: 'Spring Data JPA',
+    group: 'SQL',
+    description: 'Persist data in SQL stores with Java Persistence API.',
+    valid: true,
+  },
+  {
+    id: 'webflux',
+    name: 'Spring Reactive Web',
+    group: 'Web',
+    description: 'Build reactive web applications with Spring WebFlux.',
+    valid: false,
+    weight: 200,
+  },
+]
+
+const search = query =>
+  createSearchIndex(dependencies)
+    .search(query)
+    .map(dependency => dependency.id)
+
+/**
+ * Function createSearchIndex
+ */
+describe('createSearchIndex', () => {
+  it('should match the prefix of a token', () => {
+    expect(search('jp')).toEqual(['data-jpa'])
+    expect(search('secu')).toEqual(['security'])
+  })
+  it('should match a token that contains the query', () => {
+    expect(search('curity')).toEqual(['security'])
+  })
+  it('should match all the tokens of the query', () => {
+    expect(search('spring data')).toEqual(['data-jpa'])
+    expect(search('reactive web')).toEqual(['webflux'])
+  })
+  it('should rank valid dependencies first', () => {
+    expect(search('web')).toEqual(['web', 'webflux'])
+  })
+  it('should rank dependencies with the same relevance by weight', () => {
+    expect(search('spring')).toEqual([
+      'web',
+      'security',
+      'data-jpa',
+      'webflux',
+    ])
+  })
+  it('should return no result', () => {
+    expect(search('xyz')).toEqual([])
+    expect(search('spring xyz')).toEqual([])
+    expect(search('  ')).toEqual([])
+  })
+  it('should support dependencies with missing fields', () => {
+    const index = createSearchIndex([
+      { id: 'foo1', group: 'bar2', valid: true },
+    ])
+    expect(index.search('foo').length).toBe(1)
+  })
+})
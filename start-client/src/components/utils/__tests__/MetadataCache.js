@@ -0,0 +1,26 @@
+import { loadInfo } from '../MetadataCache'
+
+/**
+ * Function loadInfo
+ */
+describe('loadInfo', () => {
+  beforeEach(() => {
+    fetch.resetMocks()
+  })
+  it('should load the metadata from the server without cache', async () => {
+    fetch.mockResponseOnce(JSON.stringify({ foo: 'bar' }))
+    const onInfo = jest.fn()
+    await loadInfo('http://demo/metadata/client', onInfo)
+    expect(onInfo.mock.calls.length).toBe(1)
+    expect(onInfo.mock.calls[0][0]).toEqual({ foo: 'bar' })
+    expect(onInfo.mock.calls[0][1]).toBe(false)
+  })
+  it('should fail without cache if the server is not available', async () => {
+    fetch.mockRejectOnce(Error('offline'))
+    const onInfo = jest.fn()
+    await expect(loadInfo('http://demo/metadata/client', onInfo)).rejects.toThrow(
+      'offline'
+    )
+    expect(onInfo.mock.calls.length).toBe(0)
+  })
+})
@@ -0,0 +1,113 @@
+import get from 'lodash/get'
+
+import openZipReader from '../ZipReader'
+import openProjectReader, { toItem } from '../ProjectReader'
+import { BINARY_CONTENT } from '../Zip'
+
+jest.mock('../ZipReader', () => jest.fn())
+
+const values = {
+  project: 'maven-project',
+  boot: '3.5.0',
+  meta: { artifact: 'demo' },
+}
+
+const preview = {
+  root: {
+    type: 'folder',
+    filename: 'demo',
+    path: '/demo',
+    children: [
+      { type: 'file', filename: 'mvnw', path: '/demo/mvnw', size: 10 },
+      {
+        type: 'file',
+        filename: 'pom.xml',
+        path: '/demo/pom.xml',
+        size: 20,
+        language: 'xml',
+      },
+      {
+        type: 'folder',
+        filename: 'src',
+        path: '/demo/src',
+        children: [
+          {
+            type: 'folder',
+            filename: 'main',
+            path: '/demo/src/main',
+            children: [],
+          },
+        ],
+      },
+    ],
+  },
+  selected: '/demo/pom.xml',
+}
+
+/**
+ * Function toItem
+ */
+describe('toItem', () => {
+  it('should create the tree of the Explore dialog', () => {
+    const tree = toItem(preview.root)
+    expect(get(tree, 'filename')).toBe('demo')
+    expect(get(tree, 'hidden')).toBe(null)
+    expect(get(tree, 'children[0].language')).toBe(null)
+    expect(get(tree, 'children[1].language')).toBe('xml')
+    expect(get(tree, 'children[2].hidden')).toBe(true)
+    expect(get(tree, 'children[2].children[0].hidden')).toBe(null)
+  })
+})
+
+/**
+ * Function openProjectReader
+ */
+describe('openProjectReader', () => {
+  beforeEach(() => {
+    fetch.resetMocks()
+    openZipReader.mockReset()
+  })
+  it('should read the tree from the preview', async () => {
+    fetch.mockResponseOnce(JSON.stringify(preview))
+    const { tree, selected } = await openProjectReader(
+      'http://demo',
+      values,
+      []
+    )
+    expect(get(tree, 'children.length')).toBe(3)
+    expect(get(selected, 'path')).toBe('/demo/pom.xml')
+    expect(fetch.mock.calls[0][0]).toMatch(
+      /^http:\/\/demo\/starter.preview\?/
+    )
+    expect(openZipReader).not.toHaveBeenCalled()
+  })
+  it('should read a file from the preview', async () => {
+    fetch.mockResponseOnce(JSON.stringify(preview))
+    fetch.mockResponseOnce('<project/>', {
+      headers: { 'Content-Type': 'text/plain;charset=UTF-8' },
+    })
+    const { read } = await openProjectReader('http://demo', values, [])
+    const content = await read('/demo/pom.xml')
+    expect(content).toBe('<project/>')
+    expect(fetch.mock.calls[1][0]).toMatch(
+      /^http:\/\/demo\/starter.preview\/content\?.*&path=%2Fdemo%2Fpom.xml$/
+    )
+  })
+  it('should not show a binary file', async () => {
+    fetch.mockResponseOnce(JSON.stringify(preview))
+    fetch.mockResponseOnce('binary', {
+      headers: { 'Content-Type': 'application/octet-stream' },
+    })
+    const { read } = await openProjectReader('http://demo', values, [])
+    const content = await read('/demo/.mvn/wrapper/maven-wrapper.jar')
+    expect(content).toBe(BINARY_CONTENT)
+  })
+  it('should read the ZIP project if there is no preview', async () => {
+    fetch.mockResponseOnce('', { status: 404 })
+    fetch.mockResponseOnce('zip')
+    openZipReader.mockResolvedValue({ tree: {}, selected: null })
+    await openProjectReader('http://demo', values, [])
+    expect(fetch.mock.calls[1][0]).toMatch(/^http:\/\/demo\/starter.zip\?/)
+    expect(openZipReader).toHaveBeenCalledTimes(1)
+  })
+})
@@ -0,0 +1,32 @@
+import { getVisibleRange } from '../VisibleRows'
+
+/**
+ * Function getVisibleRange
+ */
+describe('getVisibleRange', () => {
+  it('should return the rows at the top', () => {
+    const range = getVisibleRange(Array(100).fill(50), 0, 200)
+    expect(range.start).toBe(0)
+    expect(range.end).toBe(9)
+    expect(range.before).toBe(0)
+    expect(range.after).toBe(4550)
+  })
+  it('should return the rows of a scrolled viewport', () => {
+    const range = getVisibleRange(Array(100).fill(50), 1000, 200)
+    expect(range.start).toBe(15)
+    expect(range.end).toBe(29)
+    expect(range.before).toBe(750)
+    expect(range.after).toBe(3550)
+  })
+  it('should use the height of each row', () => {
+    const range = getVisibleRange([100, 20, 20, 20, 100], 0, 50)
+    expect(range.start).toBe(0)
+    expect(range.end).toBe(5)
+    expect(range.after).toBe(0)
+  })
+  it('should return no row', () => {
+    const range = getVisibleRange([], 0, 200)
+    expect(range.start).toBe(0)
+    expect(range.end).toBe(0)
+  })
+})
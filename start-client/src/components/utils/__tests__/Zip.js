@@ -3,7 +3,14 @@ import fs from 'fs'
 import get from 'lodash/get'
 import path from 'path'
 
-import { createTree, findRoot, getLanguage } from '../Zip'
+import {
+  BINARY_CONTENT,
+  createTree,
+  findRoot,
+  getLanguage,
+  isBinary,
+  openZip,
+} from '../Zip'
 
 /**
  * Function getLanguage
@@ -88,3 +95,44 @@ describe('findRoot', () => {
     )
   })
 })
+
+/**
+ * Function openZip
+ */
+describe('openZip', () => {
+  // eslint-disable-next-line
+  it('should read files on demand', async() => {
+    const blob = fs.readFileSync(path.resolve('./dev/starter.mock.zip'))
+    const { tree, selected, read } = await openZip(blob)
+    expect(get(tree, 'filename')).toBe('demo')
+    expect(get(selected, 'path')).toBe('/demo/pom.xml')
+    expect(get(selected, 'content', null)).toBe(null)
+    const content = await read(selected.path)
+    expect(content).toContain('<project')
+  })
+  // eslint-disable-next-line
+  it('should not decode binary files', async() => {
+    const zipJs = new JSZip()
+    zipJs.file('demo/HELP.md', '# Help')
+    zipJs.file(
+      'demo/.mvn/wrapper/maven-wrapper.jar',
+      new Uint8Array([80, 75, 3, 4, 0, 0])
+    )
+    const blob = await zipJs.generateAsync({ type: 'nodebuffer' })
+    const { read } = await openZip(blob)
+    expect(await read('/demo/HELP.md')).toBe('# Help')
+    expect(await read('/demo/.mvn/wrapper/maven-wrapper.jar')).toBe(
+      BINARY_CONTENT
+    )
+  })
+})
+
+/**
+ * Function isBinary
+ */
+describe('isBinary', () => {
+  it('should detect a NUL byte', () => {
+    expect(isBinary(new Uint8Array([80, 75, 3, 4, 0]))).toBe(true)
+    expect(isBinary(new Uint8Array([35, 32, 72]))).toBe(false)
+  })
+})
@@ -22,6 +22,17 @@ const config = {
   output: {
     publicPath: './',
   },
+  // Report when the scripts needed for the first render grow beyond the
+  // budget. Secondary dialogs and grammars are loaded on demand, so the size
+  // of a single chunk is not checked. The budget is provisional: set it from
+  // the entrypoint size reported by a production build, plus some headroom,
+  // and switch hints to 'error' to fail the build.
+  performance: {
+    hints: 'warning',
+    maxEntrypointSize: 600 * 1024,
+    maxAssetSize: Infinity,
+    assetFilter: assetFilename => /\.js$/.test(assetFilename),
+  },
   plugins: [
     new BundleAnalyzerPlugin({
       analyzerMode: 'static',
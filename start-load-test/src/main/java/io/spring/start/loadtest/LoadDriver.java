@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.spring.start.loadtest.RequestMix.LoadRequest;
+
+/**
+ * Send requests of a {@link RequestMix} to the service with a number of concurrent
+ * clients. With a target rate, requests are scheduled at a fixed interval and each client
+ * sends the next scheduled request as soon as it is available. Without a target rate,
+ * each client sends a request as soon as the previous one completes.
+ *
+ * @author Stephane Nicoll
+ */
+final class LoadDriver {
+
+	private final HttpClient httpClient;
+
+	private final URI baseUri;
+
+	private final RequestMix mix;
+
+	private final LoadTestOptions options;
+
+	LoadDriver(HttpClient httpClient, URI baseUri, RequestMix mix, LoadTestOptions options) {
+		this.httpClient = httpClient;
+		this.baseUri = baseUri;
+		this.mix = mix;
+		this.options = options;
+	}
+
+	/**
+	 * Send requests for the specified duration.
+	 * @param duration the duration during which requests are sent
+	 * @return the results
+	 * @throws InterruptedException if the current thread is interrupted while waiting for
+	 * the clients
+	 */
+	LoadTestResults run(Duration duration) throws InterruptedException {
+		LoadTestResults results = new LoadTestResults();
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		long interval = (this.options.getRate() > 0) ? (long) (TimeUnit.SECONDS.toNanos(1) / this.options.getRate())
+				: 0;
+		AtomicLong nextRequest = new AtomicLong(start);
+		SplittableRandom seeds = new SplittableRandom(this.options.getSeed());
+		ExecutorService executor = Executors.newFixedThreadPool(this.options.getClients());
+		try {
+			List<Future<?>> clients = new ArrayList<>();
+			for (int i = 0; i < this.options.getClients(); i++) {
+				SplittableRandom random = seeds.split();
+				clients.add(executor.submit(() -> runClient(random, nextRequest, interval, end, results)));
+			}
+			for (Future<?> client : clients) {
+				try {
+					client.get();
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException("Client failed", ex);
+				}
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		results.setElapsed(Duration.ofNanos(System.nanoTime() - start));
+		return results;
+	}
+
+	private void runClient(SplittableRandom random, AtomicLong nextRequest, long interval, long end,
+			LoadTestResults results) {
+		while (!Thread.currentThread().isInterrupted()) {
+			long scheduled = (interval > 0) ? nextRequest.getAndAdd(interval) : System.nanoTime();
+			if (scheduled >= end) {
+				return;
+			}
+			long delay = scheduled - System.nanoTime();
+			if (delay > 0) {
+				LockSupport.parkNanos(delay);
+			}
+			else if (System.nanoTime() >= end) {
+				return;
+			}
+			LoadRequest request = this.mix.next(random);
+			int status = send(request);
+			results.record(request.endpoint(), status, System.nanoTime() - scheduled);
+		}
+	}
+
+	private int send(LoadRequest request) {
+		HttpRequest httpRequest = HttpRequest.newBuilder(this.baseUri.resolve(request.path()))
+			.header("Accept", request.accept())
+			.timeout(this.options.getRequestTimeout())
+			.GET()
+			.build();
+		try {
+			return this.httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+		}
+		catch (IOException ex) {
+			return -1;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return -1;
+		}
+	}
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.Assert;
+
+/**
+ * Options of a load test, parsed from the command line. Options that are not specific to
+ * the load test are passed to the application, for instance
+ * {@code --spring.threads.virtual.enabled=true}.
+ *
+ * @author Stephane Nicoll
+ */
+final class LoadTestOptions {
+
+	private double rate = 50;
+
+	private int clients = 64;
+
+	private Duration duration = Duration.ofSeconds(60);
+
+	private Duration warmUp = Duration.ofSeconds(20);
+
+	private Duration requestTimeout = Duration.ofSeconds(60);
+
+	private String mix = "classpath:default-mix.json";
+
+	private String springBootReleases = "classpath:spring-boot-releases.json";
+
+	private Path recordings = Path.of("load-test/recordings");
+
+	private boolean offline;
+
+	private long seed = 42;
+
+	private Path report = Path.of("load-test/report.json");
+
+	private List<Threads> threads = List.of();
+
+	private final Map<String, String> applicationProperties = new LinkedHashMap<>();
+
+	private LoadTestOptions() {
+	}
+
+	/**
+	 * Parse the specified command line arguments, of the form {@code --name=value}.
+	 * @param args the arguments
+	 * @return the options
+	 */
+	static LoadTestOptions parse(String... args) {
+		LoadTestOptions options = new LoadTestOptions();
+		for (String arg : args) {
+			Assert.isTrue(arg.startsWith("--"), () -> "Invalid argument '" + arg + "', expected --name=value");
+			int separator = arg.indexOf('=');
+			String name = (separator != -1) ? arg.substring(2, separator) : arg.substring(2);
+			String value = (separator != -1) ? arg.substring(separator + 1) : "true";
+			options.set(name, value);
+		}
+		Assert.isTrue(options.rate >= 0, "'rate' must not be negative");
+		Assert.isTrue(options.clients > 0, "'clients' must be positive");
+		Assert.isTrue(!options.duration.isNegative() && !options.duration.isZero(), "'duration' must be positive");
+		return options;
+	}
+
+	private void set(String name, String value) {
+		switch (name) {
+			case "rate" -> this.rate = Double.parseDouble(value);
+			case "clients" -> this.clients = Integer.parseInt(value);
+			case "duration" -> this.duration = DurationStyle.detectAndParse(value);
+			case "warm-up" -> this.warmUp = DurationStyle.detectAndParse(value);
+			case "request-timeout" -> this.requestTimeout = DurationStyle.detectAndParse(value);
+			case "mix" -> this.mix = value;
+			case "spring-boot-releases" -> this.springBootReleases = value;
+			case "recordings" -> this.recordings = Path.of(value);
+			case "offline" -> this.offline = Boolean.parseBoolean(value);
+			case "seed" -> this.seed = Long.parseLong(value);
+			case "report" -> this.report = Path.of(value);
+			case "threads" -> this.threads = Threads.parse(value);
+			default -> this.applicationProperties.put(name, value);
+		}
+	}
+
+	/**
+	 * Return the target number of requests per second, or {@code 0} to send requests as
+	 * fast as the clients allow.
+	 * @return the target rate
+	 */
+	double getRate() {
+		return this.rate;
+	}
+
+	/**
+	 * Return the number of concurrent clients.
+	 * @return the number of clients
+	 */
+	int getClients() {
+		return this.clients;
+	}
+
+	/**
+	 * Return the duration of the measurement.
+	 * @return the duration
+	 */
+	Duration getDuration() {
+		return this.duration;
+	}
+
+	/**
+	 * Return the duration of the warm-up that precedes the measurement.
+	 * @return the duration of the warm-up
+	 */
+	Duration getWarmUp() {
+		return this.warmUp;
+	}
+
+	/**
+	 * Return the time after which a request that has not completed is an error.
+	 * @return the request timeout
+	 */
+	Duration getRequestTimeout() {
+		return this.requestTimeout;
+	}
+
+	/**
+	 * Return the location of the JSON document that describes the mix of requests.
+	 * @return the location of the request mix
+	 */
+	String getMix() {
+		return this.mix;
+	}
+
+	/**
+	 * Return the location of the JSON document that describes the Spring Boot releases
+	 * served by the spring.io stand-in.
+	 * @return the location of the Spring Boot releases
+	 */
+	String getSpringBootReleases() {
+		return this.springBootReleases;
+	}
+
+	/**
+	 * Return the directory of the recordings of the Maven repository stand-in.
+	 * @return the directory of the recordings
+	 */
+	Path getRecordings() {
+		return this.recordings;
+	}
+
+	/**
+	 * Return whether a missing recording is an error rather than resolved from the remote
+	 * repositories.
+	 * @return whether to run offline
+	 */
+	boolean isOffline() {
+		return this.offline;
+	}
+
+	/**
+	 * Return the seed of the random generators of the clients.
+	 * @return the seed
+	 */
+	long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Return the file to which the report is written.
+	 * @return the report file
+	 */
+	Path getReport() {
+		return this.report;
+	}
+
+	/**
+	 * Return the kinds of threads the application is run on, one run per kind, or an
+	 * empty list to leave that decision to the application properties.
+	 * @return the kinds of threads to run the application on
+	 */
+	List<Threads> getThreads() {
+		return this.threads;
+	}
+
+	/**
+	 * Return the properties to pass to the application.
+	 * @return the application properties
+	 */
+	Map<String, String> getApplicationProperties() {
+		return Collections.unmodifiableMap(this.applicationProperties);
+	}
+
+	/**
+	 * The kind of threads that handle requests and generate projects.
+	 */
+	enum Threads {
+
+		/**
+		 * Platform threads.
+		 */
+		PLATFORM,
+
+		/**
+		 * Virtual threads, available as of Java 21.
+		 */
+		VIRTUAL;
+
+		/**
+		 * Return the value of {@code spring.threads.virtual.enabled} for this kind of
+		 * threads.
+		 * @return whether virtual threads are enabled
+		 */
+		boolean isVirtual() {
+			return this == VIRTUAL;
+		}
+
+		/**
+		 * Return the name of this kind of threads, as used on the command line.
+		 * @return the name
+		 */
+		String getName() {
+			return name().toLowerCase(Locale.ROOT);
+		}
+
+		static List<Threads> parse(String value) {
+			return switch (value) {
+				case "platform" -> List.of(PLATFORM);
+				case "virtual" -> List.of(VIRTUAL);
+				case "both" -> List.of(PLATFORM, VIRTUAL);
+				default -> throw new IllegalArgumentException(
+						"Invalid threads '" + value + "', expected platform, virtual or both");
+			};
+		}
+
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.spring.start.loadtest.LoadTestOptions.Threads;
+import io.spring.start.loadtest.LoadTestResults.EndpointResults;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Report of a load test: throughput, error rate and latency percentiles, in total and per
+ * endpoint. Written as a JSON document so that runs can be compared, and printed as a
+ * summary.
+ *
+ * @author Stephane Nicoll
+ */
+final class LoadTestReport {
+
+	private static final List<Percentile> PERCENTILES = List.of(new Percentile("p50", 50), new Percentile("p90", 90),
+			new Percentile("p95", 95), new Percentile("p99", 99), new Percentile("p999", 99.9));
+
+	private final Instant timestamp;
+
+	private final LoadTestOptions options;
+
+	private final Threads threads;
+
+	private final LoadTestResults results;
+
+	LoadTestReport(Instant timestamp, LoadTestOptions options, Threads threads, LoadTestResults results) {
+		this.timestamp = timestamp;
+		this.options = options;
+		this.threads = threads;
+		this.results = results;
+	}
+
+	/**
+	 * Write the report as JSON to the specified file.
+	 * @param file the file to write to
+	 * @param objectMapper the object mapper to use
+	 * @throws IOException if the report cannot be written
+	 */
+	void writeTo(Path file, ObjectMapper objectMapper) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), toMap());
+	}
+
+	/**
+	 * Print a summary of the report.
+	 * @param out the stream to print to
+	 */
+	void printSummary(PrintStream out) {
+		out.printf("%-20s %10s %8s %10s %10s %10s %10s %10s%n", "Endpoint", "Requests", "Errors", "Req/s", "p50 (ms)",
+				"p99 (ms)", "p99.9 (ms)", "Max (ms)");
+		this.results.getEndpoints().forEach((endpoint, results) -> printSummary(out, endpoint, results));
+		printSummary(out, "Total", this.results.getTotal());
+	}
+
+	private void printSummary(PrintStream out, String name, EndpointResults results) {
+		Histogram latencies = results.getLatencies();
+		out.printf("%-20s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n", name, results.getRequests(),
+				results.getErrors(), getThroughput(results), toMillis(latencies.getValueAtPercentile(50)),
+				toMillis(latencies.getValueAtPercentile(99)), toMillis(latencies.getValueAtPercentile(99.9)),
+				toMillis(latencies.getMaxValue()));
+	}
+
+	Map<String, Object> toMap() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("timestamp", this.timestamp.toString());
+		report.put("configuration", configuration());
+		report.put("environment", environment());
+		report.put("elapsedSeconds", getElapsedSeconds());
+		report.put("total", toMap(this.results.getTotal()));
+		Map<String, Object> endpoints = new LinkedHashMap<>();
+		this.results.getEndpoints().forEach((endpoint, results) -> endpoints.put(endpoint, toMap(results)));
+		report.put("endpoints", endpoints);
+		return report;
+	}
+
+	private Map<String, Object> configuration() {
+		Map<String, Object> configuration = new LinkedHashMap<>();
+		configuration.put("rate", this.options.getRate());
+		configuration.put("clients", this.options.getClients());
+		configuration.put("duration", this.options.getDuration().toString());
+		configuration.put("warmUp", this.options.getWarmUp().toString());
+		configuration.put("mix", this.options.getMix());
+		configuration.put("seed", this.options.getSeed());
+		if (this.threads != null) {
+			configuration.put("threads", this.threads.getName());
+		}
+		configuration.put("applicationProperties", this.options.getApplicationProperties());
+		return configuration;
+	}
+
+	private Map<String, Object> environment() {
+		Map<String, Object> environment = new LinkedHashMap<>();
+		environment.put("javaVersion", System.getProperty("java.version"));
+		environment.put("javaVendor", System.getProperty("java.vendor"));
+		environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+		environment.put("maxMemory", Runtime.getRuntime().maxMemory());
+		return environment;
+	}
+
+	private Map<String, Object> toMap(EndpointResults results) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("requests", results.getRequests());
+		map.put("errors", results.getErrors());
+		map.put("errorRate", (results.getRequests() > 0) ? (double) results.getErrors() / results.getRequests() : 0);
+		map.put("throughput", getThroughput(results));
+		Map<String, Long> statuses = new LinkedHashMap<>();
+		results.getStatuses().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+		map.put("statuses", statuses);
+		Histogram histogram = results.getLatencies();
+		Map<String, Object> latency = new LinkedHashMap<>();
+		latency.put("unit", "ms");
+		latency.put("min", toMillis(histogram.getMinValue()));
+		latency.put("mean", histogram.getMean() / 1000);
+		for (Percentile percentile : PERCENTILES) {
+			latency.put(percentile.name(), toMillis(histogram.getValueAtPercentile(percentile.value())));
+		}
+		latency.put("max", toMillis(histogram.getMaxValue()));
+		map.put("latency", latency);
+		return map;
+	}
+
+	private double getThroughput(EndpointResults results) {
+		double elapsed = getElapsedSeconds();
+		return (elapsed > 0) ? results.getRequests() / elapsed : 0;
+	}
+
+	private double getElapsedSeconds() {
+		return this.results.getElapsed().toNanos() / 1_000_000_000.0;
+	}
+
+	private static double toMillis(long micros) {
+		return micros / 1000.0;
+	}
+
+	private record Percentile(String name, double value) {
+
+	}
+
+}
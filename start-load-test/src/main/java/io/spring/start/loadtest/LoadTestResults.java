@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Results of a load test, recorded concurrently by the clients. Latencies are recorded in
+ * microseconds, from the time a request was scheduled rather than the time it was sent so
+ * that a service that cannot keep up with the rate is not hidden by clients waiting for
+ * responses.
+ *
+ * @author Stephane Nicoll
+ */
+final class LoadTestResults {
+
+	private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toMicros(10);
+
+	private final Map<String, EndpointResults> endpoints = new ConcurrentHashMap<>();
+
+	private final EndpointResults total = new EndpointResults();
+
+	private volatile Duration elapsed = Duration.ZERO;
+
+	/**
+	 * Record the outcome of a request.
+	 * @param endpoint the endpoint of the request
+	 * @param status the HTTP status of the response, or {@code -1} if no response was
+	 * received
+	 * @param latencyNanos the latency of the request, in nanoseconds
+	 */
+	void record(String endpoint, int status, long latencyNanos) {
+		long latency = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY);
+		this.endpoints.computeIfAbsent(endpoint, (key) -> new EndpointResults()).record(status, latency);
+		this.total.record(status, latency);
+	}
+
+	void setElapsed(Duration elapsed) {
+		this.elapsed = elapsed;
+	}
+
+	/**
+	 * Return the duration during which requests were sent.
+	 * @return the elapsed time
+	 */
+	Duration getElapsed() {
+		return this.elapsed;
+	}
+
+	/**
+	 * Return the results of all requests.
+	 * @return the total results
+	 */
+	EndpointResults getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * Return the results of each endpoint, sorted by endpoint.
+	 * @return the results per endpoint
+	 */
+	SortedMap<String, EndpointResults> getEndpoints() {
+		return new TreeMap<>(this.endpoints);
+	}
+
+	/**
+	 * Results of a set of requests.
+	 */
+	static final class EndpointResults {
+
+		private final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+
+		private final LongAdder errors = new LongAdder();
+
+		private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+		private void record(int status, long latency) {
+			this.latencies.recordValue(latency);
+			this.statuses.computeIfAbsent(status, (key) -> new LongAdder()).increment();
+			if (status < 200 || status >= 400) {
+				this.errors.increment();
+			}
+		}
+
+		/**
+		 * Return the number of requests.
+		 * @return the number of requests
+		 */
+		long getRequests() {
+			return this.latencies.getTotalCount();
+		}
+
+		/**
+		 * Return the number of requests that did not complete or completed with an error
+		 * status.
+		 * @return the number of errors
+		 */
+		long getErrors() {
+			return this.errors.sum();
+		}
+
+		/**
+		 * Return the number of responses per HTTP status, {@code -1} standing for
+		 * requests that did not get a response.
+		 * @return the number of responses per status
+		 */
+		SortedMap<Integer, Long> getStatuses() {
+			SortedMap<Integer, Long> statuses = new TreeMap<>();
+			this.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+			return statuses;
+		}
+
+		/**
+		 * Return the latencies of the requests, in microseconds.
+		 * @return the latencies
+		 */
+		Histogram getLatencies() {
+			return this.latencies;
+		}
+
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.start.site.support.CacheableMavenVersionResolver;
+
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.util.Assert;
+
+/**
+ * {@link BeanDefinitionRegistryPostProcessor} that replaces the version resolver of the
+ * application by one that uses a stand-in for the Maven repositories. The caching of the
+ * application is kept so that the stand-in is only invoked when the application would
+ * have hit a repository.
+ *
+ * @author Stephane Nicoll
+ */
+class MavenVersionResolverStandInPostProcessor implements BeanDefinitionRegistryPostProcessor {
+
+	private static final String BEAN_NAME = "mavenVersionResolver";
+
+	private final MavenVersionResolver standIn;
+
+	MavenVersionResolverStandInPostProcessor(MavenVersionResolver standIn) {
+		this.standIn = standIn;
+	}
+
+	@Override
+	public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+		Assert.state(registry.containsBeanDefinition(BEAN_NAME), () -> "No bean named '" + BEAN_NAME + "' to replace");
+		registry.removeBeanDefinition(BEAN_NAME);
+		RootBeanDefinition beanDefinition = new RootBeanDefinition(CacheableMavenVersionResolver.class);
+		beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, this.standIn);
+		beanDefinition.setAutowireMode(AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR);
+		registry.registerBeanDefinition(BEAN_NAME, beanDefinition);
+	}
+
+}
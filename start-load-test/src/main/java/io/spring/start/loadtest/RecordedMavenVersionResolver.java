@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+
+/**
+ * Local stand-in for the Maven repositories. Serves the versions managed by a bom from a
+ * recording on disk so that a load test does not depend on the availability or the
+ * latency of a remote repository. Missing recordings are created using a delegate
+ * resolver, unless running offline.
+ *
+ * @author Stephane Nicoll
+ */
+class RecordedMavenVersionResolver implements MavenVersionResolver {
+
+	private static final TypeReference<Map<String, String>> VERSIONS = new TypeReference<>() {
+	};
+
+	private final Path directory;
+
+	private final MavenVersionResolver delegate;
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Create a new instance.
+	 * @param directory the directory of the recordings
+	 * @param delegate the resolver to use to record missing versions, or {@code null} to
+	 * fail if a recording is missing
+	 * @param objectMapper the object mapper to use
+	 */
+	RecordedMavenVersionResolver(Path directory, MavenVersionResolver delegate, ObjectMapper objectMapper) {
+		this.directory = directory;
+		this.delegate = delegate;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public Map<String, String> resolveDependencies(String groupId, String artifactId, String version) {
+		return resolve("dependencies", groupId, artifactId, version,
+				() -> this.delegate.resolveDependencies(groupId, artifactId, version));
+	}
+
+	@Override
+	public Map<String, String> resolvePlugins(String groupId, String artifactId, String version) {
+		return resolve("plugins", groupId, artifactId, version,
+				() -> this.delegate.resolvePlugins(groupId, artifactId, version));
+	}
+
+	private Map<String, String> resolve(String kind, String groupId, String artifactId, String version,
+			Resolution resolution) {
+		Path recording = this.directory.resolve(kind).resolve(groupId).resolve(artifactId).resolve(version + ".json");
+		try {
+			if (Files.isRegularFile(recording)) {
+				return this.objectMapper.readValue(recording.toFile(), VERSIONS);
+			}
+			if (this.delegate == null) {
+				throw new IllegalStateException("No recording of the %s of %s:%s:%s in '%s'".formatted(kind, groupId,
+						artifactId, version, this.directory));
+			}
+			Map<String, String> versions = resolution.resolve();
+			record(recording, versions);
+			return versions;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void record(Path recording, Map<String, String> versions) throws IOException {
+		Files.createDirectories(recording.getParent());
+		Path file = Files.createTempFile(recording.getParent(), recording.getFileName().toString(), ".tmp");
+		this.objectMapper.writeValue(file.toFile(), versions);
+		Files.move(file, recording, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	@FunctionalInterface
+	private interface Resolution {
+
+		Map<String, String> resolve();
+
+	}
+
+}
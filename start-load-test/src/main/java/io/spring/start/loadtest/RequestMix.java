@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.start.loadtest.WeightedDistribution.Weighted;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * The mix of requests sent to the service. Each request picks an endpoint and, for
+ * endpoints that generate a project, a Spring Boot version, a project type, a language
+ * and a set of dependencies, each according to its weighted distribution.
+ *
+ * @author Stephane Nicoll
+ */
+final class RequestMix {
+
+	private static final String METADATA_MEDIA_TYPE = "application/vnd.initializr.v2.2+json";
+
+	private static final Set<String> ENDPOINTS = Set.of("/starter.zip", "/starter.tgz", "/pom.xml", "/build.gradle",
+			"/", "/metadata/client", "/dependencies");
+
+	private final WeightedDistribution<String> endpoints;
+
+	private final WeightedDistribution<String> bootVersions;
+
+	private final WeightedDistribution<String> types;
+
+	private final WeightedDistribution<String> languages;
+
+	private final WeightedDistribution<List<String>> dependencies;
+
+	private RequestMix(Definition definition) {
+		definition.endpoints()
+			.forEach((endpoint) -> Assert.isTrue(ENDPOINTS.contains(endpoint.value()),
+					() -> "Unsupported endpoint '" + endpoint.value() + "', expected one of " + ENDPOINTS));
+		this.endpoints = WeightedDistribution.of(definition.endpoints());
+		this.bootVersions = WeightedDistribution.of(definition.bootVersions());
+		this.types = WeightedDistribution.of(definition.types());
+		this.languages = WeightedDistribution.of(definition.languages());
+		this.dependencies = WeightedDistribution.of(definition.dependencies());
+	}
+
+	/**
+	 * Load the mix described by the specified JSON resource.
+	 * @param resource the resource describing the mix
+	 * @param objectMapper the object mapper to use
+	 * @return the request mix
+	 * @throws IOException if the resource cannot be read
+	 */
+	static RequestMix load(Resource resource, ObjectMapper objectMapper) throws IOException {
+		try (InputStream in = resource.getInputStream()) {
+			return new RequestMix(objectMapper.readValue(in, Definition.class));
+		}
+	}
+
+	/**
+	 * Pick the next request to send.
+	 * @param random the source of randomness
+	 * @return the request
+	 */
+	LoadRequest next(RandomGenerator random) {
+		String endpoint = this.endpoints.pick(random);
+		return switch (endpoint) {
+			case "/" -> new LoadRequest(endpoint, endpoint, METADATA_MEDIA_TYPE);
+			case "/metadata/client" -> new LoadRequest(endpoint, endpoint, "application/json");
+			case "/dependencies" -> new LoadRequest(endpoint,
+					UriComponentsBuilder.fromPath(endpoint)
+						.queryParam("bootVersion", this.bootVersions.pick(random))
+						.encode()
+						.toUriString(),
+					METADATA_MEDIA_TYPE);
+			case "/pom.xml" -> projectRequest(endpoint, "maven-build", random);
+			case "/build.gradle" -> projectRequest(endpoint, "gradle-build", random);
+			default -> projectRequest(endpoint, this.types.pick(random), random);
+		};
+	}
+
+	private LoadRequest projectRequest(String endpoint, String type, RandomGenerator random) {
+		UriComponentsBuilder uri = UriComponentsBuilder.fromPath(endpoint)
+			.queryParam("type", type)
+			.queryParam("language", this.languages.pick(random))
+			.queryParam("bootVersion", this.bootVersions.pick(random));
+		List<String> dependencies = this.dependencies.pick(random);
+		if (!dependencies.isEmpty()) {
+			uri.queryParam("dependencies", String.join(",", dependencies));
+		}
+		return new LoadRequest(endpoint, uri.encode().toUriString(), "*/*");
+	}
+
+	/**
+	 * A request to send.
+	 *
+	 * @param endpoint the endpoint the request targets, used to aggregate results
+	 * @param path the path and query of the request
+	 * @param accept the value of the {@code Accept} header
+	 */
+	record LoadRequest(String endpoint, String path, String accept) {
+
+	}
+
+	/**
+	 * The definition of a mix of requests.
+	 *
+	 * @param endpoints the weighted endpoints
+	 * @param bootVersions the weighted Spring Boot versions
+	 * @param types the weighted project types, for endpoints that generate an archive
+	 * @param languages the weighted languages
+	 * @param dependencies the weighted sets of dependencies
+	 */
+	record Definition(List<Weighted<String>> endpoints, List<Weighted<String>> bootVersions,
+			List<Weighted<String>> types, List<Weighted<String>> languages, List<Weighted<List<String>>> dependencies) {
+
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Local stand-in for the spring.io API that serves the available Spring Boot versions
+ * from a static document.
+ *
+ * @author Stephane Nicoll
+ */
+final class SpringIoMetadataStandIn implements Closeable {
+
+	private static final String PATH = "/projects/spring-boot/releases";
+
+	private final HttpServer server;
+
+	private final byte[] content;
+
+	private SpringIoMetadataStandIn(HttpServer server, byte[] content) {
+		this.server = server;
+		this.content = content;
+	}
+
+	/**
+	 * Start a stand-in that serves the specified Spring Boot releases.
+	 * @param releases the document describing the Spring Boot releases, in the format of
+	 * the spring.io API
+	 * @return the running stand-in
+	 * @throws IOException if the document cannot be read or the server cannot start
+	 */
+	static SpringIoMetadataStandIn start(Resource releases) throws IOException {
+		byte[] content;
+		try (InputStream in = releases.getInputStream()) {
+			content = in.readAllBytes();
+		}
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		SpringIoMetadataStandIn standIn = new SpringIoMetadataStandIn(server, content);
+		server.createContext(PATH, standIn::handle);
+		server.start();
+		return standIn;
+	}
+
+	/**
+	 * Return the URL of the Spring Boot releases.
+	 * @return the URL to use as {@code initializr.env.spring-boot-metadata-url}
+	 */
+	String getUrl() {
+		return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort() + PATH;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, this.content.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(this.content);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		this.server.stop(0);
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.start.loadtest.LoadTestOptions.Threads;
+import io.spring.start.site.StartApplication;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Run start.spring.io in-process against local stand-ins for the spring.io API and the
+ * Maven repositories, send a mix of requests at a configurable rate with many concurrent
+ * clients and report the throughput, error rate and latency percentiles.
+ * <p>
+ * Supported options, of the form {@code --name=value}:
+ * <ul>
+ * <li>{@code rate}: target number of requests per second, {@code 0} to send requests as
+ * fast as possible (default {@code 50})</li>
+ * <li>{@code clients}: number of concurrent clients (default {@code 64})</li>
+ * <li>{@code duration}: duration of the measurement (default {@code 60s})</li>
+ * <li>{@code warm-up}: duration of the warm-up, whose results are discarded (default
+ * {@code 20s})</li>
+ * <li>{@code request-timeout}: time after which a request is an error (default
+ * {@code 60s})</li>
+ * <li>{@code mix}: location of the request mix (default
+ * {@code classpath:default-mix.json})</li>
+ * <li>{@code spring-boot-releases}: location of the Spring Boot releases served by the
+ * spring.io stand-in (default {@code classpath:spring-boot-releases.json})</li>
+ * <li>{@code recordings}: directory of the recorded versions of the Maven repository
+ * stand-in (default {@code load-test/recordings})</li>
+ * <li>{@code offline}: fail rather than record versions that have not been recorded
+ * yet</li>
+ * <li>{@code seed}: seed of the random generators of the clients (default
+ * {@code 42})</li>
+ * <li>{@code report}: file to which the JSON report is written (default
+ * {@code load-test/report.json})</li>
+ * <li>{@code threads}: run the application on {@code platform} threads, on
+ * {@code virtual} threads or once on each with {@code both}, in which case a report is
+ * written per run, suffixed by the kind of threads (default as configured by the
+ * application)</li>
+ * </ul>
+ * Other options are passed to the application.
+ *
+ * @author Stephane Nicoll
+ */
+public final class StartLoadTest {
+
+	private StartLoadTest() {
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		LoadTestOptions options = LoadTestOptions.parse(args);
+		ResourceLoader resourceLoader = new DefaultResourceLoader();
+		ObjectMapper objectMapper = new ObjectMapper();
+		RequestMix mix = RequestMix.load(resourceLoader.getResource(options.getMix()), objectMapper);
+		try (SpringIoMetadataStandIn springIo = SpringIoMetadataStandIn
+			.start(resourceLoader.getResource(options.getSpringBootReleases()))) {
+			if (options.getThreads().isEmpty()) {
+				run(options, null, mix, springIo, objectMapper);
+			}
+			for (Threads threads : options.getThreads()) {
+				run(options, threads, mix, springIo, objectMapper);
+			}
+		}
+	}
+
+	private static void run(LoadTestOptions options, Threads threads, RequestMix mix, SpringIoMetadataStandIn springIo,
+			ObjectMapper objectMapper) throws IOException, InterruptedException {
+		if (threads != null) {
+			System.out.printf("Running on %s threads%n", threads.getName());
+		}
+		try (ConfigurableApplicationContext context = startApplication(options, threads, springIo, objectMapper)) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			LoadDriver driver = new LoadDriver(HttpClient.newHttpClient(), URI.create("http://localhost:" + port), mix,
+					options);
+			if (!options.getWarmUp().isZero()) {
+				System.out.printf("Warming up for %s%n", options.getWarmUp());
+				driver.run(options.getWarmUp());
+			}
+			System.out.printf("Measuring for %s%n", options.getDuration());
+			Instant timestamp = Instant.now();
+			LoadTestResults results = driver.run(options.getDuration());
+			LoadTestReport report = new LoadTestReport(timestamp, options, threads, results);
+			Path reportFile = getReportFile(options, threads);
+			report.writeTo(reportFile, objectMapper);
+			report.printSummary(System.out);
+			System.out.printf("Report written to %s%n", reportFile.toAbsolutePath());
+		}
+	}
+
+	private static Path getReportFile(LoadTestOptions options, Threads threads) {
+		Path report = options.getReport();
+		if (threads == null || options.getThreads().size() == 1) {
+			return report;
+		}
+		String fileName = report.getFileName().toString();
+		int extension = fileName.lastIndexOf('.');
+		String suffix = "-" + threads.getName();
+		return report.resolveSibling((extension != -1)
+				? fileName.substring(0, extension) + suffix + fileName.substring(extension) : fileName + suffix);
+	}
+
+	private static ConfigurableApplicationContext startApplication(LoadTestOptions options, Threads threads,
+			SpringIoMetadataStandIn springIo, ObjectMapper objectMapper) throws IOException {
+		MavenVersionResolver delegate = (!options.isOffline())
+				? MavenVersionResolver.withCacheLocation(Files.createTempDirectory("load-test-version-resolver-"))
+				: null;
+		RecordedMavenVersionResolver mavenRepository = new RecordedMavenVersionResolver(options.getRecordings(),
+				delegate, objectMapper);
+		List<String> args = new ArrayList<>();
+		args.add("--server.port=0");
+		args.add("--initializr.env.spring-boot-metadata-url=" + springIo.getUrl());
+		options.getApplicationProperties().forEach((name, value) -> args.add("--" + name + "=" + value));
+		if (threads != null) {
+			args.add("--spring.threads.virtual.enabled=" + threads.isVirtual());
+		}
+		return new SpringApplicationBuilder(StartApplication.class)
+			.initializers((context) -> ((GenericApplicationContext) context).registerBean(
+					MavenVersionResolverStandInPostProcessor.class,
+					() -> new MavenVersionResolverStandInPostProcessor(mavenRepository)))
+			.run(args.toArray(String[]::new));
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import org.springframework.util.Assert;
+
+/**
+ * A distribution of values, each picked with a probability proportional to its weight.
+ *
+ * @param <T> the type of the values
+ * @author Stephane Nicoll
+ */
+final class WeightedDistribution<T> {
+
+	private final List<T> values;
+
+	private final int[] cumulativeWeights;
+
+	private WeightedDistribution(List<T> values, int[] cumulativeWeights) {
+		this.values = values;
+		this.cumulativeWeights = cumulativeWeights;
+	}
+
+	/**
+	 * Create a distribution of the specified weighted values.
+	 * @param entries the weighted values
+	 * @param <T> the type of the values
+	 * @return a new distribution
+	 */
+	static <T> WeightedDistribution<T> of(List<Weighted<T>> entries) {
+		Assert.notEmpty(entries, "'entries' must not be empty");
+		List<T> values = new ArrayList<>(entries.size());
+		int[] cumulativeWeights = new int[entries.size()];
+		int total = 0;
+		for (int i = 0; i < entries.size(); i++) {
+			Weighted<T> entry = entries.get(i);
+			Assert.isTrue(entry.weight() > 0, () -> "Weight of '" + entry.value() + "' must be positive");
+			total = Math.addExact(total, entry.weight());
+			values.add(entry.value());
+			cumulativeWeights[i] = total;
+		}
+		return new WeightedDistribution<>(List.copyOf(values), cumulativeWeights);
+	}
+
+	/**
+	 * Pick a value.
+	 * @param random the source of randomness
+	 * @return a value of the distribution
+	 */
+	T pick(RandomGenerator random) {
+		int target = random.nextInt(this.cumulativeWeights[this.cumulativeWeights.length - 1]);
+		int index = Arrays.binarySearch(this.cumulativeWeights, target + 1);
+		return this.values.get((index >= 0) ? index : -index - 1);
+	}
+
+	/**
+	 * A value and its weight.
+	 *
+	 * @param value the value
+	 * @param weight the weight of the value, relative to the other values
+	 * @param <T> the type of the value
+	 */
+	record Weighted<T>(T value, int weight) {
+
+	}
+
+}
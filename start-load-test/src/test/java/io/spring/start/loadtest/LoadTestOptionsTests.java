@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import io.spring.start.loadtest.LoadTestOptions.Threads;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link LoadTestOptions}.
+ *
+ * @author Stephane Nicoll
+ */
+class LoadTestOptionsTests {
+
+	@Test
+	void threadsAreLeftToTheApplicationByDefault() {
+		assertThat(LoadTestOptions.parse().getThreads()).isEmpty();
+	}
+
+	@Test
+	void threadsCanBeSetToBoth() {
+		assertThat(LoadTestOptions.parse("--threads=both").getThreads()).containsExactly(Threads.PLATFORM,
+				Threads.VIRTUAL);
+	}
+
+	@Test
+	void threadsCanBeSetToVirtual() {
+		assertThat(LoadTestOptions.parse("--threads=virtual").getThreads()).containsExactly(Threads.VIRTUAL);
+	}
+
+	@Test
+	void invalidThreadsAreRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> LoadTestOptions.parse("--threads=carrier"))
+			.withMessageContaining("carrier");
+	}
+
+	@Test
+	void unknownOptionsArePassedToTheApplication() {
+		assertThat(LoadTestOptions.parse("--spring.threads.virtual.enabled=true").getApplicationProperties())
+			.containsEntry("spring.threads.virtual.enabled", "true");
+	}
+
+}
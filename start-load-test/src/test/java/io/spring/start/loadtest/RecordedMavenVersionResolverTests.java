@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link RecordedMavenVersionResolver}.
+ *
+ * @author Stephane Nicoll
+ */
+class RecordedMavenVersionResolverTests {
+
+	@TempDir
+	private Path recordings;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void resolveDependenciesRecordsMissingVersions() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:core", "1.0.0"));
+		RecordedMavenVersionResolver resolver = new RecordedMavenVersionResolver(this.recordings, delegate,
+				this.objectMapper);
+		assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0"))
+			.containsExactly(Map.entry("com.example:core", "1.0.0"));
+		assertThat(this.recordings.resolve("dependencies/com.example/bom/1.0.0.json")).isRegularFile();
+	}
+
+	@Test
+	void resolveDependenciesUsesRecording() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:core", "1.0.0"));
+		new RecordedMavenVersionResolver(this.recordings, delegate, this.objectMapper)
+			.resolveDependencies("com.example", "bom", "1.0.0");
+		RecordedMavenVersionResolver offline = new RecordedMavenVersionResolver(this.recordings, null,
+				this.objectMapper);
+		assertThat(offline.resolveDependencies("com.example", "bom", "1.0.0"))
+			.containsExactly(Map.entry("com.example:core", "1.0.0"));
+	}
+
+	@Test
+	void resolvePluginsAreRecordedSeparately() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:core", "1.0.0"));
+		given(delegate.resolvePlugins("com.example", "bom", "1.0.0")).willReturn(Map.of("com.example:plugin", "2.0.0"));
+		RecordedMavenVersionResolver resolver = new RecordedMavenVersionResolver(this.recordings, delegate,
+				this.objectMapper);
+		resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		assertThat(resolver.resolvePlugins("com.example", "bom", "1.0.0"))
+			.containsExactly(Map.entry("com.example:plugin", "2.0.0"));
+		verify(delegate).resolvePlugins("com.example", "bom", "1.0.0");
+	}
+
+	@Test
+	void resolveDependenciesWhenOfflineAndNotRecorded() {
+		RecordedMavenVersionResolver resolver = new RecordedMavenVersionResolver(this.recordings, null,
+				this.objectMapper);
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"))
+			.withMessageContaining("com.example:bom:1.0.0");
+	}
+
+	@Test
+	void resolveDependenciesDoesNotInvokeDelegateWhenRecorded() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:core", "1.0.0"));
+		RecordedMavenVersionResolver resolver = new RecordedMavenVersionResolver(this.recordings, delegate,
+				this.objectMapper);
+		resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		verify(delegate).resolveDependencies("com.example", "bom", "1.0.0");
+		verify(delegate, never()).resolvePlugins(any(), any(), any());
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.start.loadtest.RequestMix.LoadRequest;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link RequestMix}.
+ *
+ * @author Stephane Nicoll
+ */
+class RequestMixTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void defaultMixCoversAllEndpoints() throws IOException {
+		RequestMix mix = RequestMix.load(new ClassPathResource("default-mix.json"), this.objectMapper);
+		List<LoadRequest> requests = next(mix, 10_000);
+		assertThat(requests).extracting(LoadRequest::endpoint)
+			.containsOnly("/starter.zip", "/starter.tgz", "/pom.xml", "/build.gradle", "/", "/metadata/client",
+					"/dependencies");
+	}
+
+	@Test
+	void nextWithProjectEndpoint() throws IOException {
+		RequestMix mix = load("""
+				{ "endpoints": [ { "value": "/starter.zip", "weight": 1 } ],
+				  "bootVersions": [ { "value": "3.5.0", "weight": 1 } ],
+				  "types": [ { "value": "gradle-project", "weight": 1 } ],
+				  "languages": [ { "value": "kotlin", "weight": 1 } ],
+				  "dependencies": [ { "value": [ "web", "data-jpa" ], "weight": 1 } ] }
+				""");
+		assertThat(mix.next(new SplittableRandom())).isEqualTo(new LoadRequest("/starter.zip",
+				"/starter.zip?type=gradle-project&language=kotlin&bootVersion=3.5.0&dependencies=web,data-jpa", "*/*"));
+	}
+
+	@Test
+	void nextWithBuildEndpointUsesBuildType() throws IOException {
+		RequestMix mix = load("""
+				{ "endpoints": [ { "value": "/pom.xml", "weight": 1 } ],
+				  "bootVersions": [ { "value": "3.5.0", "weight": 1 } ],
+				  "types": [ { "value": "gradle-project", "weight": 1 } ],
+				  "languages": [ { "value": "java", "weight": 1 } ],
+				  "dependencies": [ { "value": [], "weight": 1 } ] }
+				""");
+		assertThat(mix.next(new SplittableRandom()).path())
+			.isEqualTo("/pom.xml?type=maven-build&language=java&bootVersion=3.5.0");
+	}
+
+	@Test
+	void nextWithMetadataEndpoint() throws IOException {
+		RequestMix mix = load("""
+				{ "endpoints": [ { "value": "/", "weight": 1 } ],
+				  "bootVersions": [ { "value": "3.5.0", "weight": 1 } ],
+				  "types": [ { "value": "maven-project", "weight": 1 } ],
+				  "languages": [ { "value": "java", "weight": 1 } ],
+				  "dependencies": [ { "value": [], "weight": 1 } ] }
+				""");
+		assertThat(mix.next(new SplittableRandom()))
+			.isEqualTo(new LoadRequest("/", "/", "application/vnd.initializr.v2.2+json"));
+	}
+
+	@Test
+	void loadWithUnsupportedEndpoint() {
+		assertThatIllegalArgumentException().isThrownBy(() -> load("""
+				{ "endpoints": [ { "value": "/starter.jar", "weight": 1 } ],
+				  "bootVersions": [ { "value": "3.5.0", "weight": 1 } ],
+				  "types": [ { "value": "maven-project", "weight": 1 } ],
+				  "languages": [ { "value": "java", "weight": 1 } ],
+				  "dependencies": [ { "value": [], "weight": 1 } ] }
+				""")).withMessageContaining("/starter.jar");
+	}
+
+	private RequestMix load(String json) throws IOException {
+		return RequestMix.load(new ByteArrayResource(json.getBytes(StandardCharsets.UTF_8)), this.objectMapper);
+	}
+
+	private List<LoadRequest> next(RequestMix mix, int count) {
+		SplittableRandom random = new SplittableRandom(42);
+		return IntStream.range(0, count).mapToObj((i) -> mix.next(random)).toList();
+	}
+
+}
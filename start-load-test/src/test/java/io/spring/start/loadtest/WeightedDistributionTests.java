@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.spring.start.loadtest.WeightedDistribution.Weighted;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link WeightedDistribution}.
+ *
+ * @author Stephane Nicoll
+ */
+class WeightedDistributionTests {
+
+	@Test
+	void pickHonorsWeights() {
+		WeightedDistribution<String> distribution = WeightedDistribution
+			.of(List.of(new Weighted<>("a", 70), new Weighted<>("b", 20), new Weighted<>("c", 10)));
+		SplittableRandom random = new SplittableRandom(42);
+		Map<String, Long> counts = IntStream.range(0, 100_000)
+			.mapToObj((i) -> distribution.pick(random))
+			.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+		assertThat(counts.get("a") / 100_000.0).isCloseTo(0.7, within(0.01));
+		assertThat(counts.get("b") / 100_000.0).isCloseTo(0.2, within(0.01));
+		assertThat(counts.get("c") / 100_000.0).isCloseTo(0.1, within(0.01));
+	}
+
+	@Test
+	void pickWithSingleValue() {
+		WeightedDistribution<String> distribution = WeightedDistribution.of(List.of(new Weighted<>("a", 1)));
+		assertThat(distribution.pick(new SplittableRandom())).isEqualTo("a");
+	}
+
+	@Test
+	void ofWithNoValue() {
+		assertThatIllegalArgumentException().isThrownBy(() -> WeightedDistribution.of(List.of()));
+	}
+
+	@Test
+	void ofWithZeroWeight() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> WeightedDistribution.of(List.of(new Weighted<>("a", 1), new Weighted<>("b", 0))))
+			.withMessageContaining("'b'");
+	}
+
+}
@@ -19,25 +19,72 @@ package io.spring.start.site;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.initializr.generator.io.template.MustacheTemplateRenderer;
+import io.spring.initializr.metadata.DependencyMetadataProvider;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.metadata.InitializrProperties;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.initializr.web.controller.DefaultProjectGenerationController;
+import io.spring.initializr.web.project.DefaultProjectRequestPlatformVersionTransformer;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.ProjectRequestPlatformVersionTransformer;
+import io.spring.start.site.StartConfigurationProperties.Metadata.Refresh;
+import io.spring.start.site.StartConfigurationProperties.ProjectGeneration;
+import io.spring.start.site.StartConfigurationProperties.ProjectGeneration.Batch;
 import io.spring.start.site.container.SimpleDockerServiceResolver;
+import io.spring.start.site.generation.PrecompiledTemplateCache;
+import io.spring.start.site.generation.ProjectArchiveCache;
+import io.spring.start.site.generation.ProjectArchiver;
+import io.spring.start.site.generation.ProjectGenerationMetrics;
+import io.spring.start.site.generation.ProjectGenerationPlanCache;
+import io.spring.start.site.generation.StreamingProjectGenerationInvoker;
+import io.spring.start.site.generation.TimedGenerationComponentsPostProcessor;
 import io.spring.start.site.project.ProjectDescriptionCustomizerConfiguration;
 import io.spring.start.site.support.CacheableMavenVersionResolver;
+import io.spring.start.site.support.DependencyCompatibilityIndex;
+import io.spring.start.site.support.InitializrMetadataChangedEvent;
+import io.spring.start.site.support.MavenVersionResolverWarmUp;
+import io.spring.start.site.support.ResilientMavenVersionResolver;
 import io.spring.start.site.support.StartInitializrMetadataUpdateStrategy;
+import io.spring.start.site.support.VirtualThreadPinningMonitor;
+import io.spring.start.site.web.BatchProjectGenerationController;
 import io.spring.start.site.web.HomeController;
+import io.spring.start.site.web.IndexedProjectRequestToDescriptionConverter;
+import io.spring.start.site.web.PreRenderedProjectMetadataController;
+import io.spring.start.site.web.ProjectDiffController;
+import io.spring.start.site.web.ProjectPreviewController;
+import io.spring.start.site.web.StreamingProjectGenerationController;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
@@ -48,12 +95,14 @@ import org.springframework.web.client.RestTemplate;
  */
 @EnableAutoConfiguration
 @SpringBootConfiguration
-@Import(ProjectDescriptionCustomizerConfiguration.class)
+@Import({ ProjectDescriptionCustomizerConfiguration.class, VersionResolverCacheConfiguration.class })
 @EnableCaching
 @EnableAsync
 @EnableConfigurationProperties(StartConfigurationProperties.class)
 public class StartApplication {
 
+	private static final String TEMPLATES_LOCATION = "classpath:/templates";
+
 	public static void main(String[] args) {
 		SpringApplication.run(StartApplication.class, args);
 	}
@@ -63,25 +112,228 @@ public class StartApplication {
 		return new HomeController();
 	}
 
+	@Bean
+	@ConditionalOnProperty(name = "application.metadata.pre-render.enabled", matchIfMissing = true)
+	public PreRenderedProjectMetadataController projectMetadataController(InitializrMetadataProvider metadataProvider,
+			DependencyMetadataProvider dependencyMetadataProvider, StartConfigurationProperties properties) {
+		return new PreRenderedProjectMetadataController(metadataProvider, dependencyMetadataProvider,
+				properties.getMetadata().getPreRender().getMaxResponses());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.metadata.dependency-index.enabled", matchIfMissing = true)
+	public DependencyCompatibilityIndex dependencyMetadataProvider() {
+		return new DependencyCompatibilityIndex();
+	}
+
 	@Bean
 	public StartInitializrMetadataUpdateStrategy initializrMetadataUpdateStrategy(
-			RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper) {
+			RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper,
+			InitializrProperties initializrProperties, StartConfigurationProperties properties) {
 		RestTemplate restTemplate = restTemplateBuilder.defaultHeader(HttpHeaders.USER_AGENT, "start.spring.io")
 			.build();
-		return new StartInitializrMetadataUpdateStrategy(restTemplate, objectMapper);
+		Refresh refresh = properties.getMetadata().getRefresh();
+		return new StartInitializrMetadataUpdateStrategy(restTemplate, objectMapper,
+				initializrProperties.getEnv().getSpringBootMetadataUrl(),
+				(refresh.isEnabled()) ? refresh.getInterval() : null);
 	}
 
 	@Bean
-	public CacheableMavenVersionResolver mavenVersionResolver(StartConfigurationProperties properties)
-			throws IOException {
+	public ApplicationListener<InitializrMetadataChangedEvent> initializrMetadataCacheEviction(
+			ObjectProvider<CacheManager> cacheManager) {
+		// Serve the metadata with the new Spring Boot versions right away
+		return (event) -> cacheManager.ifAvailable((manager) -> {
+			Cache cache = manager.getCache("initializr.metadata");
+			if (cache != null) {
+				cache.clear();
+			}
+		});
+	}
+
+	@Bean
+	public CacheableMavenVersionResolver mavenVersionResolver(StartConfigurationProperties properties,
+			ObjectProvider<CacheManager> cacheManager) throws IOException {
+		StartConfigurationProperties.MavenVersionResolver resolverProperties = properties.getMavenVersionResolver();
 		Path location;
-		if (StringUtils.hasText(properties.getMavenVersionResolver().getCacheDirectory())) {
-			location = Path.of(properties.getMavenVersionResolver().getCacheDirectory());
+		if (StringUtils.hasText(resolverProperties.getCacheDirectory())) {
+			location = Path.of(resolverProperties.getCacheDirectory());
 		}
 		else {
 			location = Files.createTempDirectory("version-resolver-cache-");
 		}
-		return new CacheableMavenVersionResolver(MavenVersionResolver.withCacheLocation(location));
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("version-resolver-");
+		threadFactory.setDaemon(true);
+		int concurrency = resolverProperties.getConcurrency();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 1, TimeUnit.MINUTES,
+				new LinkedBlockingQueue<>(resolverProperties.getQueueCapacity()), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		ResilientMavenVersionResolver resilientResolver = new ResilientMavenVersionResolver(
+				MavenVersionResolver.withCacheLocation(location), executor, resolverProperties.getTimeout(),
+				resolverProperties.getFailureTimeToLive(), resolverProperties.getLastKnownResultTimeToLive());
+		return new CacheableMavenVersionResolver(resilientResolver, cacheManager.getIfAvailable());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.maven-version-resolver.warm-up.enabled", matchIfMissing = true)
+	public MavenVersionResolverWarmUp mavenVersionResolverWarmUp(InitializrMetadataProvider metadataProvider,
+			MavenVersionResolver mavenVersionResolver, StartConfigurationProperties properties) {
+		StartConfigurationProperties.MavenVersionResolver resolverProperties = properties.getMavenVersionResolver();
+		return new MavenVersionResolverWarmUp(metadataProvider, mavenVersionResolver,
+				resolverProperties.getWarmUp().getParallelism(), resolverProperties.getVersionCache().getTimeToLive());
+	}
+
+	@Bean
+	public HealthIndicator mavenVersionResolverWarmUpHealthIndicator(
+			ObjectProvider<MavenVersionResolverWarmUp> warmUp) {
+		// WARMING_UP is only part of the status order of the readiness group, other
+		// groups ignore it and are not taken out of service by the warm-up
+		Status warmingUp = new Status("WARMING_UP", "Maven version resolver warm-up in progress");
+		return () -> {
+			MavenVersionResolverWarmUp candidate = warmUp.getIfAvailable();
+			return (candidate == null || candidate.isStartupComplete()) ? Health.up().build()
+					: Health.status(warmingUp).build();
+		};
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.project-generation.plan-cache.enabled", matchIfMissing = true)
+	public ProjectGenerationPlanCache projectGenerationPlanCache(StartConfigurationProperties properties) {
+		return new ProjectGenerationPlanCache(properties.getProjectGeneration().getPlanCache().getMaxEntries());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.project-generation.mode", havingValue = "temporary-directory")
+	public DefaultProjectGenerationController defaultProjectGenerationController(
+			InitializrMetadataProvider metadataProvider,
+			ObjectProvider<ProjectRequestPlatformVersionTransformer> platformVersionTransformer,
+			ObjectProvider<DependencyCompatibilityIndex> dependencyIndex, ApplicationContext applicationContext) {
+		ProjectGenerationInvoker<ProjectRequest> invoker = new ProjectGenerationInvoker<>(applicationContext,
+				createProjectRequestToDescriptionConverter(platformVersionTransformer, dependencyIndex));
+		return new DefaultProjectGenerationController(metadataProvider, invoker);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.project-generation.mode", havingValue = "streaming",
+			matchIfMissing = true)
+	public StreamingProjectGenerationController projectGenerationController(InitializrMetadataProvider metadataProvider,
+			ObjectProvider<ProjectRequestPlatformVersionTransformer> platformVersionTransformer,
+			ObjectProvider<DependencyCompatibilityIndex> dependencyIndex,
+			ProjectArchiver projectArchiver, ObjectProvider<ProjectArchiveCache> archiveCache,
+			ObjectProvider<ProjectGenerationMetrics> metrics, ApplicationContext applicationContext,
+			StartConfigurationProperties properties) {
+		StreamingProjectGenerationInvoker<ProjectRequest> invoker = createProjectGenerationInvoker(applicationContext,
+				platformVersionTransformer, dependencyIndex, properties);
+		return new StreamingProjectGenerationController(metadataProvider, invoker, projectArchiver,
+				archiveCache.getIfAvailable(), metrics.getIfAvailable());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.project-generation.batch.enabled", matchIfMissing = true)
+	public BatchProjectGenerationController batchProjectGenerationController(
+			InitializrMetadataProvider metadataProvider,
+			ObjectProvider<ProjectRequestPlatformVersionTransformer> platformVersionTransformer,
+			ObjectProvider<DependencyCompatibilityIndex> dependencyIndex, ProjectArchiver projectArchiver,
+			ObjectMapper objectMapper, ApplicationContext applicationContext, StartConfigurationProperties properties) {
+		StreamingProjectGenerationInvoker<ProjectRequest> invoker = createProjectGenerationInvoker(applicationContext,
+				platformVersionTransformer, dependencyIndex, properties);
+		Batch batch = properties.getProjectGeneration().getBatch();
+		return new BatchProjectGenerationController(metadataProvider, invoker, projectArchiver, objectMapper,
+				batch.getParallelism(), batch.getMaxProjects());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.project-generation.diff.enabled", matchIfMissing = true)
+	public ProjectDiffController projectDiffController(InitializrMetadataProvider metadataProvider,
+			ObjectProvider<ProjectRequestPlatformVersionTransformer> platformVersionTransformer,
+			ObjectProvider<DependencyCompatibilityIndex> dependencyIndex, ObjectMapper objectMapper,
+			ApplicationContext applicationContext, StartConfigurationProperties properties) {
+		StreamingProjectGenerationInvoker<ProjectRequest> invoker = createProjectGenerationInvoker(applicationContext,
+				platformVersionTransformer, dependencyIndex, properties);
+		return new ProjectDiffController(metadataProvider, invoker, objectMapper);
+	}
+
+	@Bean
+	// Without the archive cache, every click in the preview would generate the project
+	@ConditionalOnProperty(name = { "application.project-generation.preview.enabled",
+			"application.project-generation.archive-cache.enabled" }, matchIfMissing = true)
+	public ProjectPreviewController projectPreviewController(InitializrMetadataProvider metadataProvider,
+			ObjectProvider<ProjectRequestPlatformVersionTransformer> platformVersionTransformer,
+			ObjectProvider<DependencyCompatibilityIndex> dependencyIndex, ProjectArchiver projectArchiver,
+			ProjectArchiveCache archiveCache, ApplicationContext applicationContext,
+			StartConfigurationProperties properties) {
+		StreamingProjectGenerationInvoker<ProjectRequest> invoker = createProjectGenerationInvoker(applicationContext,
+				platformVersionTransformer, dependencyIndex, properties);
+		return new ProjectPreviewController(metadataProvider, invoker, projectArchiver, archiveCache);
+	}
+
+	@Bean
+	public ProjectArchiver projectArchiver() {
+		return new ProjectArchiver();
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.project-generation.archive-cache.enabled", matchIfMissing = true)
+	public ProjectArchiveCache projectArchiveCache(StartConfigurationProperties properties) {
+		return new ProjectArchiveCache(properties.getProjectGeneration().getArchiveCache().getMaxSize().toBytes());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "spring.mustache.cache", matchIfMissing = true)
+	public MustacheTemplateRenderer templateRenderer(ApplicationContext applicationContext) {
+		return new MustacheTemplateRenderer(TEMPLATES_LOCATION,
+				PrecompiledTemplateCache.precompile(TEMPLATES_LOCATION, applicationContext));
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.project-generation.metrics.enabled", matchIfMissing = true)
+	public ProjectGenerationMetrics projectGenerationMetrics(MeterRegistry meterRegistry) {
+		return new ProjectGenerationMetrics(meterRegistry);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "application.project-generation.metrics.enabled", matchIfMissing = true)
+	public static TimedGenerationComponentsPostProcessor timedGenerationComponentsPostProcessor(
+			ObjectProvider<ProjectGenerationMetrics> metrics) {
+		return new TimedGenerationComponentsPostProcessor(metrics::getObject, null);
+	}
+
+	@Bean
+	@ConditionalOnThreading(Threading.VIRTUAL)
+	@ConditionalOnProperty(name = "application.virtual-threads.pinning-diagnostics.enabled", matchIfMissing = true)
+	public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+			StartConfigurationProperties properties) {
+		return new VirtualThreadPinningMonitor(meterRegistry,
+				properties.getVirtualThreads().getPinningDiagnostics().getThreshold());
+	}
+
+	private static StreamingProjectGenerationInvoker<ProjectRequest> createProjectGenerationInvoker(
+			ApplicationContext applicationContext,
+			ObjectProvider<ProjectRequestPlatformVersionTransformer> platformVersionTransformer,
+			ObjectProvider<DependencyCompatibilityIndex> dependencyIndex, StartConfigurationProperties properties) {
+		return new StreamingProjectGenerationInvoker<>(applicationContext,
+				createProjectRequestToDescriptionConverter(platformVersionTransformer, dependencyIndex),
+				getWorkingDirectory(properties.getProjectGeneration()));
+	}
+
+	private static DefaultProjectRequestToDescriptionConverter createProjectRequestToDescriptionConverter(
+			ObjectProvider<ProjectRequestPlatformVersionTransformer> platformVersionTransformer,
+			ObjectProvider<DependencyCompatibilityIndex> dependencyIndex) {
+		ProjectRequestPlatformVersionTransformer transformer = platformVersionTransformer
+			.getIfAvailable(DefaultProjectRequestPlatformVersionTransformer::new);
+		DependencyCompatibilityIndex index = dependencyIndex.getIfAvailable();
+		return (index != null) ? new IndexedProjectRequestToDescriptionConverter(transformer, index)
+				: new DefaultProjectRequestToDescriptionConverter(transformer);
+	}
+
+	private static Path getWorkingDirectory(ProjectGeneration projectGeneration) {
+		if (StringUtils.hasText(projectGeneration.getWorkingDirectory())) {
+			return Path.of(projectGeneration.getWorkingDirectory());
+		}
+		Path sharedMemory = Path.of("/dev/shm");
+		if (Files.isDirectory(sharedMemory) && Files.isWritable(sharedMemory)) {
+			return sharedMemory;
+		}
+		return Path.of(System.getProperty("java.io.tmpdir"));
 	}
 
 	@Bean
@@ -16,7 +16,10 @@
 
 package io.spring.start.site;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Configuration properties for the application.
@@ -31,10 +34,37 @@ public class StartConfigurationProperties {
 	 */
 	private final MavenVersionResolver mavenVersionResolver = new MavenVersionResolver();
 
+	/**
+	 * Configuration for project generation.
+	 */
+	private final ProjectGeneration projectGeneration = new ProjectGeneration();
+
+	/**
+	 * Configuration for the metadata endpoints.
+	 */
+	private final Metadata metadata = new Metadata();
+
+	/**
+	 * Configuration for virtual threads.
+	 */
+	private final VirtualThreads virtualThreads = new VirtualThreads();
+
 	public MavenVersionResolver getMavenVersionResolver() {
 		return this.mavenVersionResolver;
 	}
 
+	public ProjectGeneration getProjectGeneration() {
+		return this.projectGeneration;
+	}
+
+	public Metadata getMetadata() {
+		return this.metadata;
+	}
+
+	public VirtualThreads getVirtualThreads() {
+		return this.virtualThreads;
+	}
+
 	public static class MavenVersionResolver {
 
 		/**
@@ -43,6 +73,44 @@ public class StartConfigurationProperties {
 		 */
 		private String cacheDirectory;
 
+		/**
+		 * Maximum time to wait for a resolution. A resolution that takes longer is
+		 * considered failed.
+		 */
+		private Duration timeout = Duration.ofSeconds(30);
+
+		/**
+		 * Time during which a failed resolution is not attempted again.
+		 */
+		private Duration failureTimeToLive = Duration.ofMinutes(1);
+
+		/**
+		 * Time during which the last known result of a resolution is returned while the
+		 * same coordinates are resolved again or fail to resolve.
+		 */
+		private Duration lastKnownResultTimeToLive = Duration.ofDays(1);
+
+		/**
+		 * Maximum number of resolutions that run concurrently.
+		 */
+		private int concurrency = 8;
+
+		/**
+		 * Maximum number of resolutions that wait for a thread. A resolution fails
+		 * immediately when the queue is full.
+		 */
+		private int queueCapacity = 100;
+
+		/**
+		 * Configuration for the cache of resolved dependencies and plugins.
+		 */
+		private final VersionCache versionCache = new VersionCache();
+
+		/**
+		 * Configuration for the warm-up of the resolver.
+		 */
+		private final WarmUp warmUp = new WarmUp();
+
 		public String getCacheDirectory() {
 			return this.cacheDirectory;
 		}
@@ -51,6 +119,576 @@ public class StartConfigurationProperties {
 			this.cacheDirectory = cacheDirectory;
 		}
 
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public Duration getFailureTimeToLive() {
+			return this.failureTimeToLive;
+		}
+
+		public void setFailureTimeToLive(Duration failureTimeToLive) {
+			this.failureTimeToLive = failureTimeToLive;
+		}
+
+		public Duration getLastKnownResultTimeToLive() {
+			return this.lastKnownResultTimeToLive;
+		}
+
+		public void setLastKnownResultTimeToLive(Duration lastKnownResultTimeToLive) {
+			this.lastKnownResultTimeToLive = lastKnownResultTimeToLive;
+		}
+
+		public int getConcurrency() {
+			return this.concurrency;
+		}
+
+		public void setConcurrency(int concurrency) {
+			this.concurrency = concurrency;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public VersionCache getVersionCache() {
+			return this.versionCache;
+		}
+
+		public WarmUp getWarmUp() {
+			return this.warmUp;
+		}
+
+		public static class VersionCache {
+
+			/**
+			 * Directory in which resolved dependencies and plugins are persisted so that
+			 * they survive a restart. If not set, the cache does not have a disk tier.
+			 */
+			private String persistenceDirectory;
+
+			/**
+			 * Maximum number of resolutions to keep on the heap.
+			 */
+			private long heapEntries = 50;
+
+			/**
+			 * Maximum size of the off-heap tier.
+			 */
+			private DataSize offHeapSize = DataSize.ofMegabytes(64);
+
+			/**
+			 * Maximum size of the disk tier.
+			 */
+			private DataSize diskSize = DataSize.ofMegabytes(512);
+
+			/**
+			 * Time after which a resolution expires and is resolved again.
+			 */
+			private Duration timeToLive = Duration.ofMinutes(10);
+
+			public String getPersistenceDirectory() {
+				return this.persistenceDirectory;
+			}
+
+			public void setPersistenceDirectory(String persistenceDirectory) {
+				this.persistenceDirectory = persistenceDirectory;
+			}
+
+			public long getHeapEntries() {
+				return this.heapEntries;
+			}
+
+			public void setHeapEntries(long heapEntries) {
+				this.heapEntries = heapEntries;
+			}
+
+			public DataSize getOffHeapSize() {
+				return this.offHeapSize;
+			}
+
+			public void setOffHeapSize(DataSize offHeapSize) {
+				this.offHeapSize = offHeapSize;
+			}
+
+			public DataSize getDiskSize() {
+				return this.diskSize;
+			}
+
+			public void setDiskSize(DataSize diskSize) {
+				this.diskSize = diskSize;
+			}
+
+			public Duration getTimeToLive() {
+				return this.timeToLive;
+			}
+
+			public void setTimeToLive(Duration timeToLive) {
+				this.timeToLive = timeToLive;
+			}
+
+		}
+
+		public static class WarmUp {
+
+			/**
+			 * Whether to resolve the supported Spring Boot versions and bills of
+			 * materials on startup and when the metadata changes. The application does
+			 * not accept traffic until the startup warm-up has completed.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * Maximum number of resolutions to run concurrently.
+			 */
+			private int parallelism = 4;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public int getParallelism() {
+				return this.parallelism;
+			}
+
+			public void setParallelism(int parallelism) {
+				this.parallelism = parallelism;
+			}
+
+		}
+
+	}
+
+	public static class ProjectGeneration {
+
+		/**
+		 * How generated projects are written before being archived.
+		 */
+		private Mode mode = Mode.STREAMING;
+
+		/**
+		 * Directory in which projects are generated when streaming. Use a memory-backed
+		 * file system such as "/dev/shm" if available, or the system temporary directory
+		 * otherwise.
+		 */
+		private String workingDirectory;
+
+		/**
+		 * Configuration for the generation plan cache.
+		 */
+		private final PlanCache planCache = new PlanCache();
+
+		/**
+		 * Configuration for the cache of generated archives, when streaming.
+		 */
+		private final ArchiveCache archiveCache = new ArchiveCache();
+
+		/**
+		 * Configuration for the metrics of project generation.
+		 */
+		private final Metrics metrics = new Metrics();
+
+		/**
+		 * Configuration for the generation of several projects in a single request.
+		 */
+		private final Batch batch = new Batch();
+
+		/**
+		 * Configuration for the differences between two projects.
+		 */
+		private final Diff diff = new Diff();
+
+		/**
+		 * Configuration for the preview of generated projects.
+		 */
+		private final Preview preview = new Preview();
+
+		public Mode getMode() {
+			return this.mode;
+		}
+
+		public void setMode(Mode mode) {
+			this.mode = mode;
+		}
+
+		public String getWorkingDirectory() {
+			return this.workingDirectory;
+		}
+
+		public void setWorkingDirectory(String workingDirectory) {
+			this.workingDirectory = workingDirectory;
+		}
+
+		public PlanCache getPlanCache() {
+			return this.planCache;
+		}
+
+		public ArchiveCache getArchiveCache() {
+			return this.archiveCache;
+		}
+
+		public Metrics getMetrics() {
+			return this.metrics;
+		}
+
+		public Batch getBatch() {
+			return this.batch;
+		}
+
+		public Diff getDiff() {
+			return this.diff;
+		}
+
+		public Preview getPreview() {
+			return this.preview;
+		}
+
+		public enum Mode {
+
+			/**
+			 * Generate the project in a temporary directory on disk and archive it once
+			 * complete.
+			 */
+			TEMPORARY_DIRECTORY,
+
+			/**
+			 * Generate the project in the working directory and stream the archive to the
+			 * response.
+			 */
+			STREAMING
+
+		}
+
+		public static class PlanCache {
+
+			/**
+			 * Whether to cache the project generation configurations that apply for a
+			 * given set of project facets.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * Maximum number of generation plans to keep.
+			 */
+			private int maxEntries = 1000;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public int getMaxEntries() {
+				return this.maxEntries;
+			}
+
+			public void setMaxEntries(int maxEntries) {
+				this.maxEntries = maxEntries;
+			}
+
+		}
+
+		public static class ArchiveCache {
+
+			/**
+			 * Whether to cache generated archives and serve them with an entity tag.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * Maximum total size of the cached archives.
+			 */
+			private DataSize maxSize = DataSize.ofMegabytes(64);
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public DataSize getMaxSize() {
+				return this.maxSize;
+			}
+
+			public void setMaxSize(DataSize maxSize) {
+				this.maxSize = maxSize;
+			}
+
+		}
+
+		public static class Metrics {
+
+			/**
+			 * Whether to time each phase of project generation and each component that
+			 * takes part in it, such as customizers and contributors.
+			 */
+			private boolean enabled = true;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+		}
+
+		public static class Batch {
+
+			/**
+			 * Whether to expose an endpoint that generates several projects in a single
+			 * request.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * Maximum number of projects that are generated concurrently, across all
+			 * batches.
+			 */
+			private int parallelism = 4;
+
+			/**
+			 * Maximum number of projects in a batch.
+			 */
+			private int maxProjects = 50;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public int getParallelism() {
+				return this.parallelism;
+			}
+
+			public void setParallelism(int parallelism) {
+				this.parallelism = parallelism;
+			}
+
+			public int getMaxProjects() {
+				return this.maxProjects;
+			}
+
+			public void setMaxProjects(int maxProjects) {
+				this.maxProjects = maxProjects;
+			}
+
+		}
+
+		public static class Diff {
+
+			/**
+			 * Whether to expose an endpoint that returns the differences between two
+			 * projects.
+			 */
+			private boolean enabled = true;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+		}
+
+		public static class Preview {
+
+			/**
+			 * Whether to expose endpoints that return the tree of a project and the
+			 * content of its files without downloading its archive. Requires the archive
+			 * cache to be enabled.
+			 */
+			private boolean enabled = true;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+		}
+
+	}
+
+	public static class Metadata {
+
+		/**
+		 * Configuration for the rendering of metadata responses.
+		 */
+		private final PreRender preRender = new PreRender();
+
+		/**
+		 * Configuration for the background refresh of the Spring Boot versions.
+		 */
+		private final Refresh refresh = new Refresh();
+
+		/**
+		 * Configuration for the index of compatible dependencies per Spring Boot version.
+		 */
+		private final DependencyIndex dependencyIndex = new DependencyIndex();
+
+		public PreRender getPreRender() {
+			return this.preRender;
+		}
+
+		public Refresh getRefresh() {
+			return this.refresh;
+		}
+
+		public DependencyIndex getDependencyIndex() {
+			return this.dependencyIndex;
+		}
+
+		public static class PreRender {
+
+			/**
+			 * Whether to render metadata responses, and their compressed variant, once
+			 * per metadata refresh rather than on every request.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * Maximum number of rendered responses to keep per metadata refresh.
+			 */
+			private int maxResponses = 256;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public int getMaxResponses() {
+				return this.maxResponses;
+			}
+
+			public void setMaxResponses(int maxResponses) {
+				this.maxResponses = maxResponses;
+			}
+
+		}
+
+		public static class Refresh {
+
+			/**
+			 * Whether to refresh the Spring Boot versions from spring.io in the
+			 * background. If disabled, the configured versions are used.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * Interval between two refreshes of the Spring Boot versions.
+			 */
+			private Duration interval = Duration.ofMinutes(5);
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public Duration getInterval() {
+				return this.interval;
+			}
+
+			public void setInterval(Duration interval) {
+				this.interval = interval;
+			}
+
+		}
+
+		public static class DependencyIndex {
+
+			/**
+			 * Whether to resolve the compatible dependencies, BOMs and repositories of
+			 * each Spring Boot version once per metadata refresh rather than on every
+			 * request.
+			 */
+			private boolean enabled = true;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+		}
+
+	}
+
+	public static class VirtualThreads {
+
+		/**
+		 * Configuration for the diagnostics of virtual threads pinned to their carrier
+		 * thread.
+		 */
+		private final PinningDiagnostics pinningDiagnostics = new PinningDiagnostics();
+
+		public PinningDiagnostics getPinningDiagnostics() {
+			return this.pinningDiagnostics;
+		}
+
+		public static class PinningDiagnostics {
+
+			/**
+			 * Whether to record virtual threads that are pinned to their carrier thread
+			 * when virtual threads are enabled.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * Minimum duration of a pinning for it to be recorded.
+			 */
+			private Duration threshold = Duration.ofMillis(20);
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public Duration getThreshold() {
+				return this.threshold;
+			}
+
+			public void setThreshold(Duration threshold) {
+				this.threshold = threshold;
+			}
+
+		}
+
 	}
 
 }
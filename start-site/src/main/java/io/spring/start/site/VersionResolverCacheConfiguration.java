@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site;
+
+import java.io.File;
+import java.io.Serializable;
+import java.net.URI;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import io.spring.start.site.StartConfigurationProperties.MavenVersionResolver.VersionCache;
+import io.spring.start.site.support.CacheableMavenVersionResolver;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration of the JCache {@link CacheManager} that provides a tiered cache for
+ * resolved dependencies and plugins. Entries overflow from the heap to off-heap memory
+ * and, if a directory is configured, to a persistent disk tier that survives a restart.
+ * <p>
+ * Ehcache only supports a disk tier if persistence is configured for the whole cache
+ * manager so the {@link CacheManager} is created here rather than by Spring Boot.
+ * {@link JCacheManagerCustomizer} beans are applied as they would have been otherwise.
+ *
+ * @author Stephane Nicoll
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(EhcacheCachingProvider.class)
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "jcache", matchIfMissing = true)
+public class VersionResolverCacheConfiguration {
+
+	@Bean
+	public CacheManager jCacheCacheManager(StartConfigurationProperties properties,
+			ObjectProvider<JCacheManagerCustomizer> customizers) {
+		VersionCache cache = properties.getMavenVersionResolver().getVersionCache();
+		ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder()
+			.withCache(CacheableMavenVersionResolver.CACHE_NAME, versionResolverCacheConfiguration(cache));
+		if (StringUtils.hasText(cache.getPersistenceDirectory())) {
+			configuration = configuration
+				.withService(new DefaultPersistenceConfiguration(new File(cache.getPersistenceDirectory())));
+		}
+		EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching
+			.getCachingProvider(EhcacheCachingProvider.class.getName());
+		// Cache managers are shared per URI: use a dedicated one so that this
+		// configuration
+		// is not ignored in favor of a cache manager that has been created already
+		URI uri = URI.create("urn:" + getClass().getName() + ":" + ObjectUtils.getIdentityHexString(configuration));
+		CacheManager cacheManager = cachingProvider.getCacheManager(uri, configuration.build());
+		customizers.orderedStream().forEach((customizer) -> customizer.customize(cacheManager));
+		return cacheManager;
+	}
+
+	private CacheConfiguration<String, Serializable> versionResolverCacheConfiguration(VersionCache cache) {
+		ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder()
+			.heap(cache.getHeapEntries(), EntryUnit.ENTRIES)
+			.offheap(cache.getOffHeapSize().toMegabytes(), MemoryUnit.MB);
+		if (StringUtils.hasText(cache.getPersistenceDirectory())) {
+			resourcePools = resourcePools.disk(cache.getDiskSize().toMegabytes(), MemoryUnit.MB, true);
+		}
+		return CacheConfigurationBuilder.newCacheConfigurationBuilder(String.class, Serializable.class, resourcePools)
+			.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(cache.getTimeToLive()))
+			.build();
+	}
+
+}
@@ -19,9 +19,11 @@ package io.spring.start.site.extension.dependency.dockercompose;
 import io.spring.initializr.generator.condition.ConditionalOnRequestedDependency;
 import io.spring.initializr.generator.container.docker.compose.ComposeFile;
 import io.spring.initializr.generator.io.IndentingWriterFactory;
+import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.spring.container.docker.compose.ComposeHelpDocumentCustomizer;
 import io.spring.initializr.generator.spring.container.docker.compose.ComposeProjectContributor;
 import io.spring.start.site.container.ComposeFileCustomizer;
+import io.spring.start.site.generation.ProjectGenerationMetrics;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
@@ -37,9 +39,11 @@ import org.springframework.context.annotation.Configuration;
 class DockerComposeProjectGenerationConfiguration {
 
 	@Bean
-	ComposeFile dockerComposeFile(ObjectProvider<ComposeFileCustomizer> composeFileCustomizers) {
+	ComposeFile dockerComposeFile(ObjectProvider<ComposeFileCustomizer> composeFileCustomizers,
+			ObjectProvider<ProjectGenerationMetrics> metrics, ProjectDescription description) {
 		ComposeFile composeFile = new ComposeFile();
-		composeFileCustomizers.orderedStream().forEach((customizer) -> customizer.customize(composeFile));
+		ProjectGenerationMetrics.customize(metrics.getIfAvailable(), ComposeFileCustomizer.class,
+				composeFileCustomizers.orderedStream(), description, (customizer) -> customizer.customize(composeFile));
 		return composeFile;
 	}
 
@@ -25,6 +25,7 @@ import io.spring.initializr.generator.buildsystem.DependencyScope;
 import io.spring.initializr.generator.spring.documentation.HelpDocument;
 import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
+import io.spring.start.site.support.implicit.ImplicitDependencyIndex;
 
 /**
  * A registry of available Spring Azure modules.
@@ -36,6 +37,13 @@ import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
  */
 abstract class SpringAzureModuleRegistry {
 
+	private static final ImplicitDependencyIndex SPRING_BOOT_INDEX = ImplicitDependencyIndex
+		.of(createSpringBootRegistry());
+
+	static ImplicitDependencyIndex springBootIndex() {
+		return SPRING_BOOT_INDEX;
+	}
+
 	static Iterable<ImplicitDependency> createSpringBootRegistry() {
 		return create(onDependencies("azure-support").customizeHelpDocument(addDeploySection()),
 				onDependencies("actuator").customizeBuild(addDependency("spring-cloud-azure-starter-actuator"))
@@ -22,9 +22,9 @@ import io.spring.initializr.generator.condition.ConditionalOnBuildSystem;
 import io.spring.initializr.generator.condition.ConditionalOnRequestedDependency;
 import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
-import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependencyBuildCustomizer;
 import io.spring.start.site.support.implicit.ImplicitDependencyHelpDocumentCustomizer;
+import io.spring.start.site.support.implicit.ImplicitDependencyIndex;
 
 import org.springframework.context.annotation.Bean;
 
@@ -38,20 +38,20 @@ import org.springframework.context.annotation.Bean;
 @ProjectGenerationConfiguration
 class SpringAzureProjectGenerationConfiguration {
 
-	private final Iterable<ImplicitDependency> azureDependencies;
+	private final ImplicitDependencyIndex index;
 
 	SpringAzureProjectGenerationConfiguration() {
-		this.azureDependencies = SpringAzureModuleRegistry.createSpringBootRegistry();
+		this.index = SpringAzureModuleRegistry.springBootIndex();
 	}
 
 	@Bean
 	ImplicitDependencyBuildCustomizer azureDependencyBuildCustomizer() {
-		return new ImplicitDependencyBuildCustomizer(this.azureDependencies);
+		return new ImplicitDependencyBuildCustomizer(this.index);
 	}
 
 	@Bean
 	ImplicitDependencyHelpDocumentCustomizer azureDependencyHelpDocumentCustomizer(Build build) {
-		return new ImplicitDependencyHelpDocumentCustomizer(this.azureDependencies, build);
+		return new ImplicitDependencyHelpDocumentCustomizer(this.index, build);
 	}
 
 	@Bean
@@ -27,6 +27,8 @@ import io.spring.initializr.generator.spring.documentation.HelpDocument;
 import io.spring.initializr.generator.version.Version;
 import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
+import io.spring.start.site.support.implicit.ImplicitDependencyIndex;
+import io.spring.start.site.support.implicit.ImplicitDependencyIndexRegistry;
 
 /**
  * A registry of available Spring Integration modules.
@@ -38,6 +40,13 @@ import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
  */
 abstract class SpringIntegrationModuleRegistry {
 
+	private static final ImplicitDependencyIndexRegistry INDEXES = new ImplicitDependencyIndexRegistry(
+			SpringIntegrationModuleRegistry::create);
+
+	static ImplicitDependencyIndex index(Version platformVersion) {
+		return INDEXES.get(platformVersion);
+	}
+
 	static Iterable<ImplicitDependency> create(Version platformVersion) {
 		List<Builder> builders = new ArrayList<>();
 		builders.add(onDependencies("activemq", "artemis").customizeBuild(addDependency("jms"))
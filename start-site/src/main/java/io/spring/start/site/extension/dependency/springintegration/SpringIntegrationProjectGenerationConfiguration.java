@@ -20,9 +20,9 @@ import io.spring.initializr.generator.buildsystem.Build;
 import io.spring.initializr.generator.condition.ConditionalOnRequestedDependency;
 import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
-import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependencyBuildCustomizer;
 import io.spring.start.site.support.implicit.ImplicitDependencyHelpDocumentCustomizer;
+import io.spring.start.site.support.implicit.ImplicitDependencyIndex;
 
 import org.springframework.context.annotation.Bean;
 
@@ -36,20 +36,20 @@ import org.springframework.context.annotation.Bean;
 @ConditionalOnRequestedDependency("integration")
 class SpringIntegrationProjectGenerationConfiguration {
 
-	private final Iterable<ImplicitDependency> dependencies;
+	private final ImplicitDependencyIndex index;
 
 	SpringIntegrationProjectGenerationConfiguration(ProjectDescription projectDescription) {
-		this.dependencies = SpringIntegrationModuleRegistry.create(projectDescription.getPlatformVersion());
+		this.index = SpringIntegrationModuleRegistry.index(projectDescription.getPlatformVersion());
 	}
 
 	@Bean
 	ImplicitDependencyBuildCustomizer springIntegrationBuildCustomizer() {
-		return new ImplicitDependencyBuildCustomizer(this.dependencies);
+		return new ImplicitDependencyBuildCustomizer(this.index);
 	}
 
 	@Bean
 	ImplicitDependencyHelpDocumentCustomizer springIntegrationHelpCustomizer(Build build) {
-		return new ImplicitDependencyHelpDocumentCustomizer(this.dependencies, build);
+		return new ImplicitDependencyHelpDocumentCustomizer(this.index, build);
 	}
 
 }
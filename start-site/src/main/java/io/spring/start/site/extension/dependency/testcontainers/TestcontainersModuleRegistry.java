@@ -27,6 +27,8 @@ import io.spring.initializr.generator.spring.documentation.HelpDocument;
 import io.spring.initializr.generator.version.Version;
 import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
+import io.spring.start.site.support.implicit.ImplicitDependencyIndex;
+import io.spring.start.site.support.implicit.ImplicitDependencyIndexRegistry;
 
 /**
  * A registry of available Testcontainers modules.
@@ -37,6 +39,13 @@ import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
  */
 abstract class TestcontainersModuleRegistry {
 
+	private static final ImplicitDependencyIndexRegistry INDEXES = new ImplicitDependencyIndexRegistry(
+			TestcontainersModuleRegistry::create);
+
+	static ImplicitDependencyIndex index(Version platformVersion) {
+		return INDEXES.get(platformVersion);
+	}
+
 	static Iterable<ImplicitDependency> create(Version platformVersion) {
 		List<ImplicitDependency.Builder> builders = new ArrayList<>();
 		builders.add(onDependencies("activemq").customizeBuild(addModule("activemq"))
@@ -30,9 +30,10 @@ import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
 import io.spring.initializr.generator.spring.build.BuildCustomizer;
 import io.spring.start.site.container.ServiceConnections;
 import io.spring.start.site.container.ServiceConnectionsCustomizer;
-import io.spring.start.site.support.implicit.ImplicitDependency;
+import io.spring.start.site.generation.ProjectGenerationMetrics;
 import io.spring.start.site.support.implicit.ImplicitDependencyBuildCustomizer;
 import io.spring.start.site.support.implicit.ImplicitDependencyHelpDocumentCustomizer;
+import io.spring.start.site.support.implicit.ImplicitDependencyIndex;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
@@ -49,26 +50,28 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnRequestedDependency("testcontainers")
 public class TestcontainersProjectGenerationConfiguration {
 
-	private final Iterable<ImplicitDependency> dependencies;
+	private final ImplicitDependencyIndex index;
 
 	public TestcontainersProjectGenerationConfiguration(ProjectDescription projectDescription) {
-		this.dependencies = TestcontainersModuleRegistry.create(projectDescription.getPlatformVersion());
+		this.index = TestcontainersModuleRegistry.index(projectDescription.getPlatformVersion());
 	}
 
 	@Bean
 	public ImplicitDependencyBuildCustomizer testContainersBuildCustomizer() {
-		return new ImplicitDependencyBuildCustomizer(this.dependencies);
+		return new ImplicitDependencyBuildCustomizer(this.index);
 	}
 
 	@Bean
 	public ImplicitDependencyHelpDocumentCustomizer testcontainersHelpCustomizer(Build build) {
-		return new ImplicitDependencyHelpDocumentCustomizer(this.dependencies, build);
+		return new ImplicitDependencyHelpDocumentCustomizer(this.index, build);
 	}
 
 	@Bean
-	ServiceConnections serviceConnections(ObjectProvider<ServiceConnectionsCustomizer> customizers) {
+	ServiceConnections serviceConnections(ObjectProvider<ServiceConnectionsCustomizer> customizers,
+			ObjectProvider<ProjectGenerationMetrics> metrics, ProjectDescription description) {
 		ServiceConnections serviceConnections = new ServiceConnections();
-		customizers.orderedStream().forEach((customizer) -> customizer.customize(serviceConnections));
+		ProjectGenerationMetrics.customize(metrics.getIfAvailable(), ServiceConnectionsCustomizer.class,
+				customizers.orderedStream(), description, (customizer) -> customizer.customize(serviceConnections));
 		return serviceConnections;
 	}
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.spring.initializr.generator.project.ProjectDescription;
+
+/**
+ * The canonical form of a {@link ProjectDescription}: two descriptions that generate the
+ * same project have the same canonical form, regardless of the order in which their
+ * dependencies were requested.
+ * <p>
+ * Each value is prefixed by its length so that a value that contains a separator, such
+ * as a name with a line break, cannot be mistaken for another field.
+ *
+ * @author Stephane Nicoll
+ */
+public final class CanonicalProjectDescription {
+
+	private CanonicalProjectDescription() {
+	}
+
+	/**
+	 * Return the canonical form of the specified {@link ProjectDescription}.
+	 * @param description the effective description of a project
+	 * @return the canonical form of the description
+	 */
+	public static String of(ProjectDescription description) {
+		StringBuilder canonical = new StringBuilder();
+		append(canonical, "buildSystem", description.getBuildSystem().id());
+		append(canonical, "dialect", description.getBuildSystem().dialect());
+		append(canonical, "language", description.getLanguage().id());
+		append(canonical, "jvmVersion", description.getLanguage().jvmVersion());
+		append(canonical, "packaging", (description.getPackaging() != null) ? description.getPackaging().id() : null);
+		append(canonical, "platformVersion", description.getPlatformVersion());
+		append(canonical, "groupId", description.getGroupId());
+		append(canonical, "artifactId", description.getArtifactId());
+		append(canonical, "version", description.getVersion());
+		append(canonical, "name", description.getName());
+		append(canonical, "description", description.getDescription());
+		append(canonical, "packageName", description.getPackageName());
+		append(canonical, "applicationName", description.getApplicationName());
+		append(canonical, "baseDirectory", description.getBaseDirectory());
+		Set<String> dependencies = new TreeSet<>(description.getRequestedDependencies().keySet());
+		append(canonical, "dependencies", dependencies.size());
+		for (String dependency : dependencies) {
+			append(canonical, "dependency", dependency);
+		}
+		return canonical.toString();
+	}
+
+	/**
+	 * Append the specified field to the canonical form being built.
+	 * @param canonical the canonical form being built
+	 * @param name the name of the field
+	 * @param value the value of the field, can be {@code null}
+	 */
+	static void append(StringBuilder canonical, String name, Object value) {
+		canonical.append(name).append(':');
+		if (value == null) {
+			canonical.append('-');
+		}
+		else {
+			String text = value.toString();
+			canonical.append(text.length()).append(':').append(text);
+		}
+		canonical.append('\n');
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Mustache.TemplateLoader;
+import io.spring.initializr.generator.io.template.MustacheTemplateRenderer;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.Assert;
+
+/**
+ * Application-wide cache of compiled Mustache templates for a
+ * {@link MustacheTemplateRenderer}. Every template available at the location is compiled
+ * upfront so that rendering never compiles a template and an invalid template fails the
+ * startup of the application rather than a project generation.
+ * <p>
+ * Templates are compiled the same way {@link MustacheTemplateRenderer} does and are
+ * stored under the same keys, so the renderer only falls back to compiling a template
+ * that was not available when the cache was created.
+ *
+ * @author Stephane Nicoll
+ */
+public final class PrecompiledTemplateCache extends ConcurrentMapCache {
+
+	/**
+	 * The name of the cache.
+	 */
+	public static final String NAME = "initializr.templates";
+
+	private static final String CLASSPATH_PREFIX = "classpath:";
+
+	private static final String TEMPLATE_EXTENSION = ".mustache";
+
+	private PrecompiledTemplateCache() {
+		super(NAME, false);
+	}
+
+	/**
+	 * Create a cache with all the templates available at the specified classpath
+	 * location, as used by a {@link MustacheTemplateRenderer}.
+	 * @param location the classpath location of the templates, for instance
+	 * {@code classpath:/templates}
+	 * @param resourceResolver the resolver to use to find and load templates
+	 * @return a cache with the compiled templates
+	 * @throws IllegalStateException if no template is available at the location or if a
+	 * template cannot be compiled
+	 */
+	public static PrecompiledTemplateCache precompile(String location, ResourcePatternResolver resourceResolver) {
+		Assert.isTrue(location.startsWith(CLASSPATH_PREFIX),
+				() -> "Location '" + location + "' is not a classpath location");
+		String prefix = (location.endsWith("/")) ? location : location + "/";
+		TemplateLoader loader = (name) -> new InputStreamReader(
+				resourceResolver.getResource(prefix + name + TEMPLATE_EXTENSION).getInputStream(),
+				StandardCharsets.UTF_8);
+		Mustache.Compiler compiler = Mustache.compiler().withLoader(loader).escapeHTML(false);
+		Set<String> names = findTemplateNames(prefix, resourceResolver);
+		if (names.isEmpty()) {
+			throw new IllegalStateException("No template found in '" + location + "'");
+		}
+		PrecompiledTemplateCache cache = new PrecompiledTemplateCache();
+		for (String name : names) {
+			try (Reader reader = loader.getTemplate(name)) {
+				cache.put(prefix + name, compiler.compile(reader));
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException("Failed to compile template '" + name + "' in '" + location + "'", ex);
+			}
+		}
+		return cache;
+	}
+
+	private static Set<String> findTemplateNames(String prefix, ResourcePatternResolver resourceResolver) {
+		String path = prefix.substring(CLASSPATH_PREFIX.length());
+		String directory = (path.startsWith("/")) ? path : "/" + path;
+		try {
+			Set<String> names = new TreeSet<>();
+			for (Resource resource : resourceResolver.getResources(
+					ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + directory + "**/*" + TEMPLATE_EXTENSION)) {
+				String name = getTemplateName(resource.getURL().toString(), directory);
+				if (name != null) {
+					names.add(name);
+				}
+			}
+			return names;
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to find templates in '" + prefix + "'", ex);
+		}
+	}
+
+	private static String getTemplateName(String url, String directory) {
+		int archiveEntry = url.lastIndexOf("!/");
+		int index = (archiveEntry != -1) ? url.indexOf(directory, archiveEntry + 1) : url.lastIndexOf(directory);
+		if (index == -1) {
+			return null;
+		}
+		return url.substring(index + directory.length(), url.length() - TEMPLATE_EXTENSION.length());
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+/**
+ * Cache of the deflated content of the build wrapper files. Every project contains the
+ * same wrapper scripts and jar, so they are compressed once and their raw deflated bytes
+ * are written to subsequent archives as is. A file is only served from the cache if its
+ * content is identical to the one that was compressed.
+ *
+ * @author Stephane Nicoll
+ */
+final class PrecompressedWrapperEntries {
+
+	static final int MAX_ENTRIES = 64;
+
+	private static final Set<String> WRAPPER_SCRIPTS = Set.of("mvnw", "mvnw.cmd", "gradlew", "gradlew.bat");
+
+	private static final Set<String> WRAPPER_DIRECTORIES = Set.of(".mvn", "gradle");
+
+	private final Map<Key, Precompressed> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Specify whether the specified file is part of a build wrapper.
+	 * @param path the path of the file
+	 * @return {@code true} if the file is a wrapper script or is located in a wrapper
+	 * directory
+	 */
+	static boolean isWrapperFile(Path path) {
+		Path fileName = path.getFileName();
+		if (fileName == null) {
+			return false;
+		}
+		if (WRAPPER_SCRIPTS.contains(fileName.toString())) {
+			return true;
+		}
+		Path parent = path.getParent();
+		if (parent == null || parent.getParent() == null || !"wrapper".equals(parent.getFileName().toString())) {
+			return false;
+		}
+		Path buildDirectory = parent.getParent().getFileName();
+		return buildDirectory != null && WRAPPER_DIRECTORIES.contains(buildDirectory.toString());
+	}
+
+	/**
+	 * Write the specified file using its pre-compressed content, compressing it first if
+	 * it has not been seen before.
+	 * @param archive the archive to write to
+	 * @param entry the entry for the file
+	 * @param path the file to write
+	 * @throws IOException if the file cannot be read or the entry cannot be written
+	 */
+	void write(ZipArchiveOutputStream archive, ZipArchiveEntry entry, Path path) throws IOException {
+		byte[] content = Files.readAllBytes(path);
+		Precompressed precompressed = get(path.getFileName().toString(), content);
+		entry.setMethod(ZipEntry.DEFLATED);
+		entry.setCrc(precompressed.crc());
+		entry.setSize(content.length);
+		entry.setCompressedSize(precompressed.deflated().length);
+		archive.addRawArchiveEntry(entry, new ByteArrayInputStream(precompressed.deflated()));
+	}
+
+	int size() {
+		return this.entries.size();
+	}
+
+	private Precompressed get(String name, byte[] content) {
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		Key key = new Key(name, crc.getValue(), content.length);
+		Precompressed precompressed = this.entries.get(key);
+		if (precompressed != null && Arrays.equals(precompressed.content(), content)) {
+			return precompressed;
+		}
+		precompressed = new Precompressed(content, crc.getValue(), deflate(content));
+		if (this.entries.size() < MAX_ENTRIES) {
+			this.entries.putIfAbsent(key, precompressed);
+		}
+		return precompressed;
+	}
+
+	private static byte[] deflate(byte[] content) {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try {
+			deflater.setInput(content);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return out.toByteArray();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	private record Key(String name, long crc, int size) {
+
+	}
+
+	private record Precompressed(byte[] content, long crc, byte[] deflated) {
+
+	}
+
+}
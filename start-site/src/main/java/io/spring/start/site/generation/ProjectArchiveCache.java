@@ -0,0 +1,210 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.start.site.support.InitializrMetadataChangedEvent;
+
+import org.springframework.context.ApplicationListener;
+
+/**
+ * A content-addressed cache of generated project archives. Archives are identified by a
+ * digest of the canonical form of the {@link ProjectDescription} they have been generated
+ * from, which also acts as their entity tag. The cache is bounded by the total size of
+ * the archives it holds and evicts the least recently used archives first.
+ * <p>
+ * The cache is cleared when an {@link InitializrMetadataChangedEvent} is received. Keys
+ * computed before that point no longer match.
+ *
+ * @author Stephane Nicoll
+ */
+public class ProjectArchiveCache implements ApplicationListener<InitializrMetadataChangedEvent> {
+
+	private final long maxSize;
+
+	private final Map<String, byte[]> archives = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size;
+
+	private long generation;
+
+	/**
+	 * Create an instance that holds at most the specified number of bytes.
+	 * @param maxSize the maximum total size of the cached archives, in bytes
+	 */
+	public ProjectArchiveCache(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Return the key of the archive of the specified format for the specified
+	 * {@link ProjectDescription}.
+	 * @param description the effective description of the project
+	 * @param format the format of the archive
+	 * @return the key of the archive
+	 */
+	public String getKey(ProjectDescription description, String format) {
+		long currentGeneration;
+		synchronized (this.archives) {
+			currentGeneration = this.generation;
+		}
+		StringBuilder canonical = new StringBuilder();
+		CanonicalProjectDescription.append(canonical, "generation", currentGeneration);
+		CanonicalProjectDescription.append(canonical, "format", format);
+		canonical.append(CanonicalProjectDescription.of(description));
+		return digest(canonical.toString());
+	}
+
+	/**
+	 * Return the archive with the specified key.
+	 * @param key the key of the archive
+	 * @return the content of the archive or {@code null} if it is not cached
+	 */
+	public byte[] get(String key) {
+		synchronized (this.archives) {
+			return this.archives.get(key);
+		}
+	}
+
+	/**
+	 * Cache the specified archive. Archives that are larger than the size of the cache
+	 * are ignored.
+	 * @param key the key of the archive
+	 * @param content the content of the archive
+	 */
+	public void put(String key, byte[] content) {
+		if (content.length > this.maxSize) {
+			return;
+		}
+		synchronized (this.archives) {
+			byte[] previous = this.archives.put(key, content);
+			this.size += content.length - ((previous != null) ? previous.length : 0);
+			Iterator<byte[]> iterator = this.archives.values().iterator();
+			while (this.size > this.maxSize && iterator.hasNext()) {
+				this.size -= iterator.next().length;
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Return an {@link OutputStream} that writes an archive to the specified stream and
+	 * keeps a copy of it, so that it can be {@linkplain Capture#cache() cached} once it
+	 * has been written. The copy is discarded as soon as the archive is larger than the
+	 * size of the cache.
+	 * @param key the key of the archive
+	 * @param out the stream to write the archive to
+	 * @return a stream that captures the archive
+	 */
+	public Capture capture(String key, OutputStream out) {
+		return new Capture(key, out);
+	}
+
+	/**
+	 * Remove all archives and invalidate keys that have been computed so far.
+	 */
+	public void clear() {
+		synchronized (this.archives) {
+			this.archives.clear();
+			this.size = 0;
+			this.generation++;
+		}
+	}
+
+	@Override
+	public void onApplicationEvent(InitializrMetadataChangedEvent event) {
+		clear();
+	}
+
+	long size() {
+		synchronized (this.archives) {
+			return this.size;
+		}
+	}
+
+	/**
+	 * An {@link OutputStream} that captures an archive while it is written.
+	 */
+	public final class Capture extends FilterOutputStream {
+
+		private final String key;
+
+		private ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		private Capture(String key, OutputStream out) {
+			super(out);
+			this.key = key;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write(b);
+			capture(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+			capture(b, off, len);
+		}
+
+		private void capture(byte[] b, int off, int len) {
+			if (this.content == null) {
+				return;
+			}
+			if (this.content.size() + len > ProjectArchiveCache.this.maxSize) {
+				this.content = null;
+				return;
+			}
+			this.content.write(b, off, len);
+		}
+
+		/**
+		 * Cache the archive that has been written, unless it was larger than the size of
+		 * the cache.
+		 */
+		public void cache() {
+			if (this.content != null) {
+				put(this.key, this.content.toByteArray());
+			}
+		}
+
+	}
+
+	private static String digest(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
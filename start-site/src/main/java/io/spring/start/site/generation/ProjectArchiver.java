@@ -0,0 +1,281 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.project.ProjectDescription;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+
+/**
+ * Write the content of a generated project to an archive, entry by entry. Produces the
+ * same layout as the archives of the default project generation controller, without
+ * writing the archive to a temporary file first.
+ * <p>
+ * Build wrapper files are identical in every project: unless disabled, an instance keeps
+ * their deflated content and writes it as is to the zip archives it creates.
+ *
+ * @author Stephane Nicoll
+ */
+public class ProjectArchiver {
+
+	private static final int DIRECTORY_MODE = 040755;
+
+	private static final int EXECUTABLE_MODE = 0100755;
+
+	private static final int FILE_MODE = 0100644;
+
+	private final PrecompressedWrapperEntries wrapperEntries;
+
+	/**
+	 * Create an instance that reuses the deflated content of build wrapper files.
+	 */
+	public ProjectArchiver() {
+		this(true);
+	}
+
+	/**
+	 * Create an instance.
+	 * @param precompressWrapperFiles whether to reuse the deflated content of build
+	 * wrapper files in zip archives
+	 */
+	public ProjectArchiver(boolean precompressWrapperFiles) {
+		this.wrapperEntries = (precompressWrapperFiles) ? new PrecompressedWrapperEntries() : null;
+	}
+
+	/**
+	 * Write the project at the specified root directory as a zip archive.
+	 * @param description the description of the generated project
+	 * @param rootDirectory the root directory of the project
+	 * @param out the stream to write the archive to
+	 * @throws IOException if the archive cannot be written
+	 */
+	public void zip(ProjectDescription description, Path rootDirectory, OutputStream out) throws IOException {
+		try (ZipArchiveOutputStream archive = new ZipArchiveOutputStream(out)) {
+			write(rootDirectory, "", getWrapperScript(description), archive, ProjectArchiver::createZipEntry,
+					this::writeZipEntry);
+			archive.finish();
+		}
+	}
+
+	/**
+	 * Create a {@link MultiProjectZip} that writes several projects to a single zip
+	 * archive, each in a directory of its own.
+	 * @param out the stream to write the archive to
+	 * @return a new {@link MultiProjectZip} that must be closed once all projects have
+	 * been added
+	 */
+	public MultiProjectZip multiProjectZip(OutputStream out) {
+		return new MultiProjectZip(new ZipArchiveOutputStream(out), this::writeZipEntry);
+	}
+
+	/**
+	 * Write the project at the specified root directory as a gzip-compressed tar archive.
+	 * @param description the description of the generated project
+	 * @param rootDirectory the root directory of the project
+	 * @param out the stream to write the archive to
+	 * @throws IOException if the archive cannot be written
+	 */
+	public void tgz(ProjectDescription description, Path rootDirectory, OutputStream out) throws IOException {
+		try (TarArchiveOutputStream archive = new TarArchiveOutputStream(new GzipCompressorOutputStream(out))) {
+			archive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+			write(rootDirectory, "", getWrapperScript(description), archive, (path, name, mode) -> {
+				TarArchiveEntry entry = new TarArchiveEntry(name);
+				entry.setMode(mode);
+				entry.setModTime(Files.getLastModifiedTime(path));
+				if (!Files.isDirectory(path)) {
+					entry.setSize(Files.size(path));
+				}
+				return entry;
+			}, ProjectArchiver::writeEntry);
+			archive.finish();
+		}
+	}
+
+	private static ZipArchiveEntry createZipEntry(Path path, String name, int mode) throws IOException {
+		ZipArchiveEntry entry = new ZipArchiveEntry(name);
+		entry.setUnixMode(mode);
+		entry.setLastModifiedTime(Files.getLastModifiedTime(path));
+		return entry;
+	}
+
+	private void writeZipEntry(ArchiveOutputStream<ZipArchiveEntry> archive, ZipArchiveEntry entry, Path path)
+			throws IOException {
+		if (this.wrapperEntries != null && !Files.isDirectory(path)
+				&& PrecompressedWrapperEntries.isWrapperFile(path)) {
+			this.wrapperEntries.write((ZipArchiveOutputStream) archive, entry, path);
+		}
+		else {
+			writeEntry(archive, entry, path);
+		}
+	}
+
+	private static <T extends ArchiveEntry> void writeEntry(ArchiveOutputStream<T> archive, T entry, Path path)
+			throws IOException {
+		archive.putArchiveEntry(entry);
+		if (!Files.isDirectory(path)) {
+			Files.copy(path, archive);
+		}
+		archive.closeArchiveEntry();
+	}
+
+	private static <T extends ArchiveEntry> void write(Path directory, String prefix, String wrapperScript,
+			ArchiveOutputStream<T> archive, EntryFactory<T> entryFactory, EntryWriter<T> entryWriter)
+			throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.filter((path) -> !path.equals(directory)).sorted().forEach((path) -> {
+				try {
+					String entryName = getEntryName(directory, path);
+					T entry = entryFactory.createEntry(path, prefix + entryName,
+							getUnixMode(wrapperScript, entryName, path));
+					entryWriter.writeEntry(archive, entry, path);
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	private static String getEntryName(Path rootDirectory, Path path) {
+		String entryName = rootDirectory.relativize(path).toString().replace('\\', '/');
+		return (Files.isDirectory(path)) ? entryName + "/" : entryName;
+	}
+
+	private static int getUnixMode(String wrapperScript, String entryName, Path path) {
+		if (Files.isDirectory(path)) {
+			return DIRECTORY_MODE;
+		}
+		return (entryName.equals(wrapperScript)) ? EXECUTABLE_MODE : FILE_MODE;
+	}
+
+	/**
+	 * Return the unix mode of the file at the specified path of the project described by
+	 * the specified {@link ProjectDescription}.
+	 * @param description the description of the project
+	 * @param path the path of the file, relative to the project directory
+	 * @return the unix mode of the file
+	 */
+	static int getFileMode(ProjectDescription description, String path) {
+		return (path.equals(getWrapperScriptName(description))) ? EXECUTABLE_MODE : FILE_MODE;
+	}
+
+	private static String getWrapperScript(ProjectDescription description) {
+		String script = getWrapperScriptName(description);
+		return (description.getBaseDirectory() != null) ? description.getBaseDirectory() + "/" + script : script;
+	}
+
+	private static String getWrapperScriptName(ProjectDescription description) {
+		return (MavenBuildSystem.ID.equals(description.getBuildSystem().id())) ? "mvnw" : "gradlew";
+	}
+
+	/**
+	 * Write several projects to a single zip archive, each in a directory of its own.
+	 */
+	public static final class MultiProjectZip implements Closeable {
+
+		private final ZipArchiveOutputStream archive;
+
+		private final EntryWriter<ZipArchiveEntry> entryWriter;
+
+		private MultiProjectZip(ZipArchiveOutputStream archive, EntryWriter<ZipArchiveEntry> entryWriter) {
+			this.archive = archive;
+			this.entryWriter = entryWriter;
+		}
+
+		/**
+		 * Add the project at the specified root directory in the specified directory of
+		 * the archive. The base directory of the project, if any, is not part of the
+		 * entries.
+		 * @param directory the directory of the project in the archive
+		 * @param description the description of the generated project
+		 * @param rootDirectory the root directory of the project
+		 * @throws IOException if the project cannot be written
+		 */
+		public void addProject(String directory, ProjectDescription description, Path rootDirectory)
+				throws IOException {
+			Path projectDirectory = (description.getBaseDirectory() != null)
+					? rootDirectory.resolve(description.getBaseDirectory()) : rootDirectory;
+			this.archive.putArchiveEntry(createZipEntry(projectDirectory, directory + "/", DIRECTORY_MODE));
+			this.archive.closeArchiveEntry();
+			write(projectDirectory, directory + "/", getWrapperScriptName(description), this.archive,
+					ProjectArchiver::createZipEntry, this.entryWriter);
+		}
+
+		/**
+		 * Add a file with the specified name and content.
+		 * @param name the name of the entry
+		 * @param content the content of the entry
+		 * @throws IOException if the entry cannot be written
+		 */
+		public void addFile(String name, byte[] content) throws IOException {
+			addFile(name, content, FILE_MODE);
+		}
+
+		/**
+		 * Add a file with the specified name, content and unix mode.
+		 * @param name the name of the entry
+		 * @param content the content of the entry
+		 * @param mode the unix mode of the entry
+		 * @throws IOException if the entry cannot be written
+		 */
+		void addFile(String name, byte[] content, int mode) throws IOException {
+			ZipArchiveEntry entry = new ZipArchiveEntry(name);
+			entry.setUnixMode(mode);
+			this.archive.putArchiveEntry(entry);
+			this.archive.write(content);
+			this.archive.closeArchiveEntry();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.archive.close();
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface EntryFactory<T extends ArchiveEntry> {
+
+		T createEntry(Path path, String name, int mode) throws IOException;
+
+	}
+
+	@FunctionalInterface
+	private interface EntryWriter<T extends ArchiveEntry> {
+
+		void writeEntry(ArchiveOutputStream<T> archive, T entry, Path path) throws IOException;
+
+	}
+
+}
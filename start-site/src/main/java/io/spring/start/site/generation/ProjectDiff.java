@@ -0,0 +1,372 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.start.site.generation.ProjectArchiver.MultiProjectZip;
+
+/**
+ * The differences between two generated projects, as a list of {@link FileChange file
+ * changes} ordered by path. Differences can be written as a unified diff that
+ * {@code git apply} understands, or as a zip archive that only contains the files that
+ * have been added or modified alongside a {@value #CHANGES_NAME} entry that lists every
+ * change. The unix mode of each file is determined as {@link ProjectArchiver} does so
+ * that the wrapper script stays executable.
+ *
+ * @author Stephane Nicoll
+ */
+public final class ProjectDiff {
+
+	/**
+	 * Name of the entry that lists the changes in the zip archive, one per line, using
+	 * the format of {@code git diff --name-status}.
+	 */
+	public static final String CHANGES_NAME = "changes.txt";
+
+	private static final int CONTEXT_LINES = 3;
+
+	private static final long MAX_LINE_COMPARISONS = 4_000_000;
+
+	private static final ProjectDiff NONE = new ProjectDiff(Collections.emptyList());
+
+	private final List<FileChange> changes;
+
+	private ProjectDiff(List<FileChange> changes) {
+		this.changes = changes;
+	}
+
+	/**
+	 * Compute the differences between the projects in the specified directories.
+	 * @param fromDescription the description of the original project
+	 * @param from the directory of the original project
+	 * @param toDescription the description of the updated project
+	 * @param to the directory of the updated project
+	 * @return the differences between the two projects
+	 * @throws IOException if a project cannot be read
+	 */
+	public static ProjectDiff between(ProjectDescription fromDescription, Path from, ProjectDescription toDescription,
+			Path to) throws IOException {
+		Map<String, Path> fromFiles = listFiles(from);
+		Map<String, Path> toFiles = listFiles(to);
+		SortedSet<String> paths = new TreeSet<>(fromFiles.keySet());
+		paths.addAll(toFiles.keySet());
+		List<FileChange> changes = new ArrayList<>();
+		for (String path : paths) {
+			byte[] fromContent = read(fromFiles.get(path));
+			byte[] toContent = read(toFiles.get(path));
+			int fromMode = (fromContent != null) ? ProjectArchiver.getFileMode(fromDescription, path) : 0;
+			int toMode = (toContent != null) ? ProjectArchiver.getFileMode(toDescription, path) : 0;
+			if (!Arrays.equals(fromContent, toContent) || fromMode != toMode) {
+				changes.add(new FileChange(path, fromContent, toContent, fromMode, toMode));
+			}
+		}
+		return new ProjectDiff(List.copyOf(changes));
+	}
+
+	/**
+	 * Return a {@link ProjectDiff} without any change.
+	 * @return an empty diff
+	 */
+	public static ProjectDiff none() {
+		return NONE;
+	}
+
+	/**
+	 * Return the changes, ordered by path.
+	 * @return the file changes
+	 */
+	public List<FileChange> getChanges() {
+		return this.changes;
+	}
+
+	/**
+	 * Write the changes as a unified diff to the specified {@link OutputStream}. Binary
+	 * files are only reported as being different. The stream is not closed.
+	 * @param out the stream to write to
+	 * @throws IOException if the diff cannot be written
+	 */
+	public void writeUnifiedDiff(OutputStream out) throws IOException {
+		Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+		for (FileChange change : this.changes) {
+			writeUnifiedDiff(writer, change);
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Write the added and modified files, as well as the {@value #CHANGES_NAME} entry, as
+	 * a zip archive to the specified {@link OutputStream}. The stream is closed once the
+	 * archive has been written.
+	 * @param out the stream to write to
+	 * @throws IOException if the archive cannot be written
+	 */
+	public void writeZip(OutputStream out) throws IOException {
+		StringBuilder report = new StringBuilder();
+		// Only files are added, so there are no wrapper files to precompress
+		try (MultiProjectZip zip = new ProjectArchiver(false).multiProjectZip(out)) {
+			for (FileChange change : this.changes) {
+				report.append(change.type().code).append('\t').append(change.path()).append('\n');
+				if (change.to() != null) {
+					zip.addFile(change.path(), change.to(), change.toMode());
+				}
+			}
+			zip.addFile(CHANGES_NAME, report.toString().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void writeUnifiedDiff(Writer writer, FileChange change) throws IOException {
+		String fromName = (change.from() != null) ? "a/" + change.path() : "/dev/null";
+		String toName = (change.to() != null) ? "b/" + change.path() : "/dev/null";
+		writer.write("diff --git a/" + change.path() + " b/" + change.path() + "\n");
+		if (change.type() == ChangeType.ADDED) {
+			writer.write("new file mode " + Integer.toOctalString(change.toMode()) + "\n");
+		}
+		else if (change.type() == ChangeType.DELETED) {
+			writer.write("deleted file mode " + Integer.toOctalString(change.fromMode()) + "\n");
+		}
+		else if (change.fromMode() != change.toMode()) {
+			writer.write("old mode " + Integer.toOctalString(change.fromMode()) + "\n");
+			writer.write("new mode " + Integer.toOctalString(change.toMode()) + "\n");
+		}
+		if (Arrays.equals(change.from(), change.to())) {
+			return;
+		}
+		if (isBinary(change.from()) || isBinary(change.to())) {
+			writer.write("Binary files " + fromName + " and " + toName + " differ\n");
+			return;
+		}
+		writer.write("--- " + fromName + "\n");
+		writer.write("+++ " + toName + "\n");
+		List<Edit> edits = edits(lines(change.from()), lines(change.to()));
+		int[] fromPositions = new int[edits.size() + 1];
+		int[] toPositions = new int[edits.size() + 1];
+		for (int i = 0; i < edits.size(); i++) {
+			char operation = edits.get(i).operation();
+			fromPositions[i + 1] = fromPositions[i] + ((operation != '+') ? 1 : 0);
+			toPositions[i + 1] = toPositions[i] + ((operation != '-') ? 1 : 0);
+		}
+		int index = nextChange(edits, 0);
+		while (index < edits.size()) {
+			int start = Math.max(0, index - CONTEXT_LINES);
+			int end = index + 1;
+			int next = nextChange(edits, end);
+			while (next < edits.size() && next - end <= 2 * CONTEXT_LINES) {
+				end = next + 1;
+				next = nextChange(edits, end);
+			}
+			end = Math.min(edits.size(), end + CONTEXT_LINES);
+			int fromCount = fromPositions[end] - fromPositions[start];
+			int toCount = toPositions[end] - toPositions[start];
+			writer.write("@@ -" + range(fromPositions[start], fromCount) + " +" + range(toPositions[start], toCount)
+					+ " @@\n");
+			for (int i = start; i < end; i++) {
+				Edit edit = edits.get(i);
+				writer.write(edit.operation() + edit.line().text() + "\n");
+				if (!edit.line().newLine()) {
+					writer.write("\\ No newline at end of file\n");
+				}
+			}
+			index = next;
+		}
+	}
+
+	private static int nextChange(List<Edit> edits, int from) {
+		for (int i = from; i < edits.size(); i++) {
+			if (edits.get(i).operation() != ' ') {
+				return i;
+			}
+		}
+		return edits.size();
+	}
+
+	private static String range(int position, int count) {
+		return (count != 0) ? (position + 1) + "," + count : position + ",0";
+	}
+
+	private static List<Edit> edits(List<Line> from, List<Line> to) {
+		int prefix = 0;
+		while (prefix < from.size() && prefix < to.size() && from.get(prefix).equals(to.get(prefix))) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < from.size() - prefix && suffix < to.size() - prefix
+				&& from.get(from.size() - 1 - suffix).equals(to.get(to.size() - 1 - suffix))) {
+			suffix++;
+		}
+		List<Edit> edits = new ArrayList<>();
+		for (int i = 0; i < prefix; i++) {
+			edits.add(new Edit(' ', from.get(i)));
+		}
+		addEdits(from.subList(prefix, from.size() - suffix), to.subList(prefix, to.size() - suffix), edits);
+		for (int i = from.size() - suffix; i < from.size(); i++) {
+			edits.add(new Edit(' ', from.get(i)));
+		}
+		return edits;
+	}
+
+	private static void addEdits(List<Line> from, List<Line> to, List<Edit> edits) {
+		int n = from.size();
+		int m = to.size();
+		if ((long) n * m > MAX_LINE_COMPARISONS) {
+			from.forEach((line) -> edits.add(new Edit('-', line)));
+			to.forEach((line) -> edits.add(new Edit('+', line)));
+			return;
+		}
+		int[][] common = new int[n + 1][m + 1];
+		for (int i = n - 1; i >= 0; i--) {
+			for (int j = m - 1; j >= 0; j--) {
+				common[i][j] = (from.get(i).equals(to.get(j))) ? common[i + 1][j + 1] + 1
+						: Math.max(common[i + 1][j], common[i][j + 1]);
+			}
+		}
+		int i = 0;
+		int j = 0;
+		while (i < n || j < m) {
+			if (i < n && j < m && from.get(i).equals(to.get(j))) {
+				edits.add(new Edit(' ', from.get(i++)));
+				j++;
+			}
+			else if (j == m || (i < n && common[i + 1][j] >= common[i][j + 1])) {
+				edits.add(new Edit('-', from.get(i++)));
+			}
+			else {
+				edits.add(new Edit('+', to.get(j++)));
+			}
+		}
+	}
+
+	private static List<Line> lines(byte[] content) {
+		if (content == null || content.length == 0) {
+			return Collections.emptyList();
+		}
+		String[] segments = new String(content, StandardCharsets.UTF_8).split("\n", -1);
+		List<Line> lines = new ArrayList<>(segments.length);
+		for (int i = 0; i < segments.length - 1; i++) {
+			lines.add(new Line(segments[i], true));
+		}
+		String last = segments[segments.length - 1];
+		if (!last.isEmpty()) {
+			lines.add(new Line(last, false));
+		}
+		return lines;
+	}
+
+	static boolean isBinary(byte[] content) {
+		if (content == null) {
+			return false;
+		}
+		for (int i = 0; i < Math.min(content.length, 8000); i++) {
+			if (content[i] == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Map<String, Path> listFiles(Path directory) throws IOException {
+		Map<String, Path> files = new TreeMap<>();
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.filter(Files::isRegularFile).forEach((path) -> {
+				String name = directory.relativize(path).toString().replace('\\', '/');
+				files.put(name, path);
+			});
+		}
+		return files;
+	}
+
+	private static byte[] read(Path path) throws IOException {
+		return (path != null) ? Files.readAllBytes(path) : null;
+	}
+
+	/**
+	 * The change of a file between two projects.
+	 *
+	 * @param path the path of the file, relative to the root of the project
+	 * @param from the original content of the file or {@code null} if it was added
+	 * @param to the updated content of the file or {@code null} if it was deleted
+	 * @param fromMode the original unix mode of the file or {@code 0} if it was added
+	 * @param toMode the updated unix mode of the file or {@code 0} if it was deleted
+	 */
+	public record FileChange(String path, byte[] from, byte[] to, int fromMode, int toMode) {
+
+		/**
+		 * Return the {@link ChangeType type} of this change.
+		 * @return the type of change
+		 */
+		public ChangeType type() {
+			if (this.from == null) {
+				return ChangeType.ADDED;
+			}
+			return (this.to != null) ? ChangeType.MODIFIED : ChangeType.DELETED;
+		}
+
+	}
+
+	/**
+	 * The type of a {@link FileChange}.
+	 */
+	public enum ChangeType {
+
+		/**
+		 * The file has been added.
+		 */
+		ADDED('A'),
+
+		/**
+		 * The file has been modified.
+		 */
+		MODIFIED('M'),
+
+		/**
+		 * The file has been deleted.
+		 */
+		DELETED('D');
+
+		private final char code;
+
+		ChangeType(char code) {
+			this.code = code;
+		}
+
+	}
+
+	private record Line(String text, boolean newLine) {
+
+	}
+
+	private record Edit(char operation, Line line) {
+
+	}
+
+}
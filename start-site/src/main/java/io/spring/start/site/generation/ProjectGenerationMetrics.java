@@ -0,0 +1,156 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.spring.initializr.generator.project.ProjectDescription;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Record the time spent in the various phases of project generation and in each component
+ * that takes part in it.
+ *
+ * @author Stephane Nicoll
+ * @see TimedGenerationComponentsPostProcessor
+ */
+public class ProjectGenerationMetrics {
+
+	private static final String PREFIX = "start.generation.";
+
+	private final MeterRegistry registry;
+
+	public ProjectGenerationMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Start timing an operation.
+	 * @return a sample to stop with the timer of the operation
+	 */
+	public Timer.Sample start() {
+		return Timer.start(this.registry);
+	}
+
+	/**
+	 * Return the timer of the specified {@code ProjectDescriptionCustomizer}.
+	 * @param component the name of the customizer
+	 * @return the timer to use
+	 */
+	public Timer descriptionCustomizer(String component) {
+		return timer("description.customizers", Tags.of("component", component));
+	}
+
+	/**
+	 * Return the timer of the refresh of the context that generates the specified
+	 * project.
+	 * @param description the description of the project
+	 * @return the timer to use
+	 */
+	public Timer contextRefresh(ProjectDescription description) {
+		return timer("context.refresh", projectTags(description));
+	}
+
+	/**
+	 * Return the timer of a customizer invoked while generating the specified project.
+	 * @param type the type of the customizer, such as {@code BuildCustomizer}
+	 * @param component the name of the customizer
+	 * @param description the description of the project
+	 * @return the timer to use
+	 */
+	public Timer customizer(String type, String component, ProjectDescription description) {
+		return timer("customizers", projectTags(description).and("type", type, "component", component));
+	}
+
+	/**
+	 * Return the timer of a {@code ProjectContributor} invoked while generating the
+	 * specified project.
+	 * @param component the name of the contributor
+	 * @param description the description of the project
+	 * @return the timer to use
+	 */
+	public Timer contributor(String component, ProjectDescription description) {
+		return timer("contributors", projectTags(description).and("component", component));
+	}
+
+	/**
+	 * Return the timer of the creation of an archive in the specified format.
+	 * @param format the format of the archive
+	 * @return the timer to use
+	 */
+	public Timer archive(String format) {
+		return timer("archive", Tags.of("format", format));
+	}
+
+	/**
+	 * Invoke the specified customizers in order. If metrics are available, each
+	 * invocation is recorded against the {@linkplain #customizer timer} of the customizer.
+	 * @param <T> the type of the customizers
+	 * @param metrics the metrics to use, or {@code null} to invoke the customizers only
+	 * @param type the type of the customizers
+	 * @param customizers the customizers to invoke
+	 * @param description the description of the project being generated
+	 * @param invocation the invocation of a customizer
+	 */
+	public static <T> void customize(ProjectGenerationMetrics metrics, Class<T> type, Stream<T> customizers,
+			ProjectDescription description, Consumer<T> invocation) {
+		if (metrics == null) {
+			customizers.forEach(invocation);
+			return;
+		}
+		customizers.forEach((customizer) -> {
+			Timer.Sample sample = metrics.start();
+			try {
+				invocation.accept(customizer);
+			}
+			finally {
+				sample.stop(metrics.customizer(type.getSimpleName(), getComponentName(customizer), description));
+			}
+		});
+	}
+
+	/**
+	 * Return the name to use to tag the timer of the specified component.
+	 * @param component the component
+	 * @return the name of its class, or of the class that declares it for a lambda
+	 */
+	static String getComponentName(Object component) {
+		Class<?> type = ClassUtils.getUserClass(component);
+		if (ClassUtils.isLambdaClass(type)) {
+			// Lambda class names are generated: use the name of the declaring class
+			String name = type.getName();
+			return name.substring(0, name.indexOf("$$Lambda"));
+		}
+		return type.getName();
+	}
+
+	private Timer timer(String name, Tags tags) {
+		return Timer.builder(PREFIX + name).tags(tags).register(this.registry);
+	}
+
+	private static Tags projectTags(ProjectDescription description) {
+		String buildSystem = (description.getBuildSystem() != null) ? description.getBuildSystem().id() : "none";
+		String language = (description.getLanguage() != null) ? description.getLanguage().id() : "none";
+		return Tags.of("build.system", buildSystem, "language", language);
+	}
+
+}
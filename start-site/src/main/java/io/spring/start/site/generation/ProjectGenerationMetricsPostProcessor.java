@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import io.micrometer.core.instrument.Timer;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+
+/**
+ * A {@link BeanDefinitionRegistryPostProcessor} that records the time it takes to refresh
+ * a project generation context and registers a
+ * {@link TimedGenerationComponentsPostProcessor} so that the components of the context
+ * are timed as well.
+ * <p>
+ * Registered as a {@link ProjectGenerationConfiguration} so that it is available in every
+ * project generation context. Does nothing if no {@link ProjectGenerationMetrics} is
+ * available.
+ *
+ * @author Stephane Nicoll
+ */
+class ProjectGenerationMetricsPostProcessor
+		implements BeanDefinitionRegistryPostProcessor, ApplicationListener<ContextRefreshedEvent>, PriorityOrdered {
+
+	private ProjectGenerationMetrics metrics;
+
+	private BeanFactory beanFactory;
+
+	private Timer.Sample refresh;
+
+	@Override
+	public int getOrder() {
+		// Start timing before configuration classes are processed
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	@Override
+	public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+		if (registry instanceof BeanFactory registryBeanFactory) {
+			this.metrics = registryBeanFactory.getBeanProvider(ProjectGenerationMetrics.class).getIfAvailable();
+			this.beanFactory = registryBeanFactory;
+		}
+		if (this.metrics != null) {
+			this.refresh = this.metrics.start();
+		}
+	}
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		if (this.metrics != null) {
+			beanFactory.addBeanPostProcessor(new TimedGenerationComponentsPostProcessor(() -> this.metrics,
+					() -> beanFactory.getBean(ProjectDescription.class)));
+		}
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (this.refresh != null) {
+			this.refresh.stop(this.metrics.contextRefresh(this.beanFactory.getBean(ProjectDescription.class)));
+			this.refresh = null;
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
+
+/**
+ * A cache of generation plans. A plan records the {@link ProjectGenerationConfiguration}
+ * candidates that do not apply for the facets of a {@link ProjectDescription} that
+ * conditions read: build system, language, packaging, platform version and requested
+ * dependencies.
+ *
+ * @author Stephane Nicoll
+ * @see ProjectGenerationPlanPostProcessor
+ */
+public class ProjectGenerationPlanCache {
+
+	private final PlanMap plans;
+
+	/**
+	 * Create an instance that holds at most the specified number of plans.
+	 * @param maxEntries the maximum number of plans to keep
+	 */
+	public ProjectGenerationPlanCache(int maxEntries) {
+		this.plans = new PlanMap(maxEntries);
+	}
+
+	/**
+	 * Return the candidate configurations that were skipped for a previous generation
+	 * with the same facets as the specified {@link ProjectDescription}.
+	 * @param description the description of the project to generate
+	 * @return the names of the skipped candidates or {@code null} if no plan is available
+	 */
+	public Set<String> getSkippedCandidates(ProjectDescription description) {
+		PlanKey key = PlanKey.of(description);
+		synchronized (this.plans) {
+			return this.plans.get(key);
+		}
+	}
+
+	/**
+	 * Record the candidate configurations that were skipped when generating a project for
+	 * the specified {@link ProjectDescription}.
+	 * @param description the description of the generated project
+	 * @param skippedCandidates the names of the skipped candidates
+	 */
+	public void recordSkippedCandidates(ProjectDescription description, Set<String> skippedCandidates) {
+		PlanKey key = PlanKey.of(description);
+		synchronized (this.plans) {
+			this.plans.put(key, Set.copyOf(skippedCandidates));
+		}
+	}
+
+	/**
+	 * Remove all plans.
+	 */
+	public void clear() {
+		synchronized (this.plans) {
+			this.plans.clear();
+		}
+	}
+
+	int size() {
+		synchronized (this.plans) {
+			return this.plans.size();
+		}
+	}
+
+	/**
+	 * Facets of a {@link ProjectDescription} that project generation conditions read.
+	 */
+	private record PlanKey(String buildSystem, String dialect, String language, String jvmVersion, String packaging,
+			String platformVersion, Set<String> dependencies) {
+
+		static PlanKey of(ProjectDescription description) {
+			return new PlanKey(description.getBuildSystem().id(), description.getBuildSystem().dialect(),
+					description.getLanguage().id(), description.getLanguage().jvmVersion(),
+					(description.getPackaging() != null) ? description.getPackaging().id() : null,
+					String.valueOf(description.getPlatformVersion()),
+					new TreeSet<>(description.getRequestedDependencies().keySet()));
+		}
+
+	}
+
+	/**
+	 * A {@link LinkedHashMap} that evicts the least recently used plan.
+	 */
+	private static final class PlanMap extends LinkedHashMap<PlanKey, Set<String>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maxEntries;
+
+		PlanMap(int maxEntries) {
+			super(16, 0.75f, true);
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<PlanKey, Set<String>> eldest) {
+			return size() > this.maxEntries;
+		}
+
+	}
+
+}
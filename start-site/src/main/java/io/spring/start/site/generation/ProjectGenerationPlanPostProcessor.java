@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+
+/**
+ * A {@link BeanDefinitionRegistryPostProcessor} that applies the
+ * {@link ProjectGenerationPlanCache generation plan} of the project being generated.
+ * <p>
+ * The first generation for a given set of facets evaluates the conditions as usual and
+ * records the {@link ProjectGenerationConfiguration} candidates that were skipped.
+ * Subsequent generations with the same facets remove those candidates before
+ * configuration classes are parsed so that their conditions are not evaluated again.
+ * <p>
+ * Registered as a {@link ProjectGenerationConfiguration} so that it is available in every
+ * project generation context. Does nothing if no {@link ProjectGenerationPlanCache} is
+ * available.
+ *
+ * @author Stephane Nicoll
+ */
+class ProjectGenerationPlanPostProcessor implements BeanDefinitionRegistryPostProcessor, PriorityOrdered {
+
+	private ProjectGenerationPlanCache planCache;
+
+	private ProjectDescription description;
+
+	private Set<String> candidates;
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	@Override
+	public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+		if (!(registry instanceof BeanFactory beanFactory)) {
+			return;
+		}
+		this.planCache = beanFactory.getBeanProvider(ProjectGenerationPlanCache.class).getIfAvailable();
+		if (this.planCache == null) {
+			return;
+		}
+		this.description = beanFactory.getBean(ProjectDescription.class);
+		Set<String> skippedCandidates = this.planCache.getSkippedCandidates(this.description);
+		if (skippedCandidates != null) {
+			for (String candidate : skippedCandidates) {
+				if (registry.containsBeanDefinition(candidate)) {
+					registry.removeBeanDefinition(candidate);
+				}
+			}
+		}
+		else {
+			this.candidates = findCandidates(registry);
+		}
+	}
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		if (this.candidates != null) {
+			Set<String> skippedCandidates = this.candidates.stream()
+				.filter((candidate) -> !beanFactory.containsBeanDefinition(candidate))
+				.collect(Collectors.toSet());
+			this.planCache.recordSkippedCandidates(this.description, skippedCandidates);
+		}
+	}
+
+	/**
+	 * Identify the candidates, i.e. the configurations that are registered using their
+	 * class name before configuration classes are processed.
+	 * @param registry the registry
+	 * @return the names of the candidate configurations
+	 */
+	private static Set<String> findCandidates(BeanDefinitionRegistry registry) {
+		Set<String> candidates = new TreeSet<>();
+		for (String beanName : registry.getBeanDefinitionNames()) {
+			BeanDefinition beanDefinition = registry.getBeanDefinition(beanName);
+			if (beanName.equals(beanDefinition.getBeanClassName())) {
+				candidates.add(beanName);
+			}
+		}
+		return candidates;
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+
+/**
+ * A preview of a generated project, read from its zip archive: the tree of its files and
+ * the content of each file. The tree has the structure the Explore dialog of the client
+ * expects so that it does not have to read the archive itself.
+ *
+ * @author Stephane Nicoll
+ */
+public final class ProjectPreview {
+
+	private static final List<String> BUILD_FILES = List.of("pom.xml", "build.gradle", "build.gradle.kts");
+
+	private static final Map<String, String> LANGUAGES = Map.ofEntries(Map.entry("js", "javascript"),
+			Map.entry("md", "markdown"), Map.entry("kt", "kotlin"), Map.entry("kts", "kotlin"),
+			Map.entry("gradle", "groovy"), Map.entry("gitignore", "git"), Map.entry("gitattributes", "git"),
+			Map.entry("java", "java"), Map.entry("xml", "xml"), Map.entry("properties", "properties"),
+			Map.entry("groovy", "groovy"), Map.entry("yaml", "yaml"), Map.entry("yml", "yaml"));
+
+	private final byte[] archive;
+
+	private ProjectPreview(byte[] archive) {
+		this.archive = archive;
+	}
+
+	/**
+	 * Create a preview of the project in the specified zip archive, as written by
+	 * {@link ProjectArchiver#zip}.
+	 * @param archive the content of the archive
+	 * @return a preview of the project
+	 */
+	public static ProjectPreview of(byte[] archive) {
+		return new ProjectPreview(archive);
+	}
+
+	/**
+	 * Return the tree of the files of the project.
+	 * @return the tree of the project
+	 * @throws IOException if the archive cannot be read
+	 */
+	public Tree getTree() throws IOException {
+		Map<String, Node> directories = new LinkedHashMap<>();
+		List<Node> roots = new ArrayList<>();
+		try (ZipFile zipFile = openArchive()) {
+			for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+				String path = (entry.isDirectory()) ? entry.getName().substring(0, entry.getName().length() - 1)
+						: entry.getName();
+				int separator = path.lastIndexOf('/');
+				String filename = path.substring(separator + 1);
+				Node node = (entry.isDirectory())
+						? new Node("folder", filename, "/" + path, null, null, new ArrayList<>())
+						: new Node("file", filename, "/" + path, entry.getSize(), getLanguage(filename), null);
+				if (entry.isDirectory()) {
+					directories.put(path, node);
+				}
+				Node parent = (separator != -1) ? directories.get(path.substring(0, separator)) : null;
+				((parent != null) ? parent.children() : roots).add(node);
+			}
+		}
+		directories.values().forEach((directory) -> directory.children().sort(Comparator.comparing(Node::path)));
+		Node root = (roots.size() == 1 && roots.get(0).children() != null) ? roots.get(0)
+				: new Node("folder", "", "", null, null, roots);
+		String selected = root.children()
+			.stream()
+			.filter((child) -> BUILD_FILES.contains(child.filename()))
+			.map(Node::path)
+			.findFirst()
+			.orElse(null);
+		return new Tree(root, selected);
+	}
+
+	/**
+	 * Return the content of the file with the specified path, as returned by the tree.
+	 * @param path the path of the file
+	 * @return the content of the file or {@code null} if the project has no such file
+	 * @throws IOException if the archive cannot be read
+	 */
+	public byte[] getContent(String path) throws IOException {
+		String name = (path.startsWith("/")) ? path.substring(1) : path;
+		try (ZipFile zipFile = openArchive()) {
+			ZipArchiveEntry entry = zipFile.getEntry(name);
+			if (entry == null || entry.isDirectory()) {
+				return null;
+			}
+			try (InputStream in = zipFile.getInputStream(entry)) {
+				return in.readAllBytes();
+			}
+		}
+	}
+
+	/**
+	 * Specify whether the specified content is binary rather than text.
+	 * @param content the content of a file
+	 * @return {@code true} if the content is binary
+	 */
+	public static boolean isBinary(byte[] content) {
+		return ProjectDiff.isBinary(content);
+	}
+
+	private ZipFile openArchive() throws IOException {
+		return ZipFile.builder().setSeekableByteChannel(new SeekableInMemoryByteChannel(this.archive)).get();
+	}
+
+	private static String getLanguage(String filename) {
+		int extension = filename.lastIndexOf('.');
+		return (extension != -1) ? LANGUAGES.get(filename.substring(extension + 1)) : null;
+	}
+
+	/**
+	 * The tree of the files of a project.
+	 *
+	 * @param root the directory of the project
+	 * @param selected the path of the file to show first, typically the build file, or
+	 * {@code null}
+	 */
+	@JsonInclude(Include.NON_NULL)
+	public record Tree(Node root, String selected) {
+
+	}
+
+	/**
+	 * A file or a folder of a project.
+	 *
+	 * @param type the type of the node, {@code file} or {@code folder}
+	 * @param filename the name of the file or folder
+	 * @param path the path of the file or folder in the archive, starting with a
+	 * {@code /}
+	 * @param size the size of a file, in bytes
+	 * @param language the language of a file, if known
+	 * @param children the content of a folder, sorted by path
+	 */
+	@JsonInclude(Include.NON_NULL)
+	public record Node(String type, String filename, String path, Long size, String language, List<Node> children) {
+
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.spring.initializr.generator.project.DefaultProjectAssetGenerator;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.project.ProjectAssetGenerator;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.ProjectRequestToDescriptionConverter;
+
+import org.springframework.context.ApplicationContext;
+
+/**
+ * A {@link ProjectGenerationInvoker} that generates projects in a dedicated working
+ * directory, typically backed by memory. Generated projects are meant to be
+ * {@linkplain ProjectArchiver archived} to the response directly and
+ * {@linkplain #cleanTempFiles(Path) cleaned} right after.
+ *
+ * @param <R> the concrete {@link ProjectRequest} type
+ * @author Stephane Nicoll
+ */
+public class StreamingProjectGenerationInvoker<R extends ProjectRequest> extends ProjectGenerationInvoker<R> {
+
+	private final ApplicationContext parentApplicationContext;
+
+	private final ConvertedDescriptionConverter<R> requestConverter;
+
+	private final ProjectAssetGenerator<Path> projectAssetGenerator;
+
+	public StreamingProjectGenerationInvoker(ApplicationContext parentApplicationContext,
+			ProjectRequestToDescriptionConverter<R> requestConverter, Path workingDirectory) {
+		this(parentApplicationContext, new ConvertedDescriptionConverter<>(requestConverter), workingDirectory);
+	}
+
+	private StreamingProjectGenerationInvoker(ApplicationContext parentApplicationContext,
+			ConvertedDescriptionConverter<R> requestConverter, Path workingDirectory) {
+		super(parentApplicationContext, requestConverter);
+		this.parentApplicationContext = parentApplicationContext;
+		this.requestConverter = requestConverter;
+		this.projectAssetGenerator = new DefaultProjectAssetGenerator(
+				(description) -> Files.createTempDirectory(workingDirectory, "project-"));
+	}
+
+	/**
+	 * Resolve the effective {@link ProjectDescription} of the specified request, with
+	 * metadata defaults and the {@link ProjectDescriptionCustomizer customizers} of the
+	 * application context applied. Does not generate the project.
+	 * @param request the project request
+	 * @return the effective description of the project
+	 */
+	public ProjectDescription resolveProjectDescription(R request) {
+		return resolveProjectDescription(convertProjectDescription(request));
+	}
+
+	/**
+	 * Convert the specified request to a {@link ProjectDescription}, with metadata
+	 * defaults applied. The description can be
+	 * {@linkplain #resolveProjectDescription(ProjectDescription) resolved} and used to
+	 * {@linkplain #invokeProjectStructureGeneration(ProjectRequest, ProjectDescription)
+	 * generate} the project without converting the request again.
+	 * @param request the project request
+	 * @return the description of the project
+	 */
+	public ProjectDescription convertProjectDescription(R request) {
+		InitializrMetadata metadata = this.parentApplicationContext.getBean(InitializrMetadataProvider.class).get();
+		return this.requestConverter.convert(request, metadata);
+	}
+
+	/**
+	 * Resolve the effective {@link ProjectDescription} of a copy of the specified
+	 * converted description, with the {@link ProjectDescriptionCustomizer customizers} of
+	 * the application context applied. The specified description is left unchanged.
+	 * @param description the converted description of the project
+	 * @return the effective description of the project
+	 */
+	public ProjectDescription resolveProjectDescription(ProjectDescription description) {
+		ProjectDescription copy = description.createCopy();
+		if (copy instanceof MutableProjectDescription mutableDescription) {
+			this.parentApplicationContext.getBeanProvider(ProjectDescriptionCustomizer.class)
+				.orderedStream()
+				.forEach((customizer) -> customizer.customize(mutableDescription));
+		}
+		return copy;
+	}
+
+	/**
+	 * Generate the project of the specified request from its converted description.
+	 * @param request the project request
+	 * @param description the description of the project, as
+	 * {@linkplain #convertProjectDescription(ProjectRequest) converted} from the request
+	 * @return the result of the generation
+	 */
+	public ProjectGenerationResult invokeProjectStructureGeneration(R request, ProjectDescription description) {
+		this.requestConverter.converted.set(description);
+		try {
+			return invokeProjectStructureGeneration(request);
+		}
+		finally {
+			this.requestConverter.converted.remove();
+		}
+	}
+
+	@Override
+	protected ProjectAssetGenerator<Path> getProjectAssetGenerator(ProjectDescription description) {
+		return this.projectAssetGenerator;
+	}
+
+	/**
+	 * A {@link ProjectRequestToDescriptionConverter} that returns the description that
+	 * has been converted already for the current generation, if any.
+	 *
+	 * @param <R> the concrete {@link ProjectRequest} type
+	 */
+	private static final class ConvertedDescriptionConverter<R extends ProjectRequest>
+			implements ProjectRequestToDescriptionConverter<R> {
+
+		private final ProjectRequestToDescriptionConverter<R> delegate;
+
+		private final ThreadLocal<ProjectDescription> converted = new ThreadLocal<>();
+
+		private ConvertedDescriptionConverter(ProjectRequestToDescriptionConverter<R> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public ProjectDescription convert(R request, InitializrMetadata metadata) {
+			ProjectDescription description = this.converted.get();
+			return (description != null) ? description : this.delegate.convert(request, metadata);
+		}
+
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Timer;
+import io.spring.initializr.generator.buildsystem.Build;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.initializr.generator.spring.build.BuildCustomizer;
+import io.spring.initializr.generator.spring.documentation.HelpDocument;
+import io.spring.initializr.generator.spring.documentation.HelpDocumentCustomizer;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * A {@link BeanPostProcessor} that times the invocations of the components that take part
+ * in project generation and that are invoked by the generator itself:
+ * {@link ProjectDescriptionCustomizer}, {@link ProjectContributor}, {@link BuildCustomizer}
+ * and {@link HelpDocumentCustomizer} beans. Components that are invoked by this
+ * application are timed where they are invoked instead.
+ * <p>
+ * Registered in every project generation context, where the tags of the project being
+ * generated are available, and in the application context for the
+ * {@link ProjectDescriptionCustomizer} beans it defines.
+ * <p>
+ * Components are wrapped in a plain decorator that delegates to them, including for their
+ * order. A decorated component can no longer be injected by its concrete type, which
+ * none of the project generation configurations do.
+ *
+ * @author Stephane Nicoll
+ * @see ProjectGenerationMetrics
+ */
+public class TimedGenerationComponentsPostProcessor implements BeanPostProcessor {
+
+	private static final Map<Class<?>, Class<?>> buildTypes = new ConcurrentHashMap<>();
+
+	private final Supplier<ProjectGenerationMetrics> metrics;
+
+	private final Supplier<ProjectDescription> description;
+
+	/**
+	 * Create an instance.
+	 * @param metrics the metrics to use
+	 * @param description the description of the project being generated, or {@code null}
+	 * if the components are not specific to a project
+	 */
+	public TimedGenerationComponentsPostProcessor(Supplier<ProjectGenerationMetrics> metrics,
+			Supplier<ProjectDescription> description) {
+		this.metrics = metrics;
+		this.description = description;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		Class<?> beanType = bean.getClass();
+		// Lambda class names are generated: use the name of the bean instead
+		String component = (ClassUtils.isLambdaClass(beanType)) ? beanName
+				: ClassUtils.getUserClass(beanType).getName();
+		if (bean instanceof ProjectDescriptionCustomizer customizer) {
+			return new TimedProjectDescriptionCustomizer(customizer,
+					() -> this.metrics.get().descriptionCustomizer(component));
+		}
+		if (this.description == null) {
+			return bean;
+		}
+		if (bean instanceof ProjectContributor contributor) {
+			return new TimedProjectContributor(contributor,
+					() -> this.metrics.get().contributor(component, this.description.get()));
+		}
+		if (bean instanceof BuildCustomizer<?> customizer) {
+			return new TimedBuildCustomizer(customizer, () -> this.metrics.get()
+				.customizer(BuildCustomizer.class.getSimpleName(), component, this.description.get()));
+		}
+		if (bean instanceof HelpDocumentCustomizer customizer) {
+			return new TimedHelpDocumentCustomizer(customizer, () -> this.metrics.get()
+				.customizer(HelpDocumentCustomizer.class.getSimpleName(), component, this.description.get()));
+		}
+		return bean;
+	}
+
+	private Timer.Sample start() {
+		return this.metrics.get().start();
+	}
+
+	/**
+	 * Return the type of build the specified customizer actually accepts, which is
+	 * narrower than {@link Build} for a generic customizer.
+	 * @param customizerType the type of the customizer
+	 * @return the parameter type of its most specific {@code customize} method
+	 */
+	private static Class<?> getBuildType(Class<?> customizerType) {
+		return buildTypes.computeIfAbsent(customizerType, (type) -> {
+			Method method = ReflectionUtils.findMethod(BuildCustomizer.class, "customize", Build.class);
+			return ClassUtils.getMostSpecificMethod(method, type).getParameterTypes()[0];
+		});
+	}
+
+	private final class TimedProjectDescriptionCustomizer implements ProjectDescriptionCustomizer {
+
+		private final ProjectDescriptionCustomizer delegate;
+
+		private final Supplier<Timer> timer;
+
+		private TimedProjectDescriptionCustomizer(ProjectDescriptionCustomizer delegate, Supplier<Timer> timer) {
+			this.delegate = delegate;
+			this.timer = timer;
+		}
+
+		@Override
+		public void customize(MutableProjectDescription description) {
+			Timer.Sample sample = start();
+			try {
+				this.delegate.customize(description);
+			}
+			finally {
+				sample.stop(this.timer.get());
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			return this.delegate.getOrder();
+		}
+
+	}
+
+	private final class TimedProjectContributor implements ProjectContributor {
+
+		private final ProjectContributor delegate;
+
+		private final Supplier<Timer> timer;
+
+		private TimedProjectContributor(ProjectContributor delegate, Supplier<Timer> timer) {
+			this.delegate = delegate;
+			this.timer = timer;
+		}
+
+		@Override
+		public void contribute(Path projectRoot) throws IOException {
+			Timer.Sample sample = start();
+			try {
+				this.delegate.contribute(projectRoot);
+			}
+			finally {
+				sample.stop(this.timer.get());
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			return this.delegate.getOrder();
+		}
+
+	}
+
+	/**
+	 * Decorates a {@link BuildCustomizer} of any build type. The generic type of the
+	 * decorator cannot be resolved, so it is invoked with every build and only delegates
+	 * the builds that the customizer accepts.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private final class TimedBuildCustomizer implements BuildCustomizer<Build> {
+
+		private final BuildCustomizer delegate;
+
+		private final Supplier<Timer> timer;
+
+		private TimedBuildCustomizer(BuildCustomizer<?> delegate, Supplier<Timer> timer) {
+			this.delegate = delegate;
+			this.timer = timer;
+		}
+
+		@Override
+		public void customize(Build build) {
+			if (!getBuildType(this.delegate.getClass()).isInstance(build)) {
+				return;
+			}
+			Timer.Sample sample = start();
+			try {
+				this.delegate.customize(build);
+			}
+			finally {
+				sample.stop(this.timer.get());
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			return this.delegate.getOrder();
+		}
+
+	}
+
+	private final class TimedHelpDocumentCustomizer implements HelpDocumentCustomizer {
+
+		private final HelpDocumentCustomizer delegate;
+
+		private final Supplier<Timer> timer;
+
+		private TimedHelpDocumentCustomizer(HelpDocumentCustomizer delegate, Supplier<Timer> timer) {
+			this.delegate = delegate;
+			this.timer = timer;
+		}
+
+		@Override
+		public void customize(HelpDocument document) {
+			Timer.Sample sample = start();
+			try {
+				this.delegate.customize(document);
+			}
+			finally {
+				sample.stop(this.timer.get());
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			return this.delegate.getOrder();
+		}
+
+	}
+
+}
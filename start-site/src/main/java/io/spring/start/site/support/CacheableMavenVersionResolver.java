@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2023 the original author or authors.
+ * Copyright 2012-2025 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,46 +16,185 @@
 
 package io.spring.start.site.support;
 
-import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
 
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 
 /**
- * A {@link MavenVersionResolver} that uses the metadata cache to store dependency and
- * plugin management resolution.
+ * A {@link MavenVersionResolver} that uses a dedicated cache to store dependency and
+ * plugin management resolution. Publishes an {@link InitializrMetadataChangedEvent} when
+ * an entry that has expired resolves to a different result, as content generated against
+ * the previous entry is stale.
+ * <p>
+ * Concurrent cache misses for the same coordinates are coalesced: the first caller
+ * resolves them and the others wait for its result. The result is cached before the
+ * resolution is removed from the resolutions in progress so that a caller always finds
+ * one or the other. Lookups are counted by outcome: served by the cache, resolved by the
+ * underlying resolver, or coalesced with a resolution in progress. A
+ * {@linkplain ResilientMavenVersionResolver#isStale(Map) stale} result is returned but
+ * not cached, so that the next lookup picks up the result of the fresh resolution.
  *
  * @author Stephane Nicoll
  */
-@CacheConfig(cacheNames = "initializr.metadata", keyGenerator = "mavenVersionResolver")
-public class CacheableMavenVersionResolver implements MavenVersionResolver, KeyGenerator {
+public class CacheableMavenVersionResolver
+		implements MavenVersionResolver, ApplicationEventPublisherAware, MeterBinder {
+
+	/**
+	 * The name of the cache that holds resolved dependencies and plugins.
+	 */
+	public static final String CACHE_NAME = "start.version-resolver";
+
+	private static final String METRIC_NAME = "start.version-resolver.lookups";
 
 	private final MavenVersionResolver delegate;
 
-	public CacheableMavenVersionResolver(MavenVersionResolver delegate) {
+	private final CacheManager cacheManager;
+
+	private final Map<String, Integer> fingerprints = new ConcurrentHashMap<>();
+
+	private final Map<String, CompletableFuture<Map<String, String>>> inFlightResolutions = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong originalResolutions = new AtomicLong();
+
+	private final AtomicLong coalescedResolutions = new AtomicLong();
+
+	private ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * Create an instance that caches resolutions in the {@value #CACHE_NAME} cache of the
+	 * specified {@link CacheManager}.
+	 * @param delegate the resolver to use on a cache miss
+	 * @param cacheManager the cache manager or {@code null} to only coalesce concurrent
+	 * resolutions
+	 */
+	public CacheableMavenVersionResolver(MavenVersionResolver delegate, CacheManager cacheManager) {
 		this.delegate = delegate;
+		this.cacheManager = cacheManager;
+	}
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Override
-	@Cacheable
 	public Map<String, String> resolveDependencies(String groupId, String artifactId, String version) {
-		return this.delegate.resolveDependencies(groupId, artifactId, version);
+		return resolve(key("dependencies", groupId, artifactId, version),
+				() -> this.delegate.resolveDependencies(groupId, artifactId, version));
 	}
 
 	@Override
-	@Cacheable
 	public Map<String, String> resolvePlugins(String groupId, String artifactId, String version) {
-		return this.delegate.resolvePlugins(groupId, artifactId, version);
+		return resolve(key("plugins", groupId, artifactId, version),
+				() -> this.delegate.resolvePlugins(groupId, artifactId, version));
+	}
+
+	private Map<String, String> resolve(String key, Supplier<Map<String, String>> resolution) {
+		Cache cache = getCache();
+		Map<String, String> cached = get(cache, key);
+		if (cached != null) {
+			this.hits.incrementAndGet();
+			return cached;
+		}
+		CompletableFuture<Map<String, String>> future = new CompletableFuture<>();
+		CompletableFuture<Map<String, String>> inFlight = this.inFlightResolutions.putIfAbsent(key, future);
+		if (inFlight != null) {
+			this.coalescedResolutions.incrementAndGet();
+			return join(inFlight);
+		}
+		Map<String, String> result;
+		boolean changed;
+		try {
+			// A resolution may have completed between the lookup and the registration
+			cached = get(cache, key);
+			if (cached != null) {
+				this.hits.incrementAndGet();
+				future.complete(cached);
+				return cached;
+			}
+			this.originalResolutions.incrementAndGet();
+			result = resolution.get();
+			boolean stale = ResilientMavenVersionResolver.isStale(result);
+			if (cache != null && !stale) {
+				cache.put(key, result);
+			}
+			changed = !stale && recordResolution(key, result);
+			future.complete(result);
+		}
+		catch (RuntimeException ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlightResolutions.remove(key, future);
+		}
+		if (changed && this.eventPublisher != null) {
+			this.eventPublisher.publishEvent(new InitializrMetadataChangedEvent(this));
+		}
+		return result;
+	}
+
+	private Cache getCache() {
+		return (this.cacheManager != null) ? this.cacheManager.getCache(CACHE_NAME) : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, String> get(Cache cache, String key) {
+		ValueWrapper value = (cache != null) ? cache.get(key) : null;
+		return (value != null) ? (Map<String, String>) value.get() : null;
+	}
+
+	private Map<String, String> join(CompletableFuture<Map<String, String>> resolution) {
+		try {
+			return resolution.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private boolean recordResolution(String key, Map<String, String> result) {
+		Integer previous = this.fingerprints.put(key, result.hashCode());
+		return previous != null && previous != result.hashCode();
 	}
 
 	@Override
-	public Object generate(Object target, Method method, Object... params) {
-		String prefix = (method.getName().equals("resolveDependencies")) ? "dependencies" : "plugins";
-		return "%s-%s:%s:%s".formatted(prefix, params[0], params[1], params[2]);
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder(METRIC_NAME, this.hits, AtomicLong::get)
+			.description("Lookups that were served by the cache")
+			.tag("result", "hit")
+			.register(registry);
+		FunctionCounter.builder(METRIC_NAME, this.originalResolutions, AtomicLong::get)
+			.description("Lookups that were resolved by the underlying resolver")
+			.tag("result", "original")
+			.register(registry);
+		FunctionCounter.builder(METRIC_NAME, this.coalescedResolutions, AtomicLong::get)
+			.description("Lookups that waited for an identical resolution in progress")
+			.tag("result", "coalesced")
+			.register(registry);
+	}
+
+	private static String key(String prefix, Object groupId, Object artifactId, Object version) {
+		return "%s-%s:%s:%s".formatted(prefix, groupId, artifactId, version);
 	}
 
 }
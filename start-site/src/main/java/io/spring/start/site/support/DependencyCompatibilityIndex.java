@@ -0,0 +1,184 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.generator.version.VersionParser;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.Dependency;
+import io.spring.initializr.metadata.DependencyMetadata;
+import io.spring.initializr.metadata.DependencyMetadataProvider;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InvalidInitializrMetadataException;
+import io.spring.initializr.metadata.Repository;
+
+import org.springframework.context.ApplicationListener;
+
+/**
+ * A {@link DependencyMetadataProvider} that resolves the dependencies that are compatible
+ * with each Spring Boot version of the metadata, as well as the BOMs and repositories
+ * they require, once per {@link InitializrMetadata} instance. Each Spring Boot version is
+ * indexed with a {@link BitSet} of its compatible dependencies so that request validation
+ * and metadata rendering do not have to check the compatibility range of every dependency
+ * again.
+ * <p>
+ * The index is built on first use and is replaced as a whole as soon as a different
+ * metadata instance is used or an {@link InitializrMetadataChangedEvent} is received.
+ * Concurrent callers wait for a rebuild in progress rather than building their own.
+ * Spring Boot versions that are not part of the metadata, or for which the metadata is
+ * invalid, are resolved on demand and are not indexed.
+ *
+ * @author Stephane Nicoll
+ */
+public class DependencyCompatibilityIndex
+		implements DependencyMetadataProvider, ApplicationListener<InitializrMetadataChangedEvent> {
+
+	private final Object monitor = new Object();
+
+	private volatile Index index;
+
+	@Override
+	public void onApplicationEvent(InitializrMetadataChangedEvent event) {
+		synchronized (this.monitor) {
+			this.index = null;
+		}
+	}
+
+	@Override
+	public DependencyMetadata get(InitializrMetadata metadata, Version bootVersion) {
+		return getEntry(metadata, bootVersion).dependencyMetadata();
+	}
+
+	/**
+	 * Return whether the dependency with the specified {@code id} is compatible with the
+	 * specified Spring Boot version.
+	 * @param metadata the metadata to use
+	 * @param id the id of a dependency
+	 * @param bootVersion the Spring Boot version
+	 * @return {@code true} if the dependency exists and is compatible
+	 */
+	public boolean isCompatible(InitializrMetadata metadata, String id, Version bootVersion) {
+		Index index = getIndex(metadata);
+		Integer position = index.positions().get(id);
+		return position != null && index.getEntry(metadata, bootVersion).compatible().get(position);
+	}
+
+	private Entry getEntry(InitializrMetadata metadata, Version bootVersion) {
+		return getIndex(metadata).getEntry(metadata, bootVersion);
+	}
+
+	private Index getIndex(InitializrMetadata metadata) {
+		Index current = this.index;
+		if (current != null && current.metadata() == metadata) {
+			return current;
+		}
+		synchronized (this.monitor) {
+			current = this.index;
+			if (current == null || current.metadata() != metadata) {
+				current = Index.build(metadata);
+				this.index = current;
+			}
+			return current;
+		}
+	}
+
+	private record Index(InitializrMetadata metadata, List<Dependency> dependencies, Map<String, Integer> positions,
+			Map<Version, Entry> entries) {
+
+		Entry getEntry(InitializrMetadata metadata, Version bootVersion) {
+			Entry entry = this.entries.get(bootVersion);
+			return (entry != null) ? entry : Entry.resolve(metadata, this.dependencies, bootVersion);
+		}
+
+		static Index build(InitializrMetadata metadata) {
+			List<Dependency> dependencies = List.copyOf(metadata.getDependencies().getAll());
+			Map<String, Integer> positions = new HashMap<>();
+			for (int i = 0; i < dependencies.size(); i++) {
+				positions.put(dependencies.get(i).getId(), i);
+			}
+			Map<Version, Entry> entries = new HashMap<>();
+			for (DefaultMetadataElement bootVersion : metadata.getBootVersions().getContent()) {
+				Version version = VersionParser.DEFAULT.safeParse(bootVersion.getId());
+				if (version != null) {
+					try {
+						entries.put(version, Entry.resolve(metadata, dependencies, version));
+					}
+					catch (InvalidInitializrMetadataException ex) {
+						// Not indexed, resolved on demand so that requests get the error
+					}
+				}
+			}
+			return new Index(metadata, dependencies, Collections.unmodifiableMap(positions),
+					Collections.unmodifiableMap(entries));
+		}
+
+	}
+
+	private record Entry(BitSet compatible, DependencyMetadata dependencyMetadata) {
+
+		static Entry resolve(InitializrMetadata metadata, List<Dependency> dependencies, Version bootVersion) {
+			BitSet compatible = new BitSet(dependencies.size());
+			Map<String, Dependency> resolvedDependencies = new LinkedHashMap<>();
+			for (int i = 0; i < dependencies.size(); i++) {
+				Dependency dependency = dependencies.get(i);
+				if (dependency.match(bootVersion)) {
+					compatible.set(i);
+					resolvedDependencies.put(dependency.getId(), dependency.resolve(bootVersion));
+				}
+			}
+			Map<String, Repository> repositories = new LinkedHashMap<>();
+			Map<String, BillOfMaterials> boms = new LinkedHashMap<>();
+			for (Dependency dependency : resolvedDependencies.values()) {
+				if (dependency.getRepository() != null) {
+					repositories.put(dependency.getRepository(), getRepository(metadata, dependency.getRepository()));
+				}
+			}
+			for (Dependency dependency : resolvedDependencies.values()) {
+				if (dependency.getBom() != null) {
+					boms.put(dependency.getBom(),
+							metadata.getConfiguration()
+								.getEnv()
+								.getBoms()
+								.get(dependency.getBom())
+								.resolve(bootVersion));
+				}
+			}
+			for (BillOfMaterials bom : boms.values()) {
+				for (String repository : bom.getRepositories()) {
+					repositories.put(repository, getRepository(metadata, repository));
+				}
+			}
+			return new Entry(compatible,
+					new DependencyMetadata(bootVersion, Collections.unmodifiableMap(resolvedDependencies),
+							Collections.unmodifiableMap(repositories), Collections.unmodifiableMap(boms)));
+		}
+
+		private static Repository getRepository(InitializrMetadata metadata, String id) {
+			return metadata.getConfiguration().getEnv().getRepositories().get(id);
+		}
+
+	}
+
+}
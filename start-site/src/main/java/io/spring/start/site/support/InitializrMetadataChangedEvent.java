@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when information derived from the initializr metadata may have changed,
+ * either because the metadata has been refreshed or because the version resolver had to
+ * resolve a BOM again. Caches of generated content should be invalidated.
+ *
+ * @author Stephane Nicoll
+ */
+public class InitializrMetadataChangedEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = 1L;
+
+	public InitializrMetadataChangedEvent(Object source) {
+		super(source);
+	}
+
+}
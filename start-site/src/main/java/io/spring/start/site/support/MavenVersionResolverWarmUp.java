@@ -0,0 +1,246 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.generator.version.VersionRange;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.BillOfMaterials.Mapping;
+import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Resolves, in parallel, the managed dependencies and plugins of every supported Spring
+ * Boot version and the managed dependencies of every bill of materials that applies to at
+ * least one of them so that requests do not block on a cold {@link MavenVersionResolver}.
+ * <p>
+ * The warm-up starts once the application has started. {@link #isStartupComplete()} can be
+ * used to report the application as not ready until it has completed. An
+ * {@link InitializrMetadataChangedEvent} triggers a new warm-up, in the background, for the
+ * coordinates that have not been resolved yet. All coordinates are resolved again at the
+ * configured refresh interval, typically the time-to-live of the resolver's cache, so that
+ * the cache is kept warm once its entries have expired.
+ *
+ * @author Stephane Nicoll
+ */
+public class MavenVersionResolverWarmUp implements SmartApplicationListener, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(MavenVersionResolverWarmUp.class);
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final MavenVersionResolver versionResolver;
+
+	private final Duration refreshInterval;
+
+	private final ScheduledExecutorService executor;
+
+	private final Map<Coordinates, CompletableFuture<Void>> resolutions = new ConcurrentHashMap<>();
+
+	private volatile CompletableFuture<Void> startup;
+
+	/**
+	 * Create an instance.
+	 * @param metadataProvider the provider of the metadata to warm up
+	 * @param versionResolver the resolver to warm up
+	 * @param parallelism the maximum number of resolutions to run concurrently
+	 * @param refreshInterval the interval at which all coordinates are resolved again or
+	 * {@code null} to only resolve them once
+	 */
+	public MavenVersionResolverWarmUp(InitializrMetadataProvider metadataProvider, MavenVersionResolver versionResolver,
+			int parallelism, Duration refreshInterval) {
+		this.metadataProvider = metadataProvider;
+		this.versionResolver = versionResolver;
+		this.refreshInterval = refreshInterval;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("version-resolver-warm-up-");
+		threadFactory.setDaemon(true);
+		this.executor = Executors.newScheduledThreadPool(parallelism, threadFactory);
+	}
+
+	@Override
+	public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+		return ApplicationStartedEvent.class.isAssignableFrom(eventType)
+				|| InitializrMetadataChangedEvent.class.isAssignableFrom(eventType);
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		if (event instanceof ApplicationStartedEvent) {
+			this.startup = CompletableFuture.supplyAsync(this.metadataProvider::get, this.executor)
+				.thenCompose(this::warmUp)
+				.whenComplete((result, ex) -> {
+					if (ex != null) {
+						logger.warn("Failed to warm up version resolver: " + ex.getMessage());
+					}
+				});
+			if (this.refreshInterval != null) {
+				long interval = this.refreshInterval.toMillis();
+				this.executor.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+			}
+		}
+		else if (event instanceof InitializrMetadataChangedEvent
+				&& event.getSource() instanceof InitializrMetadata metadata) {
+			warmUp(metadata);
+		}
+	}
+
+	/**
+	 * Specify whether the warm-up that runs once the application has started has
+	 * completed, successfully or not.
+	 * @return {@code true} if the startup warm-up has completed
+	 */
+	public boolean isStartupComplete() {
+		CompletableFuture<Void> startup = this.startup;
+		return startup != null && startup.isDone();
+	}
+
+	/**
+	 * Warm up the coordinates of the specified {@link InitializrMetadata} that have not
+	 * been resolved yet.
+	 * @param metadata the metadata to use
+	 * @return a future that completes when all coordinates have been resolved
+	 */
+	CompletableFuture<Void> warmUp(InitializrMetadata metadata) {
+		return warmUp(metadata, false);
+	}
+
+	/**
+	 * Resolve again all the coordinates of the current {@link InitializrMetadata}, except
+	 * those that are being resolved already.
+	 */
+	void refresh() {
+		try {
+			warmUp(this.metadataProvider.get(), true).join();
+		}
+		catch (RuntimeException ex) {
+			// Keep refreshing at the next interval
+			logger.warn("Failed to refresh version resolver: " + ex.getMessage());
+		}
+	}
+
+	private CompletableFuture<Void> warmUp(InitializrMetadata metadata, boolean refresh) {
+		Set<Coordinates> coordinates = getCoordinates(metadata);
+		CompletableFuture<?>[] futures = coordinates.stream().map((candidate) -> {
+			// A failed resolution is attempted again by a subsequent warm-up
+			CompletableFuture<Void> resolution = this.resolutions.compute(candidate,
+					(key, existing) -> (existing == null || existing.isCompletedExceptionally()
+							|| (refresh && existing.isDone())) ? resolve(key) : existing);
+			return resolution.exceptionally((ex) -> {
+				logger.warn("Failed to warm up " + candidate + ": " + ex.getMessage());
+				return null;
+			});
+		}).toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(futures);
+	}
+
+	private CompletableFuture<Void> resolve(Coordinates coordinates) {
+		return CompletableFuture.runAsync(() -> coordinates.resolve(this.versionResolver), this.executor);
+	}
+
+	private Set<Coordinates> getCoordinates(InitializrMetadata metadata) {
+		List<String> bootVersions = metadata.getBootVersions()
+			.getContent()
+			.stream()
+			.map(DefaultMetadataElement::getId)
+			.toList();
+		Set<Coordinates> coordinates = new LinkedHashSet<>();
+		for (String bootVersion : bootVersions) {
+			coordinates.add(new Coordinates("org.springframework.boot", "spring-boot-dependencies", bootVersion, true));
+			coordinates.add(new Coordinates("org.springframework.boot", "spring-boot-parent", bootVersion, false));
+		}
+		for (BillOfMaterials bom : metadata.getConfiguration().getEnv().getBoms().values()) {
+			if (bom.getMappings().isEmpty()) {
+				addBomCoordinates(coordinates, bom.getGroupId(), bom.getArtifactId(), bom.getVersion());
+			}
+			for (Mapping mapping : bom.getMappings()) {
+				if (isSupported(mapping.getRange(), bootVersions)) {
+					addBomCoordinates(coordinates,
+							(mapping.getGroupId() != null) ? mapping.getGroupId() : bom.getGroupId(),
+							(mapping.getArtifactId() != null) ? mapping.getArtifactId() : bom.getArtifactId(),
+							(mapping.getVersion() != null) ? mapping.getVersion() : bom.getVersion());
+				}
+			}
+		}
+		return coordinates;
+	}
+
+	private void addBomCoordinates(Set<Coordinates> coordinates, String groupId, String artifactId, String version) {
+		if (groupId != null && artifactId != null && version != null) {
+			coordinates.add(new Coordinates(groupId, artifactId, version, false));
+		}
+	}
+
+	private boolean isSupported(VersionRange range, List<String> bootVersions) {
+		if (range == null) {
+			return true;
+		}
+		return bootVersions.stream()
+			.map(Version::safeParse)
+			.anyMatch((version) -> version != null && range.match(version));
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * The coordinates of a bill of materials to resolve.
+	 *
+	 * @param groupId the group ID of the bom
+	 * @param artifactId the artifact ID of the bom
+	 * @param version the version of the bom
+	 * @param includePlugins whether plugins management should be resolved as well
+	 */
+	private record Coordinates(String groupId, String artifactId, String version, boolean includePlugins) {
+
+		void resolve(MavenVersionResolver versionResolver) {
+			versionResolver.resolveDependencies(this.groupId, this.artifactId, this.version);
+			if (this.includePlugins) {
+				versionResolver.resolvePlugins(this.groupId, this.artifactId, this.version);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "%s:%s:%s".formatted(this.groupId, this.artifactId, this.version);
+		}
+
+	}
+
+}
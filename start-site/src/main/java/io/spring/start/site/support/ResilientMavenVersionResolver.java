@@ -0,0 +1,281 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+
+/**
+ * A {@link MavenVersionResolver} that protects callers from a slow or unavailable
+ * repository:
+ * <ul>
+ * <li>Resolutions run on a dedicated {@link Executor}, which should be bounded, and fail
+ * if they take longer than the configured timeout.</li>
+ * <li>A failed or timed out resolution is not attempted again until the configured
+ * failure time-to-live has elapsed, failing fast in the meantime.</li>
+ * <li>Once coordinates have been resolved successfully, the last known result is returned
+ * immediately while a fresh resolution runs in the background. Such a result is
+ * {@linkplain #isStale(Map) stale} and should not be cached by the caller: the result of
+ * the background resolution is returned to the next caller.</li>
+ * </ul>
+ * Failures and last known results are kept for a limited time and for a limited number
+ * of coordinates, so that arbitrary coordinates requested by clients do not accumulate.
+ *
+ * @author Stephane Nicoll
+ */
+public class ResilientMavenVersionResolver implements MavenVersionResolver {
+
+	private final MavenVersionResolver delegate;
+
+	private final Executor executor;
+
+	private final Duration timeout;
+
+	private static final int MAX_ENTRIES = 256;
+
+	private final Duration failureTimeToLive;
+
+	private final ExpiringEntries<LastKnownResult> lastKnownResults;
+
+	private final ExpiringEntries<Failure> failures;
+
+	private final Map<String, CompletableFuture<Map<String, String>>> inFlightResolutions = new ConcurrentHashMap<>();
+
+	public ResilientMavenVersionResolver(MavenVersionResolver delegate, Executor executor, Duration timeout,
+			Duration failureTimeToLive, Duration lastKnownResultTimeToLive) {
+		this.delegate = delegate;
+		this.executor = executor;
+		this.timeout = timeout;
+		this.failureTimeToLive = failureTimeToLive;
+		this.lastKnownResults = new ExpiringEntries<>(MAX_ENTRIES, lastKnownResultTimeToLive);
+		this.failures = new ExpiringEntries<>(MAX_ENTRIES, failureTimeToLive);
+	}
+
+	/**
+	 * Return whether the specified result is a last known result that was returned while
+	 * a fresh resolution is in progress or has failed.
+	 * @param result a result returned by a {@link ResilientMavenVersionResolver}
+	 * @return {@code true} if the result is stale and should not be cached
+	 */
+	public static boolean isStale(Map<String, String> result) {
+		return result instanceof StaleResult;
+	}
+
+	@Override
+	public Map<String, String> resolveDependencies(String groupId, String artifactId, String version) {
+		return resolve("dependencies of %s:%s:%s".formatted(groupId, artifactId, version),
+				() -> this.delegate.resolveDependencies(groupId, artifactId, version));
+	}
+
+	@Override
+	public Map<String, String> resolvePlugins(String groupId, String artifactId, String version) {
+		return resolve("plugins of %s:%s:%s".formatted(groupId, artifactId, version),
+				() -> this.delegate.resolvePlugins(groupId, artifactId, version));
+	}
+
+	private Map<String, String> resolve(String key, Supplier<Map<String, String>> resolution) {
+		LastKnownResult lastKnownResult = this.lastKnownResults.get(key);
+		if (lastKnownResult != null && lastKnownResult.fresh()
+				&& this.lastKnownResults.replace(key, lastKnownResult, lastKnownResult.served())) {
+			return lastKnownResult.result();
+		}
+		Failure failure = this.failures.get(key);
+		if (failure != null) {
+			if (lastKnownResult != null) {
+				return new StaleResult(lastKnownResult.result());
+			}
+			throw new IllegalStateException(
+					"Resolution of %s failed, not retrying until %s".formatted(key, failure.expiresAt()),
+					failure.exception());
+		}
+		CompletableFuture<Map<String, String>> resolutionResult = getOrStartResolution(key, resolution,
+				lastKnownResult != null);
+		return (lastKnownResult != null) ? new StaleResult(lastKnownResult.result())
+				: await(key, resolutionResult);
+	}
+
+	private CompletableFuture<Map<String, String>> getOrStartResolution(String key,
+			Supplier<Map<String, String>> resolution, boolean background) {
+		CompletableFuture<Map<String, String>> candidate = new CompletableFuture<>();
+		CompletableFuture<Map<String, String>> inFlight = this.inFlightResolutions.putIfAbsent(key, candidate);
+		if (inFlight != null) {
+			return inFlight;
+		}
+		try {
+			this.executor.execute(() -> {
+				try {
+					Map<String, String> result = resolution.get();
+					// The result of a background resolution has not been returned yet
+					this.lastKnownResults.put(key, new LastKnownResult(result, background));
+					this.failures.remove(key);
+					this.inFlightResolutions.remove(key, candidate);
+					candidate.complete(result);
+				}
+				catch (RuntimeException ex) {
+					fail(key, candidate, ex);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			this.inFlightResolutions.remove(key, candidate);
+			throw new IllegalStateException("Too many resolutions in progress to resolve " + key, ex);
+		}
+		if (!candidate.isDone()) {
+			// A resolution that hangs is a failure: it must not hold callers that resolve
+			// the same coordinates later on
+			CompletableFuture.delayedExecutor(this.timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+				if (!candidate.isDone()) {
+					fail(key, candidate, new IllegalStateException(
+							"Timed out after %s waiting for %s".formatted(this.timeout, key)));
+				}
+			});
+		}
+		return candidate;
+	}
+
+	private void fail(String key, CompletableFuture<Map<String, String>> resolution, RuntimeException ex) {
+		this.failures.put(key, new Failure(ex, Instant.now().plus(this.failureTimeToLive)));
+		this.inFlightResolutions.remove(key, resolution);
+		resolution.completeExceptionally(ex);
+	}
+
+	private Map<String, String> await(String key, CompletableFuture<Map<String, String>> resolution) {
+		try {
+			return resolution.get();
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException("Failed to resolve " + key, ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for " + key, ex);
+		}
+	}
+
+	private record Failure(RuntimeException exception, Instant expiresAt) {
+
+	}
+
+	/**
+	 * A successful resolution and whether it has been returned to a caller yet.
+	 */
+	private record LastKnownResult(Map<String, String> result, boolean fresh) {
+
+		LastKnownResult served() {
+			return new LastKnownResult(this.result, false);
+		}
+
+	}
+
+	/**
+	 * A last known result returned while its coordinates are being resolved again.
+	 */
+	private static final class StaleResult extends AbstractMap<String, String> {
+
+		private final Map<String, String> result;
+
+		StaleResult(Map<String, String> result) {
+			this.result = Collections.unmodifiableMap(result);
+		}
+
+		@Override
+		public String get(Object key) {
+			return this.result.get(key);
+		}
+
+		@Override
+		public Set<Entry<String, String>> entrySet() {
+			return this.result.entrySet();
+		}
+
+	}
+
+	/**
+	 * A bounded map whose entries expire once their time-to-live has elapsed. The oldest
+	 * entry is evicted when the map is full.
+	 */
+	private static final class ExpiringEntries<V> {
+
+		private final int maxEntries;
+
+		private final Duration timeToLive;
+
+		private final Map<String, Expiring<V>> entries = new LinkedHashMap<>();
+
+		ExpiringEntries(int maxEntries, Duration timeToLive) {
+			this.maxEntries = maxEntries;
+			this.timeToLive = timeToLive;
+		}
+
+		synchronized V get(String key) {
+			Expiring<V> entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (!entry.expiresAt().isAfter(Instant.now())) {
+				this.entries.remove(key);
+				return null;
+			}
+			return entry.value();
+		}
+
+		synchronized void put(String key, V value) {
+			this.entries.remove(key);
+			this.entries.put(key, new Expiring<>(value, Instant.now().plus(this.timeToLive)));
+			if (this.entries.size() > this.maxEntries) {
+				String eldest = this.entries.keySet().iterator().next();
+				this.entries.remove(eldest);
+			}
+		}
+
+		synchronized boolean replace(String key, V value, V newValue) {
+			Expiring<V> entry = this.entries.get(key);
+			if (entry == null || entry.value() != value) {
+				return false;
+			}
+			this.entries.put(key, new Expiring<>(newValue, entry.expiresAt()));
+			return true;
+		}
+
+		synchronized void remove(String key) {
+			this.entries.remove(key);
+		}
+
+	}
+
+	private record Expiring<V>(V value, Instant expiresAt) {
+
+	}
+
+}
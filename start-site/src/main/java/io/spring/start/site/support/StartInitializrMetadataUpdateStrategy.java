@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2024 the original author or authors.
+ * Copyright 2012-2025 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,30 +16,213 @@
 
 package io.spring.start.site.support;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.spring.initializr.generator.version.Version;
 import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataBuilder;
 import io.spring.initializr.web.support.InitializrMetadataUpdateStrategy;
 import io.spring.initializr.web.support.SpringIoInitializrMetadataUpdateStrategy;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
 /**
- * An {@link InitializrMetadataUpdateStrategy} that performs additional filtering of
- * versions available on spring.io.
+ * An {@link InitializrMetadataUpdateStrategy} that refreshes, in the background, the
+ * Spring Boot versions available on spring.io and performs additional filtering of them.
+ * Publishes an {@link InitializrMetadataChangedEvent} when a refresh changes the
+ * available Spring Boot versions.
+ * <p>
+ * The versions are fetched in the background as soon as the application starts and then
+ * at a fixed interval, using a conditional request so that unchanged metadata is not
+ * downloaded again: neither startup nor {@link #update(InitializrMetadata)} ever waits
+ * for spring.io. A refresh that changes the versions builds a copy of the metadata with
+ * the new versions and publishes it atomically, the metadata that is already in use by
+ * in-flight requests is never modified. Until the first refresh completes, or if spring.io
+ * cannot be reached, the configured versions, or the last known ones, are kept.
  *
  * @author Stephane Nicoll
  * @author Moritz Halbritter
  * @author Eddú Meléndez
  */
-public class StartInitializrMetadataUpdateStrategy extends SpringIoInitializrMetadataUpdateStrategy {
+public class StartInitializrMetadataUpdateStrategy extends SpringIoInitializrMetadataUpdateStrategy
+		implements ApplicationEventPublisherAware, SmartLifecycle, MeterBinder {
+
+	static final String REFRESH_METRIC_NAME = "start.metadata.boot-versions.refresh";
+
+	static final String STALENESS_METRIC_NAME = "start.metadata.boot-versions.staleness";
 
 	private static final Version MINIMUM_BOOT_VERSION = Version.parse("3.3.0");
 
-	public StartInitializrMetadataUpdateStrategy(RestTemplate restTemplate, ObjectMapper objectMapper) {
-		super(restTemplate, objectMapper);
+	private final ObjectMapper objectMapper;
+
+	private final ConditionalRequestInterceptor conditionalRequests;
+
+	private final String springBootMetadataUrl;
+
+	private final Duration refreshInterval;
+
+	private final Lock refreshLock = new ReentrantLock();
+
+	private final Lock updateLock = new ReentrantLock();
+
+	private ApplicationEventPublisher eventPublisher;
+
+	private MeterRegistry meterRegistry;
+
+	private ScheduledExecutorService scheduler;
+
+	private volatile List<DefaultMetadataElement> bootVersions;
+
+	private volatile Instant lastRefresh;
+
+	private InitializrMetadata source;
+
+	private UpdatedMetadata updatedMetadata;
+
+	/**
+	 * Create an instance. The specified {@link RestTemplate} is configured to send
+	 * conditional requests to spring.io.
+	 * @param restTemplate the rest template to use
+	 * @param objectMapper the object mapper to use
+	 * @param springBootMetadataUrl the URL of the Spring Boot metadata on spring.io
+	 * @param refreshInterval the interval between two refreshes or {@code null} to never
+	 * refresh automatically
+	 */
+	public StartInitializrMetadataUpdateStrategy(RestTemplate restTemplate, ObjectMapper objectMapper,
+			String springBootMetadataUrl, Duration refreshInterval) {
+		this(restTemplate, objectMapper, springBootMetadataUrl, refreshInterval, new ConditionalRequestInterceptor());
+	}
+
+	private StartInitializrMetadataUpdateStrategy(RestTemplate restTemplate, ObjectMapper objectMapper,
+			String springBootMetadataUrl, Duration refreshInterval, ConditionalRequestInterceptor conditionalRequests) {
+		super(withInterceptor(restTemplate, conditionalRequests), objectMapper);
+		this.objectMapper = objectMapper;
+		this.conditionalRequests = conditionalRequests;
+		this.springBootMetadataUrl = springBootMetadataUrl;
+		this.refreshInterval = refreshInterval;
+	}
+
+	private static RestTemplate withInterceptor(RestTemplate restTemplate, ClientHttpRequestInterceptor interceptor) {
+		restTemplate.getInterceptors().add(interceptor);
+		return restTemplate;
+	}
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.meterRegistry = registry;
+		Gauge.builder(STALENESS_METRIC_NAME, this, StartInitializrMetadataUpdateStrategy::getStaleness)
+			.description("Time since the Spring Boot versions were last refreshed")
+			.baseUnit("seconds")
+			.register(registry);
+	}
+
+	/**
+	 * Return the metadata with the current Spring Boot versions. The first metadata
+	 * handed to this method is kept as the source of every copy that is published
+	 * afterwards: the metadata provider hands back the copies that were published.
+	 * @param current the metadata of the provider
+	 * @return a copy of the source metadata with the current Spring Boot versions
+	 */
+	@Override
+	public InitializrMetadata update(InitializrMetadata current) {
+		this.updateLock.lock();
+		try {
+			if (this.source == null) {
+				this.source = current;
+			}
+			return apply();
+		}
+		finally {
+			this.updateLock.unlock();
+		}
+	}
+
+	/**
+	 * Refresh the Spring Boot versions and apply them to the metadata if they have
+	 * changed.
+	 * @return {@code true} if the Spring Boot versions have changed
+	 */
+	public boolean refresh() {
+		if (!StringUtils.hasText(this.springBootMetadataUrl)) {
+			return false;
+		}
+		this.refreshLock.lock();
+		long startTime = System.nanoTime();
+		String outcome = "failure";
+		try {
+			List<DefaultMetadataElement> versions = fetchSpringBootVersions(this.springBootMetadataUrl);
+			if (versions == null || versions.isEmpty()) {
+				return false;
+			}
+			this.lastRefresh = Instant.now();
+			outcome = this.conditionalRequests.getOutcome();
+			if (!outcome.equals("updated")) {
+				return false;
+			}
+			if (versions.stream().noneMatch(DefaultMetadataElement::isDefault)) {
+				versions.get(0).setDefault(true);
+			}
+			this.bootVersions = List.copyOf(versions);
+			this.updateLock.lock();
+			try {
+				if (this.source != null) {
+					apply();
+				}
+			}
+			finally {
+				this.updateLock.unlock();
+			}
+			return true;
+		}
+		finally {
+			this.refreshLock.unlock();
+			if (this.meterRegistry != null) {
+				Timer.builder(REFRESH_METRIC_NAME)
+					.description("Time taken to refresh the Spring Boot versions")
+					.tag("outcome", outcome)
+					.register(this.meterRegistry)
+					.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+			}
+		}
 	}
 
 	@Override
@@ -53,4 +236,182 @@ public class StartInitializrMetadataUpdateStrategy extends SpringIoInitializrMet
 		return version.compareTo(MINIMUM_BOOT_VERSION) >= 0;
 	}
 
+	/**
+	 * Return a copy of the source metadata with the current Spring Boot versions,
+	 * building and publishing it if necessary. Must be called with the update lock held.
+	 * @return the metadata with the current Spring Boot versions, or the source metadata
+	 * if none are known yet
+	 */
+	private InitializrMetadata apply() {
+		List<DefaultMetadataElement> versions = this.bootVersions;
+		if (versions == null) {
+			return this.source;
+		}
+		UpdatedMetadata previous = this.updatedMetadata;
+		if (previous != null && previous.bootVersions() == versions) {
+			return previous.metadata();
+		}
+		InitializrMetadata metadata = copy(this.source);
+		metadata.updateSpringBootVersions(new ArrayList<>(versions));
+		this.updatedMetadata = new UpdatedMetadata(versions, metadata);
+		List<String> previousIds = (previous != null) ? getIds(previous.bootVersions()) : null;
+		if (!getIds(versions).equals(previousIds) && this.eventPublisher != null) {
+			this.eventPublisher.publishEvent(new InitializrMetadataChangedEvent(metadata));
+		}
+		return metadata;
+	}
+
+	private InitializrMetadata copy(InitializrMetadata metadata) {
+		try {
+			byte[] content = this.objectMapper.writeValueAsBytes(metadata);
+			return InitializrMetadataBuilder.create().withInitializrMetadata(new ByteArrayResource(content)).build();
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Failed to copy metadata", ex);
+		}
+	}
+
+	private static List<String> getIds(List<DefaultMetadataElement> versions) {
+		return versions.stream().map(DefaultMetadataElement::getId).toList();
+	}
+
+	private double getStaleness() {
+		Instant refreshed = this.lastRefresh;
+		return (refreshed != null) ? Duration.between(refreshed, Instant.now()).toMillis() / 1000.0 : Double.NaN;
+	}
+
+	@Override
+	public void start() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("metadata-refresh-");
+		threadFactory.setDaemon(true);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		this.scheduler.scheduleWithFixedDelay(this::refresh, 0, this.refreshInterval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void stop() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdownNow();
+			this.scheduler = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.scheduler != null;
+	}
+
+	@Override
+	public boolean isAutoStartup() {
+		return this.refreshInterval != null;
+	}
+
+	/**
+	 * A copy of the source metadata with a given snapshot of the Spring Boot versions.
+	 */
+	private record UpdatedMetadata(List<DefaultMetadataElement> bootVersions, InitializrMetadata metadata) {
+
+	}
+
+	/**
+	 * {@link ClientHttpRequestInterceptor} that sends the validators of the last
+	 * successful response and replays its content when spring.io answers that it has not
+	 * been modified. Records whether the content has changed since the previous request.
+	 */
+	private static final class ConditionalRequestInterceptor implements ClientHttpRequestInterceptor {
+
+		private String eTag;
+
+		private String lastModified;
+
+		private MediaType contentType;
+
+		private byte[] content;
+
+		private String digest;
+
+		private String outcome;
+
+		@Override
+		public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+				throws IOException {
+			this.outcome = null;
+			if (this.content != null) {
+				if (this.eTag != null) {
+					request.getHeaders().setIfNoneMatch(this.eTag);
+				}
+				if (this.lastModified != null) {
+					request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, this.lastModified);
+				}
+			}
+			try (ClientHttpResponse response = execution.execute(request, body)) {
+				if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && this.content != null) {
+					this.outcome = "not-modified";
+					return new ContentResponse(this.contentType, this.content);
+				}
+				byte[] content = StreamUtils.copyToByteArray(response.getBody());
+				if (!response.getStatusCode().is2xxSuccessful()) {
+					return new ContentResponse(response.getStatusCode(), response.getStatusText(),
+							response.getHeaders(), content);
+				}
+				String contentDigest = DigestUtils.md5DigestAsHex(content);
+				this.outcome = (contentDigest.equals(this.digest)) ? "unchanged" : "updated";
+				this.eTag = response.getHeaders().getETag();
+				this.lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+				this.contentType = response.getHeaders().getContentType();
+				this.content = content;
+				this.digest = contentDigest;
+				return new ContentResponse(this.contentType, content);
+			}
+		}
+
+		String getOutcome() {
+			return this.outcome;
+		}
+
+	}
+
+	/**
+	 * A {@link ClientHttpResponse} with content that has already been read.
+	 */
+	private record ContentResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers,
+			byte[] content) implements ClientHttpResponse {
+
+		ContentResponse(MediaType contentType, byte[] content) {
+			this(HttpStatus.OK, HttpStatus.OK.getReasonPhrase(), headersFor(contentType), content);
+		}
+
+		private static HttpHeaders headersFor(MediaType contentType) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(contentType);
+			return headers;
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() {
+			return this.statusCode;
+		}
+
+		@Override
+		public String getStatusText() {
+			return this.statusText;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.content);
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Records, using JDK Flight Recorder, the virtual threads that are pinned to their
+ * carrier thread for longer than a given threshold. This typically happens when a virtual
+ * thread blocks while holding a monitor, which prevents its carrier from running other
+ * virtual threads.
+ * <p>
+ * Each pinning is logged with the frames that led to it and recorded in the
+ * {@value #METRIC_NAME} timer, tagged with the first frame outside the JDK.
+ *
+ * @author Stephane Nicoll
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+	static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+	static final String METRIC_NAME = "start.virtual-threads.pinned";
+
+	private static final int MAX_LOGGED_FRAMES = 16;
+
+	private static final Log logger = LogFactory.getLog(VirtualThreadPinningMonitor.class);
+
+	private final MeterRegistry meterRegistry;
+
+	private final Duration threshold;
+
+	private RecordingStream recordingStream;
+
+	public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+		this.meterRegistry = meterRegistry;
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void start() {
+		RecordingStream stream = new RecordingStream();
+		stream.enable(EVENT_NAME).withThreshold(this.threshold).withStackTrace();
+		stream.onEvent(EVENT_NAME, this::onEvent);
+		stream.startAsync();
+		this.recordingStream = stream;
+	}
+
+	@Override
+	public void stop() {
+		if (this.recordingStream != null) {
+			this.recordingStream.close();
+			this.recordingStream = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.recordingStream != null;
+	}
+
+	private void onEvent(RecordedEvent event) {
+		RecordedStackTrace stackTrace = event.getStackTrace();
+		List<String> frames = (stackTrace != null)
+				? stackTrace.getFrames().stream().map(VirtualThreadPinningMonitor::format).toList() : List.of();
+		onPinned(event.getDuration(), frames);
+	}
+
+	/**
+	 * Record that a virtual thread has been pinned for the specified duration.
+	 * @param duration the duration of the pinning
+	 * @param frames the frames of the pinned virtual thread, most recent first
+	 */
+	void onPinned(Duration duration, List<String> frames) {
+		String location = frames.stream().filter((frame) -> !isJdkFrame(frame)).findFirst().orElse("unknown");
+		Timer.builder(METRIC_NAME)
+			.description("Time virtual threads spent pinned to their carrier thread")
+			.tag("location", withoutLineNumber(location))
+			.register(this.meterRegistry)
+			.record(duration);
+		if (logger.isWarnEnabled()) {
+			StringBuilder message = new StringBuilder("Virtual thread pinned for ").append(duration.toMillis())
+				.append("ms at ")
+				.append(location);
+			frames.stream().limit(MAX_LOGGED_FRAMES).forEach((frame) -> message.append("\n\tat ").append(frame));
+			logger.warn(message);
+		}
+	}
+
+	private static boolean isJdkFrame(String frame) {
+		return frame.startsWith("java.") || frame.startsWith("javax.") || frame.startsWith("jdk.")
+				|| frame.startsWith("sun.");
+	}
+
+	private static String withoutLineNumber(String frame) {
+		int separator = frame.lastIndexOf(':');
+		return (separator != -1) ? frame.substring(0, separator) : frame;
+	}
+
+	private static String format(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+	}
+
+}
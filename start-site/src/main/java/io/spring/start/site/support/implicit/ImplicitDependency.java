@@ -16,6 +16,10 @@
 
 package io.spring.start.site.support.implicit;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -36,10 +40,13 @@ public final class ImplicitDependency {
 
 	private final Consumer<HelpDocument> helpDocumentCustomizer;
 
+	private final Set<String> dependencyIds;
+
 	private ImplicitDependency(Builder builder) {
 		this.buildPredicate = builder.buildPredicate;
 		this.buildCustomizer = builder.buildCustomizer;
 		this.helpDocumentCustomizer = builder.helpDocumentCustomizer;
+		this.dependencyIds = Collections.unmodifiableSet(new LinkedHashSet<>(builder.dependencyIds));
 	}
 
 	/**
@@ -64,6 +71,16 @@ public final class ImplicitDependency {
 		}
 	}
 
+	/**
+	 * Return the ids of the dependencies of which at least one must be present in the
+	 * build for this instance to match. An empty set means that this instance does not
+	 * depend on specific dependencies and must always be evaluated.
+	 * @return the ids of the dependencies this instance depends on
+	 */
+	Set<String> getDependencyIds() {
+		return this.dependencyIds;
+	}
+
 	/**
 	 * Builder for {@link ImplicitDependency}.
 	 */
@@ -75,6 +92,8 @@ public final class ImplicitDependency {
 
 		private Consumer<HelpDocument> helpDocumentCustomizer;
 
+		private final Set<String> dependencyIds = new LinkedHashSet<>();
+
 		/**
 		 * For the implicit dependency created by this builder to be enabled, any of the
 		 * specified {@code dependencies} must be present in the build. May be combined
@@ -84,6 +103,7 @@ public final class ImplicitDependency {
 		 * @see #match(Predicate)
 		 */
 		public Builder matchAnyDependencyIds(String... dependencies) {
+			this.dependencyIds.addAll(Arrays.asList(dependencies));
 			return match((build) -> matchAny(build, dependencies));
 		}
 
@@ -96,6 +116,7 @@ public final class ImplicitDependency {
 		 * @see #match(Predicate)
 		 */
 		public Builder matchAllDependencyIds(String... dependencies) {
+			this.dependencyIds.addAll(Arrays.asList(dependencies));
 			return match((build) -> matchAll(build, dependencies));
 		}
 
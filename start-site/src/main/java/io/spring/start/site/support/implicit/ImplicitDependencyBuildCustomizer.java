@@ -24,20 +24,23 @@ import io.spring.initializr.generator.spring.build.BuildCustomizer;
  * {@link ImplicitDependency implicit dependencies}.
  *
  * @author Stephane Nicoll
+ * @see ImplicitDependencyIndex#customize(Build)
  */
 public class ImplicitDependencyBuildCustomizer implements BuildCustomizer<Build> {
 
-	private final Iterable<ImplicitDependency> dependencies;
+	private final ImplicitDependencyIndex index;
+
+	public ImplicitDependencyBuildCustomizer(ImplicitDependencyIndex index) {
+		this.index = index;
+	}
 
 	public ImplicitDependencyBuildCustomizer(Iterable<ImplicitDependency> dependencies) {
-		this.dependencies = dependencies;
+		this(ImplicitDependencyIndex.of(dependencies));
 	}
 
 	@Override
 	public void customize(Build build) {
-		for (ImplicitDependency dependency : this.dependencies) {
-			dependency.customize(build);
-		}
+		this.index.customize(build);
 	}
 
 }
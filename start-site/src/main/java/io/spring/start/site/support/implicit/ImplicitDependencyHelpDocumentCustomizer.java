@@ -28,18 +28,22 @@ import io.spring.initializr.generator.spring.documentation.HelpDocumentCustomize
  */
 public class ImplicitDependencyHelpDocumentCustomizer implements HelpDocumentCustomizer {
 
-	private final Iterable<ImplicitDependency> dependencies;
+	private final ImplicitDependencyIndex index;
 
 	private final Build build;
 
-	public ImplicitDependencyHelpDocumentCustomizer(Iterable<ImplicitDependency> dependencies, Build build) {
-		this.dependencies = dependencies;
+	public ImplicitDependencyHelpDocumentCustomizer(ImplicitDependencyIndex index, Build build) {
+		this.index = index;
 		this.build = build;
 	}
 
+	public ImplicitDependencyHelpDocumentCustomizer(Iterable<ImplicitDependency> dependencies, Build build) {
+		this(ImplicitDependencyIndex.of(dependencies), build);
+	}
+
 	@Override
 	public void customize(HelpDocument document) {
-		for (ImplicitDependency dependency : this.dependencies) {
+		for (ImplicitDependency dependency : this.index.candidates(this.build)) {
 			dependency.customize(document, this.build);
 		}
 	}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.implicit;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.spring.initializr.generator.buildsystem.Build;
+
+/**
+ * An immutable index of {@link ImplicitDependency implicit dependencies} by the ids of
+ * the dependencies they depend on. Only the implicit dependencies that mention a
+ * dependency of the build, as well as the ones that do not mention any, are evaluated
+ * against it so that the cost of matching a build is proportional to its number of
+ * dependencies rather than to the number of implicit dependencies.
+ *
+ * @author Stephane Nicoll
+ */
+public final class ImplicitDependencyIndex {
+
+	private final List<ImplicitDependency> dependencies;
+
+	private final Map<String, BitSet> candidatesByDependencyId;
+
+	private final BitSet alwaysEvaluated;
+
+	private ImplicitDependencyIndex(List<ImplicitDependency> dependencies) {
+		this.dependencies = dependencies;
+		Map<String, BitSet> candidatesByDependencyId = new HashMap<>();
+		this.alwaysEvaluated = new BitSet(dependencies.size());
+		for (int i = 0; i < dependencies.size(); i++) {
+			ImplicitDependency dependency = dependencies.get(i);
+			if (dependency.getDependencyIds().isEmpty()) {
+				this.alwaysEvaluated.set(i);
+			}
+			for (String dependencyId : dependency.getDependencyIds()) {
+				candidatesByDependencyId.computeIfAbsent(dependencyId, (key) -> new BitSet(dependencies.size())).set(i);
+			}
+		}
+		this.candidatesByDependencyId = Collections.unmodifiableMap(candidatesByDependencyId);
+	}
+
+	/**
+	 * Create an index for the specified {@link ImplicitDependency implicit dependencies}.
+	 * @param dependencies the implicit dependencies to index
+	 * @return an index of the specified implicit dependencies
+	 */
+	public static ImplicitDependencyIndex of(Iterable<ImplicitDependency> dependencies) {
+		List<ImplicitDependency> content = new ArrayList<>();
+		dependencies.forEach(content::add);
+		return new ImplicitDependencyIndex(List.copyOf(content));
+	}
+
+	/**
+	 * Return the {@link ImplicitDependency implicit dependencies} that may apply to the
+	 * specified {@link Build}, in the order in which they were registered. Candidates are
+	 * not evaluated against the build.
+	 * @param build a build
+	 * @return the candidate implicit dependencies
+	 */
+	public List<ImplicitDependency> candidates(Build build) {
+		BitSet candidates = (BitSet) this.alwaysEvaluated.clone();
+		addCandidates(build, new HashSet<>(), candidates);
+		List<ImplicitDependency> result = new ArrayList<>(candidates.cardinality());
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			result.add(this.dependencies.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Customize the specified {@link Build} with the implicit dependencies that match it.
+	 * Implicit dependencies are evaluated in registration order against the build as
+	 * customized by the previous ones, so that an implicit dependency that is enabled by
+	 * a dependency added by a previous one applies as well.
+	 * @param build the build to customize
+	 */
+	public void customize(Build build) {
+		Set<String> dependencyIds = new HashSet<>();
+		BitSet candidates = (BitSet) this.alwaysEvaluated.clone();
+		addCandidates(build, dependencyIds, candidates);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			this.dependencies.get(i).customize(build);
+			addCandidates(build, dependencyIds, candidates);
+		}
+	}
+
+	private void addCandidates(Build build, Set<String> dependencyIds, BitSet candidates) {
+		build.dependencies().ids().filter(dependencyIds::add).forEach((id) -> {
+			BitSet matches = this.candidatesByDependencyId.get(id);
+			if (matches != null) {
+				candidates.or(matches);
+			}
+		});
+	}
+
+}
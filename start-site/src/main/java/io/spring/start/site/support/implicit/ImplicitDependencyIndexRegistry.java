@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.implicit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.spring.initializr.generator.version.Version;
+
+/**
+ * Create {@link ImplicitDependencyIndex indexes} of implicit dependencies once per
+ * platform version rather than for every generated project. At most {@value #MAX_ENTRIES}
+ * platform versions are kept, indexes for other versions are created on demand.
+ *
+ * @author Stephane Nicoll
+ */
+public final class ImplicitDependencyIndexRegistry {
+
+	static final int MAX_ENTRIES = 32;
+
+	private final Function<Version, Iterable<ImplicitDependency>> factory;
+
+	private final Map<Version, ImplicitDependencyIndex> indexes = new ConcurrentHashMap<>();
+
+	/**
+	 * Create an instance using the specified {@code factory} to create the implicit
+	 * dependencies of a platform version.
+	 * @param factory the factory of implicit dependencies for a platform version
+	 */
+	public ImplicitDependencyIndexRegistry(Function<Version, Iterable<ImplicitDependency>> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Return the {@link ImplicitDependencyIndex} for the specified platform version.
+	 * @param platformVersion the platform version
+	 * @return the index of the implicit dependencies of that version
+	 */
+	public ImplicitDependencyIndex get(Version platformVersion) {
+		if (platformVersion == null) {
+			return create(null);
+		}
+		ImplicitDependencyIndex index = this.indexes.get(platformVersion);
+		if (index != null) {
+			return index;
+		}
+		if (this.indexes.size() >= MAX_ENTRIES) {
+			return create(platformVersion);
+		}
+		return this.indexes.computeIfAbsent(platformVersion, this::create);
+	}
+
+	private ImplicitDependencyIndex create(Version platformVersion) {
+		return ImplicitDependencyIndex.of(this.factory.apply(platformVersion));
+	}
+
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.InvalidProjectRequestException;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.generation.ProjectArchiver;
+import io.spring.start.site.generation.ProjectArchiver.MultiProjectZip;
+import io.spring.start.site.generation.StreamingProjectGenerationInvoker;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+/**
+ * A controller that generates several projects in a single request. The body of the
+ * request is a JSON array of project requests that use the same attributes as the
+ * parameters of {@code /starter.zip}. Projects are generated in parallel, on an executor
+ * that is shared by all batches, and share the metadata and version resolutions of the
+ * application.
+ * <p>
+ * Projects are returned either as a single zip archive with a directory per project, or
+ * as newline-delimited JSON with an entry per project that is written as soon as the
+ * project is available. The failure of a project does not abort the batch: it is reported
+ * in the {@value #REPORT_NAME} entry of the zip archive or in the JSON entry of that
+ * project, respectively.
+ *
+ * @author Stephane Nicoll
+ */
+@Controller
+public class BatchProjectGenerationController implements DisposableBean {
+
+	static final String REPORT_NAME = "batch.ndjson";
+
+	private static final Log logger = LogFactory.getLog(BatchProjectGenerationController.class);
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final StreamingProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker;
+
+	private final ProjectArchiver projectArchiver;
+
+	private final ObjectMapper objectMapper;
+
+	private final ExecutorService executor;
+
+	private final int maxProjects;
+
+	public BatchProjectGenerationController(InitializrMetadataProvider metadataProvider,
+			StreamingProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker, ProjectArchiver projectArchiver,
+			ObjectMapper objectMapper, int parallelism, int maxProjects) {
+		this.metadataProvider = metadataProvider;
+		this.projectGenerationInvoker = projectGenerationInvoker;
+		this.projectArchiver = projectArchiver;
+		this.objectMapper = objectMapper;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("batch-generation-");
+		threadFactory.setDaemon(true);
+		this.executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+		this.maxProjects = maxProjects;
+	}
+
+	@ExceptionHandler
+	public void invalidProjectRequest(HttpServletResponse response, InvalidProjectRequestException ex)
+			throws IOException {
+		response.sendError(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+	}
+
+	@PostMapping(path = "/starter.batch.zip", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public void batchZip(@RequestHeader Map<String, String> headers, @RequestBody JsonNode requests,
+			HttpServletResponse response) throws IOException {
+		List<BatchItem> batch = parse(headers, requests);
+		response.setContentType("application/zip");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"projects.zip\"");
+		Set<String> directories = new HashSet<>();
+		List<ProjectResult> results = new ArrayList<>();
+		try (MultiProjectZip zip = this.projectArchiver.multiProjectZip(response.getOutputStream())) {
+			generate(batch, (index, result) -> {
+				ProjectDescription description = result.getProjectDescription();
+				String directory = getUniqueDirectory(description, directories);
+				zip.addProject(directory, description, result.getRootDirectory());
+				return ProjectResult.success(index, directory, null);
+			}, results::add);
+			ByteArrayOutputStream report = new ByteArrayOutputStream();
+			for (ProjectResult result : results) {
+				writeLine(report, result);
+			}
+			zip.addFile(REPORT_NAME, report.toByteArray());
+		}
+	}
+
+	@PostMapping(path = "/starter.batch.ndjson", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public void batchNdjson(@RequestHeader Map<String, String> headers, @RequestBody JsonNode requests,
+			HttpServletResponse response) throws IOException {
+		List<BatchItem> batch = parse(headers, requests);
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		OutputStream out = response.getOutputStream();
+		generate(batch, (index, result) -> {
+			ProjectDescription description = result.getProjectDescription();
+			ByteArrayOutputStream archive = new ByteArrayOutputStream();
+			this.projectArchiver.zip(description, result.getRootDirectory(), archive);
+			String fileName = URLEncoder.encode(getDirectory(description), StandardCharsets.UTF_8) + ".zip";
+			return ProjectResult.success(index, fileName, archive.toByteArray());
+		}, (result) -> {
+			writeLine(out, result);
+			out.flush();
+		});
+	}
+
+	private List<BatchItem> parse(Map<String, String> headers, JsonNode requests) {
+		if (requests == null || !requests.isArray() || requests.isEmpty()) {
+			throw new InvalidProjectRequestException("Batch must be a non-empty array of project requests");
+		}
+		if (requests.size() > this.maxProjects) {
+			throw new InvalidProjectRequestException(
+					"Batch must not contain more than %d projects".formatted(this.maxProjects));
+		}
+		InitializrMetadata metadata = this.metadataProvider.get();
+		List<BatchItem> batch = new ArrayList<>();
+		for (int index = 0; index < requests.size(); index++) {
+			WebProjectRequest request = new WebProjectRequest();
+			request.getParameters().putAll(headers);
+			request.initialize(metadata);
+			try {
+				this.objectMapper.readerForUpdating(request).readValue(requests.get(index));
+				batch.add(new BatchItem(index, request, null));
+			}
+			catch (IOException | IllegalArgumentException ex) {
+				batch.add(new BatchItem(index, null,
+						new InvalidProjectRequestException("Invalid project request: " + ex.getMessage())));
+			}
+		}
+		return batch;
+	}
+
+	private void generate(List<BatchItem> batch, ProjectHandler handler, ResultConsumer consumer) throws IOException {
+		Outcomes outcomes = new Outcomes();
+		List<CompletableFuture<ProjectGenerationResult>> generations = new ArrayList<>();
+		for (BatchItem item : batch) {
+			if (item.failure() != null) {
+				outcomes.add(new Outcome(item.index(), null, item.failure()));
+				continue;
+			}
+			CompletableFuture<ProjectGenerationResult> generation = new CompletableFuture<>();
+			this.executor.execute(() -> generate(item.request(), generation));
+			generation.whenComplete((result, ex) -> outcomes.add(new Outcome(item.index(), result, ex)));
+			generations.add(generation);
+		}
+		boolean completed = false;
+		try {
+			for (int i = 0; i < batch.size(); i++) {
+				consumer.accept(handle(outcomes.take(), handler));
+			}
+			completed = true;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for projects to be generated", ex);
+		}
+		finally {
+			if (!completed) {
+				abort(generations, outcomes);
+			}
+		}
+	}
+
+	private void generate(ProjectRequest request, CompletableFuture<ProjectGenerationResult> generation) {
+		if (generation.isDone()) {
+			return;
+		}
+		try {
+			ProjectGenerationResult result = this.projectGenerationInvoker.invokeProjectStructureGeneration(request);
+			if (!generation.complete(result)) {
+				this.projectGenerationInvoker.cleanTempFiles(result.getRootDirectory());
+			}
+		}
+		catch (Throwable ex) {
+			generation.completeExceptionally(ex);
+		}
+	}
+
+	private ProjectResult handle(Outcome outcome, ProjectHandler handler) throws IOException {
+		if (outcome.failure() != null) {
+			return ProjectResult.failure(outcome.index(), getMessage(outcome.failure()));
+		}
+		try {
+			return handler.handle(outcome.index(), outcome.result());
+		}
+		finally {
+			cleanTempFiles(outcome);
+		}
+	}
+
+	/**
+	 * Abort the specified generations. A generation that has not started is skipped. The
+	 * outcomes that have not been handled yet, either because they are pending or because
+	 * their generation completes later, have their temporary files cleaned by
+	 * {@link Outcomes}. Outcomes that have been handled were cleaned already.
+	 * @param generations the generations to abort
+	 * @param outcomes the outcomes of the generations
+	 */
+	private void abort(List<CompletableFuture<ProjectGenerationResult>> generations, Outcomes outcomes) {
+		generations.forEach((generation) -> generation.cancel(false));
+		outcomes.abort();
+	}
+
+	private void cleanTempFiles(Outcome outcome) {
+		if (outcome.result() != null) {
+			this.projectGenerationInvoker.cleanTempFiles(outcome.result().getRootDirectory());
+		}
+	}
+
+	private String getMessage(Throwable failure) {
+		Throwable cause = (failure instanceof CompletionException) ? failure.getCause() : failure;
+		if (!(cause instanceof InvalidProjectRequestException)) {
+			logger.warn("Failed to generate project of batch", cause);
+		}
+		return (cause.getMessage() != null) ? cause.getMessage() : cause.getClass().getName();
+	}
+
+	private void writeLine(OutputStream out, ProjectResult result) throws IOException {
+		out.write(this.objectMapper.writeValueAsBytes(result));
+		out.write('\n');
+	}
+
+	private String getUniqueDirectory(ProjectDescription description, Set<String> directories) {
+		String directory = getDirectory(description);
+		String candidate = directory;
+		for (int i = 2; !directories.add(candidate); i++) {
+			candidate = directory + "-" + i;
+		}
+		return candidate;
+	}
+
+	private String getDirectory(ProjectDescription description) {
+		if (StringUtils.hasText(description.getBaseDirectory())) {
+			return description.getBaseDirectory();
+		}
+		return (StringUtils.hasText(description.getArtifactId())) ? description.getArtifactId()
+				: this.metadataProvider.get().getArtifactId().getContent();
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+	private record BatchItem(int index, ProjectRequest request, RuntimeException failure) {
+
+	}
+
+	private record Outcome(int index, ProjectGenerationResult result, Throwable failure) {
+
+	}
+
+	/**
+	 * The outcomes of the generations of a batch, in the order they complete. Each outcome
+	 * is either taken, and its temporary files are cleaned once it has been handled, or
+	 * cleaned here if the batch has been aborted.
+	 */
+	private final class Outcomes {
+
+		private final BlockingQueue<Outcome> queue = new LinkedBlockingQueue<>();
+
+		private boolean aborted;
+
+		void add(Outcome outcome) {
+			synchronized (this) {
+				if (!this.aborted) {
+					this.queue.add(outcome);
+					return;
+				}
+			}
+			cleanTempFiles(outcome);
+		}
+
+		Outcome take() throws InterruptedException {
+			return this.queue.take();
+		}
+
+		void abort() {
+			List<Outcome> pending = new ArrayList<>();
+			synchronized (this) {
+				this.aborted = true;
+				this.queue.drainTo(pending);
+			}
+			pending.forEach(BatchProjectGenerationController.this::cleanTempFiles);
+		}
+
+	}
+
+	@JsonInclude(Include.NON_NULL)
+	record ProjectResult(int index, String status, String name, String message, byte[] archive) {
+
+		static ProjectResult success(int index, String name, byte[] archive) {
+			return new ProjectResult(index, "success", name, null, archive);
+		}
+
+		static ProjectResult failure(int index, String message) {
+			return new ProjectResult(index, "failure", null, message, null);
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface ProjectHandler {
+
+		ProjectResult handle(int index, ProjectGenerationResult result) throws IOException;
+
+	}
+
+	@FunctionalInterface
+	private interface ResultConsumer {
+
+		void accept(ProjectResult result) throws IOException;
+
+	}
+
+}
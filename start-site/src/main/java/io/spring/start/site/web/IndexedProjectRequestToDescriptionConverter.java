@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.metadata.Dependency;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.support.MetadataBuildItemMapper;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.ProjectRequestPlatformVersionTransformer;
+import io.spring.start.site.support.DependencyCompatibilityIndex;
+
+/**
+ * A {@link DefaultProjectRequestToDescriptionConverter} that validates and resolves the
+ * requested dependencies using a {@link DependencyCompatibilityIndex} rather than
+ * checking their compatibility range on every request. A request with a dependency that
+ * is unknown or not compatible is rejected by the default conversion.
+ *
+ * @author Stephane Nicoll
+ */
+public class IndexedProjectRequestToDescriptionConverter extends DefaultProjectRequestToDescriptionConverter {
+
+	private final DependencyCompatibilityIndex dependencyIndex;
+
+	public IndexedProjectRequestToDescriptionConverter(
+			ProjectRequestPlatformVersionTransformer platformVersionTransformer,
+			DependencyCompatibilityIndex dependencyIndex) {
+		super(platformVersionTransformer);
+		this.dependencyIndex = dependencyIndex;
+	}
+
+	@Override
+	public void convert(ProjectRequest request, MutableProjectDescription description, InitializrMetadata metadata) {
+		List<String> dependencies = request.getDependencies();
+		// Dependencies are validated and resolved below: detach them for the duration of
+		// the default conversion. The request is bound to the current HTTP request.
+		request.setDependencies(new ArrayList<>());
+		try {
+			super.convert(request, description, metadata);
+		}
+		finally {
+			request.setDependencies(dependencies);
+		}
+		Version platformVersion = description.getPlatformVersion();
+		for (String id : dependencies) {
+			if (!this.dependencyIndex.isCompatible(metadata, id, platformVersion)) {
+				// Let the default conversion reject the request
+				super.convert(request, description, metadata);
+				return;
+			}
+		}
+		Map<String, Dependency> compatibleDependencies = this.dependencyIndex.get(metadata, platformVersion)
+			.getDependencies();
+		for (String id : dependencies) {
+			description.addDependency(id, MetadataBuildItemMapper.toDependency(compatibleDependencies.get(id)));
+		}
+	}
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.metadata.DependencyMetadataProvider;
+import io.spring.initializr.metadata.InitializrConfiguration.Platform;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.controller.ProjectMetadataController;
+import io.spring.initializr.web.mapper.DependencyMetadataV21JsonMapper;
+import io.spring.initializr.web.mapper.InitializrMetadataJsonMapper;
+import io.spring.initializr.web.mapper.InitializrMetadataV21JsonMapper;
+import io.spring.initializr.web.mapper.InitializrMetadataV22JsonMapper;
+import io.spring.initializr.web.mapper.InitializrMetadataV2JsonMapper;
+import io.spring.initializr.web.mapper.InitializrMetadataVersion;
+import io.spring.initializr.web.project.InvalidProjectRequestException;
+import io.spring.start.site.support.InitializrMetadataChangedEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * A {@link ProjectMetadataController} that renders each metadata response once per
+ * {@link InitializrMetadata} instance, rather than on every request. Each rendered
+ * response is kept, alongside its gzip-compressed variant, as an immutable byte array
+ * with a strong entity tag and is sent as is to clients, which then pay neither for
+ * serialization nor for compression.
+ * <p>
+ * Responses are rendered lazily, on first request, and are discarded as soon as the
+ * {@link InitializrMetadataProvider} provides a different instance or an
+ * {@link InitializrMetadataChangedEvent} is received. As the links of the service
+ * capabilities depend on the URL of the application, at most {@code maxResponses}
+ * responses are kept for a given metadata instance. Responses that do not fit are
+ * rendered for each request.
+ *
+ * @author Stephane Nicoll
+ */
+public class PreRenderedProjectMetadataController extends ProjectMetadataController
+		implements ApplicationListener<InitializrMetadataChangedEvent> {
+
+	private static final String GZIP = "gzip";
+
+	private final DependencyMetadataProvider dependencyMetadataProvider;
+
+	private final int maxResponses;
+
+	private final AtomicReference<RenderedResponses> responses = new AtomicReference<>();
+
+	public PreRenderedProjectMetadataController(InitializrMetadataProvider metadataProvider,
+			DependencyMetadataProvider dependencyMetadataProvider, int maxResponses) {
+		super(metadataProvider, dependencyMetadataProvider);
+		this.dependencyMetadataProvider = dependencyMetadataProvider;
+		this.maxResponses = maxResponses;
+	}
+
+	@Override
+	public void onApplicationEvent(InitializrMetadataChangedEvent event) {
+		this.responses.set(null);
+	}
+
+	@Override
+	public ResponseEntity<String> serviceCapabilitiesHal() {
+		return serviceCapabilitiesFor(InitializrMetadataVersion.V2_1, HAL_JSON_CONTENT_TYPE);
+	}
+
+	@Override
+	public ResponseEntity<String> serviceCapabilitiesV22() {
+		return serviceCapabilitiesFor(InitializrMetadataVersion.V2_2, InitializrMetadataVersion.V2_2.getMediaType());
+	}
+
+	@Override
+	public ResponseEntity<String> serviceCapabilitiesV21() {
+		return serviceCapabilitiesFor(InitializrMetadataVersion.V2_1, InitializrMetadataVersion.V2_1.getMediaType());
+	}
+
+	@Override
+	public ResponseEntity<String> serviceCapabilitiesV2() {
+		return serviceCapabilitiesFor(InitializrMetadataVersion.V2, InitializrMetadataVersion.V2.getMediaType());
+	}
+
+	@Override
+	public ResponseEntity<String> dependenciesV22(String bootVersion) {
+		return dependenciesFor(InitializrMetadataVersion.V2_2, bootVersion);
+	}
+
+	@Override
+	public ResponseEntity<String> dependenciesV21(String bootVersion) {
+		return dependenciesFor(InitializrMetadataVersion.V2_1, bootVersion);
+	}
+
+	private ResponseEntity<String> serviceCapabilitiesFor(InitializrMetadataVersion version, MediaType contentType) {
+		String appUrl = generateAppUrl();
+		InitializrMetadata metadata = this.metadataProvider.get();
+		RenderedResponse response = getRenderedResponses(metadata).get(new ResponseKey(contentType, appUrl),
+				() -> RenderedResponse.of(contentType, getJsonMapper(version).write(metadata, appUrl)));
+		return write(metadata, response, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+	}
+
+	private ResponseEntity<String> dependenciesFor(InitializrMetadataVersion version, String bootVersion) {
+		InitializrMetadata metadata = this.metadataProvider.get();
+		Version platformVersion = (bootVersion != null) ? Version.parse(bootVersion)
+				: Version.parse(metadata.getBootVersions().getDefault().getId());
+		Platform platform = metadata.getConfiguration().getEnv().getPlatform();
+		if (!platform.isCompatibleVersion(platformVersion)) {
+			throw new InvalidProjectRequestException("Invalid Spring Boot version '" + bootVersion
+					+ "', Spring Boot compatibility range is " + platform.determineCompatibilityRangeRequirement());
+		}
+		MediaType contentType = version.getMediaType();
+		RenderedResponse response = getRenderedResponses(metadata).get(
+				new ResponseKey(contentType, platformVersion.toString()),
+				() -> RenderedResponse.of(contentType, new DependencyMetadataV21JsonMapper()
+					.write(this.dependencyMetadataProvider.get(metadata, platformVersion))));
+		return write(metadata, response, HttpHeaders.ACCEPT_ENCODING);
+	}
+
+	private RenderedResponses getRenderedResponses(InitializrMetadata metadata) {
+		return this.responses.updateAndGet((current) -> (current != null && current.metadata() == metadata) ? current
+				: new RenderedResponses(metadata, this.maxResponses));
+	}
+
+	/**
+	 * Write the specified rendered response, using its gzip-compressed variant if the
+	 * client accepts it. Conditional requests are handled based on the entity tag of the
+	 * chosen variant.
+	 * <p>
+	 * The handler methods of {@link ProjectMetadataController} mandate a
+	 * {@code ResponseEntity<String>}, yet the rendered bytes must be written as is. They
+	 * are therefore written to the response directly and no entity is returned, which
+	 * marks the request as handled.
+	 * @param metadata the metadata the response was rendered for
+	 * @param rendered the rendered response
+	 * @param vary the request headers the response varies on
+	 * @return {@code null} as the response has been written
+	 */
+	private ResponseEntity<String> write(InitializrMetadata metadata, RenderedResponse rendered, String... vary) {
+		ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
+			.currentRequestAttributes();
+		HttpServletRequest request = attributes.getRequest();
+		HttpServletResponse response = attributes.getResponse();
+		Assert.state(response != null, "No current response to write to");
+		boolean gzip = acceptsGzip(request);
+		response.setHeader(HttpHeaders.VARY, String.join(", ", vary));
+		response.setHeader(HttpHeaders.CACHE_CONTROL, determineCacheControlFor(metadata).getHeaderValue());
+		String eTag = (gzip) ? rendered.gzipETag() : rendered.eTag();
+		if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+			return null;
+		}
+		byte[] content = (gzip) ? rendered.gzipContent() : rendered.content();
+		response.setContentType(rendered.contentType().toString());
+		if (gzip) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+		}
+		response.setContentLength(content.length);
+		try {
+			response.getOutputStream().write(content);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return null;
+	}
+
+	private static boolean acceptsGzip(HttpServletRequest request) {
+		for (String header : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+			for (String candidate : header.split(",")) {
+				String[] parts = candidate.split(";");
+				if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+					return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+				}
+			}
+		}
+		return false;
+	}
+
+	private static InitializrMetadataJsonMapper getJsonMapper(InitializrMetadataVersion version) {
+		return switch (version) {
+			case V2 -> new InitializrMetadataV2JsonMapper();
+			case V2_1 -> new InitializrMetadataV21JsonMapper();
+			default -> new InitializrMetadataV22JsonMapper();
+		};
+	}
+
+	/**
+	 * The responses that have been rendered for a given {@link InitializrMetadata}
+	 * instance.
+	 */
+	private static final class RenderedResponses {
+
+		private final InitializrMetadata metadata;
+
+		private final int maxResponses;
+
+		private final Map<ResponseKey, RenderedResponse> responses = new ConcurrentHashMap<>();
+
+		RenderedResponses(InitializrMetadata metadata, int maxResponses) {
+			this.metadata = metadata;
+			this.maxResponses = maxResponses;
+		}
+
+		InitializrMetadata metadata() {
+			return this.metadata;
+		}
+
+		/**
+		 * Return the response for the specified key, rendering it if necessary. The
+		 * response is rendered outside of the map so that concurrent requests for other
+		 * keys are not blocked. Concurrent first requests for the same key may render the
+		 * response more than once, in which case the first one kept is used.
+		 * @param key the key of the response
+		 * @param renderer the renderer of the response
+		 * @return the rendered response
+		 */
+		RenderedResponse get(ResponseKey key, Supplier<RenderedResponse> renderer) {
+			RenderedResponse response = this.responses.get(key);
+			if (response != null) {
+				return response;
+			}
+			RenderedResponse rendered = renderer.get();
+			if (this.responses.size() >= this.maxResponses) {
+				return rendered;
+			}
+			RenderedResponse existing = this.responses.putIfAbsent(key, rendered);
+			return (existing != null) ? existing : rendered;
+		}
+
+	}
+
+	private record ResponseKey(MediaType contentType, String discriminator) {
+
+	}
+
+	private record RenderedResponse(MediaType contentType, byte[] content, String eTag, byte[] gzipContent,
+			String gzipETag) {
+
+		static RenderedResponse of(MediaType contentType, String json) {
+			byte[] content = json.getBytes(StandardCharsets.UTF_8);
+			String digest = DigestUtils.md5DigestAsHex(content);
+			return new RenderedResponse(contentType, content, "\"" + digest + "\"", gzip(content),
+					"\"" + digest + "-" + GZIP + "\"");
+		}
+
+		private static byte[] gzip(byte[] content) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+			// Responses are compressed once and served many times
+			try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+				{
+					this.def.setLevel(Deflater.BEST_COMPRESSION);
+				}
+			}) {
+				gzip.write(content);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			return out.toByteArray();
+		}
+
+	}
+
+}
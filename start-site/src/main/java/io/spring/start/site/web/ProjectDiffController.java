@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.InvalidProjectRequestException;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.generation.CanonicalProjectDescription;
+import io.spring.start.site.generation.ProjectDiff;
+import io.spring.start.site.generation.StreamingProjectGenerationInvoker;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+/**
+ * A controller that returns the differences between two projects, typically to upgrade a
+ * project that has been generated previously. The body of the request is a JSON object
+ * with a {@code from} and a {@code to} project request that use the same attributes as
+ * the parameters of {@code /starter.zip}.
+ * <p>
+ * Differences are returned either as a unified diff or as a zip archive of the files that
+ * have been added or modified. Projects whose effective descriptions are identical are
+ * not generated. Otherwise, both projects are generated and share the generation plan of
+ * the application if their facets are equal.
+ *
+ * @author Stephane Nicoll
+ * @see ProjectDiff
+ */
+@Controller
+public class ProjectDiffController {
+
+	private static final MediaType DIFF = MediaType.parseMediaType("text/x-diff;charset=UTF-8");
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final StreamingProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker;
+
+	private final ObjectMapper objectMapper;
+
+	public ProjectDiffController(InitializrMetadataProvider metadataProvider,
+			StreamingProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker, ObjectMapper objectMapper) {
+		this.metadataProvider = metadataProvider;
+		this.projectGenerationInvoker = projectGenerationInvoker;
+		this.objectMapper = objectMapper;
+	}
+
+	@ExceptionHandler
+	public void invalidProjectRequest(HttpServletResponse response, InvalidProjectRequestException ex)
+			throws IOException {
+		response.sendError(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+	}
+
+	@PostMapping(path = "/starter.diff", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public void diff(@RequestHeader Map<String, String> headers, @RequestBody JsonNode requests,
+			HttpServletResponse response) throws IOException {
+		ProjectDiff diff = generateDiff(headers, requests);
+		response.setContentType(DIFF.toString());
+		diff.writeUnifiedDiff(response.getOutputStream());
+	}
+
+	@PostMapping(path = "/starter.diff.zip", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public void diffZip(@RequestHeader Map<String, String> headers, @RequestBody JsonNode requests,
+			HttpServletResponse response) throws IOException {
+		ProjectDiff diff = generateDiff(headers, requests);
+		response.setContentType("application/zip");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"diff.zip\"");
+		diff.writeZip(response.getOutputStream());
+	}
+
+	private ProjectDiff generateDiff(Map<String, String> headers, JsonNode requests) throws IOException {
+		if (requests == null || !requests.hasNonNull("from") || !requests.hasNonNull("to")) {
+			throw new InvalidProjectRequestException("Diff must define a 'from' and a 'to' project request");
+		}
+		InitializrMetadata metadata = this.metadataProvider.get();
+		ProjectRequest from = parse(headers, requests.get("from"), metadata);
+		ProjectRequest to = parse(headers, requests.get("to"), metadata);
+		if (CanonicalProjectDescription.of(this.projectGenerationInvoker.resolveProjectDescription(from))
+			.equals(CanonicalProjectDescription.of(this.projectGenerationInvoker.resolveProjectDescription(to)))) {
+			return ProjectDiff.none();
+		}
+		ProjectGenerationResult fromResult = this.projectGenerationInvoker.invokeProjectStructureGeneration(from);
+		try {
+			ProjectGenerationResult toResult = this.projectGenerationInvoker.invokeProjectStructureGeneration(to);
+			try {
+				return ProjectDiff.between(fromResult.getProjectDescription(), getProjectDirectory(fromResult),
+						toResult.getProjectDescription(), getProjectDirectory(toResult));
+			}
+			finally {
+				this.projectGenerationInvoker.cleanTempFiles(toResult.getRootDirectory());
+			}
+		}
+		finally {
+			this.projectGenerationInvoker.cleanTempFiles(fromResult.getRootDirectory());
+		}
+	}
+
+	private ProjectRequest parse(Map<String, String> headers, JsonNode content, InitializrMetadata metadata) {
+		WebProjectRequest request = new WebProjectRequest();
+		request.getParameters().putAll(headers);
+		request.initialize(metadata);
+		try {
+			this.objectMapper.readerForUpdating(request).readValue(content);
+			return request;
+		}
+		catch (IOException | IllegalArgumentException ex) {
+			throw new InvalidProjectRequestException("Invalid project request: " + ex.getMessage());
+		}
+	}
+
+	private Path getProjectDirectory(ProjectGenerationResult result) {
+		ProjectDescription description = result.getProjectDescription();
+		return (description.getBaseDirectory() != null)
+				? result.getRootDirectory().resolve(description.getBaseDirectory()) : result.getRootDirectory();
+	}
+
+}
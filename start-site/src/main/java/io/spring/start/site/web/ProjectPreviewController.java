@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.InvalidProjectRequestException;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.generation.ProjectArchiveCache;
+import io.spring.start.site.generation.ProjectArchiver;
+import io.spring.start.site.generation.ProjectPreview;
+import io.spring.start.site.generation.StreamingProjectGenerationInvoker;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * A controller that previews a project without downloading it. {@code /starter.preview}
+ * returns the tree of the files of the project, and {@code /starter.preview/content}
+ * returns the content of one of them so that it can be fetched when it is displayed. Both
+ * use the same parameters as {@code /starter.zip}.
+ * <p>
+ * The project is read from the zip archive that {@code /starter.zip} would return, using
+ * the same {@link ProjectArchiveCache}, so that browsing a project and downloading it
+ * afterwards generates it only once. Responses carry the key of the archive as their
+ * {@code ETag}.
+ *
+ * @author Stephane Nicoll
+ * @see ProjectPreview
+ */
+@Controller
+public class ProjectPreviewController {
+
+	private static final MediaType TEXT = MediaType.parseMediaType("text/plain;charset=UTF-8");
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final StreamingProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker;
+
+	private final ProjectArchiver projectArchiver;
+
+	private final ProjectArchiveCache archiveCache;
+
+	public ProjectPreviewController(InitializrMetadataProvider metadataProvider,
+			StreamingProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker, ProjectArchiver projectArchiver,
+			ProjectArchiveCache archiveCache) {
+		this.metadataProvider = metadataProvider;
+		this.projectGenerationInvoker = projectGenerationInvoker;
+		this.projectArchiver = projectArchiver;
+		this.archiveCache = archiveCache;
+	}
+
+	@ModelAttribute
+	ProjectRequest projectRequest(@RequestHeader Map<String, String> headers) {
+		WebProjectRequest request = new WebProjectRequest();
+		request.getParameters().putAll(headers);
+		request.initialize(this.metadataProvider.get());
+		return request;
+	}
+
+	@ExceptionHandler
+	public void invalidProjectRequest(HttpServletResponse response, InvalidProjectRequestException ex)
+			throws IOException {
+		response.sendError(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+	}
+
+	@GetMapping(path = "/starter.preview", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public ResponseEntity<ProjectPreview.Tree> tree(ProjectRequest request, ServletWebRequest webRequest)
+			throws IOException {
+		ProjectPreview preview = preview(request, webRequest);
+		return (preview != null) ? ResponseEntity.ok(preview.getTree()) : null;
+	}
+
+	@GetMapping(path = "/starter.preview/content")
+	@ResponseBody
+	public ResponseEntity<byte[]> content(ProjectRequest request, @RequestParam String path,
+			ServletWebRequest webRequest) throws IOException {
+		ProjectPreview preview = preview(request, webRequest);
+		if (preview == null) {
+			return null;
+		}
+		byte[] content = preview.getContent(path);
+		if (content == null) {
+			return ResponseEntity.notFound().build();
+		}
+		MediaType contentType = (ProjectPreview.isBinary(content)) ? MediaType.APPLICATION_OCTET_STREAM : TEXT;
+		return ResponseEntity.ok().contentType(contentType).body(content);
+	}
+
+	private ProjectPreview preview(ProjectRequest request, ServletWebRequest webRequest) throws IOException {
+		ProjectDescription description = this.projectGenerationInvoker.resolveProjectDescription(request);
+		String key = this.archiveCache.getKey(description, "zip");
+		if (webRequest.checkNotModified(key)) {
+			// The client has the current version of the response already
+			return null;
+		}
+		byte[] archive = this.archiveCache.get(key);
+		if (archive == null) {
+			archive = generate(request);
+			this.archiveCache.put(key, archive);
+		}
+		return ProjectPreview.of(archive);
+	}
+
+	private byte[] generate(ProjectRequest request) throws IOException {
+		ProjectGenerationResult result = this.projectGenerationInvoker.invokeProjectStructureGeneration(request);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			this.projectArchiver.zip(result.getProjectDescription(), result.getRootDirectory(), out);
+			return out.toByteArray();
+		}
+		finally {
+			this.projectGenerationInvoker.cleanTempFiles(result.getRootDirectory());
+		}
+	}
+
+}
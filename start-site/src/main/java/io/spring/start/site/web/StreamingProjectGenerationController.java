@@ -0,0 +1,182 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import io.micrometer.core.instrument.Timer;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.controller.DefaultProjectGenerationController;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.start.site.generation.ProjectArchiveCache;
+import io.spring.start.site.generation.ProjectArchiver;
+import io.spring.start.site.generation.ProjectGenerationMetrics;
+import io.spring.start.site.generation.StreamingProjectGenerationInvoker;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * A project generation controller that streams the archive of a generated project
+ * directly to the response, rather than writing it to a temporary file first.
+ * <p>
+ * If a {@link ProjectArchiveCache} is available, archives are served from the cache when
+ * possible and carry an entity tag so that clients can revalidate them. If
+ * {@link ProjectGenerationMetrics} are available, the creation of archives is timed.
+ *
+ * @author Stephane Nicoll
+ */
+public class StreamingProjectGenerationController extends DefaultProjectGenerationController {
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final StreamingProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker;
+
+	private final ProjectArchiver projectArchiver;
+
+	private final ProjectArchiveCache archiveCache;
+
+	private final ProjectGenerationMetrics metrics;
+
+	public StreamingProjectGenerationController(InitializrMetadataProvider metadataProvider,
+			StreamingProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker, ProjectArchiver projectArchiver,
+			ProjectArchiveCache archiveCache, ProjectGenerationMetrics metrics) {
+		super(metadataProvider, projectGenerationInvoker);
+		this.metadataProvider = metadataProvider;
+		this.projectGenerationInvoker = projectGenerationInvoker;
+		this.projectArchiver = projectArchiver;
+		this.archiveCache = archiveCache;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public ResponseEntity<byte[]> springZip(ProjectRequest request) throws IOException {
+		return stream(request, "zip", "application/zip", timed("zip", this.projectArchiver::zip));
+	}
+
+	@Override
+	public ResponseEntity<byte[]> springTgz(ProjectRequest request) throws IOException {
+		return stream(request, "tar.gz", "application/x-compress", timed("tgz", this.projectArchiver::tgz));
+	}
+
+	private Archiver timed(String format, Archiver archiver) {
+		if (this.metrics == null) {
+			return archiver;
+		}
+		return (description, rootDirectory, out) -> {
+			Timer.Sample sample = this.metrics.start();
+			try {
+				archiver.archive(description, rootDirectory, out);
+			}
+			finally {
+				sample.stop(this.metrics.archive(format));
+			}
+		};
+	}
+
+	private ResponseEntity<byte[]> stream(ProjectRequest request, String extension, String contentType,
+			Archiver archiver) throws IOException {
+		ServletRequestAttributes attributes = getCurrentRequestAttributes();
+		HttpServletResponse response = attributes.getResponse();
+		if (this.archiveCache == null) {
+			ProjectGenerationResult result = this.projectGenerationInvoker.invokeProjectStructureGeneration(request);
+			write(response, result, extension, contentType, archiver, null);
+			// The response has been written already
+			return null;
+		}
+		ProjectDescription converted = this.projectGenerationInvoker.convertProjectDescription(request);
+		ProjectDescription description = this.projectGenerationInvoker.resolveProjectDescription(converted);
+		String key = this.archiveCache.getKey(description, extension);
+		if (new ServletWebRequest(attributes.getRequest(), response).checkNotModified(key)) {
+			return null;
+		}
+		byte[] archive = this.archiveCache.get(key);
+		if (archive != null) {
+			prepareResponse(response, description, extension, contentType);
+			response.setContentLength(archive.length);
+			response.getOutputStream().write(archive);
+			response.flushBuffer();
+			return null;
+		}
+		ProjectGenerationResult result = this.projectGenerationInvoker.invokeProjectStructureGeneration(request,
+				converted);
+		write(response, result, extension, contentType, archiver, key);
+		return null;
+	}
+
+	private void write(HttpServletResponse response, ProjectGenerationResult result, String extension,
+			String contentType, Archiver archiver, String key) throws IOException {
+		try {
+			ProjectDescription description = result.getProjectDescription();
+			prepareResponse(response, description, extension, contentType);
+			if (key == null) {
+				archiver.archive(description, result.getRootDirectory(), response.getOutputStream());
+				response.flushBuffer();
+				return;
+			}
+			// Stream the archive and keep a bounded copy of it for the cache
+			ProjectArchiveCache.Capture capture = this.archiveCache.capture(key, response.getOutputStream());
+			archiver.archive(description, result.getRootDirectory(), capture);
+			response.flushBuffer();
+			capture.cache();
+		}
+		finally {
+			this.projectGenerationInvoker.cleanTempFiles(result.getRootDirectory());
+		}
+	}
+
+	private void prepareResponse(HttpServletResponse response, ProjectDescription description, String extension,
+			String contentType) {
+		response.setContentType(contentType);
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"%s\"".formatted(generateFileName(description.getArtifactId(), extension)));
+	}
+
+	private String generateFileName(String artifactId, String extension) {
+		String candidate = (StringUtils.hasText(artifactId)) ? artifactId
+				: this.metadataProvider.get().getArtifactId().getContent();
+		return URLEncoder.encode(candidate, StandardCharsets.UTF_8) + "." + extension;
+	}
+
+	private static ServletRequestAttributes getCurrentRequestAttributes() {
+		ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
+			.currentRequestAttributes();
+		if (attributes.getResponse() == null) {
+			throw new IllegalStateException("No current response to stream the project to");
+		}
+		return attributes;
+	}
+
+	@FunctionalInterface
+	private interface Archiver {
+
+		void archive(ProjectDescription description, Path rootDirectory, OutputStream out) throws IOException;
+
+	}
+
+}
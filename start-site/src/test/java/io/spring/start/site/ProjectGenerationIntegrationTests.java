@@ -17,10 +17,13 @@
 package io.spring.start.site;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -40,10 +43,16 @@ import io.spring.initializr.metadata.InitializrMetadataProvider;
 import io.spring.initializr.metadata.MetadataElement;
 import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
 import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectGenerationResult;
 import io.spring.initializr.web.project.ProjectRequest;
 import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.StartConfigurationProperties.ProjectGeneration.Mode;
+import io.spring.start.site.generation.ProjectArchiver;
+import io.spring.start.site.generation.StreamingProjectGenerationInvoker;
 import io.spring.start.testsupport.Homes;
 import io.spring.start.testsupport.TemporaryFiles;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.lang3.SystemUtils;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
@@ -75,12 +84,17 @@ class ProjectGenerationIntegrationTests {
 
 	private final ProjectGenerationInvoker<ProjectRequest> invoker;
 
+	private final StreamingProjectGenerationInvoker<ProjectRequest> streamingInvoker;
+
 	private final InitializrMetadata metadata;
 
 	ProjectGenerationIntegrationTests(@Autowired ApplicationContext applicationContext,
-			@Autowired InitializrMetadataProvider metadataProvider) {
+			@Autowired InitializrMetadataProvider metadataProvider) throws IOException {
 		this.invoker = new ProjectGenerationInvoker<>(applicationContext,
 				new DefaultProjectRequestToDescriptionConverter());
+		this.streamingInvoker = new StreamingProjectGenerationInvoker<>(applicationContext,
+				new DefaultProjectRequestToDescriptionConverter(),
+				TemporaryFiles.newTemporaryDirectory("ProjectGenerationIntegrationTests-working"));
 		this.metadata = metadataProvider.get();
 	}
 
@@ -104,21 +118,23 @@ class ProjectGenerationIntegrationTests {
 		BuildSystem gradleGroovy = BuildSystem.forIdAndDialect(GradleBuildSystem.ID, GradleBuildSystem.DIALECT_GROOVY);
 		BuildSystem gradleKotlin = BuildSystem.forIdAndDialect(GradleBuildSystem.ID, GradleBuildSystem.DIALECT_KOTLIN);
 		List<Arguments> configurations = new ArrayList<>();
-		for (Version bootVersion : bootVersions) {
-			for (Packaging packaging : packagings) {
-				for (Language language : languages) {
-					configurations.add(Arguments.arguments(bootVersion, packaging, language, maven));
-					configurations.add(Arguments.arguments(bootVersion, packaging, language,
-							(language.id().equals(KotlinLanguage.ID)) ? gradleKotlin : gradleGroovy));
+		for (Mode mode : Mode.values()) {
+			for (Version bootVersion : bootVersions) {
+				for (Packaging packaging : packagings) {
+					for (Language language : languages) {
+						configurations.add(Arguments.arguments(bootVersion, packaging, language, maven, mode));
+						configurations.add(Arguments.arguments(bootVersion, packaging, language,
+								(language.id().equals(KotlinLanguage.ID)) ? gradleKotlin : gradleGroovy, mode));
+					}
 				}
 			}
 		}
 		return configurations.stream();
 	}
 
-	@ParameterizedTest(name = "{0} - {1} - {2} - {3}")
+	@ParameterizedTest(name = "{0} - {1} - {2} - {3} - {4}")
 	@MethodSource("parameters")
-	void projectBuilds(Version bootVersion, Packaging packaging, Language language, BuildSystem buildSystem)
+	void projectBuilds(Version bootVersion, Packaging packaging, Language language, BuildSystem buildSystem, Mode mode)
 			throws IOException, InterruptedException {
 		WebProjectRequest request = new WebProjectRequest();
 		request.setBootVersion(bootVersion.toString());
@@ -129,7 +145,7 @@ class ProjectGenerationIntegrationTests {
 		request.setArtifactId("demo");
 		request.setApplicationName("DemoApplication");
 		request.setDependencies(Arrays.asList("devtools", "configuration-processor"));
-		Path project = this.invoker.invokeProjectStructureGeneration(request).getRootDirectory();
+		Path project = generateProject(request, mode);
 		Path home = getHome(buildSystem);
 		ProcessBuilder processBuilder = createProcessBuilder(project, buildSystem, home);
 		Path output = TemporaryFiles.newTemporaryDirectory("ProjectGenerationIntegrationTests-projectBuilds")
@@ -140,6 +156,45 @@ class ProjectGenerationIntegrationTests {
 			.isEqualTo(0);
 	}
 
+	private Path generateProject(ProjectRequest request, Mode mode) throws IOException {
+		if (mode == Mode.TEMPORARY_DIRECTORY) {
+			return this.invoker.invokeProjectStructureGeneration(request).getRootDirectory();
+		}
+		ProjectGenerationResult result = this.streamingInvoker.invokeProjectStructureGeneration(request);
+		Path directory = TemporaryFiles.newTemporaryDirectory("ProjectGenerationIntegrationTests-streaming");
+		Path archive = directory.resolve("project.zip");
+		try (OutputStream out = Files.newOutputStream(archive)) {
+			new ProjectArchiver().zip(result.getProjectDescription(), result.getRootDirectory(), out);
+		}
+		finally {
+			this.streamingInvoker.cleanTempFiles(result.getRootDirectory());
+		}
+		Path project = directory.resolve("project");
+		extract(archive, project);
+		return project;
+	}
+
+	private void extract(Path archive, Path target) throws IOException {
+		try (ZipFile zipFile = ZipFile.builder().setPath(archive).get()) {
+			Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+			while (entries.hasMoreElements()) {
+				ZipArchiveEntry entry = entries.nextElement();
+				Path path = target.resolve(entry.getName());
+				if (entry.isDirectory()) {
+					Files.createDirectories(path);
+					continue;
+				}
+				Files.createDirectories(path.getParent());
+				try (InputStream in = zipFile.getInputStream(entry)) {
+					Files.copy(in, path);
+				}
+				if ((entry.getUnixMode() & 0100) != 0) {
+					assertThat(path.toFile().setExecutable(true)).isTrue();
+				}
+			}
+		}
+	}
+
 	private Path getHome(BuildSystem buildSystem) {
 		return switch (buildSystem.id()) {
 			case MavenBuildSystem.ID -> Homes.MAVEN.get();
@@ -16,14 +16,36 @@
 
 package io.spring.start.site;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.spring.initializr.metadata.InitializrMetadata;
 import io.spring.initializr.metadata.InitializrMetadataBuilder;
 import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.controller.DefaultProjectGenerationController;
+import io.spring.start.site.StartConfigurationProperties.ProjectGeneration.Mode;
+import io.spring.start.site.web.StreamingProjectGenerationController;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,7 +53,9 @@ import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
@@ -56,6 +80,9 @@ class StartApplicationIntegrationTests {
 	@Autowired
 	private InitializrMetadataProvider metadataProvider;
 
+	@Autowired
+	private ApplicationContext applicationContext;
+
 	@Test
 	void metadataCanBeSerialized() throws URISyntaxException, IOException {
 		RequestEntity<Void> request = RequestEntity.get(new URI("/"))
@@ -83,4 +110,316 @@ class StartApplicationIntegrationTests {
 			.isEqualTo(expected.getConfiguration().getEnv().getBoms().size());
 	}
 
+	@Test
+	void metadataIsServedPreCompressedWithStrongETag() throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = getMetadata("/", "gzip, deflate", null);
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+		assertThat(response.headers().firstValue(HttpHeaders.CONTENT_TYPE))
+			.hasValue("application/vnd.initializr.v2.2+json");
+		String etag = response.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+		assertThat(etag).startsWith("\"").endsWith("-gzip\"");
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+			assertThat(new ObjectMapper().readTree(in).has("dependencies")).isTrue();
+		}
+		HttpResponse<byte[]> notModified = getMetadata("/", "gzip", etag);
+		assertThat(notModified.statusCode()).isEqualTo(304);
+	}
+
+	@Test
+	void metadataIsServedUncompressedIfGzipIsNotAccepted() throws IOException, InterruptedException {
+		HttpResponse<byte[]> compressed = getMetadata("/dependencies", "gzip", null);
+		HttpResponse<byte[]> response = getMetadata("/dependencies", "gzip;q=0", null);
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+		assertThat(response.headers().firstValue(HttpHeaders.ETAG)).isPresent()
+			.isNotEqualTo(compressed.headers().firstValue(HttpHeaders.ETAG));
+		assertThat(new ObjectMapper().readTree(response.body()).has("dependencies")).isTrue();
+	}
+
+	@Test
+	void dependenciesWithIncompatibleBootVersionAreRejected() throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = getMetadata("/dependencies?bootVersion=1.5.0", "gzip", null);
+		assertThat(response.statusCode()).isEqualTo(400);
+	}
+
+	@Test
+	void applicationIsReadyWhenWarmUpIsDisabled() {
+		ResponseEntity<String> response = this.restTemplate.getForEntity("/actuator/health/readiness", String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	@Test
+	void projectGenerationStreamsByDefault() {
+		StartConfigurationProperties properties = this.applicationContext.getBean(StartConfigurationProperties.class);
+		assertThat(properties.getProjectGeneration().getMode()).isEqualTo(Mode.STREAMING);
+		assertThat(this.applicationContext.getBeansOfType(StreamingProjectGenerationController.class)).hasSize(1);
+		assertThat(this.applicationContext.getBeansOfType(DefaultProjectGenerationController.class)).isEmpty();
+	}
+
+	@Test
+	void projectZipIsStreamed() throws IOException {
+		ResponseEntity<byte[]> response = this.restTemplate
+			.getForEntity("/starter.zip?type=maven-project&artifactId=my-project&baseDir=test", byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("application/zip"));
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+			.isEqualTo("attachment; filename=\"my-project.zip\"");
+		Map<String, Integer> entries = new HashMap<>();
+		try (ZipFile zipFile = ZipFile.builder()
+			.setSeekableByteChannel(new SeekableInMemoryByteChannel(response.getBody()))
+			.get()) {
+			for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+				entries.put(entry.getName(), entry.getUnixMode());
+			}
+		}
+		assertThat(entries).containsEntry("test/", 040755)
+			.containsEntry("test/mvnw", 0100755)
+			.containsEntry("test/pom.xml", 0100644);
+	}
+
+	@Test
+	void projectTgzIsStreamed() throws IOException {
+		ResponseEntity<byte[]> response = this.restTemplate
+			.getForEntity("/starter.tgz?type=gradle-project&artifactId=my-project&baseDir=test", byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType())
+			.isEqualTo(MediaType.parseMediaType("application/x-compress"));
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+			.isEqualTo("attachment; filename=\"my-project.tar.gz\"");
+		Map<String, Integer> entries = new HashMap<>();
+		try (TarArchiveInputStream in = new TarArchiveInputStream(
+				new GzipCompressorInputStream(new ByteArrayInputStream(response.getBody())))) {
+			TarArchiveEntry entry;
+			while ((entry = in.getNextEntry()) != null) {
+				entries.put(entry.getName(), entry.getMode());
+			}
+		}
+		assertThat(entries).containsEntry("test/", 040755)
+			.containsEntry("test/gradlew", 0100755)
+			.containsEntry("test/build.gradle", 0100644);
+	}
+
+	@Test
+	void projectArchiveCanBeRevalidated() throws URISyntaxException {
+		URI uri = new URI("/starter.zip?type=maven-project&dependencies=web,actuator");
+		ResponseEntity<byte[]> response = this.restTemplate.exchange(RequestEntity.get(uri).build(), byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		String etag = response.getHeaders().getETag();
+		assertThat(etag).isNotNull();
+		URI reordered = new URI("/starter.zip?type=maven-project&dependencies=actuator,web");
+		ResponseEntity<byte[]> cached = this.restTemplate.exchange(RequestEntity.get(reordered).build(), byte[].class);
+		assertThat(cached.getHeaders().getETag()).isEqualTo(etag);
+		assertThat(cached.getBody()).isEqualTo(response.getBody());
+		ResponseEntity<byte[]> notModified = this.restTemplate
+			.exchange(RequestEntity.get(uri).ifNoneMatch(etag).build(), byte[].class);
+		assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+	}
+
+	@Test
+	void projectWithIncompatibleDependencyIsRejected() {
+		ResponseEntity<String> response = this.restTemplate
+			.getForEntity("/starter.zip?type=maven-project&bootVersion=3.3.0&dependencies=web,htmx", String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(response.getBody()).contains("Dependency 'htmx' is not compatible with Spring Boot 3.3.0");
+	}
+
+	@Test
+	void projectWithUnknownDependencyIsRejected() {
+		ResponseEntity<String> response = this.restTemplate
+			.getForEntity("/starter.zip?type=maven-project&dependencies=web,does-not-exist", String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(response.getBody()).contains("Unknown dependency 'does-not-exist' check project metadata");
+	}
+
+	@Test
+	void batchOfProjectsIsArchivedWithDirectoryPerProject() throws IOException {
+		String batch = """
+				[
+					{ "type": "maven-project", "artifactId": "orders" },
+					{ "type": "gradle-project", "artifactId": "orders", "dependencies": [ "web" ] },
+					{ "type": "maven-project", "artifactId": "broken", "dependencies": [ "does-not-exist" ] }
+				]""";
+		ResponseEntity<byte[]> response = this.restTemplate.exchange(
+				RequestEntity.post("/starter.batch.zip").contentType(MediaType.APPLICATION_JSON).body(batch),
+				byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("application/zip"));
+		Map<String, Integer> entries = new HashMap<>();
+		List<JsonNode> report = new ArrayList<>();
+		try (ZipFile zipFile = ZipFile.builder()
+			.setSeekableByteChannel(new SeekableInMemoryByteChannel(response.getBody()))
+			.get()) {
+			for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+				entries.put(entry.getName(), entry.getUnixMode());
+			}
+			String content = new String(zipFile.getInputStream(zipFile.getEntry("batch.ndjson")).readAllBytes(),
+					StandardCharsets.UTF_8);
+			for (String line : content.split("\n")) {
+				report.add(new ObjectMapper().readTree(line));
+			}
+		}
+		assertThat(entries).containsKeys("orders/", "orders-2/")
+			.containsEntry(getWrapperEntry(report, 0), 0100755)
+			.containsEntry(getWrapperEntry(report, 1), 0100755)
+			.doesNotContainKey("broken/");
+		assertThat(report).hasSize(3);
+		JsonNode failure = report.stream().filter((node) -> node.get("index").asInt() == 2).findFirst().get();
+		assertThat(failure.get("status").asText()).isEqualTo("failure");
+		assertThat(failure.get("message").asText()).contains("does-not-exist");
+	}
+
+	@Test
+	void batchOfProjectsIsStreamedAsNdjson() throws IOException {
+		String batch = """
+				[
+					{ "type": "maven-project", "artifactId": "first" },
+					{ "type": "gradle-project", "artifactId": "second" }
+				]""";
+		ResponseEntity<String> response = this.restTemplate.exchange(
+				RequestEntity.post("/starter.batch.ndjson").contentType(MediaType.APPLICATION_JSON).body(batch),
+				String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+		Map<String, byte[]> archives = new HashMap<>();
+		for (String line : response.getBody().split("\n")) {
+			JsonNode node = new ObjectMapper().readTree(line);
+			assertThat(node.get("status").asText()).isEqualTo("success");
+			archives.put(node.get("name").asText(), node.get("archive").binaryValue());
+		}
+		assertThat(archives).containsOnlyKeys("first.zip", "second.zip");
+		try (ZipFile zipFile = ZipFile.builder()
+			.setSeekableByteChannel(new SeekableInMemoryByteChannel(archives.get("second.zip")))
+			.get()) {
+			assertThat(zipFile.getEntry("build.gradle")).isNotNull();
+		}
+	}
+
+	@Test
+	void diffOfProjectsIsReturnedAsUnifiedDiff() {
+		String diff = """
+				{
+					"from": { "type": "maven-project", "dependencies": [ "web" ] },
+					"to": { "type": "maven-project", "dependencies": [ "web", "actuator" ] }
+				}""";
+		ResponseEntity<String> response = this.restTemplate.exchange(
+				RequestEntity.post("/starter.diff").contentType(MediaType.APPLICATION_JSON).body(diff), String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.parseMediaType("text/x-diff")))
+			.isTrue();
+		assertThat(response.getBody()).contains("diff --git a/pom.xml b/pom.xml")
+			.contains("+\t\t\t<artifactId>spring-boot-starter-actuator</artifactId>")
+			.doesNotContain("a/mvnw");
+	}
+
+	@Test
+	void diffOfIdenticalProjectsIsEmpty() {
+		String diff = """
+				{
+					"from": { "type": "maven-project", "dependencies": [ "web", "actuator" ] },
+					"to": { "type": "maven-project", "dependencies": [ "actuator", "web" ] }
+				}""";
+		ResponseEntity<String> response = this.restTemplate.exchange(
+				RequestEntity.post("/starter.diff").contentType(MediaType.APPLICATION_JSON).body(diff), String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isNull();
+	}
+
+	@Test
+	void diffOfProjectsIsReturnedAsZipOfChangedFiles() throws IOException {
+		String diff = """
+				{
+					"from": { "type": "maven-project", "baseDir": "demo" },
+					"to": { "type": "gradle-project", "baseDir": "demo" }
+				}""";
+		ResponseEntity<byte[]> response = this.restTemplate.exchange(
+				RequestEntity.post("/starter.diff.zip").contentType(MediaType.APPLICATION_JSON).body(diff),
+				byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		List<String> entries = new ArrayList<>();
+		String changes;
+		try (ZipFile zipFile = ZipFile.builder()
+			.setSeekableByteChannel(new SeekableInMemoryByteChannel(response.getBody()))
+			.get()) {
+			Collections.list(zipFile.getEntries()).forEach((entry) -> entries.add(entry.getName()));
+			changes = new String(zipFile.getInputStream(zipFile.getEntry("changes.txt")).readAllBytes(),
+					StandardCharsets.UTF_8);
+		}
+		assertThat(entries).contains("build.gradle", "gradlew").doesNotContain("pom.xml", "mvnw");
+		assertThat(changes.lines()).contains("A\tbuild.gradle", "D\tpom.xml", "D\tmvnw");
+	}
+
+	@Test
+	void diffWithoutTargetProjectIsRejected() {
+		ResponseEntity<String> response = this.restTemplate.exchange(RequestEntity.post("/starter.diff")
+			.contentType(MediaType.APPLICATION_JSON)
+			.body("{ \"from\": { \"type\": \"maven-project\" } }"), String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void batchWithTooManyProjectsIsRejected() {
+		String batch = "[" + String.join(",", Collections.nCopies(51, "{}")) + "]";
+		ResponseEntity<String> response = this.restTemplate.exchange(
+				RequestEntity.post("/starter.batch.zip").contentType(MediaType.APPLICATION_JSON).body(batch),
+				String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void projectPreviewReturnsTreeOfFiles() {
+		ResponseEntity<JsonNode> response = this.restTemplate
+			.getForEntity("/starter.preview?type=maven-project&baseDir=demo&dependencies=web", JsonNode.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getETag()).isNotNull();
+		JsonNode tree = response.getBody();
+		assertThat(tree.get("selected").asText()).isEqualTo("/demo/pom.xml");
+		JsonNode root = tree.get("root");
+		assertThat(root.get("path").asText()).isEqualTo("/demo");
+		JsonNode pom = null;
+		for (JsonNode child : root.get("children")) {
+			if (child.get("path").asText().equals("/demo/pom.xml")) {
+				pom = child;
+			}
+		}
+		assertThat(pom).isNotNull();
+		assertThat(pom.get("type").asText()).isEqualTo("file");
+		assertThat(pom.get("language").asText()).isEqualTo("xml");
+		assertThat(pom.get("size").asLong()).isPositive();
+	}
+
+	@Test
+	void projectPreviewReturnsContentOfFile() {
+		ResponseEntity<String> response = this.restTemplate.getForEntity(
+				"/starter.preview/content?type=maven-project&baseDir=demo&dependencies=web&path=/demo/pom.xml",
+				String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.TEXT_PLAIN)).isTrue();
+		assertThat(response.getBody()).contains("<artifactId>spring-boot-starter-web</artifactId>");
+	}
+
+	@Test
+	void projectPreviewOfUnknownFileIsNotFound() {
+		ResponseEntity<String> response = this.restTemplate.getForEntity(
+				"/starter.preview/content?type=maven-project&baseDir=demo&path=/demo/does-not-exist.txt", String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	private static String getWrapperEntry(List<JsonNode> report, int index) {
+		JsonNode result = report.stream().filter((node) -> node.get("index").asInt() == index).findFirst().get();
+		String wrapper = (index == 0) ? "mvnw" : "gradlew";
+		return result.get("name").asText() + "/" + wrapper;
+	}
+
+	private HttpResponse<byte[]> getMetadata(String path, String acceptEncoding, String ifNoneMatch)
+			throws IOException, InterruptedException {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(this.restTemplate.getRootUri() + path))
+			.header(HttpHeaders.ACCEPT, "application/vnd.initializr.v2.2+json")
+			.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		if (ifNoneMatch != null) {
+			request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		return HttpClient.newHttpClient().send(request.build(), BodyHandlers.ofByteArray());
+	}
+
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.cache.configuration.MutableConfiguration;
+
+import io.spring.start.site.support.CacheableMavenVersionResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link VersionResolverCacheConfiguration}.
+ *
+ * @author Stephane Nicoll
+ */
+class VersionResolverCacheConfigurationTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(CacheAutoConfiguration.class))
+		.withUserConfiguration(CacheConfiguration.class, VersionResolverCacheConfiguration.class);
+
+	@Test
+	void jCacheManagerCustomizersAreApplied() {
+		this.contextRunner
+			.withBean(JCacheManagerCustomizer.class,
+					() -> (cacheManager) -> cacheManager.createCache("test", new MutableConfiguration<>()))
+			.run((context) -> assertThat(context.getBean(CacheManager.class).getCacheNames())
+				.contains(CacheableMavenVersionResolver.CACHE_NAME, "test"));
+	}
+
+	@Test
+	void versionResolverCacheWithoutDirectoryDoesNotSurviveRestart() {
+		this.contextRunner.run((context) -> getVersionResolverCache(context.getBean(CacheManager.class))
+			.put("dependencies-com.example:bom:1.0.0", new HashMap<>(Map.of("com.example:one", "1.0"))));
+		this.contextRunner.run((context) -> assertThat(
+				getVersionResolverCache(context.getBean(CacheManager.class)).get("dependencies-com.example:bom:1.0.0"))
+			.isNull());
+	}
+
+	@Test
+	void versionResolverCacheWithDirectorySurvivesRestart(@TempDir Path directory) {
+		ApplicationContextRunner contextRunner = this.contextRunner
+			.withPropertyValues("application.maven-version-resolver.version-cache.persistence-directory=" + directory);
+		contextRunner.run((context) -> getVersionResolverCache(context.getBean(CacheManager.class))
+			.put("dependencies-com.example:bom:1.0.0", new HashMap<>(Map.of("com.example:one", "1.0"))));
+		contextRunner.run((context) -> {
+			ValueWrapper valueWrapper = getVersionResolverCache(context.getBean(CacheManager.class))
+				.get("dependencies-com.example:bom:1.0.0");
+			assertThat(valueWrapper).isNotNull();
+			assertThat(valueWrapper.get()).isEqualTo(Map.of("com.example:one", "1.0"));
+		});
+	}
+
+	private Cache getVersionResolverCache(CacheManager cacheManager) {
+		Cache cache = cacheManager.getCache(CacheableMavenVersionResolver.CACHE_NAME);
+		assertThat(cache).isNotNull();
+		return cache;
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableCaching
+	@EnableConfigurationProperties(StartConfigurationProperties.class)
+	static class CacheConfiguration {
+
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.List;
+import java.util.Map;
+
+import com.samskivert.mustache.Template;
+import io.spring.initializr.generator.io.template.MustacheTemplateRenderer;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PrecompiledTemplateCache}.
+ *
+ * @author Stephane Nicoll
+ */
+class PrecompiledTemplateCacheTests {
+
+	private static final String LOCATION = "classpath:/templates";
+
+	private final PathMatchingResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+	@Test
+	void precompileCompilesAllTemplatesAtLocation() {
+		PrecompiledTemplateCache cache = PrecompiledTemplateCache.precompile(LOCATION, this.resourceResolver);
+		assertThat(cache.getNativeCache()).containsKeys("classpath:/templates/okta",
+				"classpath:/templates/documentation/warnings");
+		assertThat(cache.getNativeCache().values())
+			.allSatisfy((template) -> assertThat(template).isInstanceOf(Template.class));
+	}
+
+	@Test
+	void precompileWithTrailingSlashUsesSameKeys() {
+		PrecompiledTemplateCache cache = PrecompiledTemplateCache.precompile(LOCATION + "/", this.resourceResolver);
+		assertThat(cache.getNativeCache()).containsKey("classpath:/templates/okta");
+	}
+
+	@Test
+	void renderUsesPrecompiledTemplate() {
+		PrecompiledTemplateCache cache = PrecompiledTemplateCache.precompile(LOCATION, this.resourceResolver);
+		int size = cache.getNativeCache().size();
+		Template template = cache.get("classpath:/templates/documentation/warnings", () -> {
+			throw new AssertionError("Template should not be compiled");
+		});
+		assertThat(template).isNotNull();
+		MustacheTemplateRenderer renderer = new MustacheTemplateRenderer(LOCATION, cache);
+		assertThat(renderer.render("documentation/warnings", Map.of("items", List.of("one", "two")))).contains("* one",
+				"* two");
+		assertThat(cache.getNativeCache()).hasSize(size);
+	}
+
+	@Test
+	void precompileWithInvalidTemplateFails() {
+		assertThatIllegalStateException()
+			.isThrownBy(
+					() -> PrecompiledTemplateCache.precompile("classpath:/templates-invalid", this.resourceResolver))
+			.withMessageContaining("unclosed-section");
+	}
+
+	@Test
+	void precompileWithNoTemplateFails() {
+		assertThatIllegalStateException()
+			.isThrownBy(() -> PrecompiledTemplateCache.precompile("classpath:/does-not-exist", this.resourceResolver))
+			.withMessageContaining("No template found");
+	}
+
+	@Test
+	void precompileWithNonClasspathLocationFails() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> PrecompiledTemplateCache.precompile("file:/templates", this.resourceResolver));
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PrecompressedWrapperEntries}.
+ *
+ * @author Stephane Nicoll
+ */
+class PrecompressedWrapperEntriesTests {
+
+	@TempDir
+	private Path directory;
+
+	private final PrecompressedWrapperEntries entries = new PrecompressedWrapperEntries();
+
+	@Test
+	void isWrapperFileMatchesWrapperScripts() {
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/mvnw"))).isTrue();
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/mvnw.cmd"))).isTrue();
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/gradlew"))).isTrue();
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/gradlew.bat"))).isTrue();
+	}
+
+	@Test
+	void isWrapperFileMatchesFilesInWrapperDirectories() {
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/.mvn/wrapper/maven-wrapper.properties")))
+			.isTrue();
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/gradle/wrapper/gradle-wrapper.jar")))
+			.isTrue();
+	}
+
+	@Test
+	void isWrapperFileDoesNotMatchOtherFiles() {
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/pom.xml"))).isFalse();
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/gradle/libs.versions.toml"))).isFalse();
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("demo/src/wrapper/Wrapper.java"))).isFalse();
+		assertThat(PrecompressedWrapperEntries.isWrapperFile(Path.of("wrapper/file"))).isFalse();
+	}
+
+	@Test
+	void writeWithSameContentReusesCompressedEntry() throws IOException {
+		byte[] content = randomContent(42);
+		Path first = writeFile("first/gradle-wrapper.jar", content);
+		Path second = writeFile("second/gradle-wrapper.jar", content);
+		assertThat(readBack(first)).isEqualTo(content);
+		assertThat(readBack(second)).isEqualTo(content);
+		assertThat(this.entries.size()).isOne();
+	}
+
+	@Test
+	void writeWithDifferentContentCompressesEachVersion() throws IOException {
+		byte[] firstContent = randomContent(1);
+		byte[] secondContent = randomContent(2);
+		Path first = writeFile("first/gradle-wrapper.jar", firstContent);
+		Path second = writeFile("second/gradle-wrapper.jar", secondContent);
+		assertThat(readBack(first)).isEqualTo(firstContent);
+		assertThat(readBack(second)).isEqualTo(secondContent);
+		assertThat(this.entries.size()).isEqualTo(2);
+	}
+
+	@Test
+	void writeDoesNotCacheMoreThanMaxEntries() throws IOException {
+		for (int i = 0; i < PrecompressedWrapperEntries.MAX_ENTRIES + 1; i++) {
+			byte[] content = randomContent(i);
+			assertThat(readBack(writeFile(i + "/mvnw", content))).isEqualTo(content);
+		}
+		assertThat(this.entries.size()).isEqualTo(PrecompressedWrapperEntries.MAX_ENTRIES);
+	}
+
+	private Path writeFile(String name, byte[] content) throws IOException {
+		Path file = this.directory.resolve(name);
+		Files.createDirectories(file.getParent());
+		return Files.write(file, content);
+	}
+
+	private byte[] readBack(Path file) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ZipArchiveOutputStream archive = new ZipArchiveOutputStream(out)) {
+			ZipArchiveEntry entry = new ZipArchiveEntry("entry");
+			entry.setUnixMode(0100755);
+			this.entries.write(archive, entry, file);
+			archive.finish();
+		}
+		try (ZipFile zipFile = ZipFile.builder()
+			.setSeekableByteChannel(new SeekableInMemoryByteChannel(out.toByteArray()))
+			.get()) {
+			ZipArchiveEntry entry = zipFile.getEntry("entry");
+			assertThat(entry.getUnixMode()).isEqualTo(0100755);
+			try (InputStream in = zipFile.getInputStream(entry)) {
+				return in.readAllBytes();
+			}
+		}
+	}
+
+	private static byte[] randomContent(long seed) {
+		byte[] content = new byte[16 * 1024];
+		Random random = new Random(seed);
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) ('a' + random.nextInt(4));
+		}
+		return content;
+	}
+
+}
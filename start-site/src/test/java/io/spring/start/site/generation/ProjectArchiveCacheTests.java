@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import io.spring.initializr.generator.buildsystem.Dependency;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.packaging.jar.JarPackaging;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.version.Version;
+import io.spring.start.site.support.InitializrMetadataChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectArchiveCache}.
+ *
+ * @author Stephane Nicoll
+ */
+class ProjectArchiveCacheTests {
+
+	@Test
+	void keyIsIndependentOfDependenciesOrder() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(1024);
+		assertThat(cache.getKey(createDescription("web", "actuator"), "zip"))
+			.isEqualTo(cache.getKey(createDescription("actuator", "web"), "zip"));
+	}
+
+	@Test
+	void keyDependsOnFormat() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(1024);
+		MutableProjectDescription description = createDescription("web");
+		assertThat(cache.getKey(description, "zip")).isNotEqualTo(cache.getKey(description, "tar.gz"));
+	}
+
+	@Test
+	void keyDependsOnDependencies() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(1024);
+		assertThat(cache.getKey(createDescription("web"), "zip"))
+			.isNotEqualTo(cache.getKey(createDescription("web", "actuator"), "zip"));
+	}
+
+	@Test
+	void keyDistinguishesFieldsWithEmbeddedLineBreak() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(1024);
+		MutableProjectDescription first = createDescription("web");
+		first.setName("demo\ndescription=Demo");
+		first.setDescription("project");
+		MutableProjectDescription second = createDescription("web");
+		second.setName("demo");
+		second.setDescription("Demo\ndescription=project");
+		assertThat(cache.getKey(first, "zip")).isNotEqualTo(cache.getKey(second, "zip"));
+	}
+
+	@Test
+	void keyDependsOnBuildSystem() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(1024);
+		MutableProjectDescription gradle = createDescription("web");
+		gradle.setBuildSystem(new GradleBuildSystem());
+		assertThat(cache.getKey(createDescription("web"), "zip")).isNotEqualTo(cache.getKey(gradle, "zip"));
+	}
+
+	@Test
+	void getReturnsCachedArchive() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(1024);
+		String key = cache.getKey(createDescription("web"), "zip");
+		cache.put(key, new byte[] { 1, 2, 3 });
+		assertThat(cache.get(key)).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void leastRecentlyUsedArchivesAreEvictedWhenSizeIsExceeded() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(10);
+		cache.put("one", new byte[4]);
+		cache.put("two", new byte[4]);
+		cache.get("one");
+		cache.put("three", new byte[4]);
+		assertThat(cache.get("one")).isNotNull();
+		assertThat(cache.get("two")).isNull();
+		assertThat(cache.get("three")).isNotNull();
+		assertThat(cache.size()).isEqualTo(8);
+	}
+
+	@Test
+	void archiveLargerThanCacheIsIgnored() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(10);
+		cache.put("one", new byte[4]);
+		cache.put("two", new byte[12]);
+		assertThat(cache.get("one")).isNotNull();
+		assertThat(cache.get("two")).isNull();
+	}
+
+	@Test
+	void captureWritesArchiveAndCachesIt() throws IOException {
+		ProjectArchiveCache cache = new ProjectArchiveCache(10);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ProjectArchiveCache.Capture capture = cache.capture("one", out);
+		capture.write(1);
+		capture.write(new byte[] { 2, 3, 4 }, 1, 2);
+		capture.cache();
+		assertThat(out.toByteArray()).containsExactly(1, 3, 4);
+		assertThat(cache.get("one")).containsExactly(1, 3, 4);
+	}
+
+	@Test
+	void captureOfArchiveLargerThanCacheWritesArchiveWithoutCachingIt() throws IOException {
+		ProjectArchiveCache cache = new ProjectArchiveCache(10);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ProjectArchiveCache.Capture capture = cache.capture("one", out);
+		capture.write(new byte[8]);
+		capture.write(new byte[8]);
+		capture.cache();
+		assertThat(out.toByteArray()).hasSize(16);
+		assertThat(cache.get("one")).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void metadataChangedEventClearsCacheAndInvalidatesKeys() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(1024);
+		MutableProjectDescription description = createDescription("web");
+		String key = cache.getKey(description, "zip");
+		cache.put(key, new byte[] { 1, 2, 3 });
+		cache.onApplicationEvent(new InitializrMetadataChangedEvent(this));
+		assertThat(cache.get(key)).isNull();
+		assertThat(cache.size()).isZero();
+		assertThat(cache.getKey(description, "zip")).isNotEqualTo(key);
+	}
+
+	private MutableProjectDescription createDescription(String... dependencies) {
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage("17"));
+		description.setPackaging(new JarPackaging());
+		description.setPlatformVersion(Version.parse("3.5.0"));
+		description.setGroupId("com.example");
+		description.setArtifactId("demo");
+		for (String dependency : dependencies) {
+			description.addDependency(dependency, Dependency.withCoordinates("com.example", dependency));
+		}
+		return description;
+	}
+
+}
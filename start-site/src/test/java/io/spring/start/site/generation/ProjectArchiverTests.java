@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectArchiver}.
+ *
+ * @author Stephane Nicoll
+ */
+class ProjectArchiverTests {
+
+	@TempDir
+	private Path rootDirectory;
+
+	private final ProjectArchiver archiver = new ProjectArchiver();
+
+	private MutableProjectDescription description;
+
+	@BeforeEach
+	void createProject() throws IOException {
+		this.description = new MutableProjectDescription();
+		this.description.setBaseDirectory("demo");
+		Path project = Files.createDirectories(this.rootDirectory.resolve("demo/src/main"));
+		Files.writeString(project.resolve("Application.java"), "class Application {}");
+		Files.writeString(this.rootDirectory.resolve("demo/mvnw"), "#!/bin/sh");
+		Files.writeString(this.rootDirectory.resolve("demo/gradlew"), "#!/bin/sh");
+	}
+
+	@Test
+	void zipUsesRelativeEntryNamesAndUnixModes() throws IOException {
+		this.description.setBuildSystem(new MavenBuildSystem());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.archiver.zip(this.description, this.rootDirectory, out);
+		Map<String, Integer> entries = new LinkedHashMap<>();
+		Map<String, String> contents = new LinkedHashMap<>();
+		try (ZipFile zipFile = ZipFile.builder()
+			.setSeekableByteChannel(new SeekableInMemoryByteChannel(out.toByteArray()))
+			.get()) {
+			for (ZipArchiveEntry entry : Collections.list(zipFile.getEntriesInPhysicalOrder())) {
+				entries.put(entry.getName(), entry.getUnixMode());
+				try (InputStream in = zipFile.getInputStream(entry)) {
+					contents.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+				}
+			}
+		}
+		assertThat(entries).containsExactly(Map.entry("demo/", 040755), Map.entry("demo/gradlew", 0100644),
+				Map.entry("demo/mvnw", 0100755), Map.entry("demo/src/", 040755), Map.entry("demo/src/main/", 040755),
+				Map.entry("demo/src/main/Application.java", 0100644));
+		assertThat(contents).containsEntry("demo/src/main/Application.java", "class Application {}");
+	}
+
+	@Test
+	void zipWritesWrapperFilesThatCanBeReadAsAStream() throws IOException {
+		assertWrapperFilesCanBeReadAsAStream(this.archiver);
+	}
+
+	@Test
+	void zipWithoutPrecompressedWrapperFilesWritesWrapperFilesThatCanBeReadAsAStream() throws IOException {
+		assertWrapperFilesCanBeReadAsAStream(new ProjectArchiver(false));
+	}
+
+	@Test
+	void tgzUsesRelativeEntryNamesAndUnixModes() throws IOException {
+		this.description.setBuildSystem(new GradleBuildSystem());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.archiver.tgz(this.description, this.rootDirectory, out);
+		Map<String, Integer> entries = new LinkedHashMap<>();
+		Map<String, String> contents = new LinkedHashMap<>();
+		try (TarArchiveInputStream in = new TarArchiveInputStream(
+				new GzipCompressorInputStream(new ByteArrayInputStream(out.toByteArray())))) {
+			TarArchiveEntry entry;
+			while ((entry = in.getNextEntry()) != null) {
+				entries.put(entry.getName(), entry.getMode());
+				contents.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+		assertThat(entries).containsExactly(Map.entry("demo/", 040755), Map.entry("demo/gradlew", 0100755),
+				Map.entry("demo/mvnw", 0100644), Map.entry("demo/src/", 040755), Map.entry("demo/src/main/", 040755),
+				Map.entry("demo/src/main/Application.java", 0100644));
+		assertThat(contents).containsEntry("demo/gradlew", "#!/bin/sh");
+	}
+
+	private void assertWrapperFilesCanBeReadAsAStream(ProjectArchiver archiver) throws IOException {
+		Path wrapper = Files.createDirectories(this.rootDirectory.resolve("demo/.mvn/wrapper"));
+		Files.writeString(wrapper.resolve("maven-wrapper.properties"), "distributionType=only-script");
+		this.description.setBuildSystem(new MavenBuildSystem());
+		for (int i = 0; i < 2; i++) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			archiver.zip(this.description, this.rootDirectory, out);
+			Map<String, String> contents = new LinkedHashMap<>();
+			try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+				ZipEntry entry;
+				while ((entry = in.getNextEntry()) != null) {
+					contents.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+				}
+			}
+			assertThat(contents).containsEntry("demo/.mvn/wrapper/maven-wrapper.properties",
+					"distributionType=only-script");
+			assertThat(contents).containsEntry("demo/mvnw", "#!/bin/sh");
+			assertThat(contents).containsEntry("demo/src/main/Application.java", "class Application {}");
+		}
+	}
+
+}
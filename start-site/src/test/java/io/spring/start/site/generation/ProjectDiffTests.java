@@ -0,0 +1,249 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.spring.initializr.generator.buildsystem.BuildSystem;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.start.site.generation.ProjectDiff.ChangeType;
+import io.spring.start.site.generation.ProjectDiff.FileChange;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectDiff}.
+ *
+ * @author Stephane Nicoll
+ */
+class ProjectDiffTests {
+
+	@TempDir
+	Path directory;
+
+	private Path from;
+
+	private Path to;
+
+	private MutableProjectDescription fromDescription;
+
+	private MutableProjectDescription toDescription;
+
+	@BeforeEach
+	void createProjects() throws IOException {
+		this.from = Files.createDirectories(this.directory.resolve("from"));
+		this.to = Files.createDirectories(this.directory.resolve("to"));
+		this.fromDescription = createDescription(new MavenBuildSystem());
+		this.toDescription = createDescription(new MavenBuildSystem());
+	}
+
+	@Test
+	void betweenIdenticalProjectsHasNoChange() throws IOException {
+		write(this.from, "pom.xml", "<project/>\n");
+		write(this.to, "pom.xml", "<project/>\n");
+		assertThat(between().getChanges()).isEmpty();
+	}
+
+	@Test
+	void betweenProjectsListsChangesOrderedByPath() throws IOException {
+		write(this.from, "src/main/resources/application.properties", "spring.application.name=demo\n");
+		write(this.from, "pom.xml", "<project/>\n");
+		write(this.from, "HELP.md", "# Help\n");
+		write(this.to, "build.gradle", "plugins {}\n");
+		write(this.to, "src/main/resources/application.properties", "spring.application.name=test\n");
+		write(this.to, "HELP.md", "# Help\n");
+		List<FileChange> changes = between().getChanges();
+		assertThat(changes).extracting(FileChange::path)
+			.containsExactly("build.gradle", "pom.xml", "src/main/resources/application.properties");
+		assertThat(changes).extracting(FileChange::type)
+			.containsExactly(ChangeType.ADDED, ChangeType.DELETED, ChangeType.MODIFIED);
+	}
+
+	@Test
+	void writeUnifiedDiffWithModifiedFile() throws IOException {
+		write(this.from, "test.txt", "1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n11\n12\n13\n14\n15\n16\n");
+		write(this.to, "test.txt", "1\n2\nthree\n4\n5\n6\n7\n8\n9\n10\n11\n12\n13\n14\n16\nseventeen\n");
+		assertThat(writeUnifiedDiff()).isEqualTo("""
+				diff --git a/test.txt b/test.txt
+				--- a/test.txt
+				+++ b/test.txt
+				@@ -1,6 +1,6 @@
+				 1
+				 2
+				-3
+				+three
+				 4
+				 5
+				 6
+				@@ -12,5 +12,5 @@
+				 12
+				 13
+				 14
+				-15
+				 16
+				+seventeen
+				""");
+	}
+
+	@Test
+	void writeUnifiedDiffWithAddedAndDeletedFiles() throws IOException {
+		write(this.from, "a.txt", "first\nsecond\n");
+		write(this.to, "b.txt", "third");
+		assertThat(writeUnifiedDiff()).isEqualTo("""
+				diff --git a/a.txt b/a.txt
+				deleted file mode 100644
+				--- a/a.txt
+				+++ /dev/null
+				@@ -1,2 +0,0 @@
+				-first
+				-second
+				diff --git a/b.txt b/b.txt
+				new file mode 100644
+				--- /dev/null
+				+++ b/b.txt
+				@@ -0,0 +1,1 @@
+				+third
+				\\ No newline at end of file
+				""");
+	}
+
+	@Test
+	void writeUnifiedDiffWithWrapperScriptsUsesExecutableMode() throws IOException {
+		this.toDescription = createDescription(new GradleBuildSystem());
+		write(this.from, "mvnw", "maven\n");
+		write(this.to, "gradlew", "gradle\n");
+		assertThat(writeUnifiedDiff()).isEqualTo("""
+				diff --git a/gradlew b/gradlew
+				new file mode 100755
+				--- /dev/null
+				+++ b/gradlew
+				@@ -0,0 +1,1 @@
+				+gradle
+				diff --git a/mvnw b/mvnw
+				deleted file mode 100755
+				--- a/mvnw
+				+++ /dev/null
+				@@ -1,1 +0,0 @@
+				-maven
+				""");
+	}
+
+	@Test
+	void writeUnifiedDiffWithModeChangeOnly() throws IOException {
+		this.toDescription = createDescription(new GradleBuildSystem());
+		write(this.from, "mvnw", "script\n");
+		write(this.to, "mvnw", "script\n");
+		List<FileChange> changes = between().getChanges();
+		assertThat(changes).singleElement().satisfies((change) -> {
+			assertThat(change.type()).isEqualTo(ChangeType.MODIFIED);
+			assertThat(change.fromMode()).isEqualTo(0100755);
+			assertThat(change.toMode()).isEqualTo(0100644);
+		});
+		assertThat(writeUnifiedDiff()).isEqualTo("""
+				diff --git a/mvnw b/mvnw
+				old mode 100755
+				new mode 100644
+				""");
+	}
+
+	@Test
+	void writeUnifiedDiffWithBinaryFile() throws IOException {
+		Files.write(this.from.resolve("wrapper.jar"), new byte[] { 1, 0, 2 });
+		Files.write(this.to.resolve("wrapper.jar"), new byte[] { 1, 0, 3 });
+		assertThat(writeUnifiedDiff()).isEqualTo("""
+				diff --git a/wrapper.jar b/wrapper.jar
+				Binary files a/wrapper.jar and b/wrapper.jar differ
+				""");
+	}
+
+	@Test
+	void writeZipContainsAddedAndModifiedFilesAndChanges() throws IOException {
+		write(this.from, "pom.xml", "<project/>\n");
+		write(this.from, "HELP.md", "# Help\n");
+		write(this.to, "build.gradle", "plugins {}\n");
+		write(this.to, "HELP.md", "# Getting Started\n");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		between().writeZip(out);
+		List<String> entries = new ArrayList<>();
+		String changes;
+		try (ZipFile zipFile = ZipFile.builder()
+			.setSeekableByteChannel(new SeekableInMemoryByteChannel(out.toByteArray()))
+			.get()) {
+			Collections.list(zipFile.getEntries()).forEach((entry) -> entries.add(entry.getName()));
+			changes = new String(zipFile.getInputStream(zipFile.getEntry(ProjectDiff.CHANGES_NAME)).readAllBytes(),
+					StandardCharsets.UTF_8);
+		}
+		assertThat(entries).containsExactly("HELP.md", "build.gradle", ProjectDiff.CHANGES_NAME);
+		assertThat(changes).isEqualTo("M\tHELP.md\nA\tbuild.gradle\nD\tpom.xml\n");
+	}
+
+	@Test
+	void writeZipUsesExecutableModeForWrapperScript() throws IOException {
+		this.toDescription = createDescription(new GradleBuildSystem());
+		write(this.from, "mvnw", "maven\n");
+		write(this.to, "gradlew", "gradle\n");
+		write(this.to, "build.gradle", "plugins {}\n");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		between().writeZip(out);
+		try (ZipFile zipFile = ZipFile.builder()
+			.setSeekableByteChannel(new SeekableInMemoryByteChannel(out.toByteArray()))
+			.get()) {
+			ZipArchiveEntry gradlew = zipFile.getEntry("gradlew");
+			assertThat(gradlew.getUnixMode()).isEqualTo(0100755);
+			ZipArchiveEntry buildGradle = zipFile.getEntry("build.gradle");
+			assertThat(buildGradle.getUnixMode()).isEqualTo(0100644);
+		}
+	}
+
+	private ProjectDiff between() throws IOException {
+		return ProjectDiff.between(this.fromDescription, this.from, this.toDescription, this.to);
+	}
+
+	private String writeUnifiedDiff() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		between().writeUnifiedDiff(out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static MutableProjectDescription createDescription(BuildSystem buildSystem) {
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setBuildSystem(buildSystem);
+		return description;
+	}
+
+	private static void write(Path directory, String path, String content) throws IOException {
+		Path file = directory.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.project.JavaVersionProjectDescriptionCustomizer;
+import io.spring.start.testsupport.TemporaryFiles;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectGenerationMetrics}.
+ *
+ * @author Stephane Nicoll
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectGenerationMetricsTests {
+
+	private final StreamingProjectGenerationInvoker<ProjectRequest> invoker;
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final MeterRegistry meterRegistry;
+
+	ProjectGenerationMetricsTests(@Autowired ApplicationContext applicationContext,
+			@Autowired InitializrMetadataProvider metadataProvider, @Autowired MeterRegistry meterRegistry)
+			throws IOException {
+		this.invoker = new StreamingProjectGenerationInvoker<>(applicationContext,
+				new DefaultProjectRequestToDescriptionConverter(),
+				TemporaryFiles.newTemporaryDirectory("ProjectGenerationMetricsTests"));
+		this.metadataProvider = metadataProvider;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Test
+	void projectGenerationIsTimed() {
+		ProjectGenerationResult result = generateProject();
+		this.invoker.cleanTempFiles(result.getRootDirectory());
+		assertThat(this.meterRegistry.get("start.generation.context.refresh")
+			.tag("build.system", "maven")
+			.tag("language", "java")
+			.timer()
+			.count()).isPositive();
+		assertThat(this.meterRegistry.get("start.generation.description.customizers")
+			.tag("component", JavaVersionProjectDescriptionCustomizer.class.getName())
+			.timer()
+			.count()).isPositive();
+		assertThat(this.meterRegistry.get("start.generation.contributors")
+			.tag("build.system", "maven")
+			.tag("language", "java")
+			.timers()).isNotEmpty();
+		for (String type : List.of("BuildCustomizer", "HelpDocumentCustomizer", "ComposeFileCustomizer",
+				"ServiceConnectionsCustomizer")) {
+			assertThat(this.meterRegistry.get("start.generation.customizers")
+				.tag("type", type)
+				.tag("build.system", "maven")
+				.timers()).isNotEmpty();
+		}
+	}
+
+	@Test
+	void lambdaComponentIsTaggedWithDeclaringClass() {
+		Runnable component = () -> {
+		};
+		assertThat(ProjectGenerationMetrics.getComponentName(component)).isEqualTo(getClass().getName());
+	}
+
+	@Test
+	void projectIsGeneratedWithTimedComponents() {
+		ProjectGenerationResult result = generateProject();
+		try {
+			assertThat(result.getRootDirectory().resolve("pom.xml")).content()
+				.contains("<artifactId>spring-boot-starter-web</artifactId>");
+			assertThat(result.getRootDirectory().resolve("compose.yaml")).content().contains("postgres");
+		}
+		finally {
+			this.invoker.cleanTempFiles(result.getRootDirectory());
+		}
+	}
+
+	private ProjectGenerationResult generateProject() {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(this.metadataProvider.get());
+		request.setType("maven-project");
+		request.setLanguage("java");
+		request.setDependencies(List.of("web", "docker-compose", "testcontainers", "postgresql"));
+		return this.invoker.invokeProjectStructureGeneration(request);
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.Set;
+
+import io.spring.initializr.generator.buildsystem.Dependency;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.packaging.jar.JarPackaging;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.version.Version;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectGenerationPlanCache}.
+ *
+ * @author Stephane Nicoll
+ */
+class ProjectGenerationPlanCacheTests {
+
+	@Test
+	void planIsSharedWithSameFacets() {
+		ProjectGenerationPlanCache planCache = new ProjectGenerationPlanCache(10);
+		planCache.recordSkippedCandidates(createDescription("demo", "web"), Set.of("com.example.One"));
+		MutableProjectDescription description = createDescription("another", "web");
+		description.setPackageName("org.acme");
+		assertThat(planCache.getSkippedCandidates(description)).containsOnly("com.example.One");
+	}
+
+	@Test
+	void planIsNotSharedWithDifferentDependencies() {
+		ProjectGenerationPlanCache planCache = new ProjectGenerationPlanCache(10);
+		planCache.recordSkippedCandidates(createDescription("demo", "web"), Set.of("com.example.One"));
+		assertThat(planCache.getSkippedCandidates(createDescription("demo", "web", "data-jpa"))).isNull();
+	}
+
+	@Test
+	void planIsNotSharedWithDifferentBuildSystem() {
+		ProjectGenerationPlanCache planCache = new ProjectGenerationPlanCache(10);
+		planCache.recordSkippedCandidates(createDescription("demo", "web"), Set.of("com.example.One"));
+		MutableProjectDescription description = createDescription("demo", "web");
+		description.setBuildSystem(new GradleBuildSystem());
+		assertThat(planCache.getSkippedCandidates(description)).isNull();
+	}
+
+	@Test
+	void planIsNotSharedWithDifferentPlatformVersion() {
+		ProjectGenerationPlanCache planCache = new ProjectGenerationPlanCache(10);
+		planCache.recordSkippedCandidates(createDescription("demo", "web"), Set.of("com.example.One"));
+		MutableProjectDescription description = createDescription("demo", "web");
+		description.setPlatformVersion(Version.parse("3.4.0"));
+		assertThat(planCache.getSkippedCandidates(description)).isNull();
+	}
+
+	@Test
+	void leastRecentlyUsedPlanIsEvicted() {
+		ProjectGenerationPlanCache planCache = new ProjectGenerationPlanCache(2);
+		planCache.recordSkippedCandidates(createDescription("demo", "web"), Set.of("com.example.One"));
+		planCache.recordSkippedCandidates(createDescription("demo", "actuator"), Set.of("com.example.Two"));
+		assertThat(planCache.getSkippedCandidates(createDescription("demo", "web"))).isNotNull();
+		planCache.recordSkippedCandidates(createDescription("demo", "data-jpa"), Set.of("com.example.Three"));
+		assertThat(planCache.size()).isEqualTo(2);
+		assertThat(planCache.getSkippedCandidates(createDescription("demo", "web"))).isNotNull();
+		assertThat(planCache.getSkippedCandidates(createDescription("demo", "actuator"))).isNull();
+	}
+
+	private MutableProjectDescription createDescription(String artifactId, String... dependencies) {
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setArtifactId(artifactId);
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage("17"));
+		description.setPackaging(new JarPackaging());
+		description.setPlatformVersion(Version.parse("3.5.0"));
+		for (String dependency : dependencies) {
+			description.addDependency(dependency, Dependency.withCoordinates("com.example", dependency));
+		}
+		return description;
+	}
+
+}
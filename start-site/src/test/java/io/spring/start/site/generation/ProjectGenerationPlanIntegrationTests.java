@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link ProjectGenerationPlanPostProcessor}.
+ *
+ * @author Stephane Nicoll
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectGenerationPlanIntegrationTests {
+
+	private final ProjectGenerationInvoker<ProjectRequest> invoker;
+
+	private final ProjectGenerationPlanCache planCache;
+
+	private final InitializrMetadata metadata;
+
+	ProjectGenerationPlanIntegrationTests(@Autowired ApplicationContext applicationContext,
+			@Autowired ProjectGenerationPlanCache planCache, @Autowired InitializrMetadataProvider metadataProvider) {
+		this.invoker = new ProjectGenerationInvoker<>(applicationContext,
+				new DefaultProjectRequestToDescriptionConverter());
+		this.planCache = planCache;
+		this.metadata = metadataProvider.get();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "maven-project:web", "gradle-project:data-jpa,postgresql,testcontainers,docker-compose",
+			"maven-project:graphql,security,oauth2-resource-server,actuator",
+			"gradle-project-kotlin:devtools,lombok,configuration-processor,kafka" })
+	void cachedPlanGeneratesSameProject(String mix) throws IOException {
+		String[] parts = mix.split(":");
+		WebProjectRequest request = createRequest(parts[0], parts[1].split(","));
+		this.planCache.clear();
+		Map<String, byte[]> uncached = generateProject(request);
+		assertThat(this.planCache.size()).isOne();
+		Map<String, byte[]> cached = generateProject(request);
+		assertThat(cached.keySet()).containsExactlyElementsOf(uncached.keySet());
+		uncached.forEach((path, content) -> assertThat(cached.get(path)).describedAs(path).isEqualTo(content));
+	}
+
+	private WebProjectRequest createRequest(String type, String... dependencies) {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(this.metadata);
+		request.setType(type);
+		request.setGroupId("com.example");
+		request.setArtifactId("demo");
+		request.setApplicationName("DemoApplication");
+		request.setDependencies(Arrays.asList(dependencies));
+		return request;
+	}
+
+	private Map<String, byte[]> generateProject(ProjectRequest request) throws IOException {
+		Path root = this.invoker.invokeProjectStructureGeneration(request).getRootDirectory();
+		try (Stream<Path> paths = Files.walk(root)) {
+			Map<String, byte[]> files = new LinkedHashMap<>();
+			for (Path path : paths.filter(Files::isRegularFile).sorted().toList()) {
+				files.put(root.relativize(path).toString(), Files.readAllBytes(path));
+			}
+			return files;
+		}
+		finally {
+			this.invoker.cleanTempFiles(root);
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import io.spring.start.site.generation.ProjectPreview.Node;
+import io.spring.start.site.generation.ProjectPreview.Tree;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectPreview}.
+ *
+ * @author Stephane Nicoll
+ */
+class ProjectPreviewTests {
+
+	@Test
+	void treeHasProjectDirectoryAsRoot() throws IOException {
+		Tree tree = ProjectPreview.of(zip(Map.of("demo/pom.xml", "<project/>\n"))).getTree();
+		assertThat(tree.root().type()).isEqualTo("folder");
+		assertThat(tree.root().filename()).isEqualTo("demo");
+		assertThat(tree.root().path()).isEqualTo("/demo");
+		assertThat(tree.root().children()).singleElement().satisfies((node) -> {
+			assertThat(node.type()).isEqualTo("file");
+			assertThat(node.filename()).isEqualTo("pom.xml");
+			assertThat(node.path()).isEqualTo("/demo/pom.xml");
+			assertThat(node.size()).isEqualTo(11);
+			assertThat(node.language()).isEqualTo("xml");
+			assertThat(node.children()).isNull();
+		});
+	}
+
+	@Test
+	void treeSortsChildrenByPath() throws IOException {
+		Tree tree = ProjectPreview.of(zip(Map.of("demo/mvnw", "#!/bin/sh\n", "demo/HELP.md", "# Help\n",
+				"demo/src/main/java/Demo.java", "class Demo {}\n")))
+			.getTree();
+		assertThat(tree.root().children()).extracting(Node::path)
+			.containsExactly("/demo/HELP.md", "/demo/mvnw", "/demo/src");
+		Node src = tree.root().children().get(2);
+		assertThat(src.children()).singleElement()
+			.satisfies((main) -> assertThat(main.path()).isEqualTo("/demo/src/main"));
+	}
+
+	@Test
+	void treeDetectsLanguageFromExtension() throws IOException {
+		Tree tree = ProjectPreview
+			.of(zip(Map.of("demo/build.gradle.kts", "plugins {}\n", "demo/HELP.md", "# Help\n", "demo/mvnw",
+					"#!/bin/sh\n")))
+			.getTree();
+		assertThat(tree.root().children()).extracting(Node::language).containsExactly("markdown", "kotlin", null);
+	}
+
+	@Test
+	void treeSelectsBuildFile() throws IOException {
+		Tree tree = ProjectPreview.of(zip(Map.of("demo/HELP.md", "# Help\n", "demo/build.gradle", "plugins {}\n")))
+			.getTree();
+		assertThat(tree.selected()).isEqualTo("/demo/build.gradle");
+	}
+
+	@Test
+	void treeWithoutBuildFileHasNoSelection() throws IOException {
+		Tree tree = ProjectPreview.of(zip(Map.of("demo/HELP.md", "# Help\n"))).getTree();
+		assertThat(tree.selected()).isNull();
+	}
+
+	@Test
+	void getContentReturnsContentOfFile() throws IOException {
+		ProjectPreview preview = ProjectPreview.of(zip(Map.of("demo/pom.xml", "<project/>\n")));
+		assertThat(preview.getContent("/demo/pom.xml")).asString(StandardCharsets.UTF_8).isEqualTo("<project/>\n");
+	}
+
+	@Test
+	void getContentOfUnknownFileReturnsNull() throws IOException {
+		ProjectPreview preview = ProjectPreview.of(zip(Map.of("demo/pom.xml", "<project/>\n")));
+		assertThat(preview.getContent("/demo/build.gradle")).isNull();
+		assertThat(preview.getContent("/demo")).isNull();
+	}
+
+	@Test
+	void isBinaryDetectsNulByte() {
+		assertThat(ProjectPreview.isBinary(new byte[] { 'P', 'K', 0, 3 })).isTrue();
+		assertThat(ProjectPreview.isBinary("<project/>".getBytes(StandardCharsets.UTF_8))).isFalse();
+	}
+
+	private static byte[] zip(Map<String, String> files) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(out)) {
+			Set<String> directories = new TreeSet<>();
+			files.keySet().forEach((name) -> {
+				for (int i = name.indexOf('/'); i != -1; i = name.indexOf('/', i + 1)) {
+					directories.add(name.substring(0, i + 1));
+				}
+			});
+			for (String directory : directories) {
+				zip.putArchiveEntry(new ZipArchiveEntry(directory));
+				zip.closeArchiveEntry();
+			}
+			for (Map.Entry<String, String> file : new TreeMap<>(files).entrySet()) {
+				zip.putArchiveEntry(new ZipArchiveEntry(file.getKey()));
+				zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+				zip.closeArchiveEntry();
+			}
+		}
+		return out.toByteArray();
+	}
+
+}
@@ -16,8 +16,18 @@
 
 package io.spring.start.site.support;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
 import io.spring.start.site.SupportedBootVersion;
 import org.junit.jupiter.api.AfterEach;
@@ -31,9 +41,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.Cache;
 import org.springframework.cache.Cache.ValueWrapper;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
 
 /**
  * Tests for {@link CacheableMavenVersionResolver}.
@@ -52,7 +68,7 @@ class CacheableMavenVersionResolverTests {
 	CacheableMavenVersionResolverTests(@Autowired MavenVersionResolver versionResolver,
 			@Autowired CacheManager cacheManager) {
 		this.versionResolver = versionResolver;
-		this.cache = cacheManager.getCache("initializr.metadata");
+		this.cache = cacheManager.getCache(CacheableMavenVersionResolver.CACHE_NAME);
 	}
 
 	@BeforeEach
@@ -83,4 +99,171 @@ class CacheableMavenVersionResolverTests {
 		assertThat(valueWrapper.get()).isInstanceOf(Map.class);
 	}
 
+	@Test
+	void resolutionWithSameResultDoesNotPublishMetadataChangedEvent() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0")).willReturn(Map.of("com.example:one", "1.0"))
+			.willReturn(Map.of("com.example:one", "1.0"));
+		CacheableMavenVersionResolver resolver = new CacheableMavenVersionResolver(delegate, null);
+		List<Object> events = new ArrayList<>();
+		resolver.setApplicationEventPublisher(events::add);
+		resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void resolutionWithDifferentResultPublishesMetadataChangedEvent() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolvePlugins("com.example", "bom", "1.0.0")).willReturn(Map.of("com.example:one", "1.0"))
+			.willReturn(Map.of("com.example:one", "1.1"));
+		CacheableMavenVersionResolver resolver = new CacheableMavenVersionResolver(delegate, null);
+		List<Object> events = new ArrayList<>();
+		resolver.setApplicationEventPublisher(events::add);
+		resolver.resolvePlugins("com.example", "bom", "1.0.0");
+		resolver.resolvePlugins("com.example", "bom", "1.0.0");
+		assertThat(events).singleElement().isInstanceOf(InitializrMetadataChangedEvent.class);
+	}
+
+	@Test
+	void concurrentLookupsOfSameCoordinatesResolveOnce() throws Exception {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		CountDownLatch resolution = new CountDownLatch(1);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0")).willAnswer((invocation) -> {
+			resolution.await();
+			return Map.of("com.example:one", "1.0");
+		});
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		MavenVersionResolver resolver = createCachingResolver(delegate, registry);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Map<String, String>> first = executor
+				.submit(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"));
+			waitForCount(registry, "original", 1);
+			Future<Map<String, String>> second = executor
+				.submit(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"));
+			waitForCount(registry, "coalesced", 1);
+			resolution.countDown();
+			assertThat(first.get(5, TimeUnit.SECONDS)).containsEntry("com.example:one", "1.0");
+			assertThat(second.get(5, TimeUnit.SECONDS)).containsEntry("com.example:one", "1.0");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		then(delegate).should().resolveDependencies("com.example", "bom", "1.0.0");
+		assertThat(getCount(registry, "original")).isOne();
+		assertThat(getCount(registry, "hit")).isZero();
+	}
+
+	@Test
+	void coalescedLookupsReceiveFailureOfResolution() throws Exception {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		CountDownLatch resolution = new CountDownLatch(1);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0")).willAnswer((invocation) -> {
+			resolution.await();
+			throw new IllegalStateException("Test");
+		});
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		MavenVersionResolver resolver = createCachingResolver(delegate, registry);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Map<String, String>> first = executor
+				.submit(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"));
+			waitForCount(registry, "original", 1);
+			Future<Map<String, String>> second = executor
+				.submit(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"));
+			waitForCount(registry, "coalesced", 1);
+			resolution.countDown();
+			assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+				.withCauseInstanceOf(IllegalStateException.class);
+			assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+				.withCauseInstanceOf(IllegalStateException.class);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		then(delegate).should().resolveDependencies("com.example", "bom", "1.0.0");
+	}
+
+	@Test
+	void sequentialLookupsOfSameCoordinatesAreHits() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolvePlugins("com.example", "bom", "1.0.0")).willReturn(Map.of("com.example:one", "1.0"));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		MavenVersionResolver resolver = createCachingResolver(delegate, registry);
+		resolver.resolvePlugins("com.example", "bom", "1.0.0");
+		resolver.resolvePlugins("com.example", "bom", "1.0.0");
+		then(delegate).should().resolvePlugins("com.example", "bom", "1.0.0");
+		assertThat(getCount(registry, "original")).isOne();
+		assertThat(getCount(registry, "hit")).isOne();
+		assertThat(getCount(registry, "coalesced")).isZero();
+	}
+
+	@Test
+	void metadataChangedEventIsPublishedAfterResultIsCached() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolvePlugins("com.example", "bom", "1.0.0")).willReturn(Map.of("com.example:one", "1.0"))
+			.willReturn(Map.of("com.example:one", "1.1"));
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+				CacheableMavenVersionResolver.CACHE_NAME);
+		CacheableMavenVersionResolver resolver = new CacheableMavenVersionResolver(delegate, cacheManager);
+		List<Object> cachedOnPublication = new ArrayList<>();
+		resolver.setApplicationEventPublisher((event) -> cachedOnPublication.add(cacheManager
+			.getCache(CacheableMavenVersionResolver.CACHE_NAME)
+			.get("plugins-com.example:bom:1.0.0", Map.class)));
+		resolver.resolvePlugins("com.example", "bom", "1.0.0");
+		cacheManager.getCache(CacheableMavenVersionResolver.CACHE_NAME).clear();
+		resolver.resolvePlugins("com.example", "bom", "1.0.0");
+		assertThat(cachedOnPublication).singleElement().isEqualTo(Map.of("com.example:one", "1.1"));
+	}
+
+	@Test
+	void staleResultIsReturnedButNotCached() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0")).willReturn(Map.of("com.example:one", "1.0"))
+			.willReturn(Map.of("com.example:one", "1.1"));
+		ResilientMavenVersionResolver resilientResolver = new ResilientMavenVersionResolver(delegate, Runnable::run,
+				Duration.ofSeconds(5), Duration.ofMinutes(1), Duration.ofDays(1));
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+				CacheableMavenVersionResolver.CACHE_NAME);
+		Cache cache = cacheManager.getCache(CacheableMavenVersionResolver.CACHE_NAME);
+		CacheableMavenVersionResolver resolver = new CacheableMavenVersionResolver(resilientResolver, cacheManager);
+		resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		cache.clear();
+		assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0")).containsEntry("com.example:one", "1.0");
+		assertThat(cache.get("dependencies-com.example:bom:1.0.0")).isNull();
+		assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0")).containsEntry("com.example:one", "1.1");
+		assertThat(cache.get("dependencies-com.example:bom:1.0.0", Map.class)).containsEntry("com.example:one", "1.1");
+	}
+
+	@Test
+	void failedResolutionIsPropagatedAndNotKept() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "bom", "1.0.0")).willThrow(new IllegalStateException("Test"))
+			.willReturn(Map.of("com.example:one", "1.0"));
+		MavenVersionResolver resolver = createCachingResolver(delegate, new SimpleMeterRegistry());
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"))
+			.withMessage("Test");
+		assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0")).containsEntry("com.example:one", "1.0");
+	}
+
+	private MavenVersionResolver createCachingResolver(MavenVersionResolver delegate, SimpleMeterRegistry registry) {
+		CacheableMavenVersionResolver resolver = new CacheableMavenVersionResolver(delegate,
+				new ConcurrentMapCacheManager(CacheableMavenVersionResolver.CACHE_NAME));
+		resolver.bindTo(registry);
+		return resolver;
+	}
+
+	private void waitForCount(SimpleMeterRegistry registry, String result, long count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (getCount(registry, result) < count) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	private double getCount(SimpleMeterRegistry registry, String result) {
+		return registry.get("start.version-resolver.lookups").tag("result", result).functionCounter().count();
+	}
+
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.Dependency;
+import io.spring.initializr.metadata.Dependency.Mapping;
+import io.spring.initializr.metadata.DependencyMetadata;
+import io.spring.initializr.metadata.InitializrMetadata;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DependencyCompatibilityIndex}.
+ *
+ * @author Stephane Nicoll
+ */
+class DependencyCompatibilityIndexTests {
+
+	private final DependencyCompatibilityIndex index = new DependencyCompatibilityIndex();
+
+	@Test
+	void getResolvesCompatibleDependenciesBomsAndRepositories() {
+		InitializrMetadata metadata = createMetadata();
+		DependencyMetadata dependencyMetadata = this.index.get(metadata, Version.parse("3.3.0"));
+		assertThat(dependencyMetadata.getBootVersion()).isEqualTo(Version.parse("3.3.0"));
+		assertThat(dependencyMetadata.getDependencies()).containsOnlyKeys("web", "legacy", "mapped");
+		assertThat(dependencyMetadata.getDependencies().get("mapped").getVersion()).isEqualTo("1.0.0");
+		assertThat(dependencyMetadata.getBoms()).containsOnlyKeys("acme-bom");
+		assertThat(dependencyMetadata.getRepositories()).containsOnlyKeys("acme-repo");
+	}
+
+	@Test
+	void getResolvesMappingsForEachBootVersion() {
+		InitializrMetadata metadata = createMetadata();
+		DependencyMetadata dependencyMetadata = this.index.get(metadata, Version.parse("3.4.0"));
+		assertThat(dependencyMetadata.getDependencies()).containsOnlyKeys("web", "mapped");
+		assertThat(dependencyMetadata.getDependencies().get("mapped").getVersion()).isEqualTo("2.0.0");
+		assertThat(dependencyMetadata.getBoms()).isEmpty();
+		assertThat(dependencyMetadata.getRepositories()).isEmpty();
+	}
+
+	@Test
+	void getWithSameMetadataReusesIndex() {
+		InitializrMetadata metadata = createMetadata();
+		DependencyMetadata dependencyMetadata = this.index.get(metadata, Version.parse("3.3.0"));
+		assertThat(this.index.get(metadata, Version.parse("3.3.0"))).isSameAs(dependencyMetadata);
+	}
+
+	@Test
+	void getWithUnknownBootVersionResolvesOnDemand() {
+		InitializrMetadata metadata = createMetadata();
+		DependencyMetadata dependencyMetadata = this.index.get(metadata, Version.parse("3.3.5"));
+		assertThat(dependencyMetadata.getDependencies()).containsOnlyKeys("web", "legacy", "mapped");
+		assertThat(this.index.get(metadata, Version.parse("3.3.5"))).isNotSameAs(dependencyMetadata);
+	}
+
+	@Test
+	void getAfterMetadataChangedEventRebuildsIndex() {
+		InitializrMetadata metadata = createMetadata();
+		DependencyMetadata dependencyMetadata = this.index.get(metadata, Version.parse("3.3.0"));
+		this.index.onApplicationEvent(new InitializrMetadataChangedEvent(this));
+		assertThat(this.index.get(metadata, Version.parse("3.3.0"))).isNotSameAs(dependencyMetadata);
+	}
+
+	@Test
+	void getConcurrentlyWithSameMetadataBuildsSingleIndex() throws Exception {
+		InitializrMetadata metadata = createMetadata();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<DependencyMetadata>> results = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				results.add(executor.submit(() -> this.index.get(metadata, Version.parse("3.3.0"))));
+			}
+			DependencyMetadata dependencyMetadata = results.get(0).get();
+			for (Future<DependencyMetadata> result : results) {
+				assertThat(result.get()).isSameAs(dependencyMetadata);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void getWithDifferentMetadataRebuildsIndex() {
+		DependencyMetadata dependencyMetadata = this.index.get(createMetadata(), Version.parse("3.3.0"));
+		assertThat(this.index.get(createMetadata(), Version.parse("3.3.0"))).isNotSameAs(dependencyMetadata);
+	}
+
+	@Test
+	void isCompatible() {
+		InitializrMetadata metadata = createMetadata();
+		assertThat(this.index.isCompatible(metadata, "legacy", Version.parse("3.3.0"))).isTrue();
+		assertThat(this.index.isCompatible(metadata, "legacy", Version.parse("3.4.0"))).isFalse();
+		assertThat(this.index.isCompatible(metadata, "web", Version.parse("3.4.0"))).isTrue();
+		assertThat(this.index.isCompatible(metadata, "does-not-exist", Version.parse("3.4.0"))).isFalse();
+	}
+
+	private InitializrMetadata createMetadata() {
+		Dependency web = Dependency.withId("web");
+		Dependency legacy = Dependency.withId("legacy", "com.example.acme", "legacy");
+		legacy.setCompatibilityRange("[3.3.0,3.4.0-M1)");
+		legacy.setBom("acme-bom");
+		Dependency mapped = Dependency.withId("mapped", "com.example", "mapped");
+		mapped.getMappings().add(Mapping.create("[3.3.0,3.4.0-M1)", null, null, "1.0.0", null, null, null));
+		mapped.getMappings().add(Mapping.create("3.4.0-M1", null, null, "2.0.0", null, null, null));
+		BillOfMaterials bom = BillOfMaterials.create("com.example.acme", "acme-bom", "1.0.0");
+		bom.getRepositories().add("acme-repo");
+		return new InitializrMetadataTestBuilder().addBootVersion("3.3.0", true)
+			.addBootVersion("3.4.0", false)
+			.addBom("acme-bom", bom)
+			.addRepository("acme-repo", "Acme", "https://repo.example.com", true, false)
+			.addDependencyGroup("test", web, legacy, mapped)
+			.build();
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.BillOfMaterials.Mapping;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+/**
+ * Tests for {@link MavenVersionResolverWarmUp}.
+ *
+ * @author Stephane Nicoll
+ */
+class MavenVersionResolverWarmUpTests {
+
+	private final InitializrMetadataProvider metadataProvider = mock(InitializrMetadataProvider.class);
+
+	private final MavenVersionResolver versionResolver = mock(MavenVersionResolver.class);
+
+	private final MavenVersionResolverWarmUp warmUp = new MavenVersionResolverWarmUp(this.metadataProvider,
+			this.versionResolver, 2, null);
+
+	@AfterEach
+	void destroy() {
+		this.warmUp.destroy();
+	}
+
+	@Test
+	void warmUpResolvesBootVersionsAndApplicableBoms() {
+		BillOfMaterials bom = BillOfMaterials.create("com.example", "mapped-bom", null);
+		bom.getMappings().add(Mapping.create("[3.4.0,3.5.0-M1)", "1.0.0"));
+		bom.getMappings().add(Mapping.create("[3.5.0,3.6.0-M1)", "2.0.0"));
+		bom.getMappings().add(Mapping.create("[1.0.0,2.0.0-M1)", "0.1.0"));
+		InitializrMetadata metadata = InitializrMetadataTestBuilder.withBasicDefaults()
+			.addBootVersion("3.4.0", false)
+			.addBootVersion("3.5.0", true)
+			.addBom("simple-bom", BillOfMaterials.create("com.example", "simple-bom", "1.2.3"))
+			.addBom("mapped-bom", bom)
+			.build();
+		this.warmUp.warmUp(metadata).join();
+		for (String bootVersion : List.of("3.4.0", "3.5.0")) {
+			then(this.versionResolver).should()
+				.resolveDependencies("org.springframework.boot", "spring-boot-dependencies", bootVersion);
+			then(this.versionResolver).should()
+				.resolvePlugins("org.springframework.boot", "spring-boot-dependencies", bootVersion);
+			then(this.versionResolver).should()
+				.resolveDependencies("org.springframework.boot", "spring-boot-parent", bootVersion);
+		}
+		then(this.versionResolver).should().resolveDependencies("com.example", "simple-bom", "1.2.3");
+		then(this.versionResolver).should().resolveDependencies("com.example", "mapped-bom", "1.0.0");
+		then(this.versionResolver).should().resolveDependencies("com.example", "mapped-bom", "2.0.0");
+		then(this.versionResolver).should(never()).resolveDependencies("com.example", "mapped-bom", "0.1.0");
+		then(this.versionResolver).should(never()).resolvePlugins("com.example", "simple-bom", "1.2.3");
+	}
+
+	@Test
+	void warmUpDoesNotResolveCoordinatesTwice() {
+		InitializrMetadata metadata = InitializrMetadataTestBuilder.withBasicDefaults()
+			.addBootVersion("3.5.0", true)
+			.build();
+		this.warmUp.warmUp(metadata).join();
+		this.warmUp.warmUp(metadata).join();
+		then(this.versionResolver).should()
+			.resolveDependencies("org.springframework.boot", "spring-boot-dependencies", "3.5.0");
+	}
+
+	@Test
+	void refreshResolvesCoordinatesAgain() {
+		InitializrMetadata metadata = InitializrMetadataTestBuilder.withBasicDefaults()
+			.addBootVersion("3.5.0", true)
+			.build();
+		given(this.metadataProvider.get()).willReturn(metadata);
+		this.warmUp.warmUp(metadata).join();
+		this.warmUp.refresh();
+		then(this.versionResolver).should(times(2))
+			.resolveDependencies("org.springframework.boot", "spring-boot-dependencies", "3.5.0");
+	}
+
+	@Test
+	void onlyStartedAndMetadataChangedEventsAreSupported() {
+		assertThat(this.warmUp.supportsEventType(ApplicationStartedEvent.class)).isTrue();
+		assertThat(this.warmUp.supportsEventType(InitializrMetadataChangedEvent.class)).isTrue();
+		assertThat(this.warmUp.supportsEventType(ApplicationReadyEvent.class)).isFalse();
+		assertThat(this.warmUp.supportsEventType(ContextRefreshedEvent.class)).isFalse();
+	}
+
+	@Test
+	void warmUpRetriesCoordinatesThatFailedToResolve() {
+		InitializrMetadata metadata = InitializrMetadataTestBuilder.withBasicDefaults()
+			.addBootVersion("3.5.0", true)
+			.build();
+		given(this.versionResolver.resolveDependencies("org.springframework.boot", "spring-boot-parent", "3.5.0"))
+			.willThrow(new IllegalStateException("Test"))
+			.willReturn(null);
+		this.warmUp.warmUp(metadata).join();
+		this.warmUp.warmUp(metadata).join();
+		then(this.versionResolver).should()
+			.resolveDependencies("org.springframework.boot", "spring-boot-dependencies", "3.5.0");
+		then(this.versionResolver).should(times(2))
+			.resolveDependencies("org.springframework.boot", "spring-boot-parent", "3.5.0");
+	}
+
+	@Test
+	void startupIsNotCompleteBeforeApplicationHasStarted() {
+		assertThat(this.warmUp.isStartupComplete()).isFalse();
+	}
+
+	@Test
+	void startupIsCompleteOnceStartupWarmUpHasCompleted() throws InterruptedException {
+		InitializrMetadata metadata = InitializrMetadataTestBuilder.withBasicDefaults()
+			.addBootVersion("3.5.0", true)
+			.build();
+		given(this.metadataProvider.get()).willReturn(metadata);
+		CountDownLatch resolution = new CountDownLatch(1);
+		given(this.versionResolver.resolveDependencies(anyString(), anyString(), anyString()))
+			.willAnswer((invocation) -> {
+				resolution.await();
+				return null;
+			});
+		this.warmUp.onApplicationEvent(
+				new ApplicationStartedEvent(new SpringApplication(), new String[0], null, Duration.ZERO));
+		assertThat(this.warmUp.isStartupComplete()).isFalse();
+		resolution.countDown();
+		Awaitility.await().atMost(Duration.ofSeconds(5)).until(this.warmUp::isStartupComplete);
+	}
+
+	@Test
+	void startupIsCompleteIfStartupWarmUpFails() {
+		given(this.metadataProvider.get()).willThrow(new IllegalStateException("Test"));
+		this.warmUp.onApplicationEvent(
+				new ApplicationStartedEvent(new SpringApplication(), new String[0], null, Duration.ZERO));
+		Awaitility.await().atMost(Duration.ofSeconds(5)).until(this.warmUp::isStartupComplete);
+	}
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+/**
+ * Tests for {@link ResilientMavenVersionResolver}.
+ *
+ * @author Stephane Nicoll
+ */
+class ResilientMavenVersionResolverTests {
+
+	private final MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+
+	@Test
+	void resolveDependencies() {
+		given(this.delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:one", "1.0"));
+		ResilientMavenVersionResolver resolver = createResolver(Duration.ofMinutes(1));
+		assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0")).containsEntry("com.example:one", "1.0");
+	}
+
+	@Test
+	void failureIsNotAttemptedAgainUntilItExpires() {
+		given(this.delegate.resolvePlugins("com.example", "bom", "1.0.0"))
+			.willThrow(new IllegalStateException("Repository unavailable"));
+		ResilientMavenVersionResolver resolver = createResolver(Duration.ofMinutes(1));
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolvePlugins("com.example", "bom", "1.0.0"))
+			.withMessage("Repository unavailable");
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolvePlugins("com.example", "bom", "1.0.0"))
+			.withMessageContaining("Resolution of plugins of com.example:bom:1.0.0 failed")
+			.havingCause()
+			.withMessage("Repository unavailable");
+		then(this.delegate).should().resolvePlugins("com.example", "bom", "1.0.0");
+	}
+
+	@Test
+	void failureIsAttemptedAgainOnceItHasExpired() {
+		given(this.delegate.resolvePlugins("com.example", "bom", "1.0.0"))
+			.willThrow(new IllegalStateException("Repository unavailable"))
+			.willReturn(Map.of("com.example:one", "1.0"));
+		ResilientMavenVersionResolver resolver = createResolver(Duration.ZERO);
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolvePlugins("com.example", "bom", "1.0.0"));
+		assertThat(resolver.resolvePlugins("com.example", "bom", "1.0.0")).containsEntry("com.example:one", "1.0");
+	}
+
+	@Test
+	void lastKnownResultIsReturnedWhileResolving() {
+		given(this.delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:one", "1.0"))
+			.willReturn(Map.of("com.example:one", "1.1"));
+		ResilientMavenVersionResolver resolver = createResolver(Duration.ofMinutes(1));
+		Map<String, String> first = resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		assertThat(first).containsEntry("com.example:one", "1.0");
+		assertThat(ResilientMavenVersionResolver.isStale(first)).isFalse();
+		Map<String, String> second = resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		assertThat(second).containsEntry("com.example:one", "1.0");
+		assertThat(ResilientMavenVersionResolver.isStale(second)).isTrue();
+		Map<String, String> third = resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		assertThat(third).containsEntry("com.example:one", "1.1");
+		assertThat(ResilientMavenVersionResolver.isStale(third)).isFalse();
+		then(this.delegate).should(times(2)).resolveDependencies("com.example", "bom", "1.0.0");
+	}
+
+	@Test
+	void resultOfBackgroundResolutionIsReturnedOnlyOnceWithoutResolvingAgain() {
+		given(this.delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:one", "1.0"))
+			.willReturn(Map.of("com.example:one", "1.1"))
+			.willReturn(Map.of("com.example:one", "1.2"));
+		ResilientMavenVersionResolver resolver = createResolver(Duration.ofMinutes(1));
+		resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0")).containsEntry("com.example:one", "1.1");
+		Map<String, String> fourth = resolver.resolveDependencies("com.example", "bom", "1.0.0");
+		assertThat(fourth).containsEntry("com.example:one", "1.1");
+		assertThat(ResilientMavenVersionResolver.isStale(fourth)).isTrue();
+		then(this.delegate).should(times(3)).resolveDependencies("com.example", "bom", "1.0.0");
+	}
+
+	@Test
+	void lastKnownResultIsNotReturnedOnceItHasExpired() {
+		given(this.delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:one", "1.0"))
+			.willThrow(new IllegalStateException("Repository unavailable"));
+		ResilientMavenVersionResolver resolver = createResolver(Duration.ofMinutes(1), Duration.ZERO);
+		assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0")).containsEntry("com.example:one", "1.0");
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"))
+			.withMessage("Repository unavailable");
+	}
+
+	@Test
+	void failuresAreEvictedOnceTooManyCoordinatesHaveFailed() {
+		given(this.delegate.resolvePlugins(eq("com.example"), eq("bom"), anyString()))
+			.willThrow(new IllegalStateException("Repository unavailable"));
+		ResilientMavenVersionResolver resolver = createResolver(Duration.ofMinutes(1));
+		for (int i = 0; i <= 256; i++) {
+			String version = "1.0." + i;
+			assertThatIllegalStateException().isThrownBy(() -> resolver.resolvePlugins("com.example", "bom", version))
+				.withMessage("Repository unavailable");
+		}
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolvePlugins("com.example", "bom", "1.0.0"))
+			.withMessage("Repository unavailable");
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolvePlugins("com.example", "bom", "1.0.256"))
+			.withMessageContaining("not retrying");
+	}
+
+	@Test
+	void lastKnownResultIsReturnedWhenResolutionFails() {
+		given(this.delegate.resolveDependencies("com.example", "bom", "1.0.0"))
+			.willReturn(Map.of("com.example:one", "1.0"))
+			.willThrow(new IllegalStateException("Repository unavailable"));
+		ResilientMavenVersionResolver resolver = createResolver(Duration.ofMinutes(1));
+		for (int i = 0; i < 3; i++) {
+			assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0")).containsEntry("com.example:one",
+					"1.0");
+		}
+		then(this.delegate).should(times(2)).resolveDependencies("com.example", "bom", "1.0.0");
+	}
+
+	@Test
+	void resolutionThatTakesTooLongTimesOut() {
+		CountDownLatch resolution = new CountDownLatch(1);
+		given(this.delegate.resolveDependencies("com.example", "bom", "1.0.0")).willAnswer((invocation) -> {
+			resolution.await();
+			return Map.of("com.example:one", "1.0");
+		});
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ResilientMavenVersionResolver resolver = new ResilientMavenVersionResolver(this.delegate, executor,
+					Duration.ofMillis(50), Duration.ofMinutes(1), Duration.ofDays(1));
+			assertThatIllegalStateException()
+				.isThrownBy(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"))
+				.withMessage("Timed out after PT0.05S waiting for dependencies of com.example:bom:1.0.0");
+		}
+		finally {
+			resolution.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void resolutionThatTimesOutIsNotAttemptedAgainUntilItExpires() {
+		CountDownLatch resolution = new CountDownLatch(1);
+		given(this.delegate.resolveDependencies("com.example", "bom", "1.0.0")).willAnswer((invocation) -> {
+			resolution.await();
+			return Map.of("com.example:one", "1.0");
+		});
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ResilientMavenVersionResolver resolver = new ResilientMavenVersionResolver(this.delegate, executor,
+					Duration.ofMillis(50), Duration.ofMinutes(1), Duration.ofDays(1));
+			assertThatIllegalStateException()
+				.isThrownBy(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"));
+			assertThatIllegalStateException()
+				.isThrownBy(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"))
+				.withMessageContaining("Resolution of dependencies of com.example:bom:1.0.0 failed")
+				.havingCause()
+				.withMessage("Timed out after PT0.05S waiting for dependencies of com.example:bom:1.0.0");
+		}
+		finally {
+			resolution.countDown();
+			executor.shutdown();
+		}
+		then(this.delegate).should().resolveDependencies("com.example", "bom", "1.0.0");
+	}
+
+	@Test
+	void resolutionThatTimedOutIsNotJoinedOnceFailureHasExpired() throws InterruptedException {
+		CountDownLatch resolution = new CountDownLatch(1);
+		given(this.delegate.resolveDependencies("com.example", "bom", "1.0.0")).willAnswer((invocation) -> {
+			resolution.await();
+			return Map.of("com.example:one", "1.0");
+		}).willReturn(Map.of("com.example:one", "1.1"));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ResilientMavenVersionResolver resolver = new ResilientMavenVersionResolver(this.delegate, executor,
+					Duration.ofMillis(50), Duration.ZERO, Duration.ofDays(1));
+			assertThatIllegalStateException()
+				.isThrownBy(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"));
+			assertThat(resolver.resolveDependencies("com.example", "bom", "1.0.0")).containsEntry("com.example:one",
+					"1.1");
+		}
+		finally {
+			resolution.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void resolutionIsRejectedWhenExecutorIsSaturated() {
+		ResilientMavenVersionResolver resolver = new ResilientMavenVersionResolver(this.delegate, (task) -> {
+			throw new RejectedExecutionException("Saturated");
+		}, Duration.ofSeconds(5), Duration.ofMinutes(1), Duration.ofDays(1));
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolveDependencies("com.example", "bom", "1.0.0"))
+			.withMessage("Too many resolutions in progress to resolve dependencies of com.example:bom:1.0.0");
+		then(this.delegate).shouldHaveNoInteractions();
+	}
+
+	private ResilientMavenVersionResolver createResolver(Duration failureTimeToLive) {
+		return createResolver(failureTimeToLive, Duration.ofDays(1));
+	}
+
+	private ResilientMavenVersionResolver createResolver(Duration failureTimeToLive,
+			Duration lastKnownResultTimeToLive) {
+		return new ResilientMavenVersionResolver(this.delegate, Runnable::run, Duration.ofSeconds(5),
+				failureTimeToLive, lastKnownResultTimeToLive);
+	}
+
+}
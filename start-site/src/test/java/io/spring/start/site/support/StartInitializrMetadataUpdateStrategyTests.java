@@ -16,12 +16,20 @@
 
 package io.spring.start.site.support;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
 import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.Dependency;
 import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.Type;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -63,10 +71,10 @@ class StartInitializrMetadataUpdateStrategyTests {
 			.addBootVersion("0.0.8.RELEASE", false)
 			.build();
 		assertThat(metadata.getBootVersions().getDefault().getId()).isEqualTo("0.0.9.RELEASE");
-		StartInitializrMetadataUpdateStrategy provider = new StartInitializrMetadataUpdateStrategy(this.restTemplate,
-				objectMapper);
+		StartInitializrMetadataUpdateStrategy provider = createStrategy(metadata);
 		expectJson(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(),
 				"metadata/springio/spring-boot.json");
+		assertThat(provider.refresh()).isTrue();
 		InitializrMetadata updatedMetadata = provider.update(metadata);
 		assertThat(updatedMetadata.getBootVersions()).isNotNull();
 		List<DefaultMetadataElement> updatedBootVersions = updatedMetadata.getBootVersions().getContent();
@@ -77,12 +85,190 @@ class StartInitializrMetadataUpdateStrategyTests {
 		assertBootVersion(updatedBootVersions.get(3), "3.3.6", false);
 	}
 
+	@Test
+	void updateWithNewBootVersionsPublishesMetadataChangedEvent() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true).build();
+		StartInitializrMetadataUpdateStrategy provider = createStrategy(metadata);
+		List<Object> events = new ArrayList<>();
+		provider.setApplicationEventPublisher(events::add);
+		expectJson(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(),
+				"metadata/springio/spring-boot.json");
+		provider.refresh();
+		InitializrMetadata updatedMetadata = provider.update(metadata);
+		assertThat(events).singleElement()
+			.isInstanceOfSatisfying(InitializrMetadataChangedEvent.class,
+					(event) -> assertThat(event.getSource()).isSameAs(updatedMetadata));
+	}
+
+	@Test
+	void updateWithSameBootVersionsDoesNotPublishMetadataChangedEvent() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true).build();
+		StartInitializrMetadataUpdateStrategy provider = createStrategy(metadata);
+		List<Object> events = new ArrayList<>();
+		provider.setApplicationEventPublisher(events::add);
+		expectJson(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(),
+				"metadata/springio/spring-boot.json");
+		expectJson(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(),
+				"metadata/springio/spring-boot.json");
+		assertThat(provider.refresh()).isTrue();
+		provider.update(metadata);
+		assertThat(provider.refresh()).isFalse();
+		provider.update(metadata);
+		assertThat(events).hasSize(1);
+	}
+
+	@Test
+	void refreshPublishesCopyOfMetadataWithNewBootVersions() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true).build();
+		StartInitializrMetadataUpdateStrategy provider = createStrategy(metadata);
+		List<Object> events = new ArrayList<>();
+		provider.setApplicationEventPublisher(events::add);
+		assertThat(provider.update(metadata)).isSameAs(metadata);
+		expectJson(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(),
+				"metadata/springio/spring-boot.json");
+		provider.refresh();
+		assertThat(events).singleElement()
+			.isInstanceOfSatisfying(InitializrMetadataChangedEvent.class, (event) -> assertThat(event.getSource())
+				.isInstanceOfSatisfying(InitializrMetadata.class,
+						(updated) -> assertThat(updated.getBootVersions().getContent()).hasSize(4)));
+		InitializrMetadata updatedMetadata = provider.update(metadata);
+		assertThat(updatedMetadata).isSameAs(((InitializrMetadataChangedEvent) events.get(0)).getSource());
+		assertThat(updatedMetadata.getDependencies().getAll()).hasSameSizeAs(metadata.getDependencies().getAll());
+		assertThat(metadata.getBootVersions().getContent()).singleElement()
+			.satisfies((version) -> assertThat(version.getId()).isEqualTo("0.0.9.RELEASE"));
+	}
+
+	@Test
+	void publishedMetadataIsIndependentCopyOfSourceMetadata() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true)
+			.addDependencyGroup("test", "first", "second")
+			.addDefaultTypes()
+			.build();
+		StartInitializrMetadataUpdateStrategy provider = createStrategy(metadata);
+		expectJson(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(),
+				"metadata/springio/spring-boot.json");
+		provider.refresh();
+		InitializrMetadata updatedMetadata = provider.update(metadata);
+		assertThat(updatedMetadata).isNotSameAs(metadata);
+		assertThat(updatedMetadata.getDependencies().getAll()).extracting(Dependency::getId)
+			.containsExactly("first", "second");
+		assertThat(updatedMetadata.getDependencies().get("first")).isNotSameAs(metadata.getDependencies().get("first"));
+		assertThat(updatedMetadata.getTypes().getContent()).extracting(Type::getId)
+			.containsExactlyElementsOf(metadata.getTypes().getContent().stream().map(Type::getId).toList());
+		assertThat(updatedMetadata.getConfiguration().getEnv().getSpringBootMetadataUrl())
+			.isEqualTo(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl());
+		assertThat(metadata.getBootVersions().getContent()).singleElement()
+			.satisfies((version) -> assertThat(version.getId()).isEqualTo("0.0.9.RELEASE"));
+	}
+
+	@Test
+	void updateWithOlderPublishedMetadataReturnsLatestCopyOfSource() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true).build();
+		StartInitializrMetadataUpdateStrategy provider = createStrategy(metadata);
+		expectJson(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(),
+				"metadata/springio/spring-boot.json");
+		this.mockServer.expect(requestTo(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl()))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.OK)
+				.body("{\"_embedded\":{\"releases\":[{\"version\":\"3.5.0\",\"current\":true}]}}")
+				.contentType(MediaType.APPLICATION_JSON));
+		provider.refresh();
+		InitializrMetadata firstCopy = provider.update(metadata);
+		assertThat(provider.refresh()).isTrue();
+		InitializrMetadata secondCopy = provider.update(firstCopy);
+		assertThat(secondCopy).isNotSameAs(firstCopy);
+		assertThat(secondCopy.getBootVersions().getContent()).singleElement()
+			.satisfies((version) -> assertThat(version.getId()).isEqualTo("3.5.0"));
+		assertThat(provider.update(metadata)).isSameAs(secondCopy);
+		assertThat(firstCopy.getBootVersions().getContent()).hasSize(4);
+	}
+
+	@Test
+	void updateWithPublishedMetadataReturnsIt() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true).build();
+		StartInitializrMetadataUpdateStrategy provider = createStrategy(metadata);
+		expectJson(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(),
+				"metadata/springio/spring-boot.json");
+		provider.refresh();
+		InitializrMetadata updatedMetadata = provider.update(metadata);
+		assertThat(provider.update(updatedMetadata)).isSameAs(updatedMetadata);
+		assertThat(provider.update(metadata)).isSameAs(updatedMetadata);
+	}
+
 	@Test
 	void noVersionsAreHandled() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true).build();
+		StartInitializrMetadataUpdateStrategy provider = createStrategy(metadata);
+		this.mockServer.expect(requestTo(metadata.getConfiguration().getEnv().getSpringBootMetadataUrl()))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.OK).body("{\"_embedded\":{\"releases\":[]}}")
+				.contentType(MediaType.APPLICATION_JSON));
+		assertThat(provider.refresh()).isFalse();
+		assertThat(provider.update(metadata)).isSameAs(metadata);
+		assertThat(metadata.getBootVersions().getContent()).singleElement()
+			.satisfies((version) -> assertThat(version.getId()).isEqualTo("0.0.9.RELEASE"));
+	}
+
+	@Test
+	void updateWithoutRefreshKeepsConfiguredVersions() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true).build();
 		StartInitializrMetadataUpdateStrategy provider = new StartInitializrMetadataUpdateStrategy(this.restTemplate,
-				objectMapper);
-		List<DefaultMetadataElement> elements = provider.fetchSpringBootVersions(null);
-		assertThat(elements).isNull();
+				objectMapper, null, null);
+		assertThat(provider.refresh()).isFalse();
+		assertThat(provider.update(metadata).getBootVersions().getContent()).singleElement()
+			.satisfies((version) -> assertThat(version.getId()).isEqualTo("0.0.9.RELEASE"));
+	}
+
+	@Test
+	void refreshUsesConditionalRequest() throws IOException {
+		byte[] content = new ClassPathResource("metadata/springio/spring-boot.json").getContentAsByteArray();
+		List<String> ifNoneMatchHeaders = new ArrayList<>();
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/project_metadata/spring-boot", (exchange) -> {
+			String ifNoneMatch = exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+			ifNoneMatchHeaders.add(String.valueOf(ifNoneMatch));
+			exchange.getResponseHeaders().add(HttpHeaders.ETAG, "\"v1\"");
+			if ("\"v1\"".equals(ifNoneMatch)) {
+				exchange.sendResponseHeaders(HttpStatus.NOT_MODIFIED.value(), -1);
+			}
+			else {
+				exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+				exchange.sendResponseHeaders(HttpStatus.OK.value(), content.length);
+				exchange.getResponseBody().write(content);
+			}
+			exchange.close();
+		});
+		server.start();
+		try {
+			String url = "http://localhost:%d/project_metadata/spring-boot".formatted(server.getAddress().getPort());
+			StartInitializrMetadataUpdateStrategy provider = new StartInitializrMetadataUpdateStrategy(
+					new RestTemplate(), objectMapper, url, null);
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			provider.bindTo(registry);
+			assertThat(registry.get(StartInitializrMetadataUpdateStrategy.STALENESS_METRIC_NAME).gauge().value())
+				.isNaN();
+			assertThat(provider.refresh()).isTrue();
+			assertThat(provider.refresh()).isFalse();
+			assertThat(ifNoneMatchHeaders).containsExactly("null", "\"v1\"");
+			assertThat(registry.get(StartInitializrMetadataUpdateStrategy.REFRESH_METRIC_NAME)
+				.tag("outcome", "updated")
+				.timer()
+				.count()).isOne();
+			assertThat(registry.get(StartInitializrMetadataUpdateStrategy.REFRESH_METRIC_NAME)
+				.tag("outcome", "not-modified")
+				.timer()
+				.count()).isOne();
+			assertThat(registry.get(StartInitializrMetadataUpdateStrategy.STALENESS_METRIC_NAME).gauge().value())
+				.isNotNaN();
+		}
+		finally {
+			server.stop(0);
+		}
+	}
+
+	private StartInitializrMetadataUpdateStrategy createStrategy(InitializrMetadata metadata) {
+		return new StartInitializrMetadataUpdateStrategy(this.restTemplate, objectMapper,
+				metadata.getConfiguration().getEnv().getSpringBootMetadataUrl(), null);
 	}
 
 	private static void assertBootVersion(DefaultMetadataElement actual, String name, boolean defaultVersion) {
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link VirtualThreadPinningMonitor}.
+ *
+ * @author Stephane Nicoll
+ */
+class VirtualThreadPinningMonitorTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(this.meterRegistry,
+			Duration.ofMillis(20));
+
+	@Test
+	void pinningIsRecordedAgainstFirstFrameOutsideTheJdk() {
+		this.monitor.onPinned(Duration.ofMillis(50), List.of("java.lang.Object.wait0:-1", "java.lang.Object.wait:366",
+				"com.example.Repository.resolve:42", "com.example.Service.handle:12"));
+		Timer timer = this.meterRegistry.get(VirtualThreadPinningMonitor.METRIC_NAME)
+			.tag("location", "com.example.Repository.resolve")
+			.timer();
+		assertThat(timer.count()).isOne();
+		assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(50);
+	}
+
+	@Test
+	void pinningAtDifferentLinesOfSameMethodIsRecordedAgainstSameLocation() {
+		this.monitor.onPinned(Duration.ofMillis(50), List.of("com.example.Repository.resolve:42"));
+		this.monitor.onPinned(Duration.ofMillis(30), List.of("com.example.Repository.resolve:57"));
+		assertThat(this.meterRegistry.get(VirtualThreadPinningMonitor.METRIC_NAME).timers()).singleElement()
+			.satisfies((timer) -> {
+				assertThat(timer.getId().getTag("location")).isEqualTo("com.example.Repository.resolve");
+				assertThat(timer.count()).isEqualTo(2);
+			});
+	}
+
+	@Test
+	void pinningWithoutStackTraceIsRecordedAgainstUnknownLocation() {
+		this.monitor.onPinned(Duration.ofMillis(30), List.of());
+		assertThat(this.meterRegistry.get(VirtualThreadPinningMonitor.METRIC_NAME)
+			.tag("location", "unknown")
+			.timer()
+			.count()).isOne();
+	}
+
+	@Test
+	void startAndStop() {
+		this.monitor.start();
+		assertThat(this.monitor.isRunning()).isTrue();
+		this.monitor.stop();
+		assertThat(this.monitor.isRunning()).isFalse();
+	}
+
+}
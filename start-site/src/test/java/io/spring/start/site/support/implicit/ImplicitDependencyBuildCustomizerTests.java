@@ -59,6 +59,49 @@ class ImplicitDependencyBuildCustomizerTests {
 		verifyNoInteractions(buildCustomizer);
 	}
 
+	@Test
+	void customizerEnabledByDependencyAddedByPreviousCustomizerIsInvoked() {
+		Consumer<Build> buildCustomizer = mockBuildCustomizer();
+		List<ImplicitDependency> dependencies = List.of(
+				new Builder().matchAnyDependencyIds("test")
+					.customizeBuild((build) -> build.dependencies().add("chained", mock(Dependency.class)))
+					.build(),
+				new Builder().matchAnyDependencyIds("chained").customizeBuild(buildCustomizer).build());
+		Build build = new MavenBuild();
+		build.dependencies().add("test", mock(Dependency.class));
+		new ImplicitDependencyBuildCustomizer(dependencies).customize(build);
+		verify(buildCustomizer).accept(build);
+	}
+
+	@Test
+	void customizerDisabledByDependencyRemovedByPreviousCustomizerIsNotInvoked() {
+		Consumer<Build> buildCustomizer = mockBuildCustomizer();
+		List<ImplicitDependency> dependencies = List.of(
+				new Builder().matchAnyDependencyIds("test")
+					.customizeBuild((build) -> build.dependencies().remove("another"))
+					.build(),
+				new Builder().matchAnyDependencyIds("another").customizeBuild(buildCustomizer).build());
+		Build build = new MavenBuild();
+		build.dependencies().add("test", mock(Dependency.class));
+		build.dependencies().add("another", mock(Dependency.class));
+		new ImplicitDependencyBuildCustomizer(dependencies).customize(build);
+		verifyNoInteractions(buildCustomizer);
+	}
+
+	@Test
+	void customizerEnabledByDependencyAddedByNextCustomizerIsNotInvoked() {
+		Consumer<Build> buildCustomizer = mockBuildCustomizer();
+		List<ImplicitDependency> dependencies = List.of(
+				new Builder().matchAnyDependencyIds("chained").customizeBuild(buildCustomizer).build(),
+				new Builder().matchAnyDependencyIds("test")
+					.customizeBuild((build) -> build.dependencies().add("chained", mock(Dependency.class)))
+					.build());
+		Build build = new MavenBuild();
+		build.dependencies().add("test", mock(Dependency.class));
+		new ImplicitDependencyBuildCustomizer(dependencies).customize(build);
+		verifyNoInteractions(buildCustomizer);
+	}
+
 	@SuppressWarnings("unchecked")
 	private Consumer<Build> mockBuildCustomizer() {
 		return mock(Consumer.class);
@@ -62,6 +62,18 @@ class ImplicitDependencyHelpDocumentCustomizerTests {
 		verifyNoInteractions(helpDocumentCustomizer);
 	}
 
+	@Test
+	void customizerEvaluatesBuildAsCustomizedByOtherCustomizers() {
+		Consumer<HelpDocument> helpDocumentCustomizer = mockHelpDocumentCustomizer();
+		List<ImplicitDependency> dependencies = Collections.singletonList(
+				new Builder().matchAnyDependencyIds("test").customizeHelpDocument(helpDocumentCustomizer).build());
+		Build build = new MavenBuild();
+		new ImplicitDependencyBuildCustomizer(dependencies).customize(build);
+		build.dependencies().add("test", mock(Dependency.class));
+		new ImplicitDependencyHelpDocumentCustomizer(dependencies, build).customize(this.document);
+		verify(helpDocumentCustomizer).accept(this.document);
+	}
+
 	@SuppressWarnings("unchecked")
 	private Consumer<HelpDocument> mockHelpDocumentCustomizer() {
 		return mock(Consumer.class);
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.implicit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.generator.version.Version;
+import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ImplicitDependencyIndexRegistry}.
+ *
+ * @author Stephane Nicoll
+ */
+class ImplicitDependencyIndexRegistryTests {
+
+	private final AtomicInteger invocations = new AtomicInteger();
+
+	private final ImplicitDependencyIndexRegistry registry = new ImplicitDependencyIndexRegistry((platformVersion) -> {
+		this.invocations.incrementAndGet();
+		return List.of(new Builder().matchAnyDependencyIds("web").build());
+	});
+
+	@Test
+	void getWithSamePlatformVersionReusesIndex() {
+		ImplicitDependencyIndex index = this.registry.get(Version.parse("3.4.0"));
+		assertThat(this.registry.get(Version.parse("3.4.0"))).isSameAs(index);
+		assertThat(this.invocations).hasValue(1);
+	}
+
+	@Test
+	void getWithDifferentPlatformVersionCreatesIndex() {
+		ImplicitDependencyIndex index = this.registry.get(Version.parse("3.4.0"));
+		assertThat(this.registry.get(Version.parse("3.5.0"))).isNotSameAs(index);
+		assertThat(this.invocations).hasValue(2);
+	}
+
+	@Test
+	void getWhenRegistryIsFullCreatesIndexOnDemand() {
+		for (int i = 0; i < ImplicitDependencyIndexRegistry.MAX_ENTRIES; i++) {
+			this.registry.get(Version.parse("3.4." + i));
+		}
+		Version version = Version.parse("3.5.0");
+		assertThat(this.registry.get(version)).isNotSameAs(this.registry.get(version));
+		assertThat(this.registry.get(Version.parse("3.4.0"))).isSameAs(this.registry.get(Version.parse("3.4.0")));
+	}
+
+	@Test
+	void getWithoutPlatformVersionCreatesIndex() {
+		assertThat(this.registry.get(null)).isNotSameAs(this.registry.get(null));
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.implicit;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import io.spring.initializr.generator.buildsystem.Build;
+import io.spring.initializr.generator.buildsystem.Dependency;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuild;
+import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link ImplicitDependencyIndex}.
+ *
+ * @author Stephane Nicoll
+ */
+class ImplicitDependencyIndexTests {
+
+	@Test
+	void candidatesReturnsDependenciesThatMentionBuildDependenciesInRegistrationOrder() {
+		ImplicitDependency first = new Builder().matchAnyDependencyIds("web", "webflux").build();
+		ImplicitDependency second = new Builder().matchAnyDependencyIds("data-jpa").build();
+		ImplicitDependency third = new Builder().matchAllDependencyIds("web", "actuator").build();
+		ImplicitDependencyIndex index = ImplicitDependencyIndex.of(List.of(first, second, third));
+		assertThat(index.candidates(createBuild("actuator", "web"))).containsExactly(first, third);
+	}
+
+	@Test
+	void candidatesAlwaysReturnsDependenciesWithoutDependencyIds() {
+		ImplicitDependency dependency = new Builder().match((build) -> false).build();
+		ImplicitDependencyIndex index = ImplicitDependencyIndex.of(List.of(dependency));
+		assertThat(index.candidates(createBuild("web"))).containsExactly(dependency);
+	}
+
+	@Test
+	void candidatesDoesNotEvaluateDependencies() {
+		Predicate<Build> predicate = mockPredicate();
+		ImplicitDependency dependency = new Builder().matchAnyDependencyIds("web").match(predicate).build();
+		ImplicitDependencyIndex index = ImplicitDependencyIndex.of(List.of(dependency));
+		assertThat(index.candidates(createBuild("web"))).containsExactly(dependency);
+		verifyNoInteractions(predicate);
+	}
+
+	@Test
+	void customizeDoesNotEvaluateDependenciesThatDoNotMentionBuildDependencies() {
+		Predicate<Build> predicate = mockPredicate();
+		ImplicitDependency dependency = new Builder().matchAnyDependencyIds("data-jpa")
+			.match(predicate)
+			.customizeBuild((build) -> {
+			})
+			.build();
+		ImplicitDependencyIndex index = ImplicitDependencyIndex.of(List.of(dependency));
+		index.customize(createBuild("web"));
+		verifyNoInteractions(predicate);
+	}
+
+	@Test
+	void customizeEvaluatesDependenciesThatMentionBuildDependencies() {
+		Predicate<Build> predicate = mockPredicate();
+		given(predicate.test(any())).willReturn(false);
+		ImplicitDependency dependency = new Builder().matchAnyDependencyIds("web")
+			.match(predicate)
+			.customizeBuild((build) -> {
+			})
+			.build();
+		ImplicitDependencyIndex index = ImplicitDependencyIndex.of(List.of(dependency));
+		Build build = createBuild("web");
+		index.customize(build);
+		verify(predicate).test(build);
+	}
+
+	private static Build createBuild(String... dependencyIds) {
+		Build build = new MavenBuild();
+		for (String dependencyId : dependencyIds) {
+			build.dependencies().add(dependencyId, mock(Dependency.class));
+		}
+		return build;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Predicate<Build> mockPredicate() {
+		return mock(Predicate.class);
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.start.site.generation.ProjectArchiver;
+import io.spring.start.site.generation.StreamingProjectGenerationInvoker;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+
+/**
+ * Tests for {@link BatchProjectGenerationController}.
+ *
+ * @author Stephane Nicoll
+ */
+class BatchProjectGenerationControllerTests {
+
+	private final InitializrMetadata metadata = InitializrMetadataTestBuilder.withDefaults().build();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@SuppressWarnings("unchecked")
+	private final StreamingProjectGenerationInvoker<ProjectRequest> invoker = mock(
+			StreamingProjectGenerationInvoker.class);
+
+	private final BatchProjectGenerationController controller = new BatchProjectGenerationController(
+			() -> this.metadata, this.invoker, new ProjectArchiver(), this.objectMapper, 2, 10);
+
+	@TempDir
+	private Path temp;
+
+	@AfterEach
+	void destroy() {
+		this.controller.destroy();
+	}
+
+	@Test
+	void abortedBatchCleansProjectGeneratedAfterTheAbort() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Path first = createProject("first");
+		Path second = createProject("second");
+		given(this.invoker.invokeProjectStructureGeneration(any())).willAnswer((invocation) -> {
+			String artifactId = invocation.<ProjectRequest>getArgument(0).getArtifactId();
+			if ("second".equals(artifactId)) {
+				release.await(5, TimeUnit.SECONDS);
+				return createResult("second", second);
+			}
+			return createResult("first", first);
+		});
+		JsonNode requests = this.objectMapper.readTree("[{\"artifactId\":\"first\"},{\"artifactId\":\"second\"}]");
+		HttpServletResponse response = mock(HttpServletResponse.class);
+		given(response.getOutputStream()).willReturn(new FailingServletOutputStream());
+		assertThatIOException().isThrownBy(() -> this.controller.batchNdjson(Map.of(), requests, response));
+		then(this.invoker).should().cleanTempFiles(first);
+		release.countDown();
+		then(this.invoker).should(timeout(5000)).cleanTempFiles(second);
+		then(this.invoker).should(after(200)).cleanTempFiles(first);
+	}
+
+	@Test
+	void abortedBatchCleansProjectsGeneratedBeforeTheAbortOnce() throws Exception {
+		CountDownLatch secondGenerated = new CountDownLatch(1);
+		Path first = createProject("first");
+		Path second = createProject("second");
+		given(this.invoker.invokeProjectStructureGeneration(any())).willAnswer((invocation) -> {
+			String artifactId = invocation.<ProjectRequest>getArgument(0).getArtifactId();
+			if ("second".equals(artifactId)) {
+				secondGenerated.countDown();
+				return createResult("second", second);
+			}
+			secondGenerated.await(5, TimeUnit.SECONDS);
+			return createResult("first", first);
+		});
+		JsonNode requests = this.objectMapper.readTree("[{\"artifactId\":\"first\"},{\"artifactId\":\"second\"}]");
+		HttpServletResponse response = mock(HttpServletResponse.class);
+		given(response.getOutputStream()).willReturn(new FailingServletOutputStream());
+		assertThatIOException().isThrownBy(() -> this.controller.batchNdjson(Map.of(), requests, response));
+		then(this.invoker).should(timeout(5000)).cleanTempFiles(first);
+		then(this.invoker).should(timeout(5000)).cleanTempFiles(second);
+		then(this.invoker).should(after(200)).cleanTempFiles(first);
+		then(this.invoker).should(after(200)).cleanTempFiles(second);
+	}
+
+	private Path createProject(String name) throws IOException {
+		Path root = Files.createDirectories(this.temp.resolve(name));
+		Files.writeString(root.resolve("README.md"), name);
+		return root;
+	}
+
+	private ProjectGenerationResult createResult(String artifactId, Path root) {
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setArtifactId(artifactId);
+		description.setBuildSystem(new MavenBuildSystem());
+		return new ProjectGenerationResult(description, root);
+	}
+
+	private static final class FailingServletOutputStream extends ServletOutputStream {
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			throw new IOException("Connection reset");
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			throw new IOException("Connection reset");
+		}
+
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.util.List;
+
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.Dependency;
+import io.spring.initializr.metadata.Dependency.Mapping;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.web.project.DefaultProjectRequestPlatformVersionTransformer;
+import io.spring.initializr.web.project.InvalidProjectRequestException;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.support.DependencyCompatibilityIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link IndexedProjectRequestToDescriptionConverter}.
+ *
+ * @author Stephane Nicoll
+ */
+class IndexedProjectRequestToDescriptionConverterTests {
+
+	private final InitializrMetadata metadata = createMetadata();
+
+	private final IndexedProjectRequestToDescriptionConverter converter = new IndexedProjectRequestToDescriptionConverter(
+			new DefaultProjectRequestPlatformVersionTransformer(), new DependencyCompatibilityIndex());
+
+	@Test
+	void convertResolvesDependenciesAgainstPlatformVersion() {
+		MutableProjectDescription description = new MutableProjectDescription();
+		this.converter.convert(createRequest("3.4.0", "web", "mapped"), description, this.metadata);
+		assertThat(description.getRequestedDependencies()).containsOnlyKeys("web", "mapped");
+		assertThat(description.getRequestedDependencies().get("mapped").getVersion().getValue()).isEqualTo("2.0.0");
+	}
+
+	@Test
+	void convertRestoresRequestDependencies() {
+		WebProjectRequest request = createRequest("3.4.0", "web", "mapped");
+		List<String> dependencies = request.getDependencies();
+		this.converter.convert(request, new MutableProjectDescription(), this.metadata);
+		assertThat(request.getDependencies()).isSameAs(dependencies).containsExactly("web", "mapped");
+	}
+
+	@Test
+	void convertWithInvalidRequestRestoresRequestDependencies() {
+		WebProjectRequest request = createRequest("3.4.0", "web");
+		request.setType("does-not-exist");
+		List<String> dependencies = request.getDependencies();
+		assertThatExceptionOfType(InvalidProjectRequestException.class)
+			.isThrownBy(() -> this.converter.convert(request, new MutableProjectDescription(), this.metadata));
+		assertThat(request.getDependencies()).isSameAs(dependencies);
+	}
+
+	@Test
+	void convertWithUnknownDependencyFails() {
+		assertThatExceptionOfType(InvalidProjectRequestException.class)
+			.isThrownBy(() -> this.converter.convert(createRequest("3.4.0", "does-not-exist"),
+					new MutableProjectDescription(), this.metadata))
+			.withMessageContaining("Unknown dependency 'does-not-exist'");
+	}
+
+	@Test
+	void convertWithIncompatibleDependencyFails() {
+		assertThatExceptionOfType(InvalidProjectRequestException.class)
+			.isThrownBy(() -> this.converter.convert(createRequest("3.4.0", "legacy"), new MutableProjectDescription(),
+					this.metadata))
+			.withMessageContaining("Dependency 'legacy' is not compatible with Spring Boot 3.4.0");
+	}
+
+	private WebProjectRequest createRequest(String bootVersion, String... dependencies) {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(this.metadata);
+		request.setBootVersion(bootVersion);
+		request.setDependencies(List.of(dependencies));
+		return request;
+	}
+
+	private static InitializrMetadata createMetadata() {
+		Dependency web = Dependency.withId("web");
+		Dependency legacy = Dependency.withId("legacy", "com.example", "legacy");
+		legacy.setCompatibilityRange("[3.3.0,3.4.0-M1)");
+		Dependency mapped = Dependency.withId("mapped", "com.example", "mapped");
+		mapped.getMappings().add(Mapping.create("[3.3.0,3.4.0-M1)", null, null, "1.0.0", null, null, null));
+		mapped.getMappings().add(Mapping.create("3.4.0-M1", null, null, "2.0.0", null, null, null));
+		return InitializrMetadataTestBuilder.withDefaults()
+			.addBootVersion("3.3.0", false)
+			.addBootVersion("3.4.0", false)
+			.addDependencyGroup("test", web, legacy, mapped)
+			.build();
+	}
+
+}
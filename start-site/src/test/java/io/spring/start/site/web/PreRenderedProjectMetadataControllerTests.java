@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.DependencyMetadataProvider;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.web.mapper.InitializrMetadataVersion;
+import io.spring.start.site.support.InitializrMetadataChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link PreRenderedProjectMetadataController}.
+ *
+ * @author Stephane Nicoll
+ */
+class PreRenderedProjectMetadataControllerTests {
+
+	private final InitializrMetadata metadata = InitializrMetadataTestBuilder.withDefaults()
+		.addBootVersion("3.4.0", true)
+		.build();
+
+	private final PreRenderedProjectMetadataController controller = new PreRenderedProjectMetadataController(
+			() -> this.metadata, mock(DependencyMetadataProvider.class), 16);
+
+	@AfterEach
+	void resetRequestAttributes() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void responseIsRenderedOnce() {
+		MockHttpServletResponse first = serviceCapabilities(null);
+		this.metadata.updateSpringBootVersions(List.of(bootVersion("3.5.0")));
+		MockHttpServletResponse second = serviceCapabilities(null);
+		assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(first.getHeader(HttpHeaders.ETAG));
+		assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+	}
+
+	@Test
+	void responseIsRenderedAgainWhenMetadataChanges() throws IOException {
+		MockHttpServletResponse first = serviceCapabilities(null);
+		this.metadata.updateSpringBootVersions(List.of(bootVersion("3.5.0")));
+		this.controller.onApplicationEvent(new InitializrMetadataChangedEvent(this.metadata));
+		MockHttpServletResponse second = serviceCapabilities(null);
+		assertThat(second.getHeader(HttpHeaders.ETAG)).isNotEqualTo(first.getHeader(HttpHeaders.ETAG));
+		assertThat(second.getContentAsString(StandardCharsets.UTF_8)).contains("3.5.0");
+	}
+
+	@Test
+	void compressedResponseIsReturnedWhenGzipIsAccepted() throws IOException {
+		MockHttpServletResponse response = serviceCapabilities("gzip, deflate");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(response.getHeader(HttpHeaders.ETAG)).endsWith("-gzip\"");
+		assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo("Accept, Accept-Encoding");
+		assertThat(response.getContentType()).isEqualTo(InitializrMetadataVersion.V2_2.getMediaType().toString());
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertThat(in.readAllBytes()).isEqualTo(serviceCapabilities(null).getContentAsByteArray());
+		}
+	}
+
+	@Test
+	void notModifiedIsReturnedWhenETagMatches() {
+		MockHttpServletResponse first = serviceCapabilities(null);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+		MockHttpServletResponse second = serviceCapabilities(request);
+		assertThat(second.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+		assertThat(second.getContentAsByteArray()).isEmpty();
+	}
+
+	private MockHttpServletResponse serviceCapabilities(String acceptEncoding) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		if (acceptEncoding != null) {
+			request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		}
+		return serviceCapabilities(request);
+	}
+
+	private MockHttpServletResponse serviceCapabilities(MockHttpServletRequest request) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+		assertThat(this.controller.serviceCapabilitiesV22()).isNull();
+		return response;
+	}
+
+	private static DefaultMetadataElement bootVersion(String version) {
+		return new DefaultMetadataElement(version, version, true);
+	}
+
+}